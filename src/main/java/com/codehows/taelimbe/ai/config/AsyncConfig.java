@@ -1,10 +1,12 @@
 package com.codehows.taelimbe.ai.config;
 
+import com.codehows.taelimbe.config.IoTaskExecutors;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
 
 import java.util.concurrent.ThreadPoolExecutor;
@@ -21,25 +23,27 @@ public class AsyncConfig {
     /**
      * 비동기 작업을 처리하기 위한 `TaskExecutor` Bean을 생성합니다.
      * 이 `TaskExecutor`는 `@Async` 어노테이션이 붙은 메서드를 실행하는 데 사용될 수 있습니다.
-     * `TaskDecorator`를 사용하여 `UserContextHolder`의 컨텍스트를 비동기 스레드로 전파합니다.
+     * `DelegatingSecurityContextAsyncTaskExecutor`로 감싸 호출 스레드의 SecurityContext를 비동기 스레드로 전파합니다.
+     * `async.virtual-threads.enabled=true`이면 스레드 풀 대신 가상 스레드를 사용하고,
+     * 동시 실행 수는 최대 풀 크기(20)만큼의 세마포어로 제한합니다. (보안 컨텍스트 전파는 동일)
      *
-     * @return 설정이 완료된 `ThreadPoolTaskExecutor` 인스턴스
+     * @param virtualThreads 가상 스레드 사용 여부
+     * @return SecurityContext 전파가 적용된 `TaskExecutor` 인스턴스
      */
     @Bean("taskExecutor")
-    public TaskExecutor taskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        // 코어 스레드 풀의 크기를 설정합니다. 이 수만큼의 스레드가 항상 유지됩니다.
-        executor.setCorePoolSize(10);
-        // 최대 스레드 풀의 크기를 설정합니다. 코어 풀이 가득 차고 큐도 가득 찼을 때 생성될 수 있는 최대 스레드 수입니다.
-        executor.setMaxPoolSize(20);
-        // 작업 큐의 용량을 설정합니다. 코어 풀의 스레드가 모두 사용 중일 때 작업이 대기하는 공간입니다.
-        executor.setQueueCapacity(50);
-        // 거부 정책을 설정합니다. 큐까지 가득 찼을 때 새로운 작업이 들어오면 호출자 스레드가 직접 작업을 실행합니다.
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-        // 생성되는 스레드의 이름 접두사를 설정하여 로그에서 스레드를 쉽게 식별할 수 있도록 합니다.
-        executor.setThreadNamePrefix("async-task-");
-        // Executor를 초기화합니다.
-        executor.initialize();
+    public TaskExecutor taskExecutor(@Value(IoTaskExecutors.VIRTUAL_THREADS_PROPERTY) boolean virtualThreads) {
+        AsyncTaskExecutor executor = IoTaskExecutors.create(
+                virtualThreads,
+                // 생성되는 스레드의 이름 접두사를 설정하여 로그에서 스레드를 쉽게 식별할 수 있도록 합니다.
+                "async-task-",
+                // 코어 스레드 풀의 크기를 설정합니다. 이 수만큼의 스레드가 항상 유지됩니다.
+                10,
+                // 최대 스레드 풀의 크기를 설정합니다. 코어 풀이 가득 차고 큐도 가득 찼을 때 생성될 수 있는 최대 스레드 수입니다.
+                20,
+                // 작업 큐의 용량을 설정합니다. 코어 풀의 스레드가 모두 사용 중일 때 작업이 대기하는 공간입니다.
+                50,
+                // 거부 정책을 설정합니다. 큐까지 가득 찼을 때 새로운 작업이 들어오면 호출자 스레드가 직접 작업을 실행합니다.
+                new ThreadPoolExecutor.CallerRunsPolicy());
 
         return new DelegatingSecurityContextAsyncTaskExecutor(executor);
     }
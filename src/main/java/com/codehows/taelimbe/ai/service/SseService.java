@@ -145,7 +145,8 @@ public class SseService {
             Map.Entry<String, SseEmitter> entry = iterator.next();
             String conversationId = entry.getKey();
 
-            if (!conversationId.startsWith("report-")) {
+            // 보고서 생성, 동기화 진행 상황 스트림만 유지
+            if (!conversationId.startsWith("report-") && !conversationId.startsWith("sync-")) {
                 continue;
             }
 
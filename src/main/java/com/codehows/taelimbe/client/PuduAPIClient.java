@@ -1,35 +1,49 @@
 package com.codehows.taelimbe.client;
 
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.Mac;
-import javax.crypto.SecretKey;
-import javax.crypto.spec.SecretKeySpec;
-import java.net.URL;
-import java.text.SimpleDateFormat;
-import java.util.*;
-
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
 @Component
+@RequiredArgsConstructor
 public class PuduAPIClient {
 
-    private static final String MAC_NAME = "HmacSHA1";
-    private static final String ENCODING = "UTF-8";
+    private static final String ACCEPT_HEADER = "application/json";
+
+    // 커넥션 풀 공유 클라이언트 (PuduHttpClientConfig)
+    private final CloseableHttpClient puduHttpClient;
 
+    // 논블로킹 클라이언트 (PuduHttpClientConfig)
+    private final HttpClient puduAsyncHttpClient;
 
-    @Value("${api.app.key}")
-    private String apiAppKey;
+    // HMAC 서명 (Mac/x-date 캐시)
+    private final PuduRequestSigner signer;
 
-    @Value("${api.app.secret}")
-    private String apiAppSecret;
+    // 엔드포인트 그룹별 토큰 버킷 + AIMD 동시성 제한
+    private final PuduRateLimiter rateLimiter;
 
     @Value("${api.host}")
     private String host;
@@ -38,86 +52,179 @@ public class PuduAPIClient {
     @Value("${api.base.url}")
     private String baseUrl;
 
+    @Value("${pudu.http.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    @Value("${pudu.rate-limit.max-retries:3}")
+    private int maxRetries;
+
+    /** 응답 본문을 스트림에서 바로 읽어 원하는 타입으로 변환 */
+    @FunctionalInterface
+    public interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+
+    private static final BodyReader<String> STRING_BODY =
+            in -> new String(in.readAllBytes(), StandardCharsets.UTF_8);
+
     public ResponseEntity<String> callPuduAPI(String url, String httpMethod) throws Exception {
-        String acceptHeader = "application/json";
-        String contentType = "";
-        String contentMD5 = "";
-
-        // URL parsing
-        URL parsedUrl = new URL(url);
-        String pathAndParams = parsedUrl.getPath();
-        if (parsedUrl.getQuery() != null) {
-            pathAndParams += "?" + sortQueryParams(parsedUrl.getQuery());
+        return callPuduAPI(url, httpMethod, STRING_BODY);
+    }
+
+    /**
+     * 동기 호출. 요청 제한기(PuduRateLimiter)에서 허가를 받은 뒤 전송하고,
+     * 429/503 응답은 Retry-After(없으면 지수 백오프) 만큼 그룹을 멈춘 뒤 재시도한다.
+     * 본문은 String 으로 만들지 않고 reader 가 응답 스트림에서 직접 읽는다.
+     */
+    public <T> ResponseEntity<T> callPuduAPI(String url, String httpMethod, BodyReader<T> reader)
+            throws Exception {
+        for (int attempt = 0; ; attempt++) {
+            PuduRateLimiter.Permit permit = rateLimiter.acquire(url).join();
+
+            ResponseEntity<T> res;
+            try {
+                res = execute(url, httpMethod, reader, attempt);
+            } catch (Exception e) {
+                permit.release(PuduRateLimiter.Outcome.ERROR);
+                throw e;
+            }
+            permit.release(PuduRateLimiter.outcomeOf(res.getStatusCode().value()));
+
+            if (!shouldRetry(res, attempt, url)) return res;
+            rateLimiter.pause(url, retryDelayMs(res, attempt));
         }
+    }
 
-        String xDate = getGMTTime();
+    public CompletableFuture<ResponseEntity<String>> callPuduAPIAsync(String url, String httpMethod) {
+        return callPuduAPIAsync(url, httpMethod, STRING_BODY);
+    }
 
-        // 서버가 기대하는 HMAC 문자열 그대로 사용
-        String stringToSign = String.format("x-date: %s\n%s\n%s\n%s\n%s\n%s",
-                xDate, httpMethod, acceptHeader, contentType, contentMD5, pathAndParams);
+    /**
+     * 논블로킹 호출 - 응답을 기다리는 동안 호출 스레드를 점유하지 않는다.
+     * 요청 제한 대기와 재시도 백오프도 스레드를 막지 않고 처리된다.
+     * 본문 읽기는 응답 헤더 도착 후 HttpClient 실행기 스레드에서 이루어진다.
+     */
+    public <T> CompletableFuture<ResponseEntity<T>> callPuduAPIAsync(
+            String url, String httpMethod, BodyReader<T> reader) {
+        return callPuduAPIAsync(url, httpMethod, reader, 0);
+    }
 
-        // HMAC 생성
-        byte[] hmacStr = HmacSHA1Encrypt(stringToSign, apiAppSecret);
-        String signature = Base64.getEncoder().encodeToString(hmacStr);
+    private <T> CompletableFuture<ResponseEntity<T>> callPuduAPIAsync(
+            String url, String httpMethod, BodyReader<T> reader, int attempt) {
+
+        return rateLimiter.acquire(url)
+                .thenCompose(permit -> sendAsync(url, httpMethod, reader, attempt)
+                        .whenComplete((res, ex) -> permit.release(ex != null
+                                ? PuduRateLimiter.Outcome.ERROR
+                                : PuduRateLimiter.outcomeOf(res.getStatusCode().value()))))
+                .thenCompose(res -> {
+                    if (!shouldRetry(res, attempt, url)) {
+                        return CompletableFuture.completedFuture(res);
+                    }
+                    rateLimiter.pause(url, retryDelayMs(res, attempt));
+                    return callPuduAPIAsync(url, httpMethod, reader, attempt + 1);
+                });
+    }
 
-        // Authorization header 생성 (공백 제거)
-        String authHeader = String.format(
-                "hmac id=\"%s\", algorithm=\"hmac-sha1\", headers=\"x-date\", signature=\"%s\"",
-                apiAppKey.trim(), signature.trim()
-        );
+    private <T> ResponseEntity<T> execute(String url, String httpMethod,
+                                          BodyReader<T> reader, int attempt) throws Exception {
+        SignedHeaders signed = signer.sign(url, httpMethod);
 
-        // HTTP 요청
-        CloseableHttpClient httpClient = HttpClients.createDefault();
+        // HTTP 요청 (풀링된 커넥션 재사용)
         HttpGet httpGet = new HttpGet(url);
-        httpGet.setHeader("Accept", acceptHeader);
+        httpGet.setHeader("Accept", ACCEPT_HEADER);
         httpGet.setHeader("Host", host);
-        httpGet.setHeader("x-date", xDate);
-        httpGet.setHeader("Authorization", authHeader);
-
-        CloseableHttpResponse response = httpClient.execute(httpGet);
-        int statusCode = response.getStatusLine().getStatusCode();
-        String responseBody = EntityUtils.toString(response.getEntity());
-
-        httpClient.close();
+        httpGet.setHeader("x-date", signed.xDate());
+        httpGet.setHeader("Authorization", signed.authorization());
+
+        // 응답만 닫아서 커넥션을 풀로 반환 (클라이언트는 닫지 않음)
+        try (CloseableHttpResponse response = puduHttpClient.execute(httpGet)) {
+            int statusCode = response.getStatusLine().getStatusCode();
+            Header retryAfter = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+            HttpEntity entity = response.getEntity();
+
+            T body = null;
+            if (willRetry(statusCode, attempt)) {
+                EntityUtils.consume(entity);
+            } else if (entity != null) {
+                try (InputStream in = entity.getContent()) {
+                    body = reader.read(in);
+                }
+            }
+
+            return toResponseEntity(statusCode,
+                    retryAfter != null ? retryAfter.getValue() : null, body);
+        }
+    }
 
-        return ResponseEntity.status(statusCode)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(responseBody);
+    // Host 헤더는 JDK HttpClient가 URL에서 직접 채운다 (제한 헤더라 수동 설정 불가)
+    private <T> CompletableFuture<ResponseEntity<T>> sendAsync(String url, String httpMethod,
+                                                               BodyReader<T> reader, int attempt) {
+        try {
+            SignedHeaders signed = signer.sign(url, httpMethod);
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofMillis(readTimeoutMs))
+                    .header("Accept", ACCEPT_HEADER)
+                    .header("x-date", signed.xDate())
+                    .header("Authorization", signed.authorization())
+                    .method(httpMethod, HttpRequest.BodyPublishers.noBody())
+                    .build();
+
+            return puduAsyncHttpClient
+                    .sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                    .thenApply(res -> {
+                        T body = null;
+                        try (InputStream in = res.body()) {
+                            if (!willRetry(res.statusCode(), attempt)) {
+                                body = reader.read(in);
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return toResponseEntity(res.statusCode(),
+                                res.headers().firstValue(HttpHeaders.RETRY_AFTER).orElse(null),
+                                body);
+                    });
+
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
-    public String getGMTTime() {
-        Calendar cd = Calendar.getInstance();
-        SimpleDateFormat sdf = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
-        sdf.setTimeZone(TimeZone.getTimeZone("GMT"));
-        return sdf.format(cd.getTime());
+    private static <T> ResponseEntity<T> toResponseEntity(int statusCode, String retryAfter, T body) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(statusCode)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (retryAfter != null) {
+            builder.header(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        return builder.body(body);
     }
 
-    public String sortQueryParams(String queryParam) {
-        if (queryParam == null || queryParam.isEmpty()) return "";
+    private boolean willRetry(int statusCode, int attempt) {
+        return (statusCode == 429 || statusCode == 503) && attempt < maxRetries;
+    }
 
-        String[] queryParams = queryParam.split("&");
-        Map<String, String> queryPairs = new TreeMap<>();
-        for (String query : queryParams) {
-            String[] kv = query.split("=", 2);
-            String key = kv[0];
-            String value = kv.length > 1 ? kv[1] : "";
-            queryPairs.put(key, value);
-        }
+    private boolean shouldRetry(ResponseEntity<?> res, int attempt, String url) {
+        int status = res.getStatusCode().value();
+        if (status != 429 && status != 503) return false;
 
-        StringBuilder sb = new StringBuilder();
-        for (Map.Entry<String, String> entry : queryPairs.entrySet()) {
-            if (sb.length() > 0) sb.append("&");
-            sb.append(entry.getKey()).append("=").append(entry.getValue());
+        if (attempt >= maxRetries) {
+            log.warn("Pudu API {} 응답, 재시도 {}회 초과: {}", status, maxRetries, url);
+            return false;
         }
-
-        return sb.toString();
+        return true;
     }
 
-    public byte[] HmacSHA1Encrypt(String text, String key) throws Exception {
-        SecretKey secretKey = new SecretKeySpec(key.getBytes(ENCODING), MAC_NAME);
-        Mac mac = Mac.getInstance(MAC_NAME);
-        mac.init(secretKey);
-        return mac.doFinal(text.getBytes(ENCODING));
+    // Retry-After(초)가 있으면 그 값, 없으면 500ms * 2^attempt (최대 8초)
+    private long retryDelayMs(ResponseEntity<?> res, int attempt) {
+        String retryAfter = res.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter != null) {
+            try {
+                return Long.parseLong(retryAfter.trim()) * 1000;
+            } catch (NumberFormatException ignored) {}
+        }
+        return Math.min(8000L, 500L << attempt);
     }
 
-}
\ No newline at end of file
+}
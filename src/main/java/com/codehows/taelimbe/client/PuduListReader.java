@@ -0,0 +1,85 @@
+package com.codehows.taelimbe.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pudu 목록 응답({"data": {"list": [...]}})을 스트리밍으로 디코딩한다.
+ * 응답 전체를 String / JsonNode 트리로 만들지 않고, list 항목만 작은 레코드로 바로 변환한다.
+ * list 배열을 다 읽으면 나머지 본문은 파싱하지 않는다.
+ */
+public final class PuduListReader {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private PuduListReader() {}
+
+    /** START_OBJECT 위치에서 항목 하나를 읽어 END_OBJECT 까지 소비한다. null 이면 건너뜀 */
+    @FunctionalInterface
+    public interface ItemReader<T> {
+        T read(JsonParser p) throws IOException;
+    }
+
+    public static <T> PuduAPIClient.BodyReader<List<T>> of(ItemReader<T> itemReader) {
+        return in -> readList(in, itemReader);
+    }
+
+    public static <T> List<T> readList(InputStream in, ItemReader<T> itemReader) throws IOException {
+        List<T> items = new ArrayList<>();
+
+        try (JsonParser p = FACTORY.createParser(in)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return items;
+            if (!moveToField(p, "data") || p.currentToken() != JsonToken.START_OBJECT) return items;
+            if (!moveToField(p, "list") || p.currentToken() != JsonToken.START_ARRAY) return items;
+
+            JsonToken t;
+            while ((t = p.nextToken()) != null && t != JsonToken.END_ARRAY) {
+                if (t == JsonToken.START_OBJECT) {
+                    T item = itemReader.read(p);
+                    if (item != null) items.add(item);
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+
+        return items;
+    }
+
+    // 현재 객체에서 name 필드의 값 위치로 이동 (다른 필드는 통째로 건너뜀)
+    private static boolean moveToField(JsonParser p, String name) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if (name.equals(field)) return true;
+            p.skipChildren();
+        }
+        return false;
+    }
+
+    // ===== 항목 리더에서 쓰는 값 추출 =====
+
+    public static String text(JsonParser p) throws IOException {
+        if (p.currentToken().isStructStart()) {
+            p.skipChildren();
+            return null;
+        }
+        return p.getValueAsString();
+    }
+
+    public static Long longValue(JsonParser p) throws IOException {
+        String s = text(p);
+        if (s == null || s.isEmpty()) return null;
+        try {
+            return Long.parseLong(s);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
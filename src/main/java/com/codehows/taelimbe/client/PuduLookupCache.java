@@ -0,0 +1,119 @@
+package com.codehows.taelimbe.client;
+
+import com.codehows.taelimbe.client.dto.PuduLookupCacheStatusDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * (엔드포인트, sn) 단위 조회 결과 병합 + 짧은 TTL 캐시
+ * - 같은 키로 진행 중인 요청이 있으면 새로 호출하지 않고 그 결과를 공유 (single-flight)
+ * - 성공한 결과는 TTL 동안 재사용, 실패(null/예외)는 캐시하지 않음
+ * 매장 동기화 / 스케줄러 / 수동 동기화가 겹칠 때 같은 로봇을 중복 조회하지 않기 위함
+ */
+@Component
+public class PuduLookupCache {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public PuduLookupCache(
+            @Value("${pudu.cache.ttl-ms:3000}") long ttlMs,
+            @Value("${pudu.cache.max-entries:10000}") int maxEntries
+    ) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMs));
+        this.maxEntries = maxEntries;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> get(String endpoint, String sn,
+                                        Supplier<CompletableFuture<T>> loader) {
+        Key key = new Key(endpoint, sn);
+        Counters c = counters.computeIfAbsent(endpoint, e -> new Counters());
+        long now = System.nanoTime();
+
+        Entry[] created = new Entry[1];
+        Entry entry = entries.compute(key, (k, cur) -> {
+            if (cur != null && (!cur.future.isDone() || cur.isFresh(now))) return cur;
+            return created[0] = new Entry();
+        });
+
+        if (entry != created[0]) {
+            if (entry.future.isDone()) c.hits.increment();
+            else c.coalesced.increment();
+            return (CompletableFuture<T>) entry.future;
+        }
+
+        c.misses.increment();
+        if (entries.size() > maxEntries) purgeExpired(now);
+
+        CompletableFuture<T> source;
+        try {
+            source = loader.get();
+        } catch (Exception ex) {
+            source = CompletableFuture.failedFuture(ex);
+        }
+
+        source.whenComplete((value, ex) -> {
+            if (ex != null || value == null || ttlNanos == 0) {
+                entries.remove(key, entry);
+            } else {
+                // 완료 전에 만료 시각을 기록해야 isFresh 판단이 어긋나지 않음
+                entry.expiresAtNanos = System.nanoTime() + ttlNanos;
+            }
+
+            if (ex != null) entry.future.completeExceptionally(ex);
+            else entry.future.complete(value);
+        });
+
+        return (CompletableFuture<T>) entry.future;
+    }
+
+    public List<PuduLookupCacheStatusDTO> snapshot() {
+        Map<String, Integer> sizes = new ConcurrentHashMap<>();
+        entries.keySet().forEach(k -> sizes.merge(k.endpoint(), 1, Integer::sum));
+
+        return counters.entrySet().stream()
+                .map(e -> PuduLookupCacheStatusDTO.builder()
+                        .endpoint(e.getKey())
+                        .hits(e.getValue().hits.sum())
+                        .misses(e.getValue().misses.sum())
+                        .coalesced(e.getValue().coalesced.sum())
+                        .entries(sizes.getOrDefault(e.getKey(), 0))
+                        .build())
+                .sorted((a, b) -> a.getEndpoint().compareTo(b.getEndpoint()))
+                .toList();
+    }
+
+    private void purgeExpired(long now) {
+        entries.entrySet().removeIf(e -> e.getValue().future.isDone() && !e.getValue().isFresh(now));
+    }
+
+
+    private record Key(String endpoint, String sn) {}
+
+    private static final class Entry {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        volatile long expiresAtNanos;
+
+        boolean isFresh(long now) {
+            return future.isDone() && expiresAtNanos - now > 0;
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder coalesced = new LongAdder();
+    }
+}
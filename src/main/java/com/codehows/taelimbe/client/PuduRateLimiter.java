@@ -0,0 +1,257 @@
+package com.codehows.taelimbe.client;
+
+import com.codehows.taelimbe.client.dto.PuduRateLimitStatusDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pudu Open API 클라이언트 측 요청 제한기
+ * 엔드포인트 그룹(/data-board, /cleanbot-service, ...)별로
+ * - 토큰 버킷: 초당 요청 수 제한
+ * - AIMD 동시성 윈도우: 429/5xx 응답 시 절반으로 축소, 성공 시 조금씩 확대
+ * 를 적용한다. 대기는 스레드를 막지 않는 CompletableFuture 로 처리한다.
+ */
+@Slf4j
+@Component
+public class PuduRateLimiter {
+
+    static final List<String> FAMILIES = List.of(
+            "/data-board",
+            "/cleanbot-service",
+            "/open-platform-service",
+            "/data-open-platform-service"
+    );
+
+    private static final String DEFAULT_FAMILY = "default";
+
+    private final Environment env;
+    private final Map<String, Family> families = new ConcurrentHashMap<>();
+
+    public PuduRateLimiter(Environment env) {
+        this.env = env;
+    }
+
+    /** 요청 결과 (윈도우 조정용) */
+    public enum Outcome { SUCCESS, THROTTLED, ERROR }
+
+    /**
+     * 토큰과 동시성 슬롯을 모두 얻으면 완료되는 Permit
+     * 호출이 끝나면 반드시 {@link Permit#release(Outcome)} 를 호출해야 한다.
+     */
+    public CompletableFuture<Permit> acquire(String url) {
+        Family family = familyOf(url);
+        long startNanos = System.nanoTime();
+
+        long waitNanos = family.reserveToken(startNanos);
+        CompletableFuture<Void> tokenReady = waitNanos > 0
+                ? CompletableFuture.runAsync(() -> {},
+                        CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS))
+                : CompletableFuture.completedFuture(null);
+
+        return tokenReady
+                .thenCompose(v -> family.enterWindow())
+                .thenApply(v -> {
+                    family.recordWait(System.nanoTime() - startNanos);
+                    return new Permit(family);
+                });
+    }
+
+    /** 429 응답의 Retry-After(초) 만큼 해당 그룹 전체를 잠시 멈춘다 */
+    public void pause(String url, long millis) {
+        familyOf(url).pauseFor(millis);
+    }
+
+    public static Outcome outcomeOf(int statusCode) {
+        if (statusCode == 429) return Outcome.THROTTLED;
+        if (statusCode >= 500) return Outcome.ERROR;
+        return Outcome.SUCCESS;
+    }
+
+    public List<PuduRateLimitStatusDTO> snapshot() {
+        return families.values().stream()
+                .map(Family::toStatus)
+                .sorted((a, b) -> a.getFamily().compareTo(b.getFamily()))
+                .toList();
+    }
+
+    private Family familyOf(String url) {
+        String name = DEFAULT_FAMILY;
+        int schemeEnd = url.indexOf("://");
+        int pathStart = url.indexOf('/', schemeEnd < 0 ? 0 : schemeEnd + 3);
+        if (pathStart >= 0) {
+            for (String f : FAMILIES) {
+                if (url.startsWith(f + "/", pathStart)) {
+                    name = f;
+                    break;
+                }
+            }
+        }
+        return families.computeIfAbsent(name, this::newFamily);
+    }
+
+    private Family newFamily(String name) {
+        String key = "pudu.rate-limit." + (name.startsWith("/") ? name.substring(1) : name);
+
+        double rps = env.getProperty(key + ".rps", Double.class,
+                env.getProperty("pudu.rate-limit.rps", Double.class, 10.0));
+        double burst = env.getProperty(key + ".burst", Double.class,
+                env.getProperty("pudu.rate-limit.burst", Double.class, rps));
+        int minWindow = env.getProperty("pudu.rate-limit.window.min", Integer.class, 1);
+        int maxWindow = env.getProperty(key + ".window.max", Integer.class,
+                env.getProperty("pudu.rate-limit.window.max", Integer.class, 20));
+        int initialWindow = env.getProperty("pudu.rate-limit.window.initial", Integer.class, maxWindow / 2);
+
+        return new Family(name, rps, burst, minWindow, maxWindow, initialWindow);
+    }
+
+
+    public static final class Permit {
+
+        private final Family family;
+        private boolean released;
+
+        private Permit(Family family) {
+            this.family = family;
+        }
+
+        public synchronized void release(Outcome outcome) {
+            if (released) return;
+            released = true;
+            family.exitWindow(outcome);
+        }
+    }
+
+
+    static final class Family {
+
+        private final String name;
+
+        // 토큰 버킷
+        private final double ratePerSec;
+        private final double burst;
+        private double tokens;
+        private long lastRefillNanos;
+        private long pausedUntilNanos;
+
+        // AIMD 윈도우
+        private final int minWindow;
+        private final int maxWindow;
+        private double windowLimit;
+        private int inFlight;
+        private long lastDecreaseNanos;
+        private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+
+        // 지표
+        private long acquired;
+        private long throttled;
+        private long errors;
+        private long totalWaitNanos;
+        private long maxWaitNanos;
+
+        Family(String name, double ratePerSec, double burst,
+               int minWindow, int maxWindow, int initialWindow) {
+            this.name = name;
+            this.ratePerSec = ratePerSec;
+            this.burst = Math.max(1.0, burst);
+            this.tokens = this.burst;
+            this.lastRefillNanos = System.nanoTime();
+            this.minWindow = Math.max(1, minWindow);
+            this.maxWindow = Math.max(this.minWindow, maxWindow);
+            this.windowLimit = Math.max(this.minWindow, Math.min(this.maxWindow, initialWindow));
+            this.pausedUntilNanos = this.lastRefillNanos;
+            this.lastDecreaseNanos = this.lastRefillNanos - 2_000_000_000L;
+        }
+
+        /** 토큰 1개를 예약하고, 사용 가능해질 때까지 기다려야 하는 시간(ns)을 돌려준다 */
+        synchronized long reserveToken(long now) {
+            long elapsed = now - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(burst, tokens + elapsed * ratePerSec / 1_000_000_000.0);
+                lastRefillNanos = now;
+            }
+
+            tokens -= 1.0;
+            long wait = tokens >= 0 ? 0 : (long) (-tokens / ratePerSec * 1_000_000_000.0);
+
+            long pauseWait = pausedUntilNanos - now;
+            return Math.max(wait, pauseWait);
+        }
+
+        synchronized void pauseFor(long millis) {
+            pausedUntilNanos = Math.max(pausedUntilNanos,
+                    System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        synchronized CompletableFuture<Void> enterWindow() {
+            if (inFlight < (int) windowLimit && waiters.isEmpty()) {
+                inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.addLast(waiter);
+            return waiter;
+        }
+
+        void exitWindow(Outcome outcome) {
+            Deque<CompletableFuture<Void>> ready = new ArrayDeque<>();
+
+            synchronized (this) {
+                inFlight--;
+                long now = System.nanoTime();
+
+                switch (outcome) {
+                    case SUCCESS -> windowLimit = Math.min(maxWindow, windowLimit + 1.0 / windowLimit);
+                    case THROTTLED, ERROR -> {
+                        if (outcome == Outcome.THROTTLED) throttled++;
+                        else errors++;
+                        // 같은 윈도우에서 연속으로 받은 429 로 과도하게 줄지 않도록 1초에 한 번만 감소
+                        if (now - lastDecreaseNanos > 1_000_000_000L) {
+                            windowLimit = Math.max(minWindow, windowLimit / 2);
+                            lastDecreaseNanos = now;
+                            log.warn("Pudu API {} 응답 → {} 동시성 윈도우 축소: {}",
+                                    outcome, name, (int) windowLimit);
+                        }
+                    }
+                }
+
+                while (!waiters.isEmpty() && inFlight < (int) windowLimit) {
+                    inFlight++;
+                    ready.add(waiters.pollFirst());
+                }
+            }
+
+            // 락 밖에서 대기자 깨우기
+            ready.forEach(w -> w.complete(null));
+        }
+
+        synchronized void recordWait(long waitNanos) {
+            acquired++;
+            totalWaitNanos += waitNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        }
+
+        synchronized PuduRateLimitStatusDTO toStatus() {
+            return PuduRateLimitStatusDTO.builder()
+                    .family(name)
+                    .ratePerSecond(ratePerSec)
+                    .concurrencyLimit((int) windowLimit)
+                    .inFlight(inFlight)
+                    .waiting(waiters.size())
+                    .acquired(acquired)
+                    .throttled(throttled)
+                    .errors(errors)
+                    .avgWaitMs(acquired == 0 ? 0 : totalWaitNanos / acquired / 1_000_000.0)
+                    .maxWaitMs(maxWaitNanos / 1_000_000.0)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.codehows.taelimbe.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Pudu Open API HMAC-SHA1 요청 서명기
+ * - 키가 설정된 Mac 을 풀에서 빌려 쓰고 반납 (Mac 은 thread-safe 하지 않음)
+ *   스레드별 보관(ThreadLocal)은 가상 스레드 모드(async.virtual-threads.enabled)에서 작업마다 스레드가 새로 생겨 재사용되지 않으므로
+ *   스레드와 무관한 풀을 쓰고, 풀이 비면 키가 설정된 원본을 복제한다 (getInstance + init 생략).
+ *   풀 크기는 동시에 서명 중인 최대 요청 수를 넘지 않는다.
+ * - x-date 문자열은 초 단위로 한 번만 포맷
+ * - path + 정렬된 query 를 중간 Map/배열 복사 없이 바로 조립
+ */
+@Component
+public class PuduRequestSigner {
+
+    private static final String MAC_NAME = "HmacSHA1";
+    private static final String ACCEPT_HEADER = "application/json";
+
+    private static final DateTimeFormatter GMT_FORMATTER =
+            DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US)
+                    .withZone(ZoneOffset.UTC);
+
+    private final String authPrefix;
+    private final SecretKeySpec keySpec;
+    private final Mac prototype;                                    // 복제 원본 - 직접 서명에 쓰지 않음
+    private final Queue<Mac> macPool = new ConcurrentLinkedQueue<>();
+
+    // 마지막으로 포맷한 초와 그 문자열 (초가 바뀔 때만 새로 포맷)
+    private volatile CachedDate cachedDate;
+
+    public PuduRequestSigner(
+            @Value("${api.app.key}") String appKey,
+            @Value("${api.app.secret}") String appSecret
+    ) {
+        this.authPrefix = "hmac id=\"" + appKey.trim()
+                + "\", algorithm=\"hmac-sha1\", headers=\"x-date\", signature=\"";
+
+        this.keySpec = new SecretKeySpec(
+                appSecret.getBytes(StandardCharsets.UTF_8), MAC_NAME);
+        this.prototype = initMac();
+    }
+
+    public SignedHeaders sign(String url, String httpMethod) {
+        return sign(url, httpMethod, currentGmtTime());
+    }
+
+    SignedHeaders sign(String url, String httpMethod, String xDate) {
+        String pathAndParams = canonicalPathAndQuery(url);
+
+        // 서버가 기대하는 HMAC 문자열: x-date / method / accept / content-type / content-md5 / path
+        String stringToSign = new StringBuilder(64 + xDate.length() + pathAndParams.length())
+                .append("x-date: ").append(xDate).append('\n')
+                .append(httpMethod).append('\n')
+                .append(ACCEPT_HEADER).append('\n')
+                .append('\n')
+                .append('\n')
+                .append(pathAndParams)
+                .toString();
+
+        byte[] hmac = hmac(stringToSign.getBytes(StandardCharsets.UTF_8));
+        String signature = Base64.getEncoder().encodeToString(hmac);
+
+        return new SignedHeaders(xDate, authPrefix + signature + "\"");
+    }
+
+    // doFinal 이 Mac 을 초기 상태(키 유지)로 되돌리므로 그대로 반납
+    private byte[] hmac(byte[] input) {
+        Mac mac = macPool.poll();
+        if (mac == null) mac = newMac();
+        byte[] result = mac.doFinal(input);
+        macPool.offer(mac);
+        return result;
+    }
+
+    private Mac newMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            return initMac();   // 복제를 지원하지 않는 provider
+        }
+    }
+
+    private Mac initMac() {
+        try {
+            Mac mac = Mac.getInstance(MAC_NAME);
+            mac.init(keySpec);
+            return mac;
+        } catch (Exception e) {
+            throw new IllegalStateException("HmacSHA1 초기화 실패", e);
+        }
+    }
+
+    // 풀에 쌓인 Mac 수 (테스트용)
+    int pooledMacs() {
+        return macPool.size();
+    }
+
+    public String currentGmtTime() {
+        long nowSec = System.currentTimeMillis() / 1000;
+        CachedDate c = cachedDate;
+        if (c == null || c.epochSecond() != nowSec) {
+            c = new CachedDate(nowSec, GMT_FORMATTER.format(Instant.ofEpochSecond(nowSec)));
+            cachedDate = c;
+        }
+        return c.value();
+    }
+
+    /**
+     * URL 에서 path + "?" + key 기준 정렬된 query 를 만든다.
+     * 기존 TreeMap 방식과 동일하게 같은 key 가 여러 번 오면 마지막 값만 남긴다.
+     */
+    public static String canonicalPathAndQuery(String url) {
+        int schemeEnd = url.indexOf("://");
+        int authorityStart = schemeEnd < 0 ? 0 : schemeEnd + 3;
+
+        int fragment = url.indexOf('#', authorityStart);
+        int end = fragment < 0 ? url.length() : fragment;
+
+        int question = url.indexOf('?', authorityStart);
+        if (question >= end) question = -1;
+
+        int pathEnd = question < 0 ? end : question;
+        int pathStart = url.indexOf('/', authorityStart);
+        if (pathStart < 0 || pathStart > pathEnd) pathStart = pathEnd;
+
+        if (question < 0) {
+            return url.substring(pathStart, pathEnd);
+        }
+
+        StringBuilder sb = new StringBuilder(end - pathStart);
+        sb.append(url, pathStart, pathEnd).append('?');
+        appendSortedQuery(sb, url, question + 1, end);
+        return sb.toString();
+    }
+
+    private static void appendSortedQuery(StringBuilder sb, String s, int from, int to) {
+        // String.split("&") 과 같이 끝쪽 빈 파라미터는 버린다
+        while (to > from && s.charAt(to - 1) == '&') to--;
+        if (to == from) return;
+
+        int count = 1;
+        for (int i = from; i < to; i++) {
+            if (s.charAt(i) == '&') count++;
+        }
+
+        // 파라미터별 [시작, key 끝, 값 끝] 인덱스만 기록
+        int[] starts = new int[count];
+        int[] keyEnds = new int[count];
+        int[] ends = new int[count];
+
+        int idx = 0;
+        int segStart = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || s.charAt(i) == '&') {
+                int eq = s.indexOf('=', segStart);
+                starts[idx] = segStart;
+                keyEnds[idx] = (eq < 0 || eq > i) ? i : eq;
+                ends[idx] = i;
+                idx++;
+                segStart = i + 1;
+            }
+        }
+
+        // 파라미터 수가 적으므로 안정 삽입 정렬 (같은 key 는 원래 순서 유지)
+        for (int i = 1; i < count; i++) {
+            int st = starts[i], ke = keyEnds[i], en = ends[i];
+            int j = i - 1;
+            while (j >= 0 && compareKey(s, starts[j], keyEnds[j], st, ke) > 0) {
+                starts[j + 1] = starts[j];
+                keyEnds[j + 1] = keyEnds[j];
+                ends[j + 1] = ends[j];
+                j--;
+            }
+            starts[j + 1] = st;
+            keyEnds[j + 1] = ke;
+            ends[j + 1] = en;
+        }
+
+        boolean first = true;
+        for (int i = 0; i < count; i++) {
+            // 같은 key 가 뒤에 또 있으면 마지막 것만 사용
+            if (i + 1 < count && compareKey(s, starts[i], keyEnds[i], starts[i + 1], keyEnds[i + 1]) == 0) {
+                continue;
+            }
+            if (!first) sb.append('&');
+            first = false;
+
+            sb.append(s, starts[i], keyEnds[i]).append('=');
+            if (keyEnds[i] < ends[i]) {
+                sb.append(s, keyEnds[i] + 1, ends[i]);
+            }
+        }
+    }
+
+    // String.compareTo 와 같은 순서로 두 key 구간 비교
+    private static int compareKey(String s, int aStart, int aEnd, int bStart, int bEnd) {
+        int aLen = aEnd - aStart;
+        int bLen = bEnd - bStart;
+        int len = Math.min(aLen, bLen);
+        for (int k = 0; k < len; k++) {
+            char ca = s.charAt(aStart + k);
+            char cb = s.charAt(bStart + k);
+            if (ca != cb) return ca - cb;
+        }
+        return aLen - bLen;
+    }
+
+    private record CachedDate(long epochSecond, String value) {}
+}
@@ -0,0 +1,7 @@
+package com.codehows.taelimbe.client;
+
+/**
+ * Pudu Open API 서명 결과 (x-date, Authorization 헤더 값)
+ */
+public record SignedHeaders(String xDate, String authorization) {
+}
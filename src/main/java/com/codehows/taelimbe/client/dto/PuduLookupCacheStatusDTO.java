@@ -0,0 +1,19 @@
+package com.codehows.taelimbe.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PuduLookupCacheStatusDTO {
+
+    private String endpoint;          // 조회 종류 (robot-detail, robot-status)
+    private long hits;                // TTL 캐시 적중 수
+    private long misses;              // 실제 API 호출 수
+    private long coalesced;           // 진행 중 요청에 합류한 수
+    private int entries;              // 현재 보관 중인 키 수
+}
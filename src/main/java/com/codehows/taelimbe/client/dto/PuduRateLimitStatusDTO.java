@@ -0,0 +1,24 @@
+package com.codehows.taelimbe.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PuduRateLimitStatusDTO {
+
+    private String family;            // 엔드포인트 그룹 (/data-board 등)
+    private double ratePerSecond;     // 토큰 버킷 초당 허용량
+    private int concurrencyLimit;     // 현재 AIMD 동시성 윈도우
+    private int inFlight;             // 진행 중 요청 수
+    private int waiting;              // 윈도우 대기 중 요청 수
+    private long acquired;            // 누적 허용 요청 수
+    private long throttled;           // 누적 429 수
+    private long errors;              // 누적 5xx 수
+    private double avgWaitMs;         // 평균 대기 시간
+    private double maxWaitMs;         // 최대 대기 시간
+}
@@ -0,0 +1,78 @@
+package com.codehows.taelimbe.config;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 작업마다 가상 스레드를 만들고, 동시에 실행되는 작업 수만 세마포어로 제한하는 Executor
+ *
+ * 스레드 풀과 달리 대기 큐/거부가 없다. 한도를 넘은 작업은 가상 스레드에서 세마포어를 기다리며,
+ * 기다리는 동안 캐리어(플랫폼) 스레드를 점유하지 않는다. 제출하는 쪽은 막히지 않는다.
+ */
+public class BoundedVirtualThreadExecutor implements AsyncTaskExecutor {
+
+    private final ThreadFactory threadFactory;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final AtomicInteger submitted = new AtomicInteger();
+
+    public BoundedVirtualThreadExecutor(String threadNamePrefix, int maxConcurrency) {
+        this.threadFactory = Thread.ofVirtual().name(threadNamePrefix, 0).factory();
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.permits = new Semaphore(this.maxConcurrency);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        submitted.incrementAndGet();
+        threadFactory.newThread(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                submitted.decrementAndGet();
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                task.run();
+            } finally {
+                permits.release();
+                submitted.decrementAndGet();
+            }
+        }).start();
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        FutureTask<Object> future = new FutureTask<>(task, null);
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        execute(future);
+        return future;
+    }
+
+    /** 실행 중인 작업 수 */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /** 세마포어를 기다리는 작업 수 */
+    public int getWaitingCount() {
+        return Math.max(0, submitted.get() - getActiveCount());
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+}
@@ -0,0 +1,48 @@
+package com.codehows.taelimbe.config;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+
+/**
+ * HTTP/JDBC 대기가 대부분인 작업용 Executor 생성
+ *
+ *   async.virtual-threads.enabled=false (기본) → ThreadPoolTaskExecutor (core / max / queue)
+ *   async.virtual-threads.enabled=true         → BoundedVirtualThreadExecutor
+ *                                                 (작업마다 가상 스레드, 동시 실행 수 = max)
+ *
+ * 가상 스레드 모드에서는 풀 크기 대신 max 만큼의 세마포어가 동시 실행을 제한하므로
+ * 큐가 차서 거부되거나 core 수에 묶여 대기하는 일이 없다.
+ */
+public final class IoTaskExecutors {
+
+    public static final String VIRTUAL_THREADS_PROPERTY = "${async.virtual-threads.enabled:false}";
+
+    private IoTaskExecutors() {
+    }
+
+    public static AsyncTaskExecutor create(boolean virtualThreads, String threadNamePrefix,
+                                           int corePoolSize, int maxPoolSize, int queueCapacity) {
+        return create(virtualThreads, threadNamePrefix, corePoolSize, maxPoolSize, queueCapacity, null);
+    }
+
+    public static AsyncTaskExecutor create(boolean virtualThreads, String threadNamePrefix,
+                                           int corePoolSize, int maxPoolSize, int queueCapacity,
+                                           RejectedExecutionHandler rejectedExecutionHandler) {
+        if (virtualThreads) {
+            return new BoundedVirtualThreadExecutor(threadNamePrefix, maxPoolSize);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        if (rejectedExecutionHandler != null) {
+            executor.setRejectedExecutionHandler(rejectedExecutionHandler);
+        }
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,95 @@
+package com.codehows.taelimbe.config;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pudu Open API 호출용 공유 HTTP 클라이언트 설정
+ * 호출마다 클라이언트를 새로 만들면 매번 TCP/TLS 핸드셰이크가 발생하므로
+ * 커넥션 풀 + keep-alive 클라이언트 하나를 모든 호출에서 재사용한다.
+ */
+@Configuration
+public class PuduHttpClientConfig {
+
+    @Value("${pudu.http.max-per-route:20}")
+    private int maxPerRoute;
+
+    @Value("${pudu.http.max-total:100}")
+    private int maxTotal;
+
+    @Value("${pudu.http.connect-timeout-ms:3000}")
+    private int connectTimeoutMs;
+
+    @Value("${pudu.http.read-timeout-ms:10000}")
+    private int readTimeoutMs;
+
+    @Value("${pudu.http.connection-request-timeout-ms:5000}")
+    private int connectionRequestTimeoutMs;
+
+    @Value("${pudu.http.idle-timeout-ms:30000}")
+    private long idleTimeoutMs;
+
+    @Bean(name = "puduHttpClient", destroyMethod = "close")
+    public CloseableHttpClient puduHttpClient() {
+        return createPooledClient(
+                maxPerRoute, maxTotal,
+                connectTimeoutMs, readTimeoutMs,
+                connectionRequestTimeoutMs, idleTimeoutMs
+        );
+    }
+
+    /**
+     * 논블로킹 호출용 JDK HttpClient
+     * 요청 대기 중 스레드를 점유하지 않으므로 수백 건의 동시 요청도 소수 스레드로 처리된다.
+     */
+    @Bean(name = "puduAsyncHttpClient")
+    public HttpClient puduAsyncHttpClient() {
+        return HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    public static CloseableHttpClient createPooledClient(
+            int maxPerRoute, int maxTotal,
+            int connectTimeoutMs, int readTimeoutMs,
+            int connectionRequestTimeoutMs, long idleTimeoutMs) {
+
+        PoolingHttpClientConnectionManager cm = new PoolingHttpClientConnectionManager();
+        cm.setDefaultMaxPerRoute(maxPerRoute);   // 호스트(route)당 최대 커넥션
+        cm.setMaxTotal(maxTotal);                // 전체 최대 커넥션
+        cm.setValidateAfterInactivity(2000);     // 오래 쉬던 커넥션은 재사용 전 검증
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeoutMs)
+                .setSocketTimeout(readTimeoutMs)
+                .setConnectionRequestTimeout(connectionRequestTimeoutMs)
+                .build();
+
+        // 서버가 Keep-Alive 시간을 주지 않으면 idle timeout 만큼만 유지
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            long duration = DefaultConnectionKeepAliveStrategy.INSTANCE
+                    .getKeepAliveDuration(response, context);
+            return duration > 0 ? Math.min(duration, idleTimeoutMs) : idleTimeoutMs;
+        };
+
+        return HttpClients.custom()
+                .setConnectionManager(cm)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeoutMs, TimeUnit.MILLISECONDS)
+                .build();
+    }
+}
@@ -1,23 +1,42 @@
 package com.codehows.taelimbe.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 @EnableAsync
 @Configuration
 public class PuduReportAsyncConfig {
 
+    // 가상 스레드 모드 (async.virtual-threads.enabled) 에서는 max 값이 동시 실행 한도가 된다
+    @Value(IoTaskExecutors.VIRTUAL_THREADS_PROPERTY)
+    private boolean virtualThreads;
+
     @Bean(name = "PuduReportSyncExecutor")
     public Executor PuduReportSyncExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(10);   // 동시 처리 기본
-        executor.setMaxPoolSize(20);    // 부하 확장
-        executor.setQueueCapacity(100); // 트래픽 버퍼
-        executor.setThreadNamePrefix("pudu-report-");
-        executor.initialize();
-        return executor;
+        return IoTaskExecutors.create(virtualThreads, "pudu-report-",
+                10,     // 동시 처리 기본
+                20,     // 부하 확장
+                100);   // 트래픽 버퍼
+    }
+
+    // 매장 단위 보고서 동기화 (스레드 수 = 동시에 진행하는 매장 수, 나머지 매장은 큐에서 대기)
+    @Bean(name = "PuduReportStoreSyncExecutor")
+    public Executor PuduReportStoreSyncExecutor(
+            @Value("${pudu.report-sync.store-concurrency:4}") int storeConcurrency
+    ) {
+        int n = Math.max(1, storeConcurrency);
+        return IoTaskExecutors.create(virtualThreads, "pudu-report-store-", n, n, Integer.MAX_VALUE);
+    }
+
+    // 과거 보고서 백필 워커 (스레드 수 = 동시에 처리하는 구간 수)
+    @Bean(name = "PuduBackfillExecutor")
+    public Executor PuduBackfillExecutor(
+            @Value("${pudu.backfill.workers:4}") int workers
+    ) {
+        int n = Math.max(1, workers);
+        return IoTaskExecutors.create(virtualThreads, "pudu-backfill-", n, n, Integer.MAX_VALUE);
     }
 }
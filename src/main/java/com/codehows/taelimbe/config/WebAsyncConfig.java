@@ -0,0 +1,33 @@
+package com.codehows.taelimbe.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * MVC 비동기 응답(StreamingResponseBody - 보고서 내보내기) 실행 설정
+ * 기본값은 요청마다 스레드를 새로 만드는 SimpleAsyncTaskExecutor 와 컨테이너 기본 타임아웃(30초)이라
+ * 큰 기간 내보내기가 중간에 끊기거나 동시 요청만큼 스레드가 늘어난다.
+ * SSE(SseEmitter) 는 자체 타임아웃을 쓰므로 영향 없음.
+ */
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+
+    @Value(IoTaskExecutors.VIRTUAL_THREADS_PROPERTY)
+    private boolean virtualThreads;
+
+    // 동시에 진행하는 내보내기 수 (각각 DB 연결 1개를 끝까지 사용)
+    @Value("${pudu.report-export.concurrency:4}")
+    private int concurrency;
+
+    @Value("${pudu.report-export.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        int n = Math.max(1, concurrency);
+        configurer.setTaskExecutor(IoTaskExecutors.create(virtualThreads, "mvc-async-", n, n, 50));
+        configurer.setDefaultTimeout(timeoutMs);
+    }
+}
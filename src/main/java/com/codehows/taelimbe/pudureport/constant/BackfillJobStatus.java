@@ -0,0 +1,7 @@
+package com.codehows.taelimbe.pudureport.constant;
+
+public enum BackfillJobStatus {
+    RUNNING,                    // 처리할 구간이 남아 있음 (재시작 시 자동 재개)
+    COMPLETED,                  // 모든 구간 완료
+    COMPLETED_WITH_FAILURES     // 재시도 한도를 넘긴 구간이 있음
+}
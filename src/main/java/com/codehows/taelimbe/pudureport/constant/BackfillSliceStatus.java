@@ -0,0 +1,8 @@
+package com.codehows.taelimbe.pudureport.constant;
+
+public enum BackfillSliceStatus {
+    PENDING,    // 대기 (실패 후 재시도 대기 포함)
+    RUNNING,    // 워커가 가져가 처리 중
+    DONE,
+    FAILED      // 재시도 한도 초과
+}
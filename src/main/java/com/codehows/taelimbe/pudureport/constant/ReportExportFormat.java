@@ -0,0 +1,30 @@
+package com.codehows.taelimbe.pudureport.constant;
+
+public enum ReportExportFormat {
+    CSV("text/csv;charset=UTF-8", "csv"),                   // 엑셀에서 한글이 깨지지 않도록 BOM 포함
+    NDJSON("application/x-ndjson;charset=UTF-8", "ndjson"); // 한 줄에 보고서 하나 (JSON 객체)
+
+    private final String contentType;
+    private final String extension;
+
+    ReportExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /** csv / ndjson (대소문자 무시), 그 외는 IllegalArgumentException */
+    public static ReportExportFormat from(String value) {
+        for (ReportExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) return format;
+        }
+        throw new IllegalArgumentException("지원하지 않는 내보내기 형식: " + value);
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+}
@@ -0,0 +1,7 @@
+package com.codehows.taelimbe.pudureport.constant;
+
+public enum ReportRetryStatus {
+    PENDING,    // 재시도 대기 (next_attempt_at 이후 재조회)
+    DONE,       // 재조회 후 저장됨 (또는 다른 동기화에서 이미 저장됨)
+    GAVE_UP     // 재시도 한도 초과
+}
@@ -0,0 +1,56 @@
+package com.codehows.taelimbe.pudureport.constant;
+
+import com.codehows.taelimbe.pudureport.entity.PuduReport;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보고서 목록 정렬 키 (요청 값 → JPQL 정렬식)
+ * 커서 조회는 (정렬식, pudu_report_id) 로 이어서 읽으므로 정렬식에 null 이 없어야 한다 → shopName / mapName 은 '' 로 치환.
+ */
+public enum ReportSortKey {
+    START_TIME("startTime", "pr.startTime"),
+    SN("sn", "r.sn"),
+    STORE_NAME("storeName", "coalesce(s.shopName, '')"),
+    MAP_NAME("mapName", "coalesce(pr.mapName, '')");
+
+    private final String param;
+    private final String expression;
+
+    ReportSortKey(String param, String expression) {
+        this.param = param;
+        this.expression = expression;
+    }
+
+    /** 알 수 없는 값은 startTime (기존 목록 조회와 같은 기본값) */
+    public static ReportSortKey from(String param) {
+        for (ReportSortKey key : values()) {
+            if (key.param.equals(param)) return key;
+        }
+        return START_TIME;
+    }
+
+    public String param() {
+        return param;
+    }
+
+    public String expression() {
+        return expression;
+    }
+
+    /** 커서에 담을 정렬 값 (expression 과 같은 값) */
+    public String valueOf(PuduReport report) {
+        return switch (this) {
+            case START_TIME -> report.getStartTime().toString();
+            case SN -> report.getRobot().getSn();
+            case STORE_NAME -> report.getRobot().getStore().getShopName() == null
+                    ? "" : report.getRobot().getStore().getShopName();
+            case MAP_NAME -> report.getMapName() == null ? "" : report.getMapName();
+        };
+    }
+
+    /** 커서 값 → 쿼리 파라미터 */
+    public Object parse(String value) {
+        return this == START_TIME ? LocalDateTime.parse(value) : value;
+    }
+}
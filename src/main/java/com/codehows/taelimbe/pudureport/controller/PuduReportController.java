@@ -1,13 +1,24 @@
 package com.codehows.taelimbe.pudureport.controller;
 
+import com.codehows.taelimbe.pudureport.constant.ReportExportFormat;
 import com.codehows.taelimbe.pudureport.dto.*;
+import com.codehows.taelimbe.pudureport.service.PuduReportExportService;
 import com.codehows.taelimbe.pudureport.service.PuduReportFullHistoricalFacade;
+import com.codehows.taelimbe.pudureport.service.PuduReportMultiStoreSyncService;
+import com.codehows.taelimbe.pudureport.service.PuduReportRefreshService;
+import com.codehows.taelimbe.pudureport.service.PuduReportRetryService;
 import com.codehows.taelimbe.pudureport.service.PuduReportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -22,6 +33,10 @@ public class PuduReportController {
 
     private final PuduReportService puduReportService;
     private final PuduReportFullHistoricalFacade puduReportFullHistoricalFacade;
+    private final PuduReportMultiStoreSyncService puduReportMultiStoreSyncService;
+    private final PuduReportRefreshService puduReportRefreshService;
+    private final PuduReportRetryService puduReportRetryService;
+    private final PuduReportExportService puduReportExportService;
 
     // 단일 매장 특정 기간 보고서 조회
     @PostMapping("/sync/store/time-range")
@@ -37,21 +52,45 @@ public class PuduReportController {
     public ResponseEntity<String> syncAllStoresByTimeRange(
             @Valid @RequestBody TimeRangeSyncRequestDTO req
     ) {
-        int count = puduReportService.syncAllStoresByTimeRange(req);
-        return ResponseEntity.ok(count + "개 Report 저장/업데이트 완료 (모든 매장 - 특정 기간)");
+        MultiStoreSyncResultDTO result = puduReportMultiStoreSyncService.syncAllStoresByTimeRange(req);
+        return ResponseEntity.ok(result.getSaved() + "개 Report 저장/업데이트 완료 (모든 매장 - 특정 기간"
+                + (result.getFailedStores() > 0 ? ", 실패 매장 " + result.getFailedStores() + "개" : "")
+                + (result.getDetailFailed() > 0 ? ", 재시도 대기 " + result.getDetailFailed() + "건" : "") + ")");
     }
 
     @PostMapping("/sync/all-stores/full-historical")
     public ResponseEntity<String> syncAllStoresFullHistorical() {
 
-        puduReportFullHistoricalFacade.syncAllStores6MonthAsync();
+        BackfillJobStatusDTO job = puduReportFullHistoricalFacade.syncAllStores6MonthAsync();
 
         return ResponseEntity.accepted().body(
-                "전체 매장 6개월 보고서 동기화 작업을 시작했습니다. " +
-                        "작업은 백그라운드에서 계속 진행되며, 완료까지 8분 정도 시간이 걸릴 수 있습니다."
+                "전체 매장 6개월 보고서 동기화 작업(jobId=" + job.getJobId() + ")을 시작했습니다. " +
+                        "작업은 백그라운드에서 계속 진행되며, 서버가 재시작되어도 남은 구간부터 이어서 진행됩니다. " +
+                        "진행 상황은 /report/sync/all-stores/full-historical/status 에서 확인할 수 있습니다."
         );
     }
 
+    // 백필 진행 상황 (완료/대기/실패 구간, 처리량)
+    @GetMapping("/sync/all-stores/full-historical/status")
+    public ResponseEntity<BackfillJobStatusDTO> getFullHistoricalStatus() {
+        return puduReportFullHistoricalFacade.latestStatus()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+
+    // 진행 중(완료/예외/취소 전) 보고서만 상세 재조회해 바뀐 값 갱신
+    @PostMapping("/sync/open-reports/refresh")
+    public ResponseEntity<ReportRefreshResultDTO> refreshOpenReports() {
+        return ResponseEntity.ok(puduReportRefreshService.refreshOpenReports());
+    }
+
+    // 상세 조회 실패 대기열 중 재시도 시각이 지난 항목 즉시 처리
+    @PostMapping("/sync/retries/run")
+    public ResponseEntity<ReportRetryResultDTO> retryFailedReports() {
+        return ResponseEntity.ok(puduReportRetryService.retryDue());
+    }
+
 
     // id로 보고서 가져오기
     @GetMapping("/detail/{id}")
@@ -85,26 +124,15 @@ public class PuduReportController {
             @RequestParam(defaultValue = "startTime") String sortKey,
             @RequestParam(defaultValue = "desc") String sortOrder
     ) {
-        LocalDateTime s;
-        LocalDateTime e;
-
-        try {
-            DateTimeFormatter formatter =
-                    DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-            s = LocalDateTime.parse(startDate, formatter);
-            e = LocalDateTime.parse(endDate, formatter);
-        } catch (Exception ex) {
-            s = LocalDate.parse(startDate).atStartOfDay();
-            e = LocalDate.parse(endDate).atTime(LocalTime.MAX);
-        }
+        LocalDateTime[] range = parseRange(startDate, endDate);
 
         return ResponseEntity.ok(
                 puduReportService.getReportsPage(
                         storeId,
                         filterStoreId,
                         sn,
-                        s,
-                        e,
+                        range[0],
+                        range[1],
                         page,
                         size,
                         sortKey,
@@ -113,6 +141,85 @@ public class PuduReportController {
         );
     }
 
+    // 커서 방식 목록 조회 (깊은 페이지/큰 결과용). 다음 페이지는 응답의 nextCursor 를 cursor 로 넘김
+    @GetMapping("/cursor")
+    public ResponseEntity<ReportCursorPageDTO> getReportsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "15") int size,
+            @RequestParam(required = false) Long storeId,
+            @RequestParam(required = false) Long filterStoreId,
+            @RequestParam(required = false) String sn,
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(defaultValue = "startTime") String sortKey,
+            @RequestParam(defaultValue = "desc") String sortOrder,
+            @RequestParam(defaultValue = "true") boolean skipCount
+    ) {
+        LocalDateTime[] range = parseRange(startDate, endDate);
+
+        return ResponseEntity.ok(
+                puduReportService.getReportsCursor(
+                        storeId,
+                        filterStoreId,
+                        sn,
+                        range[0],
+                        range[1],
+                        cursor,
+                        Math.max(1, Math.min(size, 500)),
+                        sortKey,
+                        sortOrder,
+                        skipCount
+                )
+        );
+    }
+
+    // "yyyy-MM-dd HH:mm:ss" 또는 "yyyy-MM-dd" (하루 전체)
+    private static LocalDateTime[] parseRange(String startDate, String endDate) {
+        try {
+            DateTimeFormatter formatter =
+                    DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+            return new LocalDateTime[]{
+                    LocalDateTime.parse(startDate, formatter),
+                    LocalDateTime.parse(endDate, formatter)
+            };
+        } catch (Exception ex) {
+            return new LocalDateTime[]{
+                    LocalDate.parse(startDate).atStartOfDay(),
+                    LocalDate.parse(endDate).atTime(LocalTime.MAX)
+            };
+        }
+    }
+
+    // 보고서 내보내기 (format=csv|ndjson). 조회하면서 바로 응답으로 흘려보냄 (기간이 길어도 메모리 일정)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReports(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long storeId,
+            @RequestParam String startDate,
+            @RequestParam String endDate
+    ) {
+        ReportExportFormat exportFormat;
+        try {
+            exportFormat = ReportExportFormat.from(format);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+        LocalDate start = LocalDate.parse(startDate);
+        LocalDate end = LocalDate.parse(endDate);
+
+        String filename = "pudu-report_" + start + "_" + end
+                + (storeId != null ? "_store" + storeId : "") + "." + exportFormat.extension();
+
+        StreamingResponseBody body = out ->
+                puduReportExportService.export(exportFormat, storeId, start, end, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
     // 해당 store의 report 조회
     @GetMapping("/list")
     public ResponseEntity<List<PuduReportResponseDTO>> getReportsforDashboard(
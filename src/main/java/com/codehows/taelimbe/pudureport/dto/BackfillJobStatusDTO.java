@@ -0,0 +1,40 @@
+package com.codehows.taelimbe.pudureport.dto;
+
+import com.codehows.taelimbe.pudureport.constant.BackfillJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BackfillJobStatusDTO {
+
+    private Long jobId;
+    private BackfillJobStatus status;
+    private LocalDate rangeStart;
+    private LocalDate rangeEnd;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+
+    // 구간(매장 × 일) 현황
+    private int totalSlices;
+    private long doneSlices;
+    private long pendingSlices;
+    private long runningSlices;
+    private long failedSlices;
+
+    private long fetched;                   // 완료 구간 목록 항목 합
+    private long saved;                     // 완료 구간 저장 합
+
+    // 이 프로세스에서 실행(재개)한 이후의 처리량
+    private int activeWorkers;
+    private double slicesPerMinute;
+    private double reportsPerSecond;
+    private Long etaSeconds;                // 남은 구간 / 현재 처리량 (처리량이 없으면 null)
+}
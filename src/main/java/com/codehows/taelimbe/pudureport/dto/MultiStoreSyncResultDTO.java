@@ -0,0 +1,29 @@
+package com.codehows.taelimbe.pudureport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MultiStoreSyncResultDTO {
+
+    private LocalDateTime finishedAt;
+    private double elapsedMs;               // 전체 소요 시간 (매장 병렬)
+    private double sumOfStoreMs;            // 매장별 소요 시간 합 (순차 실행이었다면 걸렸을 시간)
+
+    private int stores;
+    private int failedStores;
+    private int fetched;
+    private int saved;
+    private int skipped;
+    private int detailFailed;               // 재시도 대기열에 등록된 보고서 수
+
+    private List<StoreSyncSummaryDTO> summaries;
+}
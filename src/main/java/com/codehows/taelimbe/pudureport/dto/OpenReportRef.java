@@ -0,0 +1,21 @@
+package com.codehows.taelimbe.pudureport.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 진행 중(종료 상태가 아닌) 보고서 재조회 대상 - 상세 재조회에 필요한 키와 변경 비교용 현재 값만 담는다
+ */
+public record OpenReportRef(
+        Long reportId,
+        Long robotId,
+        String sn,
+        Integer status,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        Float cleanTime,
+        Float taskArea,
+        Float cleanArea,
+        Long costBattery,
+        Long costWater,
+        String mapUrl
+) {}
@@ -0,0 +1,26 @@
+package com.codehows.taelimbe.pudureport.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보고서 내보내기 한 행 (JDBC 커서에서 바로 만들어 쓰고 버린다)
+ */
+public record PuduReportExportRow(
+        Long puduReportId,
+        Long reportId,
+        Long storeId,
+        String shopName,
+        String sn,
+        String nickname,
+        Integer status,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        Float cleanTime,
+        Float taskArea,
+        Float cleanArea,
+        Integer mode,
+        Long costBattery,
+        Long costWater,
+        String mapName,
+        String remark
+) {}
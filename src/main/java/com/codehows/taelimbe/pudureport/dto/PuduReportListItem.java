@@ -0,0 +1,30 @@
+package com.codehows.taelimbe.pudureport.dto;
+
+import com.codehows.taelimbe.client.PuduListReader;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * clean_task/query_list 목록 항목 (상세 조회에 필요한 값만)
+ */
+public record PuduReportListItem(Long reportId, String sn) {
+
+    public static PuduReportListItem read(JsonParser p) throws IOException {
+        Long reportId = null;
+        String sn = null;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "report_id" -> reportId = PuduListReader.longValue(p);
+                case "sn" -> sn = PuduListReader.text(p);
+                default -> p.skipChildren();
+            }
+        }
+
+        return new PuduReportListItem(reportId, sn);
+    }
+}
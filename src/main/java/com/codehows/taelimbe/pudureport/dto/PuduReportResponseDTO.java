@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+// 목록 조회는 PuduReportRepository.RESPONSE_SELECT 가 전체 필드 생성자로 만든다 → 필드 순서를 바꾸면 쿼리도 함께 수정
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,39 @@
+package com.codehows.taelimbe.pudureport.dto;
+
+import com.codehows.taelimbe.pudureport.constant.ReportSortKey;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 보고서 목록 커서 (마지막으로 받은 행의 정렬 값 + pudu_report_id)
+ * 클라이언트에는 내용을 해석하지 않는 문자열로 넘긴다 (URL-safe Base64).
+ * 정렬 키/방향을 함께 담아 다른 정렬로 이어 읽는 요청을 거부한다.
+ */
+public record ReportCursor(ReportSortKey sortKey, boolean desc, String value, Long puduReportId) {
+
+    private static final String VERSION = "1";
+
+    public String encode() {
+        String raw = String.join("|", VERSION, sortKey.name(), desc ? "d" : "a",
+                String.valueOf(puduReportId), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** 형식이 맞지 않으면 IllegalArgumentException */
+    public static ReportCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // 정렬 값에 '|' 가 있어도 되도록 값은 마지막에 두고 나머지만 자른다
+            String[] parts = raw.split("\\|", 5);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("지원하지 않는 커서 형식");
+            }
+            ReportSortKey key = ReportSortKey.valueOf(parts[1]);
+            key.parse(parts[4]);
+            return new ReportCursor(key, "d".equals(parts[2]), parts[4], Long.parseLong(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+    }
+}
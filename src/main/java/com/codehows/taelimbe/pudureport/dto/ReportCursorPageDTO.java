@@ -0,0 +1,21 @@
+package com.codehows.taelimbe.pudureport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportCursorPageDTO {
+
+    private List<PuduReportResponseDTO> content;
+    private int size;                       // 요청한 페이지 크기
+    private boolean hasNext;
+    private String nextCursor;              // 다음 요청의 cursor 값 (마지막 페이지면 null)
+    private Long totalElements;             // skipCount=false 일 때만 (아니면 null)
+}
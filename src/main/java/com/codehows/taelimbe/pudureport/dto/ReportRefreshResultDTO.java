@@ -0,0 +1,25 @@
+package com.codehows.taelimbe.pudureport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportRefreshResultDTO {
+
+    private LocalDateTime finishedAt;
+    private double elapsedMs;
+
+    private int stores;                     // 진행 중 보고서가 있던 매장 수
+    private int candidates;                 // 재조회 대상 (종료 상태가 아닌 보고서)
+    private int fetched;                    // 상세 재조회 성공
+    private int changed;                    // 값이 바뀌어 갱신한 수
+    private int closed;                     // 그중 종료 상태(완료/예외/취소)가 된 수
+    private int failed;                     // 상세 재조회 실패 (다음 주기에 다시 시도)
+}
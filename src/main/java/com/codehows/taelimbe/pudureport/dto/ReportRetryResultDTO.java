@@ -0,0 +1,24 @@
+package com.codehows.taelimbe.pudureport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportRetryResultDTO {
+
+    private LocalDateTime finishedAt;
+    private double elapsedMs;
+
+    private int due;                        // 재시도 시각이 지난 대기 항목
+    private int recovered;                  // 상세 재조회 후 저장
+    private int alreadySaved;               // 그사이 다른 동기화가 저장해 조회 없이 완료 처리
+    private int failed;                     // 다시 실패 (백오프 후 재시도)
+    private int gaveUp;                     // 최대 시도 횟수 초과로 포기
+}
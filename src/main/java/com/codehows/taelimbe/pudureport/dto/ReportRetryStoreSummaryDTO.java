@@ -0,0 +1,19 @@
+package com.codehows.taelimbe.pudureport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportRetryStoreSummaryDTO {
+
+    private Long storeId;
+
+    private long pending;                   // 재시도 대기
+    private long done;                      // 재시도로 복구
+    private long gaveUp;                    // 재시도 한도 초과 (구간 재동기화 필요)
+}
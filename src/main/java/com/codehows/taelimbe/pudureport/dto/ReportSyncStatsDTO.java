@@ -0,0 +1,51 @@
+package com.codehows.taelimbe.pudureport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportSyncStatsDTO {
+
+    private Long shopId;
+    private LocalDateTime finishedAt;
+    private double elapsedMs;               // 전체 소요 시간
+
+    // 목록 단계
+    private int pages;                      // 조회한 페이지 수
+    private int listed;                     // 목록 항목 수
+    private int windows;                    // 기간 분할 조회 시 끝까지 조회한 구간 수
+    private int windowSplits;               // 첫 페이지가 가득 차 반으로 나눈 횟수
+    private double listFetchMs;             // 목록 API 응답 대기 누적
+    private double listStarvedMs;           // 다음 페이지가 없어 쓰기 스레드가 기다린 시간
+    private double listItemsPerSecond;
+    private int listFailed;                 // 목록 조회 실패 (오류 응답, 타임아웃) → 조회하지 못한 구간이 남음
+    private String listError;               // 첫 목록 조회 실패 사유
+
+    // 상세 단계
+    private int detailRequested;            // 상세 조회 요청 수 (중복/기존 건 제외 후)
+    private int converted;                  // 엔티티로 변환된 수
+    private int skipped;                    // 로봇 없음, 상세 없음 등
+    private int detailFailed;               // 상세 조회 실패 → 재시도 대기열에 등록
+    private int duplicates;                 // 같은 실행 안에서 중복된 report_id
+    private int existing;                   // 이미 저장되어 상세 조회를 생략한 수
+    private int peakInFlight;               // 최대 동시 상세 조회 수
+    private int robotLookups;               // 로봇 조회 요청 수 (기존 방식의 findBySn 횟수)
+    private int robotQueries;               // 실제 로봇 DB 쿼리 수 (적재 1 + 목록 밖 sn)
+    private double detailBlockedMs;         // 동시 조회 한도로 대기한 시간
+    private double detailsPerSecond;
+
+    // 쓰기 단계
+    private int batches;                    // upsert 호출 수
+    private int saved;                      // 저장된 보고서 수
+    private double writeMs;                 // upsert 누적 시간
+    private double rowsPerSecond;           // 저장 처리량 (쓰기 시간 기준)
+
+    private double reportsPerSecond;        // 전체 처리량 (저장 수 / 전체 시간)
+}
@@ -0,0 +1,25 @@
+package com.codehows.taelimbe.pudureport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoreSyncSummaryDTO {
+
+    private Long storeId;
+    private Long shopId;
+
+    private int fetched;                    // 목록에서 받은 보고서 수
+    private int saved;                      // 새로 저장/갱신한 수
+    private int skipped;                    // 기존/중복/로봇 없음/상세 없음으로 제외한 수
+    private int detailFailed;               // 상세 조회 실패 → 재시도 대기열에 등록된 수
+    private boolean failed;                 // 매장 동기화 실패 (예외/목록 조회 실패, 이미 커밋된 배치는 유지)
+    private String error;
+
+    private double elapsedMs;
+}
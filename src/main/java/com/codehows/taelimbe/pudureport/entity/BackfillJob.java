@@ -0,0 +1,64 @@
+package com.codehows.taelimbe.pudureport.entity;
+
+import com.codehows.taelimbe.pudureport.constant.BackfillJobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 전체 매장 과거 보고서 백필 작업
+ * 기간을 매장 × 일 단위 구간(BackfillSlice)으로 나눠 저장하고, 구간마다 완료 여부를 기록한다.
+ */
+@Entity
+@Table(name = "backfill_job")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+public class BackfillJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long backfillJobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private BackfillJobStatus status;
+
+    /** 첫 날 (포함) */
+    @Column(nullable = false)
+    private LocalDate rangeStart;
+
+    /** 마지막 날 (포함) */
+    @Column(nullable = false)
+    private LocalDate rangeEnd;
+
+    @Column(nullable = false)
+    private int totalSlices;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime finishedAt;
+
+    /* ================= 생성 메서드 ================= */
+
+    public static BackfillJob create(LocalDate rangeStart, LocalDate rangeEnd, int totalSlices) {
+        return BackfillJob.builder()
+                .status(BackfillJobStatus.RUNNING)
+                .rangeStart(rangeStart)
+                .rangeEnd(rangeEnd)
+                .totalSlices(totalSlices)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    /* ================= 상태 변경 ================= */
+
+    public void finish(boolean anyFailed) {
+        this.status = anyFailed ? BackfillJobStatus.COMPLETED_WITH_FAILURES : BackfillJobStatus.COMPLETED;
+        this.finishedAt = LocalDateTime.now();
+    }
+}
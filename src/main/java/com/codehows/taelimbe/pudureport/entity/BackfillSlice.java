@@ -0,0 +1,91 @@
+package com.codehows.taelimbe.pudureport.entity;
+
+import com.codehows.taelimbe.pudureport.constant.BackfillSliceStatus;
+import com.codehows.taelimbe.store.entity.Store;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 백필 작업의 한 구간 (매장 1곳 × 하루)
+ * 워커가 PENDING → RUNNING 으로 바꿔 가져가고, 끝나면 DONE/FAILED 로 기록한다 (체크포인트).
+ */
+@Entity
+@Table(name = "backfill_slice",
+        uniqueConstraints = @UniqueConstraint(name = "uk_backfill_slice_job_store_day",
+                columnNames = {"backfill_job_id", "store_id", "day"}),
+        indexes = @Index(name = "idx_backfill_slice_job_status", columnList = "backfill_job_id, status"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+public class BackfillSlice {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long backfillSliceId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "backfill_job_id", nullable = false)
+    private BackfillJob job;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "store_id", nullable = false)
+    private Store store;
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BackfillSliceStatus status;
+
+    /** 가져간 횟수 (재시도 포함) */
+    @Column(nullable = false)
+    private int attempts;
+
+    private Integer fetched;
+
+    private Integer saved;
+
+    private Long elapsedMs;
+
+    @Column(length = 500)
+    private String error;
+
+    /** 가져간 시각. 처리 중에는 워커가 주기적으로 갱신 (하트비트) */
+    private LocalDateTime claimedAt;
+
+    private LocalDateTime finishedAt;
+
+    /* ================= 생성 메서드 ================= */
+
+    public static BackfillSlice pending(BackfillJob job, Store store, LocalDate day) {
+        return BackfillSlice.builder()
+                .job(job)
+                .store(store)
+                .day(day)
+                .status(BackfillSliceStatus.PENDING)
+                .build();
+    }
+
+    /* ================= 상태 변경 ================= */
+
+    public void markDone(int fetched, int saved, long elapsedMs) {
+        this.status = BackfillSliceStatus.DONE;
+        this.fetched = fetched;
+        this.saved = saved;
+        this.elapsedMs = elapsedMs;
+        this.error = null;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    /** 재시도 한도 안이면 다시 대기열로, 넘으면 FAILED */
+    public void markFailed(String error, int maxAttempts) {
+        this.status = attempts < maxAttempts ? BackfillSliceStatus.PENDING : BackfillSliceStatus.FAILED;
+        this.error = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        this.finishedAt = LocalDateTime.now();
+    }
+}
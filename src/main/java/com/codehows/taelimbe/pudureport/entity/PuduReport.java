@@ -7,7 +7,13 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "pudu_report")
+@Table(name = "pudu_report",
+        uniqueConstraints = @UniqueConstraint(name = "uk_pudu_report_report_id", columnNames = "report_id"),
+        indexes = {
+                @Index(name = "idx_pudu_report_status_start", columnList = "status, start_time"),
+                // 기간 목록/커서 조회 (start_time, pudu_report_id) 순서 스캔
+                @Index(name = "idx_pudu_report_start_id", columnList = "start_time, pudu_report_id")
+        })
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,133 @@
+package com.codehows.taelimbe.pudureport.entity;
+
+import com.codehows.taelimbe.pudureport.constant.ReportRetryStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 상세 조회에 실패한 보고서 재시도 대기열 (report_id 당 1행)
+ * 동기화 중 상세 조회가 실패하면 (sn, report_id, shop_id, 조회 구간) 을 남기고,
+ * 재시도 워커가 지수 백오프로 다시 조회한다.
+ */
+@Entity
+@Table(name = "pudu_report_retry",
+        uniqueConstraints = @UniqueConstraint(name = "uk_pudu_report_retry_report_id", columnNames = "report_id"),
+        indexes = @Index(name = "idx_pudu_report_retry_due", columnList = "status, next_attempt_at"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+public class PuduReportRetry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long puduReportRetryId;
+
+    @Column(name = "report_id", nullable = false)
+    private Long reportId;
+
+    @Column(nullable = false, length = 100)
+    private String sn;
+
+    @Column(nullable = false)
+    private Long storeId;
+
+    @Column(nullable = false)
+    private Long shopId;
+
+    /** 실패한 동기화의 조회 구간 (상세 조회 start_time/end_time) */
+    @Column(nullable = false)
+    private LocalDateTime windowStart;
+
+    @Column(nullable = false)
+    private LocalDateTime windowEnd;
+
+    private int timezoneOffset;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReportRetryStatus status;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    /** 조회 시점의 시도 횟수 - 결과 반영 시 그사이 다른 갱신이 없었는지 확인 (PuduReportRetryQueue.save) */
+    @Transient
+    private int readAttempts;
+
+    @PostLoad
+    void rememberReadAttempts() {
+        this.readAttempts = attempts;
+    }
+
+    /* ================= 생성 메서드 ================= */
+
+    public static PuduReportRetry pending(Long reportId, String sn, Long storeId, Long shopId,
+                                          LocalDateTime windowStart, LocalDateTime windowEnd, int tz,
+                                          String error, LocalDateTime nextAttemptAt) {
+        LocalDateTime now = LocalDateTime.now();
+        return PuduReportRetry.builder()
+                .reportId(reportId)
+                .sn(sn)
+                .storeId(storeId)
+                .shopId(shopId)
+                .windowStart(windowStart)
+                .windowEnd(windowEnd)
+                .timezoneOffset(tz)
+                .status(ReportRetryStatus.PENDING)
+                .nextAttemptAt(nextAttemptAt)
+                .lastError(truncate(error))
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    /* ================= 상태 변경 ================= */
+
+    /** 이미 끝난(DONE/GAVE_UP) 항목이 다른 동기화에서 다시 실패하면 시도 횟수를 새로 센다 */
+    public void reopen(LocalDateTime windowStart, LocalDateTime windowEnd, String error, LocalDateTime nextAttemptAt) {
+        if (status == ReportRetryStatus.PENDING) return;
+        this.status = ReportRetryStatus.PENDING;
+        this.attempts = 0;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.lastError = truncate(error);
+        this.nextAttemptAt = nextAttemptAt;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void markDone() {
+        this.status = ReportRetryStatus.DONE;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /** 실패 1회 기록. 한도에 닿으면 GAVE_UP, 아니면 backoff 뒤로 미룬다 */
+    public void markFailed(String error, Duration backoff, int maxAttempts) {
+        this.attempts++;
+        this.lastError = truncate(error);
+        this.updatedAt = LocalDateTime.now();
+        if (attempts >= maxAttempts) {
+            this.status = ReportRetryStatus.GAVE_UP;
+        } else {
+            this.nextAttemptAt = updatedAt.plus(backoff);
+        }
+    }
+
+    private static String truncate(String error) {
+        if (error == null) return null;
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
@@ -0,0 +1,15 @@
+package com.codehows.taelimbe.pudureport.repository;
+
+import com.codehows.taelimbe.pudureport.constant.BackfillJobStatus;
+import com.codehows.taelimbe.pudureport.entity.BackfillJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface BackfillJobRepository extends JpaRepository<BackfillJob, Long> {
+
+    List<BackfillJob> findByStatus(BackfillJobStatus status);
+
+    Optional<BackfillJob> findFirstByOrderByBackfillJobIdDesc();
+}
@@ -0,0 +1,12 @@
+package com.codehows.taelimbe.pudureport.repository;
+
+import com.codehows.taelimbe.pudureport.constant.BackfillSliceStatus;
+
+public interface BackfillSliceCountProjection {
+
+    BackfillSliceStatus getStatus();
+    long getCount();
+
+    Long getFetched();
+    Long getSaved();
+}
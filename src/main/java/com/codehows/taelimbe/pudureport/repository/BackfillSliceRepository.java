@@ -0,0 +1,70 @@
+package com.codehows.taelimbe.pudureport.repository;
+
+import com.codehows.taelimbe.pudureport.constant.BackfillSliceStatus;
+import com.codehows.taelimbe.pudureport.entity.BackfillSlice;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BackfillSliceRepository extends JpaRepository<BackfillSlice, Long> {
+
+    // 최근 날짜부터 처리 (최신 데이터가 먼저 채워지도록)
+    @Query("""
+            SELECT s.backfillSliceId FROM BackfillSlice s
+            WHERE s.job.backfillJobId = :jobId AND s.status = :status
+            ORDER BY s.day DESC, s.backfillSliceId
+            """)
+    List<Long> findIdsByJobAndStatus(@Param("jobId") Long jobId,
+                                     @Param("status") BackfillSliceStatus status,
+                                     Pageable pageable);
+
+    // 조건부 UPDATE 로 가져가기 - 다른 워커가 먼저 가져갔으면 0 을 돌려준다
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE BackfillSlice s
+            SET s.status = com.codehows.taelimbe.pudureport.constant.BackfillSliceStatus.RUNNING,
+                s.claimedAt = :now, s.attempts = s.attempts + 1
+            WHERE s.backfillSliceId = :id
+              AND s.status = com.codehows.taelimbe.pudureport.constant.BackfillSliceStatus.PENDING
+            """)
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // 처리 중인 워커가 claimedAt 을 주기적으로 갱신 (하트비트)
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE BackfillSlice s
+            SET s.claimedAt = :now
+            WHERE s.backfillSliceId IN :ids
+              AND s.status = com.codehows.taelimbe.pudureport.constant.BackfillSliceStatus.RUNNING
+            """)
+    int heartbeat(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // 하트비트가 staleBefore 이전에 끊긴(워커가 죽은) 구간만 다시 대기열로. 살아 있는 노드의 구간은 그대로
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE BackfillSlice s
+            SET s.status = com.codehows.taelimbe.pudureport.constant.BackfillSliceStatus.PENDING
+            WHERE s.job.backfillJobId = :jobId
+              AND s.status = com.codehows.taelimbe.pudureport.constant.BackfillSliceStatus.RUNNING
+              AND (s.claimedAt IS NULL OR s.claimedAt < :staleBefore)
+            """)
+    int releaseStale(@Param("jobId") Long jobId, @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Query("""
+            SELECT s.status AS status, COUNT(s) AS count, SUM(s.fetched) AS fetched, SUM(s.saved) AS saved
+            FROM BackfillSlice s
+            WHERE s.job.backfillJobId = :jobId
+            GROUP BY s.status
+            """)
+    List<BackfillSliceCountProjection> countByStatus(@Param("jobId") Long jobId);
+}
@@ -0,0 +1,97 @@
+package com.codehows.taelimbe.pudureport.repository;
+
+import com.codehows.taelimbe.pudureport.entity.PuduReport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 동기화 전용 보고서 일괄 저장
+ * PuduReport 는 IDENTITY 전략이라 saveAll 이 행마다 INSERT 를 보내고 Hibernate 배치도 적용되지 않는다.
+ * 여기서는 report_id 유니크 키 기준 다중 행 INSERT ... ON DUPLICATE KEY UPDATE 한 문장으로 보낸다.
+ *  - 겹치는 기간을 다시 동기화해도 중복 행이 생기지 않고 Pudu 쪽 값으로 갱신된다 (멱등)
+ *  - 사용자가 입력한 remark 는 갱신 대상에서 제외
+ *  - 동시에 같은 보고서를 저장해도 유니크 제약 위반으로 트랜잭션이 롤백되지 않는다
+ * JdbcTemplate 은 JPA 트랜잭션과 같은 커넥션을 쓰므로 호출한 @Transactional 범위 안에서 커밋/롤백된다.
+ */
+@Repository
+public class PuduReportBulkWriter {
+
+    private static final String[] COLUMNS = {
+            "report_id", "status", "start_time", "end_time", "clean_time", "task_area", "clean_area",
+            "mode", "cost_battery", "cost_water", "map_name", "map_url", "robot_id"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxRows;
+
+    public PuduReportBulkWriter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${pudu.report-sync.upsert.max-rows:500}") int maxRows
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxRows = Math.max(1, maxRows);
+    }
+
+    /**
+     * 보고서를 maxRows 단위 문장으로 나눠 upsert 하고 보낸 행 수를 돌려준다.
+     * 영향 행 수(신규 1, 변경 2, 동일 0)가 아니라 입력 건수를 센다.
+     */
+    public int upsert(List<PuduReport> reports) {
+        int written = 0;
+        for (int from = 0; from < reports.size(); from += maxRows) {
+            List<PuduReport> chunk = reports.subList(from, Math.min(reports.size(), from + maxRows));
+            jdbcTemplate.update(upsertSql(chunk.size()), ps -> bind(ps, chunk));
+            written += chunk.size();
+        }
+        return written;
+    }
+
+    static String upsertSql(int rows) {
+        String row = "(" + String.join(", ", Collections.nCopies(COLUMNS.length, "?")) + ")";
+
+        StringBuilder sql = new StringBuilder("INSERT INTO pudu_report (")
+                .append(String.join(", ", COLUMNS))
+                .append(") VALUES ")
+                .append(String.join(", ", Collections.nCopies(rows, row)))
+                .append(" ON DUPLICATE KEY UPDATE ");
+
+        // report_id 는 키, remark 는 컬럼 목록에 없으므로 기존 값 유지
+        for (int i = 1; i < COLUMNS.length; i++) {
+            if (i > 1) sql.append(", ");
+            sql.append(COLUMNS[i]).append(" = VALUES(").append(COLUMNS[i]).append(")");
+        }
+        return sql.toString();
+    }
+
+    private static void bind(PreparedStatement ps, List<PuduReport> chunk) throws SQLException {
+        int i = 1;
+        for (PuduReport r : chunk) {
+            ps.setObject(i++, r.getReportId(), Types.BIGINT);
+            ps.setObject(i++, r.getStatus(), Types.INTEGER);
+            ps.setTimestamp(i++, timestamp(r.getStartTime()));
+            ps.setTimestamp(i++, timestamp(r.getEndTime()));
+            ps.setObject(i++, r.getCleanTime(), Types.REAL);
+            ps.setObject(i++, r.getTaskArea(), Types.REAL);
+            ps.setObject(i++, r.getCleanArea(), Types.REAL);
+            ps.setObject(i++, r.getMode(), Types.INTEGER);
+            ps.setObject(i++, r.getCostBattery(), Types.BIGINT);
+            ps.setObject(i++, r.getCostWater(), Types.BIGINT);
+            ps.setString(i++, r.getMapName());
+            ps.setString(i++, r.getMapUrl());
+            ps.setObject(i++, r.getRobot() != null ? r.getRobot().getRobotId() : null, Types.BIGINT);
+        }
+    }
+
+    private static Timestamp timestamp(LocalDateTime t) {
+        return t != null ? Timestamp.valueOf(t) : null;
+    }
+}
@@ -0,0 +1,100 @@
+package com.codehows.taelimbe.pudureport.repository;
+
+import com.codehows.taelimbe.pudureport.constant.ReportSortKey;
+import com.codehows.taelimbe.pudureport.dto.ReportCursor;
+import com.codehows.taelimbe.pudureport.entity.PuduReport;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 보고서 목록 커서(seek) 조회
+ * OFFSET 페이징은 깊은 페이지일수록 앞의 행을 모두 읽고 버리므로, 여기서는
+ * 마지막으로 받은 (정렬 값, pudu_report_id) 뒤의 행만 읽는다 → 페이지 위치와 관계없이 limit 행만 스캔.
+ * 정렬식은 ReportSortKey 의 고정 식만 쓰고 값은 모두 바인딩한다.
+ * 같은 정렬 값이 여러 행이어도 pudu_report_id 를 두 번째 키로 써서 빠지거나 겹치는 행이 없다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PuduReportCursorReader {
+
+    private final EntityManager entityManager;
+
+    /**
+     * 조건에 맞는 보고서를 after 다음부터 limit 건 (after 가 null 이면 처음부터).
+     * robot/store 는 fetch join (응답 변환 시 추가 조회 없음).
+     */
+    public List<PuduReport> findAfter(String sn, Long storeId, LocalDateTime start, LocalDateTime end,
+                                      ReportSortKey sortKey, boolean desc, ReportCursor after, int limit) {
+        String dir = desc ? "desc" : "asc";
+        String cmp = desc ? "<" : ">";
+        String key = sortKey.expression();
+
+        StringBuilder jpql = new StringBuilder("""
+                select pr
+                from PuduReport pr
+                join fetch pr.robot r
+                join fetch r.store s
+                where pr.startTime between :start and :end
+                """);
+        appendFilter(jpql, sn, storeId);
+        if (after != null) {
+            jpql.append(" and (").append(key).append(' ').append(cmp).append(" :afterValue")
+                    .append(" or (").append(key).append(" = :afterValue")
+                    .append(" and pr.puduReportId ").append(cmp).append(" :afterId))");
+        }
+        jpql.append(" order by ").append(key).append(' ').append(dir)
+                .append(", pr.puduReportId ").append(dir);
+
+        TypedQuery<PuduReport> query = entityManager.createQuery(jpql.toString(), PuduReport.class)
+                .setParameter("start", start)
+                .setParameter("end", end)
+                .setMaxResults(limit);
+        bindFilter(query, sn, storeId);
+        if (after != null) {
+            query.setParameter("afterValue", sortKey.parse(after.value()));
+            query.setParameter("afterId", after.puduReportId());
+        }
+        return query.getResultList();
+    }
+
+    /** 전체 건수 (필터가 없으면 robot/store 조인 없이) */
+    public long count(String sn, Long storeId, LocalDateTime start, LocalDateTime end) {
+        StringBuilder jpql = new StringBuilder("select count(pr) from PuduReport pr");
+        if (hasFilter(sn, storeId)) jpql.append(" join pr.robot r");
+        jpql.append(" where pr.startTime between :start and :end");
+        appendFilter(jpql, sn, storeId);
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class)
+                .setParameter("start", start)
+                .setParameter("end", end);
+        bindFilter(query, sn, storeId);
+        return query.getSingleResult();
+    }
+
+
+    // sn 이 있으면 매장 조건은 보지 않음 (기존 목록 조회와 같은 우선순위)
+    private static boolean hasFilter(String sn, Long storeId) {
+        return (sn != null && !sn.isBlank()) || storeId != null;
+    }
+
+    private static void appendFilter(StringBuilder jpql, String sn, Long storeId) {
+        if (sn != null && !sn.isBlank()) {
+            jpql.append(" and r.sn = :sn");
+        } else if (storeId != null) {
+            jpql.append(" and r.store.storeId = :storeId");
+        }
+    }
+
+    private static void bindFilter(TypedQuery<?> query, String sn, Long storeId) {
+        if (sn != null && !sn.isBlank()) {
+            query.setParameter("sn", sn);
+        } else if (storeId != null) {
+            query.setParameter("storeId", storeId);
+        }
+    }
+}
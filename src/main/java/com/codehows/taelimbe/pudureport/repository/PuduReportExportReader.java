@@ -0,0 +1,100 @@
+package com.codehows.taelimbe.pudureport.repository;
+
+import com.codehows.taelimbe.pudureport.dto.PuduReportExportRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * 보고서 내보내기용 전방향(forward-only) 커서 조회
+ * 기간 전체를 List 로 만들지 않고 한 행씩 읽어 바로 넘긴다 → 기간/매장 수와 관계없이 메모리 일정.
+ * MySQL 드라이버는 기본적으로 결과 전체를 클라이언트에 받아 두므로
+ *   row-streaming=true  → fetchSize = Integer.MIN_VALUE (행 단위 스트리밍, 기본값)
+ *   row-streaming=false → fetchSize = fetch-size (접속 URL 에 useCursorFetch=true 가 있을 때 서버 커서로 나눠 받음)
+ * start_time, pudu_report_id 순서는 idx_pudu_report_start_id 로 정렬 없이 읽는다.
+ * JPA 를 거치지 않으므로 영속성 컨텍스트에 엔티티가 쌓이지 않는다.
+ */
+@Repository
+public class PuduReportExportReader {
+
+    private static final String SELECT = """
+            select pr.pudu_report_id, pr.report_id, s.store_id, s.shop_name, r.sn, r.nickname,
+                   pr.status, pr.start_time, pr.end_time, pr.clean_time, pr.task_area, pr.clean_area,
+                   pr.mode, pr.cost_battery, pr.cost_water, pr.map_name, pr.remark
+            from pudu_report pr
+            join robot r on r.robot_id = pr.robot_id
+            join store s on s.store_id = r.store_id
+            where pr.start_time >= ? and pr.start_time < ?
+            """;
+    private static final String ORDER = " order by pr.start_time, pr.pudu_report_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean rowStreaming;
+    private final int fetchSize;
+
+    public PuduReportExportReader(
+            JdbcTemplate jdbcTemplate,
+            @Value("${pudu.report-export.row-streaming:true}") boolean rowStreaming,
+            @Value("${pudu.report-export.fetch-size:1000}") int fetchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rowStreaming = rowStreaming;
+        this.fetchSize = Math.max(1, fetchSize);
+    }
+
+    /**
+     * [start, end) 보고서를 시작 시각 순으로 action 에 넘기고 건수를 돌려준다 (storeId 가 null 이면 전체 매장).
+     * action 이 던진 RuntimeException 은 조회를 중단하고 그대로 전파된다 (연결은 반납).
+     */
+    public long forEach(Long storeId, LocalDateTime start, LocalDateTime end, Consumer<PuduReportExportRow> action) {
+        String sql = storeId == null ? SELECT + ORDER : SELECT + " and s.store_id = ?" + ORDER;
+        long[] count = {0};
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(rowStreaming ? Integer.MIN_VALUE : fetchSize);
+            ps.setTimestamp(1, Timestamp.valueOf(start));
+            ps.setTimestamp(2, Timestamp.valueOf(end));
+            if (storeId != null) ps.setLong(3, storeId);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            action.accept(map(rs));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    private static PuduReportExportRow map(ResultSet rs) throws SQLException {
+        return new PuduReportExportRow(
+                rs.getLong(1),
+                rs.getObject(2, Long.class),
+                rs.getLong(3),
+                rs.getString(4),
+                rs.getString(5),
+                rs.getString(6),
+                rs.getObject(7, Integer.class),
+                toLocalDateTime(rs.getTimestamp(8)),
+                toLocalDateTime(rs.getTimestamp(9)),
+                rs.getObject(10, Float.class),
+                rs.getObject(11, Float.class),
+                rs.getObject(12, Float.class),
+                rs.getObject(13, Integer.class),
+                rs.getObject(14, Long.class),
+                rs.getObject(15, Long.class),
+                rs.getString(16),
+                rs.getString(17)
+        );
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp ts) {
+        return ts == null ? null : ts.toLocalDateTime();
+    }
+}
@@ -1,7 +1,9 @@
 package com.codehows.taelimbe.pudureport.repository;
 
 import com.codehows.taelimbe.ai.dto.*;
+import com.codehows.taelimbe.pudureport.dto.OpenReportRef;
 import com.codehows.taelimbe.pudureport.dto.PuduReportDTO;
+import com.codehows.taelimbe.pudureport.dto.PuduReportResponseDTO;
 import com.codehows.taelimbe.pudureport.entity.PuduReport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,6 +13,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +26,120 @@ public interface PuduReportRepository extends JpaRepository<PuduReport, Long> {
     );
     Optional<PuduReport> findByReportId(Long reportId);
 
+    // 동기화 중복 확인: 페이지 단위로 한 번에 조회 (uk_pudu_report_report_id 사용)
+    @Query("select pr.reportId from PuduReport pr where pr.reportId in :reportIds")
+    List<Long> findExistingReportIds(@Param("reportIds") Collection<Long> reportIds);
+
+    // 매장별 report_id 집합 적재용
+    @Query("""
+        select pr.reportId
+        from PuduReport pr
+        join pr.robot r
+        join r.store s
+        where s.shopId = :shopId
+          and pr.startTime >= :since
+    """)
+    List<Long> findReportIdsByShopIdSince(
+            @Param("shopId") Long shopId,
+            @Param("since") LocalDateTime since
+    );
+
+    // 진행 중 보고서 재조회 대상: 종료 상태(terminal)가 아닌 최근 보고서 (idx_pudu_report_status_start 사용)
+    @Query("""
+        select new com.codehows.taelimbe.pudureport.dto.OpenReportRef(
+            pr.reportId, r.robotId, r.sn, pr.status, pr.startTime, pr.endTime,
+            pr.cleanTime, pr.taskArea, pr.cleanArea, pr.costBattery, pr.costWater, pr.mapUrl)
+        from PuduReport pr
+        join pr.robot r
+        where r.store.storeId = :storeId
+          and (pr.status is null or pr.status not in :terminal)
+          and pr.startTime >= :since
+    """)
+    List<OpenReportRef> findOpenReports(
+            @Param("storeId") Long storeId,
+            @Param("terminal") Collection<Integer> terminal,
+            @Param("since") LocalDateTime since
+    );
+
+
+    // ===== 목록 응답 조회 (PuduReportResponseDTO 생성자 프로젝션) =====
+    // 엔티티를 읽은 뒤 robot/store 를 따라가면 행마다 robot, store 조회가 추가로 나가므로
+    // 응답 컬럼만 한 문장으로 읽는다. store_id 는 robot 의 FK 값이라 store 조인이 필요 없다.
+    // 정렬(Pageable)은 pr 별칭 기준 (robot.sn, robot.store.shopName 도 같은 문장 안에서 조인).
+
+    String RESPONSE_SELECT = """
+        select new com.codehows.taelimbe.pudureport.dto.PuduReportResponseDTO(
+            pr.puduReportId, pr.reportId, pr.status, pr.startTime, pr.endTime,
+            pr.cleanTime, pr.taskArea, pr.cleanArea, pr.mode, pr.costBattery, pr.costWater,
+            pr.mapName, pr.mapUrl, r.store.storeId, r.robotId, r.sn, pr.remark)
+        from PuduReport pr
+        join pr.robot r
+        """;
+
+    @Query(RESPONSE_SELECT + """
+        where pr.startTime between :start and :end
+        """)
+    List<PuduReportResponseDTO> findResponsesByPeriod(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    @Query(RESPONSE_SELECT + """
+        where r.store.storeId = :storeId
+          and pr.startTime between :start and :end
+        order by pr.startTime desc
+        """)
+    List<PuduReportResponseDTO> findResponsesByStoreAndPeriod(
+            @Param("storeId") Long storeId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    @Query(value = RESPONSE_SELECT + """
+        where pr.startTime between :start and :end
+        """,
+            countQuery = """
+        select count(pr) from PuduReport pr
+        where pr.startTime between :start and :end
+        """)
+    Page<PuduReportResponseDTO> findResponsePage(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            Pageable pageable
+    );
+
+    @Query(value = RESPONSE_SELECT + """
+        where r.sn = :sn
+          and pr.startTime between :start and :end
+        """,
+            countQuery = """
+        select count(pr) from PuduReport pr join pr.robot r
+        where r.sn = :sn
+          and pr.startTime between :start and :end
+        """)
+    Page<PuduReportResponseDTO> findResponsePageBySn(
+            @Param("sn") String sn,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            Pageable pageable
+    );
+
+    @Query(value = RESPONSE_SELECT + """
+        where r.store.storeId = :storeId
+          and pr.startTime between :start and :end
+        """,
+            countQuery = """
+        select count(pr) from PuduReport pr join pr.robot r
+        where r.store.storeId = :storeId
+          and pr.startTime between :start and :end
+        """)
+    Page<PuduReportResponseDTO> findResponsePageByStore(
+            @Param("storeId") Long storeId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            Pageable pageable
+    );
+
 
     List<PuduReport> findByRobot_SnAndStartTimeBetween(
             String sn,
@@ -0,0 +1,55 @@
+package com.codehows.taelimbe.pudureport.repository;
+
+import com.codehows.taelimbe.pudureport.constant.ReportRetryStatus;
+import com.codehows.taelimbe.pudureport.entity.PuduReportRetry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface PuduReportRetryRepository extends JpaRepository<PuduReportRetry, Long> {
+
+    List<PuduReportRetry> findByReportIdIn(Collection<Long> reportIds);
+
+    // 재시도 시각이 지난 항목 (오래 기다린 것부터, idx_pudu_report_retry_due 사용)
+    @Query("""
+            SELECT r FROM PuduReportRetry r
+            WHERE r.status = :status AND r.nextAttemptAt <= :now
+            ORDER BY r.nextAttemptAt
+            """)
+    List<PuduReportRetry> findDue(@Param("status") ReportRetryStatus status,
+                                  @Param("now") LocalDateTime now,
+                                  Pageable pageable);
+
+    // 조회 시점 그대로(PENDING, 같은 시도 횟수)인 행만 갱신 - 그사이 다른 동기화의 기록/재개를 덮어쓰지 않음
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE PuduReportRetry r
+            SET r.status = :status, r.attempts = :attempts, r.nextAttemptAt = :nextAttemptAt,
+                r.lastError = :lastError, r.updatedAt = :updatedAt
+            WHERE r.puduReportRetryId = :id
+              AND r.status = com.codehows.taelimbe.pudureport.constant.ReportRetryStatus.PENDING
+              AND r.attempts = :readAttempts
+            """)
+    int updateIfUnchanged(@Param("id") Long id,
+                          @Param("readAttempts") int readAttempts,
+                          @Param("status") ReportRetryStatus status,
+                          @Param("attempts") int attempts,
+                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                          @Param("lastError") String lastError,
+                          @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("""
+            SELECT r.storeId AS storeId, r.status AS status, COUNT(r) AS count
+            FROM PuduReportRetry r
+            GROUP BY r.storeId, r.status
+            """)
+    List<ReportRetryCountProjection> countByStoreAndStatus();
+}
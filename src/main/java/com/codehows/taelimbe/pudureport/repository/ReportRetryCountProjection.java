@@ -0,0 +1,10 @@
+package com.codehows.taelimbe.pudureport.repository;
+
+import com.codehows.taelimbe.pudureport.constant.ReportRetryStatus;
+
+public interface ReportRetryCountProjection {
+
+    Long getStoreId();
+    ReportRetryStatus getStatus();
+    long getCount();
+}
@@ -0,0 +1,121 @@
+package com.codehows.taelimbe.pudureport.service;
+
+import com.codehows.taelimbe.pudureport.repository.PuduReportRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이미 저장된 report_id 확인
+ * 1) 매장(shopId)별 메모리 집합 - 최근 N일치를 DB 에서 읽어 두고(TTL 마다 다시 적재), 저장이 커밋되면 추가
+ * 2) 집합에 없는 id 만 페이지 단위 IN 쿼리 한 번으로 확인
+ * 오탐이 있으면 새 보고서를 놓치므로 Bloom 필터 대신 정확한 long 집합을 쓴다.
+ */
+@Slf4j
+@Component
+public class KnownReportIdRegistry {
+
+    private final PuduReportRepository puduReportRepository;
+    private final boolean enabled;
+    private final int warmDays;
+    private final long ttlNanos;
+
+    private final Map<Long, Known> stores = new ConcurrentHashMap<>();
+
+    public KnownReportIdRegistry(
+            PuduReportRepository puduReportRepository,
+            @Value("${pudu.report-sync.known-ids.enabled:true}") boolean enabled,
+            @Value("${pudu.report-sync.known-ids.days:200}") int warmDays,
+            @Value("${pudu.report-sync.known-ids.ttl-minutes:60}") long ttlMinutes
+    ) {
+        this.puduReportRepository = puduReportRepository;
+        this.enabled = enabled;
+        this.warmDays = warmDays;
+        this.ttlNanos = TimeUnit.MINUTES.toNanos(ttlMinutes);
+    }
+
+    /** reportIds 중 이미 저장된 id 집합 */
+    public Set<Long> findKnown(Long shopId, Collection<Long> reportIds) {
+        if (reportIds.isEmpty()) return Set.of();
+
+        Set<Long> known = new HashSet<>();
+        List<Long> unknown = new ArrayList<>(reportIds.size());
+
+        Known cache = enabled ? known(shopId) : null;
+        if (cache != null) {
+            synchronized (cache) {
+                for (Long id : reportIds) {
+                    if (cache.ids.contains(id)) known.add(id);
+                    else unknown.add(id);
+                }
+            }
+        } else {
+            unknown.addAll(reportIds);
+        }
+
+        if (!unknown.isEmpty()) {
+            List<Long> existing = puduReportRepository.findExistingReportIds(unknown);
+            known.addAll(existing);
+            if (cache != null && !existing.isEmpty()) {
+                synchronized (cache) {
+                    existing.forEach(cache.ids::add);
+                }
+            }
+        }
+
+        return known;
+    }
+
+    /** 저장한 id 를 집합에 반영 (트랜잭션 안이면 커밋 후에만) */
+    public void markSaved(Long shopId, Collection<Long> reportIds) {
+        if (!enabled || reportIds.isEmpty()) return;
+
+        List<Long> ids = List.copyOf(reportIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(shopId, ids);
+                }
+            });
+        } else {
+            add(shopId, ids);
+        }
+    }
+
+    private void add(Long shopId, List<Long> ids) {
+        Known cache = stores.get(shopId);
+        if (cache == null) return;  // 아직 적재 전이면 다음 적재 때 DB 에서 읽힘
+        synchronized (cache) {
+            ids.forEach(cache.ids::add);
+        }
+    }
+
+    private Known known(Long shopId) {
+        Known cur = stores.get(shopId);
+        long now = System.nanoTime();
+        if (cur != null && now - cur.loadedAt < ttlNanos) return cur;
+
+        // DB 조회는 맵 밖에서 - compute 안에서 조회하면 같은 버킷의 다른 매장까지 조회 시간 동안 막힌다
+        // 같은 매장을 두 스레드가 동시에 적재할 수는 있지만 먼저 설치된 집합을 함께 쓴다
+        List<Long> ids = puduReportRepository.findReportIdsByShopIdSince(
+                shopId, LocalDateTime.now().minusDays(warmDays));
+        Known fresh = new Known(new LongHashSet(ids.size()), now);
+        ids.forEach(fresh.ids::add);
+
+        Known installed = stores.compute(shopId, (k, c) -> c != null && c != cur ? c : fresh);
+        if (installed == fresh) {
+            log.debug("report_id 집합 적재 shopId={} {}건", shopId, ids.size());
+        }
+        return installed;
+    }
+
+    private record Known(LongHashSet ids, long loadedAt) {}
+}
@@ -1,15 +1,15 @@
   package com.codehows.taelimbe.pudureport.service;
 
-import com.codehows.taelimbe.pudureport.repository.PuduReportRepository;
 import com.codehows.taelimbe.client.PuduAPIClient;
+import com.codehows.taelimbe.client.PuduListReader;
+import com.codehows.taelimbe.pudureport.dto.PuduReportListItem;
 import com.codehows.taelimbe.pudureport.entity.PuduReport;
 import com.codehows.taelimbe.robot.entity.Robot;
-import com.codehows.taelimbe.robot.repository.RobotRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Async;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -17,160 +17,127 @@ import java.time.*;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class PuduReportAsyncProcessor {
 
     private final PuduAPIClient puduAPIClient;
-    private final PuduReportRepository puduReportRepository;
-    private final RobotRepository robotRepository;
     private final ObjectMapper mapper = new ObjectMapper();
 
 
-    // 청소 보고서 리스트 조회
-    public List<JsonNode> fetchList(LocalDateTime s, LocalDateTime e,
-                                    Long shopId, int tz, int offset) {
-        try {
-            String url = UriComponentsBuilder.fromHttpUrl(puduAPIClient.getBaseUrl())
-                    .path("/data-board/v1/log/clean_task/query_list")
-                    .queryParam("start_time", epoch(s))
-                    .queryParam("end_time", epoch(e))
-                    .queryParam("shop_id", shopId)
-                    .queryParam("offset", offset)
-                    .queryParam("limit", 20)
-                    .queryParam("timezone_offset", tz)
-                    .toUriString();
-
-            JsonNode listNode = mapper.readTree(
-                    puduAPIClient.callPuduAPI(url, "GET").getBody()
-            ).path("data").path("list");
-
-            List<JsonNode> list = new ArrayList<>();
-            if (listNode.isArray()) {
-                listNode.forEach(list::add);
-            }
-            return list;
+    // 청소 보고서 리스트 조회 (논블로킹, report_id / sn 만 스트리밍으로 추출)
+    // 요청 실패(타임아웃, 오류 응답, 재시도 후 429)는 예외로 완료한다
+    public CompletableFuture<List<PuduReportListItem>> fetchListAsync(LocalDateTime s, LocalDateTime e,
+                                                                      Long shopId, int tz, int offset) {
+        return fetchListAsync(s, e, shopId, tz, offset, 20);
+    }
 
-        } catch (Exception ex) {
-            return List.of();
-        }
+
+    public CompletableFuture<List<PuduReportListItem>> fetchListAsync(LocalDateTime s, LocalDateTime e,
+                                                                      Long shopId, int tz, int offset, int limit) {
+        String url = UriComponentsBuilder.fromHttpUrl(puduAPIClient.getBaseUrl())
+                .path("/data-board/v1/log/clean_task/query_list")
+                .queryParam("start_time", epoch(s))
+                .queryParam("end_time", epoch(e))
+                .queryParam("shop_id", shopId)
+                .queryParam("offset", offset)
+                .queryParam("limit", limit)
+                .queryParam("timezone_offset", tz)
+                .toUriString();
+
+        // 오류 응답을 빈 페이지로 돌려주면 목록 끝으로 처리되어 조회하지 못한 구간을 지나치므로 예외로 완료
+        return puduAPIClient.callPuduAPIAsync(url, "GET", PuduListReader.of(PuduReportListItem::read))
+                .thenApply(res -> {
+                    if (!res.getStatusCode().is2xxSuccessful()) {
+                        throw new IllegalStateException("목록 조회 실패 HTTP " + res.getStatusCode().value());
+                    }
+                    return res.getBody() == null ? List.<PuduReportListItem>of() : res.getBody();
+                });
     }
 
 
-    @Async("PuduReportSyncExecutor")
+    /**
+     * 상세 조회를 논블로킹으로 수행한다.
+     * 응답을 기다리는 동안 PuduReportSyncExecutor 스레드를 점유하지 않는다.
+     * 이미 저장된 report_id 는 호출 측에서 페이지 단위로 걸러서 넘기고 (KnownReportIdRegistry),
+     * 로봇은 매장 동기화 단위 조회표에서 찾아 넘긴다 (StoreRobotLookup).
+     * 넘겨받는 robot 은 세션이 닫힌 getReferenceById 프록시이므로 id 외의 상태는 읽지 않는다 (sn 은 인자로 받은 값 사용).
+     * 응답에 상세가 없으면 null, 요청 실패(타임아웃, 5xx, 재시도 후 429, 응답 파싱 오류)는 예외로 완료한다
+     * → 호출 측이 재시도 대기열(PuduReportRetryQueue)에 남길 수 있도록.
+     */
     public CompletableFuture<PuduReport> convertAsync(
-            String sn, String reportIdStr,
+            String sn, Long reportId, Robot robot,
             LocalDateTime start, LocalDateTime end,
             int tz, Long shopId) {
 
         try {
-            Long reportId = safeLong(reportIdStr);
-            if (reportId == null || puduReportRepository.findByReportId(reportId).isPresent())
-                return done();
-
-            Robot robot = robotRepository.findBySn(sn).orElse(null);
-            if (robot == null) return done();
-
-            JsonNode data = fetchDetail(sn, reportIdStr, start, end, tz, shopId);
-            if (data == null) return done();
-
-            Map<String, String> floor = parseFloor(data);
-
-            return CompletableFuture.completedFuture(
-                    PuduReport.builder()
-                            .reportId(reportId)
-                            .status(data.path("status").asInt())
-                            .startTime(epochToLocalDateTime(data.path("start_time").asLong()))
-                            .endTime(epochToLocalDateTime(data.path("end_time").asLong()))
-                            .cleanTime(data.path("clean_time").asDouble() > 0 ? data.path("clean_time").floatValue() : null)
-                            .taskArea(data.path("task_area").asDouble() > 0 ? data.path("task_area").floatValue() : null)
-                            .cleanArea(data.path("clean_area").asDouble() > 0 ? data.path("clean_area").floatValue() : null)
-                            .mode(data.path("mode").asInt())
-                            .costBattery(data.path("cost_battery").asLong())
-                            .costWater(data.path("cost_water").asLong())
-                            .mapName(floor.get("mapName"))
-                            .mapUrl(floor.get("mapUrl"))
-                            .robot(robot)
-                            .build()
-            );
+            if (sn == null || reportId == null || robot == null) return done();
+
+            return fetchDetailAsync(sn, reportId, start, end, tz, shopId)
+                    .thenApply(data -> data == null ? null : toReport(reportId, sn, data, robot));
 
         } catch (Exception e) {
-            e.printStackTrace();
-            return done();
+            return CompletableFuture.failedFuture(e);
         }
     }
 
 
-    // 상세 보고서 조회
-    private JsonNode fetchDetail(
-            String sn, String id, LocalDateTime s, LocalDateTime e, int tz, Long shopId) {
-        try {
-            String url = UriComponentsBuilder.fromHttpUrl(puduAPIClient.getBaseUrl())
-                    .path("/data-board/v1/log/clean_task/query")
-                    .queryParam("sn", sn)
-                    .queryParam("report_id", id)
-                    .queryParam("start_time", epoch(s))
-                    .queryParam("end_time", epoch(e))
-                    .queryParam("timezone_offset", tz)
-                    .queryParam("shop_id", shopId)
-                    .toUriString();
-
-            return mapper.readTree(
-                    puduAPIClient.callPuduAPI(url, "GET").getBody()
-            ).path("data");
-
-        } catch (Exception ex) {
-            return null;
-        }
+    // 상세 보고서 조회 (논블로킹). 요청 실패는 예외, 응답에 data 가 없으면 null
+    private CompletableFuture<JsonNode> fetchDetailAsync(
+            String sn, Long id, LocalDateTime s, LocalDateTime e, int tz, Long shopId) {
+        String url = UriComponentsBuilder.fromHttpUrl(puduAPIClient.getBaseUrl())
+                .path("/data-board/v1/log/clean_task/query")
+                .queryParam("sn", sn)
+                .queryParam("report_id", id)
+                .queryParam("start_time", epoch(s))
+                .queryParam("end_time", epoch(e))
+                .queryParam("timezone_offset", tz)
+                .queryParam("shop_id", shopId)
+                .toUriString();
+
+        return puduAPIClient.callPuduAPIAsync(url, "GET")
+                .thenApply(res -> {
+                    if (!res.getStatusCode().is2xxSuccessful()) {
+                        throw new IllegalStateException("상세 조회 실패 HTTP " + res.getStatusCode().value());
+                    }
+                    try {
+                        JsonNode data = mapper.readTree(res.getBody()).path("data");
+                        return data.isObject() ? data : null;
+                    } catch (Exception ex) {
+                        throw new IllegalStateException("상세 응답 파싱 실패: " + ex.getMessage(), ex);
+                    }
+                });
     }
 
 
-    public PuduReport convertSyncOnly(
-            String sn, String reportIdStr,
-            LocalDateTime start, LocalDateTime end,
-            int tz, Long shopId
-    ) {
-        try {
-            Long reportId = safeLong(reportIdStr);
-            if (reportId == null || puduReportRepository.findByReportId(reportId).isPresent())
-                return null;
-
-            Robot robot = robotRepository.findBySn(sn).orElse(null);
-            if (robot == null) return null;
-
-            JsonNode data = fetchDetail(sn, reportIdStr, start, end, tz, shopId);
-            if (data == null) return null;
-
-            Map<String, String> floor = parseFloor(data);
-
-            return PuduReport.builder()
-                    .reportId(reportId)
-                    .status(data.path("status").asInt())
-                    .startTime(epochToLocalDateTime(data.path("start_time").asLong()))
-                    .endTime(epochToLocalDateTime(data.path("end_time").asLong()))
-                    .cleanTime(data.path("clean_time").asDouble() > 0
-                            ? data.path("clean_time").floatValue() : null)
-                    .taskArea(data.path("task_area").asDouble() > 0
-                            ? data.path("task_area").floatValue() : null)
-                    .cleanArea(data.path("clean_area").asDouble() > 0
-                            ? data.path("clean_area").floatValue() : null)
-                    .mode(data.path("mode").asInt())
-                    .costBattery(data.path("cost_battery").asLong())
-                    .costWater(data.path("cost_water").asLong())
-                    .mapName(floor.get("mapName"))
-                    .mapUrl(floor.get("mapUrl"))
-                    .robot(robot)
-                    .build();
-
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
+    // 상세 응답 → PuduReport 엔티티 (robot 은 프록시 - 연관 설정에만 쓰고 필드는 읽지 않음)
+    private PuduReport toReport(Long reportId, String sn, JsonNode data, Robot robot) {
+        Map<String, String> floor = parseFloor(reportId, sn, data);
+
+        return PuduReport.builder()
+                .reportId(reportId)
+                .status(data.path("status").asInt())
+                .startTime(epochToLocalDateTime(data.path("start_time").asLong()))
+                .endTime(epochToLocalDateTime(data.path("end_time").asLong()))
+                .cleanTime(data.path("clean_time").asDouble() > 0
+                        ? data.path("clean_time").floatValue() : null)
+                .taskArea(data.path("task_area").asDouble() > 0
+                        ? data.path("task_area").floatValue() : null)
+                .cleanArea(data.path("clean_area").asDouble() > 0
+                        ? data.path("clean_area").floatValue() : null)
+                .mode(data.path("mode").asInt())
+                .costBattery(data.path("cost_battery").asLong())
+                .costWater(data.path("cost_water").asLong())
+                .mapName(floor.get("mapName"))
+                .mapUrl(floor.get("mapUrl"))
+                .robot(robot)
+                .build();
     }
 
 
     // floor_list JSON 파싱
-    private Map<String, String> parseFloor(JsonNode data) {
+    private Map<String, String> parseFloor(Long reportId, String sn, JsonNode data) {
         Map<String, String> floor = new HashMap<>();
 
         try {
@@ -206,7 +173,7 @@ public class PuduReportAsyncProcessor {
             }
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.warn("floor_list 파싱 실패 - 지도 정보 없이 저장 reportId={} sn={}", reportId, sn, e);
             // 실패 시 빈 맵 반환
         }
 
@@ -231,13 +198,4 @@ public class PuduReportAsyncProcessor {
     private static Long epoch(LocalDateTime t) {
         return t.atZone(ZoneId.systemDefault()).toEpochSecond();
     }
-
-
-    private static Long safeLong(String s) {
-        try {
-            return Long.parseLong(s);
-        } catch (Exception e) {
-            return null;
-        }
-    }
 }
\ No newline at end of file
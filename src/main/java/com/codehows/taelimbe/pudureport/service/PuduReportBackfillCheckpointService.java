@@ -0,0 +1,97 @@
+package com.codehows.taelimbe.pudureport.service;
+
+import com.codehows.taelimbe.pudureport.constant.BackfillSliceStatus;
+import com.codehows.taelimbe.pudureport.entity.BackfillJob;
+import com.codehows.taelimbe.pudureport.entity.BackfillSlice;
+import com.codehows.taelimbe.pudureport.repository.BackfillJobRepository;
+import com.codehows.taelimbe.pudureport.repository.BackfillSliceRepository;
+import com.codehows.taelimbe.store.entity.Store;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 백필 작업/구간 상태 기록 - 호출마다 별도 트랜잭션으로 바로 커밋 (체크포인트)
+ */
+@Service
+@RequiredArgsConstructor
+public class PuduReportBackfillCheckpointService {
+
+    private static final int CLAIM_CANDIDATES = 8;
+
+    private final BackfillJobRepository backfillJobRepository;
+    private final BackfillSliceRepository backfillSliceRepository;
+
+    /** 작업과 매장 × 일 구간을 한 번에 생성 */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public BackfillJob createJob(List<Store> stores, LocalDate rangeStart, LocalDate rangeEnd) {
+        List<LocalDate> days = rangeStart.datesUntil(rangeEnd.plusDays(1)).toList();
+        BackfillJob job = backfillJobRepository.save(
+                BackfillJob.create(rangeStart, rangeEnd, stores.size() * days.size()));
+
+        List<BackfillSlice> slices = new ArrayList<>(job.getTotalSlices());
+        for (Store store : stores) {
+            for (LocalDate day : days) {
+                slices.add(BackfillSlice.pending(job, store, day));
+            }
+        }
+        backfillSliceRepository.saveAll(slices);
+        return job;
+    }
+
+    /**
+     * 대기 구간 하나를 가져간다. 후보를 조건부 UPDATE 로 선점하며,
+     * 다른 워커와 겹쳐 모두 놓치면 후보를 다시 읽는다. 남은 구간이 없으면 empty.
+     * 스냅샷 읽기에 갇히지 않도록 조회/선점은 각각 짧은 트랜잭션으로 실행한다 (메서드 전체를 묶지 않음).
+     */
+    public Optional<BackfillSlice> claimNext(Long jobId) {
+        while (true) {
+            List<Long> candidates = backfillSliceRepository.findIdsByJobAndStatus(
+                    jobId, BackfillSliceStatus.PENDING, PageRequest.of(0, CLAIM_CANDIDATES));
+            if (candidates.isEmpty()) return Optional.empty();
+
+            for (Long id : candidates) {
+                if (backfillSliceRepository.claim(id, LocalDateTime.now()) == 1) {
+                    return backfillSliceRepository.findById(id);
+                }
+            }
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void markDone(Long sliceId, int fetched, int saved, long elapsedMs) {
+        backfillSliceRepository.findById(sliceId).orElseThrow().markDone(fetched, saved, elapsedMs);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void markFailed(Long sliceId, String error, int maxAttempts) {
+        backfillSliceRepository.findById(sliceId).orElseThrow().markFailed(error, maxAttempts);
+    }
+
+    /** 처리 중인 구간의 claimedAt 갱신 - 다른 노드가 죽은 워커의 구간으로 보지 않도록 */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int heartbeat(Collection<Long> sliceIds) {
+        if (sliceIds.isEmpty()) return 0;
+        return backfillSliceRepository.heartbeat(sliceIds, LocalDateTime.now());
+    }
+
+    /** 하트비트가 staleBefore 이전에 끊긴 RUNNING 구간만 대기열로 되돌림 */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int releaseStale(Long jobId, LocalDateTime staleBefore) {
+        return backfillSliceRepository.releaseStale(jobId, staleBefore);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void finishJob(Long jobId, boolean anyFailed) {
+        backfillJobRepository.findById(jobId).orElseThrow().finish(anyFailed);
+    }
+}
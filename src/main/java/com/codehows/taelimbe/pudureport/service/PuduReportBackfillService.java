@@ -0,0 +1,330 @@
+package com.codehows.taelimbe.pudureport.service;
+
+import com.codehows.taelimbe.pudureport.constant.BackfillJobStatus;
+import com.codehows.taelimbe.pudureport.constant.BackfillSliceStatus;
+import com.codehows.taelimbe.pudureport.dto.BackfillJobStatusDTO;
+import com.codehows.taelimbe.pudureport.dto.ReportSyncStatsDTO;
+import com.codehows.taelimbe.pudureport.dto.StoreTimeRangeSyncRequestDTO;
+import com.codehows.taelimbe.pudureport.entity.BackfillJob;
+import com.codehows.taelimbe.pudureport.entity.BackfillSlice;
+import com.codehows.taelimbe.pudureport.repository.BackfillJobRepository;
+import com.codehows.taelimbe.pudureport.repository.BackfillSliceCountProjection;
+import com.codehows.taelimbe.pudureport.repository.BackfillSliceRepository;
+import com.codehows.taelimbe.store.repository.StoreRepository;
+import com.codehows.taelimbe.sync.constant.SyncStage;
+import com.codehows.taelimbe.sync.service.SyncProgressService;
+import com.codehows.taelimbe.sync.service.SyncProgressTracker;
+import com.codehows.taelimbe.sync.service.SyncWorkScheduler;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 전체 매장 과거 보고서 백필 (재시작 후 이어서 진행)
+ *
+ *   시작 → 기간을 매장 × 일 구간으로 나눠 backfill_slice 에 저장
+ *   워커 N개 → 대기 구간을 하나씩 선점 → 동기화 → 구간마다 DONE/FAILED 기록 (체크포인트)
+ *   재시작 → RUNNING 작업을 찾아 하트비트가 끊긴 구간만 대기로 되돌리고 워커 재개
+ *
+ * 처리 중인 구간은 claim-ttl 의 1/3 주기로 claimedAt 을 갱신한다 (하트비트).
+ * 여러 노드가 같은 작업을 돌려도 살아 있는 노드의 구간은 되돌리지 않으므로 같은 구간을 두 번 처리하지 않고,
+ * 죽은 노드의 구간은 claim-ttl 이 지나면 재시작/재개 시 또는 대기 구간이 바닥난 워커가 다시 가져간다.
+ *
+ * 실패한 구간은 max-attempts 까지 다시 대기열에 들어가며, 저장은 upsert 라 재실행해도 중복이 없다.
+ * 진행 상황은 runId backfill-{jobId} 로 SSE 구독 가능 (/sync/runs/backfill-{jobId}/events)
+ */
+@Slf4j
+@Service
+public class PuduReportBackfillService {
+
+    private final PuduReportService puduReportService;
+    private final PuduReportBackfillCheckpointService checkpoints;
+    private final BackfillJobRepository backfillJobRepository;
+    private final BackfillSliceRepository backfillSliceRepository;
+    private final StoreRepository storeRepository;
+    private final SyncWorkScheduler syncWorkScheduler;
+    private final SyncProgressService syncProgressService;
+
+    private final int days;
+    private final int workers;
+    private final int maxAttempts;
+    private final boolean resumeOnStartup;
+    private final Duration claimTtl;
+
+    private final ScheduledExecutorService heartbeater = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "backfill-heartbeat");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // 이 프로세스에서 실행 중인 작업별 워커 수/처리량
+    private final Map<Long, RunState> running = new ConcurrentHashMap<>();
+
+    public PuduReportBackfillService(
+            PuduReportService puduReportService,
+            PuduReportBackfillCheckpointService checkpoints,
+            BackfillJobRepository backfillJobRepository,
+            BackfillSliceRepository backfillSliceRepository,
+            StoreRepository storeRepository,
+            SyncWorkScheduler syncWorkScheduler,
+            SyncProgressService syncProgressService,
+            @Value("${pudu.backfill.days:180}") int days,
+            @Value("${pudu.backfill.workers:4}") int workers,
+            @Value("${pudu.backfill.max-attempts:3}") int maxAttempts,
+            @Value("${pudu.backfill.resume-on-startup:true}") boolean resumeOnStartup,
+            @Value("${pudu.backfill.claim-ttl-seconds:600}") long claimTtlSeconds
+    ) {
+        this.puduReportService = puduReportService;
+        this.checkpoints = checkpoints;
+        this.backfillJobRepository = backfillJobRepository;
+        this.backfillSliceRepository = backfillSliceRepository;
+        this.storeRepository = storeRepository;
+        this.syncWorkScheduler = syncWorkScheduler;
+        this.syncProgressService = syncProgressService;
+        this.days = Math.max(1, days);
+        this.workers = Math.max(1, workers);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.resumeOnStartup = resumeOnStartup;
+        this.claimTtl = Duration.ofSeconds(Math.max(3, claimTtlSeconds));
+    }
+
+    /** 새 백필 작업 시작. 이미 진행 중인 작업이 있으면 새로 만들지 않고 그 작업을 돌려준다. */
+    public synchronized BackfillJobStatusDTO start() {
+        Optional<BackfillJob> active = backfillJobRepository.findByStatus(BackfillJobStatus.RUNNING)
+                .stream().findFirst();
+        if (active.isPresent()) {
+            checkpoints.releaseStale(active.get().getBackfillJobId(), staleBefore());
+            launch(active.get().getBackfillJobId());
+            return status(active.get());
+        }
+
+        LocalDate end = LocalDate.now();
+        BackfillJob job = checkpoints.createJob(storeRepository.findAll(), end.minusDays(days), end);
+        log.info("보고서 백필 작업 생성 jobId={} {} ~ {} 구간 {}개",
+                job.getBackfillJobId(), job.getRangeStart(), job.getRangeEnd(), job.getTotalSlices());
+
+        launch(job.getBackfillJobId());
+        return status(job);
+    }
+
+    /** 재시작 시 진행 중이던 작업 재개 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        if (!resumeOnStartup) return;
+
+        for (BackfillJob job : backfillJobRepository.findByStatus(BackfillJobStatus.RUNNING)) {
+            int released = checkpoints.releaseStale(job.getBackfillJobId(), staleBefore());
+            log.info("보고서 백필 재개 jobId={} (하트비트가 끊긴 구간 {}개 재대기)", job.getBackfillJobId(), released);
+            launch(job.getBackfillJobId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeater.shutdownNow();
+    }
+
+    /** 가장 최근 작업 상태 */
+    public Optional<BackfillJobStatusDTO> latestStatus() {
+        return backfillJobRepository.findFirstByOrderByBackfillJobIdDesc().map(this::status);
+    }
+
+    public Optional<BackfillJobStatusDTO> status(Long jobId) {
+        return backfillJobRepository.findById(jobId).map(this::status);
+    }
+
+
+    // 이미 이 프로세스에서 워커가 돌고 있으면 추가로 띄우지 않음
+    private synchronized void launch(Long jobId) {
+        RunState state = running.get(jobId);
+        if (state != null && state.activeWorkers.get() > 0) return;
+
+        // 재개한 작업은 이미 끝난 구간부터 진행률 표시
+        Map<BackfillSliceStatus, Long> counts = counts(backfillSliceRepository.countByStatus(jobId));
+        int total = (int) counts.values().stream().mapToLong(Long::longValue).sum();
+        SyncProgressTracker progress = syncProgressService.start("BACKFILL", "backfill-" + jobId, null);
+        progress.phase("SLICES", "slice", total, counts.get(BackfillSliceStatus.DONE).intValue());
+
+        RunState next = new RunState(progress);
+        running.put(jobId, next);
+        next.activeWorkers.set(workers);
+        long period = Math.max(1, claimTtl.toMillis() / 3);
+        next.heartbeat = heartbeater.scheduleAtFixedRate(() -> heartbeat(next), period, period, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < workers; i++) {
+            syncWorkScheduler.submit(SyncStage.REPORT_BACKFILL, () -> {
+                work(jobId, next);
+                return null;
+            });
+        }
+    }
+
+    private void work(Long jobId, RunState state) {
+        try {
+            Optional<BackfillSlice> claimed;
+            while ((claimed = claimNext(jobId)).isPresent()) {
+                BackfillSlice slice = claimed.get();
+                state.inFlight.add(slice.getBackfillSliceId());
+                try {
+                    process(slice, state);
+                } finally {
+                    state.inFlight.remove(slice.getBackfillSliceId());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("보고서 백필 워커 중단 jobId={}", jobId, e);
+        } finally {
+            if (state.activeWorkers.decrementAndGet() == 0) {
+                state.heartbeat.cancel(false);
+                finishIfDrained(jobId, state.progress);
+            }
+        }
+    }
+
+    // 대기 구간이 없으면 죽은 노드가 잡고 있던 구간을 되돌려 한 번 더 시도
+    private Optional<BackfillSlice> claimNext(Long jobId) {
+        Optional<BackfillSlice> claimed = checkpoints.claimNext(jobId);
+        if (claimed.isEmpty() && checkpoints.releaseStale(jobId, staleBefore()) > 0) {
+            claimed = checkpoints.claimNext(jobId);
+        }
+        return claimed;
+    }
+
+    private void heartbeat(RunState state) {
+        try {
+            checkpoints.heartbeat(List.copyOf(state.inFlight));
+        } catch (RuntimeException e) {
+            // 한 번 놓쳐도 claim-ttl 안에 다음 하트비트가 있음
+            log.warn("보고서 백필 하트비트 실패: {}", e.getMessage());
+        }
+    }
+
+    private LocalDateTime staleBefore() {
+        return LocalDateTime.now().minus(claimTtl);
+    }
+
+    private void process(BackfillSlice slice, RunState state) {
+        long t0 = System.nanoTime();
+        try {
+            ReportSyncStatsDTO stats = puduReportService.syncSingleStoreWithStats(
+                    StoreTimeRangeSyncRequestDTO.builder()
+                            .storeId(slice.getStore().getStoreId())
+                            .startTime(slice.getDay().atStartOfDay())
+                            .endTime(slice.getDay().plusDays(1).atStartOfDay())
+                            .timezoneOffset(0)
+                            .offset(0)
+                            .build());
+            // 목록 조회가 실패한 구간은 완료로 표시하지 않고 재시도 대상으로 남김
+            if (stats.getListFailed() > 0) {
+                throw new IllegalStateException("목록 조회 실패 " + stats.getListFailed() + "회: " + stats.getListError());
+            }
+
+            checkpoints.markDone(slice.getBackfillSliceId(), stats.getListed(), stats.getSaved(),
+                    (System.nanoTime() - t0) / 1_000_000);
+            state.slicesDone.increment();
+            state.reportsSaved.add(stats.getSaved());
+            state.progress.unitDone(stats.getListed(), stats.getSaved(), stats.getDetailFailed(), false);
+        } catch (RuntimeException e) {
+            log.warn("보고서 백필 구간 실패 sliceId={} storeId={} day={} (시도 {}회): {}",
+                    slice.getBackfillSliceId(), slice.getStore().getStoreId(), slice.getDay(),
+                    slice.getAttempts(), e.getMessage());
+            checkpoints.markFailed(slice.getBackfillSliceId(), e.getMessage(), maxAttempts);
+            state.progress.unitDone(0, 0, true);
+        }
+    }
+
+    // 마지막 워커가 끝났을 때 대기/처리 중 구간이 없으면 작업 종료
+    private void finishIfDrained(Long jobId, SyncProgressTracker progress) {
+        Map<BackfillSliceStatus, Long> counts = counts(backfillSliceRepository.countByStatus(jobId));
+        if (counts.get(BackfillSliceStatus.PENDING) > 0 || counts.get(BackfillSliceStatus.RUNNING) > 0) {
+            progress.fail("워커 중단 (남은 구간은 재시작 시 재개, 다른 노드가 처리 중인 구간은 그 노드가 마무리)");
+            return;
+        }
+
+        boolean anyFailed = counts.get(BackfillSliceStatus.FAILED) > 0;
+        checkpoints.finishJob(jobId, anyFailed);
+        progress.complete("완료 구간 " + counts.get(BackfillSliceStatus.DONE) + "개 / 실패 " + counts.get(BackfillSliceStatus.FAILED) + "개");
+        log.info("보고서 백필 완료 jobId={} 완료 구간 {}개 / 실패 {}개",
+                jobId, counts.get(BackfillSliceStatus.DONE), counts.get(BackfillSliceStatus.FAILED));
+    }
+
+    private BackfillJobStatusDTO status(BackfillJob job) {
+        List<BackfillSliceCountProjection> rows = backfillSliceRepository.countByStatus(job.getBackfillJobId());
+        Map<BackfillSliceStatus, Long> counts = counts(rows);
+        long fetched = 0, saved = 0;
+        for (BackfillSliceCountProjection c : rows) {
+            if (c.getStatus() == BackfillSliceStatus.DONE) {
+                fetched = c.getFetched() != null ? c.getFetched() : 0;
+                saved = c.getSaved() != null ? c.getSaved() : 0;
+            }
+        }
+
+        RunState state = running.get(job.getBackfillJobId());
+        double elapsedSec = state != null ? (System.nanoTime() - state.startedNanos) / 1e9 : 0;
+        double slicesPerSec = elapsedSec > 0 ? state.slicesDone.sum() / elapsedSec : 0;
+        long remaining = counts.get(BackfillSliceStatus.PENDING) + counts.get(BackfillSliceStatus.RUNNING);
+
+        return BackfillJobStatusDTO.builder()
+                .jobId(job.getBackfillJobId())
+                .status(job.getStatus())
+                .rangeStart(job.getRangeStart())
+                .rangeEnd(job.getRangeEnd())
+                .createdAt(job.getCreatedAt())
+                .finishedAt(job.getFinishedAt())
+                .totalSlices(job.getTotalSlices())
+                .doneSlices(counts.get(BackfillSliceStatus.DONE))
+                .pendingSlices(counts.get(BackfillSliceStatus.PENDING))
+                .runningSlices(counts.get(BackfillSliceStatus.RUNNING))
+                .failedSlices(counts.get(BackfillSliceStatus.FAILED))
+                .fetched(fetched)
+                .saved(saved)
+                .activeWorkers(state != null ? Math.max(0, state.activeWorkers.get()) : 0)
+                .slicesPerMinute(slicesPerSec * 60)
+                .reportsPerSecond(elapsedSec > 0 ? state.reportsSaved.sum() / elapsedSec : 0)
+                .etaSeconds(slicesPerSec > 0 && remaining > 0 ? Math.round(remaining / slicesPerSec) : null)
+                .build();
+    }
+
+    private static Map<BackfillSliceStatus, Long> counts(List<BackfillSliceCountProjection> rows) {
+        Map<BackfillSliceStatus, Long> counts = new EnumMap<>(BackfillSliceStatus.class);
+        for (BackfillSliceStatus s : BackfillSliceStatus.values()) counts.put(s, 0L);
+        for (BackfillSliceCountProjection c : rows) {
+            counts.put(c.getStatus(), c.getCount());
+        }
+        return counts;
+    }
+
+
+    private static final class RunState {
+        final SyncProgressTracker progress;
+        final long startedNanos = System.nanoTime();
+        final AtomicInteger activeWorkers = new AtomicInteger();
+        final LongAdder slicesDone = new LongAdder();
+        final LongAdder reportsSaved = new LongAdder();
+        // 이 프로세스의 워커가 처리 중인 구간 id (하트비트 대상)
+        final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+        volatile ScheduledFuture<?> heartbeat;
+
+        RunState(SyncProgressTracker progress) {
+            this.progress = progress;
+        }
+    }
+}
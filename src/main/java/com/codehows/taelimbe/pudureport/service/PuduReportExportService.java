@@ -0,0 +1,159 @@
+package com.codehows.taelimbe.pudureport.service;
+
+import com.codehows.taelimbe.pudureport.constant.ReportExportFormat;
+import com.codehows.taelimbe.pudureport.dto.PuduReportExportRow;
+import com.codehows.taelimbe.pudureport.repository.PuduReportExportReader;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Consumer;
+
+/**
+ * 보고서 내보내기 (CSV / NDJSON)
+ * PuduReportExportReader 커서에서 한 행씩 받아 바로 출력 스트림에 쓰고,
+ * flush-rows 행마다 flush 해서 응답을 조금씩 내보낸다 (전체 결과를 메모리에 모으지 않음).
+ * 클라이언트가 연결을 끊으면 쓰기 오류로 조회도 중단된다.
+ */
+@Slf4j
+@Service
+public class PuduReportExportService {
+
+    private static final String[] HEADERS = {
+            "pudu_report_id", "report_id", "store_id", "shop_name", "sn", "nickname", "status",
+            "start_time", "end_time", "clean_time", "task_area", "clean_area", "mode",
+            "cost_battery", "cost_water", "map_name", "remark"
+    };
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PuduReportExportReader exportReader;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final int flushRows;
+
+    public PuduReportExportService(
+            PuduReportExportReader exportReader,
+            @Value("${pudu.report-export.flush-rows:500}") int flushRows
+    ) {
+        this.exportReader = exportReader;
+        this.flushRows = Math.max(1, flushRows);
+    }
+
+    /**
+     * [startDate 00:00, endDate 다음 날 00:00) 보고서를 format 으로 out 에 쓰고 행 수를 돌려준다.
+     * storeId 가 null 이면 전체 매장.
+     */
+    public long export(ReportExportFormat format, Long storeId, LocalDate startDate, LocalDate endDate,
+                       OutputStream out) throws IOException {
+        long t0 = System.nanoTime();
+        LocalDateTime start = startDate.atStartOfDay();
+        LocalDateTime end = endDate.plusDays(1).atStartOfDay();
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long rows;
+        try {
+            rows = switch (format) {
+                case CSV -> writeCsv(writer, storeId, start, end);
+                case NDJSON -> writeNdjson(writer, storeId, start, end);
+            };
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+
+        log.info("보고서 내보내기 {} storeId={} {}~{} {}행 / {}ms", format, storeId, startDate, endDate,
+                rows, (System.nanoTime() - t0) / 1_000_000);
+        return rows;
+    }
+
+
+    private long writeCsv(Writer writer, Long storeId, LocalDateTime start, LocalDateTime end) throws IOException {
+        writer.write('\uFEFF');   // BOM
+        CSVPrinter csv = new CSVPrinter(writer, CSVFormat.DEFAULT.builder().setHeader(HEADERS).build());
+
+        return exportReader.forEach(storeId, start, end, rowSink(writer, row -> csv.printRecord(
+                row.puduReportId(), row.reportId(), row.storeId(), row.shopName(), row.sn(), row.nickname(),
+                row.status(), time(row.startTime()), time(row.endTime()), row.cleanTime(), row.taskArea(),
+                row.cleanArea(), row.mode(), row.costBattery(), row.costWater(), row.mapName(), row.remark())));
+    }
+
+    private long writeNdjson(Writer writer, Long storeId, LocalDateTime start, LocalDateTime end) throws IOException {
+        // 보고서마다 JSON 객체 하나 + 줄바꿈. Writer 는 여기서 닫지 않음 (응답 스트림은 컨테이너가 닫음)
+        JsonGenerator json = jsonFactory.createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                .setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+
+        long rows = exportReader.forEach(storeId, start, end, rowSink(writer, row -> {
+            json.writeStartObject();
+            json.writeNumberField("puduReportId", row.puduReportId());
+            writeField(json, "reportId", row.reportId());
+            json.writeNumberField("storeId", row.storeId());
+            json.writeStringField("shopName", row.shopName());
+            json.writeStringField("sn", row.sn());
+            json.writeStringField("nickname", row.nickname());
+            writeField(json, "status", row.status());
+            json.writeStringField("startTime", time(row.startTime()));
+            json.writeStringField("endTime", time(row.endTime()));
+            writeField(json, "cleanTime", row.cleanTime());
+            writeField(json, "taskArea", row.taskArea());
+            writeField(json, "cleanArea", row.cleanArea());
+            writeField(json, "mode", row.mode());
+            writeField(json, "costBattery", row.costBattery());
+            writeField(json, "costWater", row.costWater());
+            json.writeStringField("mapName", row.mapName());
+            json.writeStringField("remark", row.remark());
+            json.writeEndObject();
+            // 생성기 내부 버퍼만 Writer 로 넘김 (응답 flush 는 flush-rows 단위로 rowSink 에서)
+            json.flush();
+        }));
+        json.close();
+        if (rows > 0) writer.write('\n');
+        return rows;
+    }
+
+    // 행을 쓰고 flush-rows 마다 flush. 쓰기 오류는 조회를 멈추도록 unchecked 로 전파
+    private Consumer<PuduReportExportRow> rowSink(Writer writer, RowWriter rowWriter) {
+        long[] written = {0};
+        return row -> {
+            try {
+                rowWriter.write(row);
+                if (++written[0] % flushRows == 0) writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private static void writeField(JsonGenerator json, String name, Number value) throws IOException {
+        json.writeFieldName(name);
+        if (value == null) {
+            json.writeNull();
+        } else if (value instanceof Float f) {
+            json.writeNumber(f);
+        } else if (value instanceof Integer i) {
+            json.writeNumber(i);
+        } else {
+            json.writeNumber(value.longValue());
+        }
+    }
+
+    private static String time(LocalDateTime time) {
+        return time == null ? null : TIME.format(time);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PuduReportExportRow row) throws IOException;
+    }
+}
@@ -1,44 +1,24 @@
 package com.codehows.taelimbe.pudureport.service;
 
-import com.codehows.taelimbe.store.entity.Store;
-import com.codehows.taelimbe.store.repository.StoreRepository;
+import com.codehows.taelimbe.pudureport.dto.BackfillJobStatusDTO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class PuduReportFullHistoricalFacade {
 
-    private final StoreRepository storeRepository;
-    private final PuduReportFullHistoricalAsyncService asyncService;
+    private final PuduReportBackfillService backfillService;
 
-    public void syncAllStores6MonthAsync() {
-
-        List<Long> storeIds = storeRepository.findAll()
-                .stream()
-                .map(Store::getStoreId)
-                .toList();
-
-        List<CompletableFuture<Integer>> futures = storeIds.stream()
-                .map(asyncService::syncSingleStore6MonthAsync)
-                .toList();
+    // 매장 × 일 구간으로 나눈 백필 작업을 시작 (진행 중인 작업이 있으면 그 작업을 이어서 진행)
+    // 구간마다 완료가 기록되므로 서버가 재시작되어도 남은 구간부터 다시 진행된다
+    public BackfillJobStatusDTO syncAllStores6MonthAsync() {
+        return backfillService.start();
+    }
 
-        // 백그라운드에서 끝까지 돌게만 함
-        CompletableFuture.allOf(
-                futures.toArray(new CompletableFuture[0])
-        ).whenComplete((v, e) -> {
-            if (e != null) {
-                System.err.println(" 전체 매장 6개월 동기화 실패");
-                e.printStackTrace();
-            } else {
-                int total = futures.stream()
-                        .mapToInt(CompletableFuture::join)
-                        .sum();
-                System.out.println("전체 매장 6개월 동기화 완료, 저장 수 = " + total);
-            }
-        });
+    public Optional<BackfillJobStatusDTO> latestStatus() {
+        return backfillService.latestStatus();
     }
 }
@@ -0,0 +1,160 @@
+package com.codehows.taelimbe.pudureport.service;
+
+import com.codehows.taelimbe.pudureport.dto.MultiStoreSyncResultDTO;
+import com.codehows.taelimbe.pudureport.dto.ReportSyncStatsDTO;
+import com.codehows.taelimbe.pudureport.dto.StoreSyncSummaryDTO;
+import com.codehows.taelimbe.pudureport.dto.StoreTimeRangeSyncRequestDTO;
+import com.codehows.taelimbe.pudureport.dto.TimeRangeSyncRequestDTO;
+import com.codehows.taelimbe.store.entity.Store;
+import com.codehows.taelimbe.store.repository.StoreRepository;
+import com.codehows.taelimbe.sync.constant.SyncStage;
+import com.codehows.taelimbe.sync.service.SyncWorkScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.Consumer;
+
+/**
+ * 전체 매장 보고서 동기화 (매장 병렬)
+ * - 매장 작업은 SyncWorkScheduler(REPORT_STORES) 로 실행
+ *   동시에 진행하는 매장 수는 PuduReportStoreSyncExecutor 스레드 수 (pudu.report-sync.store-concurrency) 와 전체 동기화 한도 중 작은 값
+ * - 매장 전체를 묶는 트랜잭션은 없고, 저장은 batch-size 단위로 배치마다 커밋 (PuduReportSyncPipeline.writeBatch)
+ *   → 한 매장 실패가 다른 매장에 영향을 주지 않음
+ * - 매장 도중 실패(예외, 목록 조회 실패)하면 요약이 failed 로 남는다.
+ *   이미 커밋된 배치는 그대로 남고, 호출 측(SyncRecordService)은 그 매장의 워터마크를 옮기지 않는다.
+ *   다음 실행이 같은 구간을 다시 조회해도 upsert 라 중복 없이 이어서 채워진다.
+ * - 상세 조회만 실패한 보고서는 매장 실패가 아니라 요약의 detailFailed 로 세고 재시도 대기열이 이어서 처리한다.
+ * - 매장 내 상세 조회 병렬도는 파이프라인의 전체 한도(detail-concurrency-global)로 묶여 매장 수와 곱해지지 않음
+ */
+@Slf4j
+@Service
+public class PuduReportMultiStoreSyncService {
+
+    private static final int RECENT_RESULTS = 10;
+
+    private final PuduReportService puduReportService;
+    private final StoreRepository storeRepository;
+    private final SyncWorkScheduler syncWorkScheduler;
+
+    private final Deque<MultiStoreSyncResultDTO> recent = new ConcurrentLinkedDeque<>();
+
+    public PuduReportMultiStoreSyncService(
+            PuduReportService puduReportService,
+            StoreRepository storeRepository,
+            SyncWorkScheduler syncWorkScheduler
+    ) {
+        this.puduReportService = puduReportService;
+        this.storeRepository = storeRepository;
+        this.syncWorkScheduler = syncWorkScheduler;
+    }
+
+    // 전체 매장 특정 기간 보고서 조회
+    public MultiStoreSyncResultDTO syncAllStoresByTimeRange(TimeRangeSyncRequestDTO req) {
+        return syncStores(storeRepository.findAll().stream()
+                .map(s -> request(s, req.getStartTime(), req.getEndTime(), req.getTimezoneOffset()))
+                .toList());
+    }
+
+    // 전체 매장 최대기간(6개월) 보고서 조회
+    public MultiStoreSyncResultDTO syncAllStoresFullHistorical() {
+        LocalDateTime start = LocalDate.now().minusDays(180).atStartOfDay();
+        LocalDateTime end = LocalDate.now().atTime(LocalTime.MAX);
+
+        return syncStores(storeRepository.findAll().stream()
+                .map(s -> request(s, start, end, 0))
+                .toList());
+    }
+
+    /** 매장별 요청을 병렬로 실행하고, 모두 끝나면 매장별 요약을 요청 순서대로 돌려준다. */
+    public MultiStoreSyncResultDTO syncStores(List<StoreTimeRangeSyncRequestDTO> requests) {
+        return syncStores(requests, summary -> {});
+    }
+
+    /** onStoreDone: 매장 하나가 끝날 때마다 (완료 순서대로, 매장 작업 스레드에서) 호출 - 진행 상황 전송용 */
+    public MultiStoreSyncResultDTO syncStores(List<StoreTimeRangeSyncRequestDTO> requests,
+                                              Consumer<StoreSyncSummaryDTO> onStoreDone) {
+        long t0 = System.nanoTime();
+
+        List<CompletableFuture<StoreSyncSummaryDTO>> futures = requests.stream()
+                .map(req -> syncWorkScheduler.submit(SyncStage.REPORT_STORES, () -> {
+                    StoreSyncSummaryDTO summary = syncOne(req);
+                    onStoreDone.accept(summary);
+                    return summary;
+                }))
+                .toList();
+        List<StoreSyncSummaryDTO> summaries = futures.stream()
+                .map(syncWorkScheduler::await)
+                .toList();
+
+        MultiStoreSyncResultDTO result = MultiStoreSyncResultDTO.builder()
+                .finishedAt(LocalDateTime.now())
+                .elapsedMs((System.nanoTime() - t0) / 1_000_000.0)
+                .sumOfStoreMs(summaries.stream().mapToDouble(StoreSyncSummaryDTO::getElapsedMs).sum())
+                .stores(summaries.size())
+                .failedStores((int) summaries.stream().filter(StoreSyncSummaryDTO::isFailed).count())
+                .fetched(summaries.stream().mapToInt(StoreSyncSummaryDTO::getFetched).sum())
+                .saved(summaries.stream().mapToInt(StoreSyncSummaryDTO::getSaved).sum())
+                .skipped(summaries.stream().mapToInt(StoreSyncSummaryDTO::getSkipped).sum())
+                .detailFailed(summaries.stream().mapToInt(StoreSyncSummaryDTO::getDetailFailed).sum())
+                .summaries(summaries)
+                .build();
+
+        recent.addFirst(result);
+        while (recent.size() > RECENT_RESULTS) recent.pollLast();
+
+        log.info("전체 매장 보고서 동기화 {}개 매장 (실패 {}) 저장 {}건, 상세 실패 {}건 / {}ms (매장별 합 {}ms)",
+                result.getStores(), result.getFailedStores(), result.getSaved(), result.getDetailFailed(),
+                Math.round(result.getElapsedMs()), Math.round(result.getSumOfStoreMs()));
+        return result;
+    }
+
+    public List<MultiStoreSyncResultDTO> recentResults() {
+        return List.copyOf(recent);
+    }
+
+
+    private StoreSyncSummaryDTO syncOne(StoreTimeRangeSyncRequestDTO req) {
+        long t0 = System.nanoTime();
+        try {
+            ReportSyncStatsDTO stats = puduReportService.syncSingleStoreWithStats(req);
+            // 목록 조회가 실패하면 조회하지 못한 구간이 남으므로 저장 건수와 별개로 실패 처리
+            boolean listFailed = stats.getListFailed() > 0;
+            return StoreSyncSummaryDTO.builder()
+                    .storeId(req.getStoreId())
+                    .shopId(stats.getShopId())
+                    .fetched(stats.getListed())
+                    .saved(stats.getSaved())
+                    .skipped(stats.getExisting() + stats.getDuplicates() + stats.getSkipped())
+                    .detailFailed(stats.getDetailFailed())
+                    .failed(listFailed)
+                    .error(listFailed ? "목록 조회 실패 " + stats.getListFailed() + "회: " + stats.getListError() : null)
+                    .elapsedMs((System.nanoTime() - t0) / 1_000_000.0)
+                    .build();
+        } catch (RuntimeException e) {
+            log.warn("매장 보고서 동기화 실패 storeId={}: {}", req.getStoreId(), e.getMessage());
+            return StoreSyncSummaryDTO.builder()
+                    .storeId(req.getStoreId())
+                    .failed(true)
+                    .error(e.getMessage())
+                    .elapsedMs((System.nanoTime() - t0) / 1_000_000.0)
+                    .build();
+        }
+    }
+
+    private static StoreTimeRangeSyncRequestDTO request(Store store, LocalDateTime start, LocalDateTime end, int tz) {
+        return StoreTimeRangeSyncRequestDTO.builder()
+                .storeId(store.getStoreId())
+                .startTime(start)
+                .endTime(end)
+                .timezoneOffset(tz)
+                .offset(0)
+                .build();
+    }
+}
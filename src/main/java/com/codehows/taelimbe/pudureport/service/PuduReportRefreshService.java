@@ -0,0 +1,155 @@
+package com.codehows.taelimbe.pudureport.service;
+
+import com.codehows.taelimbe.pudureport.dto.OpenReportRef;
+import com.codehows.taelimbe.pudureport.dto.ReportRefreshResultDTO;
+import com.codehows.taelimbe.pudureport.entity.PuduReport;
+import com.codehows.taelimbe.pudureport.repository.PuduReportRepository;
+import com.codehows.taelimbe.robot.repository.RobotRepository;
+import com.codehows.taelimbe.store.entity.Store;
+import com.codehows.taelimbe.store.repository.StoreRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 진행 중 보고서 재조회
+ * 동기화는 이미 저장된 report_id 를 건너뛰므로, 일시정지/중단(2, 3) 상태로 처음 저장된 작업은
+ * 그 상태와 중간 값(clean_area, clean_time 등)으로 굳어 버린다.
+ * 여기서는 매장별로 종료 상태(4 완료, 5 예외, 6 취소)가 아닌 최근 보고서만 골라 상세(/clean_task/query)를 다시 받고,
+ * 값이 바뀐 것만 모아 한 번에 upsert 한다. 목록 구간을 다시 훑지 않는다.
+ * lookback 보다 오래된 미종료 보고서는 끝나지 않은 채 버려진 작업으로 보고 더 조회하지 않는다.
+ */
+@Slf4j
+@Service
+public class PuduReportRefreshService {
+
+    /** 더 바뀌지 않는 보고서 상태 (정상 완료, 예외, 취소) */
+    public static final Set<Integer> TERMINAL_STATUSES = Set.of(4, 5, 6);
+
+    private final PuduReportAsyncProcessor processor;
+    private final PuduReportSyncPipeline syncPipeline;
+    private final PuduReportRepository puduReportRepository;
+    private final StoreRepository storeRepository;
+    private final RobotRepository robotRepository;
+
+    private final long lookbackHours;
+    private final int concurrency;
+
+    public PuduReportRefreshService(
+            PuduReportAsyncProcessor processor,
+            PuduReportSyncPipeline syncPipeline,
+            PuduReportRepository puduReportRepository,
+            StoreRepository storeRepository,
+            RobotRepository robotRepository,
+            @Value("${pudu.report-refresh.lookback-hours:72}") long lookbackHours,
+            @Value("${pudu.report-refresh.concurrency:8}") int concurrency
+    ) {
+        this.processor = processor;
+        this.syncPipeline = syncPipeline;
+        this.puduReportRepository = puduReportRepository;
+        this.storeRepository = storeRepository;
+        this.robotRepository = robotRepository;
+        this.lookbackHours = Math.max(1, lookbackHours);
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /** 전체 매장 진행 중 보고서 재조회 */
+    public ReportRefreshResultDTO refreshOpenReports() {
+        long t0 = System.nanoTime();
+        LocalDateTime since = LocalDateTime.now().minusHours(lookbackHours);
+        Counts total = new Counts();
+
+        for (Store store : storeRepository.findAll()) {
+            List<OpenReportRef> open = puduReportRepository.findOpenReports(
+                    store.getStoreId(), TERMINAL_STATUSES, since);
+            if (open.isEmpty()) continue;
+
+            total.stores++;
+            try {
+                refreshStore(store.getShopId(), open, total);
+            } catch (RuntimeException e) {
+                log.warn("진행 중 보고서 재조회 실패 storeId={}: {}", store.getStoreId(), e.getMessage());
+            }
+        }
+
+        ReportRefreshResultDTO result = ReportRefreshResultDTO.builder()
+                .finishedAt(LocalDateTime.now())
+                .elapsedMs((System.nanoTime() - t0) / 1_000_000.0)
+                .stores(total.stores)
+                .candidates(total.candidates)
+                .fetched(total.fetched)
+                .changed(total.changed)
+                .closed(total.closed)
+                .failed(total.failed)
+                .build();
+
+        log.info("진행 중 보고서 재조회 {}개 매장 대상 {}건 → 갱신 {}건 (종료 {}건, 실패 {}건) / {}ms",
+                result.getStores(), result.getCandidates(), result.getChanged(), result.getClosed(),
+                result.getFailed(), Math.round(result.getElapsedMs()));
+        return result;
+    }
+
+
+    private void refreshStore(Long shopId, List<OpenReportRef> open, Counts counts) {
+        Semaphore permits = new Semaphore(concurrency);
+        List<CompletableFuture<PuduReport>> futures = new ArrayList<>(open.size());
+
+        for (OpenReportRef ref : open) {
+            permits.acquireUninterruptibly();
+            futures.add(processor.convertAsync(
+                            ref.sn(), ref.reportId(), robotRepository.getReferenceById(ref.robotId()),
+                            ref.startTime().minusHours(1), ref.startTime().plusDays(1), 0, shopId)
+                    .whenComplete((r, ex) -> permits.release())
+                    .exceptionally(ex -> null));   // 실패는 다음 재조회 회차에서 다시 시도
+        }
+
+        List<PuduReport> changed = new ArrayList<>();
+        for (int i = 0; i < open.size(); i++) {
+            OpenReportRef ref = open.get(i);
+            PuduReport fresh = futures.get(i).join();
+            counts.candidates++;
+
+            if (fresh == null) {
+                counts.failed++;
+                continue;
+            }
+            counts.fetched++;
+            if (!changed(ref, fresh)) continue;
+
+            changed.add(fresh);
+            if (fresh.getStatus() != null && TERMINAL_STATUSES.contains(fresh.getStatus())) counts.closed++;
+        }
+
+        // 바뀐 것만 한 트랜잭션으로 upsert (remark 는 유지)
+        syncPipeline.writeBatch(shopId, changed);
+        counts.changed += changed.size();
+    }
+
+    static boolean changed(OpenReportRef ref, PuduReport fresh) {
+        return !Objects.equals(ref.status(), fresh.getStatus())
+                || !Objects.equals(ref.endTime(), fresh.getEndTime())
+                || !Objects.equals(ref.cleanTime(), fresh.getCleanTime())
+                || !Objects.equals(ref.taskArea(), fresh.getTaskArea())
+                || !Objects.equals(ref.cleanArea(), fresh.getCleanArea())
+                || !Objects.equals(ref.costBattery(), fresh.getCostBattery())
+                || !Objects.equals(ref.costWater(), fresh.getCostWater())
+                || !Objects.equals(ref.mapUrl(), fresh.getMapUrl());
+    }
+
+    private static final class Counts {
+        int stores;
+        int candidates;
+        int fetched;
+        int changed;
+        int closed;
+        int failed;
+    }
+}
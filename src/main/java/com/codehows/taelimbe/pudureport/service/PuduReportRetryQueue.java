@@ -0,0 +1,134 @@
+package com.codehows.taelimbe.pudureport.service;
+
+import com.codehows.taelimbe.pudureport.constant.ReportRetryStatus;
+import com.codehows.taelimbe.pudureport.dto.ReportRetryStoreSummaryDTO;
+import com.codehows.taelimbe.pudureport.entity.PuduReportRetry;
+import com.codehows.taelimbe.pudureport.repository.PuduReportRetryRepository;
+import com.codehows.taelimbe.pudureport.repository.ReportRetryCountProjection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 상세 조회 실패 보고서 대기열 (pudu_report_retry) 기록/조회 - 호출마다 별도 트랜잭션으로 바로 커밋
+ * 재시도 간격: base-delay × 2^(시도 횟수 - 1), 최대 max-delay. max-attempts 회 실패하면 GAVE_UP.
+ */
+@Slf4j
+@Service
+public class PuduReportRetryQueue {
+
+    /** 동기화 중 상세 조회에 실패한 보고서 */
+    public record Failure(String sn, Long reportId, String error) {}
+
+    private final PuduReportRetryRepository retryRepository;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final int maxAttempts;
+
+    public PuduReportRetryQueue(
+            PuduReportRetryRepository retryRepository,
+            @Value("${pudu.report-retry.base-delay-seconds:60}") long baseDelaySeconds,
+            @Value("${pudu.report-retry.max-delay-minutes:360}") long maxDelayMinutes,
+            @Value("${pudu.report-retry.max-attempts:8}") int maxAttempts
+    ) {
+        this.retryRepository = retryRepository;
+        this.baseDelay = Duration.ofSeconds(Math.max(1, baseDelaySeconds));
+        this.maxDelay = Duration.ofMinutes(Math.max(1, maxDelayMinutes));
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * 실패 항목 기록. 이미 대기 중인 report_id 는 그대로 두고(시도 횟수 유지),
+     * 끝난 항목이 다시 실패하면 대기로 되돌린다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void record(Long storeId, Long shopId, LocalDateTime windowStart, LocalDateTime windowEnd,
+                       int tz, List<Failure> failures) {
+        if (failures.isEmpty()) return;
+
+        LocalDateTime next = LocalDateTime.now().plus(baseDelay);
+        Map<Long, PuduReportRetry> existing = retryRepository.findByReportIdIn(
+                        failures.stream().map(Failure::reportId).toList())
+                .stream()
+                .collect(Collectors.toMap(PuduReportRetry::getReportId, Function.identity()));
+
+        List<PuduReportRetry> rows = new ArrayList<>(failures.size());
+        for (Failure f : failures) {
+            PuduReportRetry row = existing.get(f.reportId());
+            if (row == null) {
+                row = PuduReportRetry.pending(f.reportId(), f.sn(), storeId, shopId,
+                        windowStart, windowEnd, tz, f.error(), next);
+                existing.put(f.reportId(), row);
+            } else {
+                row.reopen(windowStart, windowEnd, f.error(), next);
+            }
+            rows.add(row);
+        }
+        retryRepository.saveAll(rows);
+        log.info("상세 조회 실패 {}건 재시도 대기열 등록 storeId={}", failures.size(), storeId);
+    }
+
+    /** 재시도 시각이 지난 항목 */
+    @Transactional(readOnly = true)
+    public List<PuduReportRetry> due(int limit) {
+        return retryRepository.findDue(ReportRetryStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, limit));
+    }
+
+    /** 실패 1회 반영 (저장은 save 로) */
+    public void markFailed(PuduReportRetry retry, String error) {
+        retry.markFailed(error, backoff(retry.getAttempts() + 1), maxAttempts);
+    }
+
+    /**
+     * 재시도 결과 반영. 분리된 엔티티를 통째로 저장하지 않고 행마다 조건부 UPDATE 로,
+     * 조회 시점과 같은 상태(PENDING, 같은 시도 횟수)인 행만 바꾼다 → 그사이 기록/재개된 변경을 덮어쓰지 않음.
+     * 반영하지 못한 행 수를 돌려준다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int save(List<PuduReportRetry> retries) {
+        int stale = 0;
+        for (PuduReportRetry r : retries) {
+            int updated = retryRepository.updateIfUnchanged(r.getPuduReportRetryId(), r.getReadAttempts(),
+                    r.getStatus(), r.getAttempts(), r.getNextAttemptAt(), r.getLastError(), r.getUpdatedAt());
+            if (updated == 0) stale++;
+        }
+        if (stale > 0) {
+            log.info("재시도 결과 {}건은 그사이 다른 동기화가 갱신해 반영하지 않음", stale);
+        }
+        return stale;
+    }
+
+    /** 매장별 대기/복구/포기 건수 */
+    @Transactional(readOnly = true)
+    public List<ReportRetryStoreSummaryDTO> summaryByStore() {
+        Map<Long, long[]> byStore = new TreeMap<>();
+        for (ReportRetryCountProjection c : retryRepository.countByStoreAndStatus()) {
+            long[] counts = byStore.computeIfAbsent(c.getStoreId(), id -> new long[ReportRetryStatus.values().length]);
+            counts[c.getStatus().ordinal()] = c.getCount();
+        }
+        return byStore.entrySet().stream()
+                .map(e -> ReportRetryStoreSummaryDTO.builder()
+                        .storeId(e.getKey())
+                        .pending(e.getValue()[ReportRetryStatus.PENDING.ordinal()])
+                        .done(e.getValue()[ReportRetryStatus.DONE.ordinal()])
+                        .gaveUp(e.getValue()[ReportRetryStatus.GAVE_UP.ordinal()])
+                        .build())
+                .toList();
+    }
+
+    // attempt 번째 실패 후 다음 시도까지 간격
+    Duration backoff(int attempt) {
+        int shift = Math.min(Math.max(0, attempt - 1), 30);
+        Duration delay = baseDelay.multipliedBy(1L << shift);
+        return delay.compareTo(maxDelay) > 0 ? maxDelay : delay;
+    }
+}
@@ -0,0 +1,175 @@
+package com.codehows.taelimbe.pudureport.service;
+
+import com.codehows.taelimbe.pudureport.constant.ReportRetryStatus;
+import com.codehows.taelimbe.pudureport.dto.ReportRetryResultDTO;
+import com.codehows.taelimbe.pudureport.entity.PuduReport;
+import com.codehows.taelimbe.pudureport.entity.PuduReportRetry;
+import com.codehows.taelimbe.pudureport.repository.PuduReportRepository;
+import com.codehows.taelimbe.robot.entity.Robot;
+import com.codehows.taelimbe.robot.repository.RobotRepository;
+import com.codehows.taelimbe.robot.service.StoreRobotLookup;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 재시도 대기열 처리 (dead-letter 워커)
+ * 재시도 시각이 지난 항목을 batch-size 개씩 꺼내 기록된 조회 구간으로 상세를 다시 받는다.
+ *   - 그사이 정기 동기화가 저장한 report_id → 조회 없이 DONE
+ *   - 성공 → 매장(shop)별로 모아 한 번에 upsert 후 DONE
+ *   - 실패/상세 없음/로봇 없음 → 시도 횟수 증가, 지수 백오프 (한도 초과 시 GAVE_UP)
+ * 상태 변경은 실행 끝에 조회 시점 그대로인 행에만 반영한다 (PuduReportRetryQueue.save).
+ */
+@Slf4j
+@Service
+public class PuduReportRetryService {
+
+    private final PuduReportRetryQueue retryQueue;
+    private final PuduReportAsyncProcessor processor;
+    private final PuduReportSyncPipeline syncPipeline;
+    private final PuduReportRepository puduReportRepository;
+    private final RobotRepository robotRepository;
+
+    private final int batchSize;
+    private final int concurrency;
+
+    public PuduReportRetryService(
+            PuduReportRetryQueue retryQueue,
+            PuduReportAsyncProcessor processor,
+            PuduReportSyncPipeline syncPipeline,
+            PuduReportRepository puduReportRepository,
+            RobotRepository robotRepository,
+            @Value("${pudu.report-retry.batch-size:100}") int batchSize,
+            @Value("${pudu.report-retry.concurrency:8}") int concurrency
+    ) {
+        this.retryQueue = retryQueue;
+        this.processor = processor;
+        this.syncPipeline = syncPipeline;
+        this.puduReportRepository = puduReportRepository;
+        this.robotRepository = robotRepository;
+        this.batchSize = Math.max(1, batchSize);
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /** 재시도 시각이 지난 항목 1회분 처리 */
+    public ReportRetryResultDTO retryDue() {
+        long t0 = System.nanoTime();
+        List<PuduReportRetry> due = retryQueue.due(batchSize);
+        Counts counts = new Counts();
+        counts.due = due.size();
+
+        if (!due.isEmpty()) {
+            process(due, counts);
+            retryQueue.save(due);
+        }
+
+        ReportRetryResultDTO result = ReportRetryResultDTO.builder()
+                .finishedAt(LocalDateTime.now())
+                .elapsedMs((System.nanoTime() - t0) / 1_000_000.0)
+                .due(counts.due)
+                .recovered(counts.recovered)
+                .alreadySaved(counts.alreadySaved)
+                .failed(counts.failed)
+                .gaveUp(counts.gaveUp)
+                .build();
+
+        if (result.getDue() > 0) {
+            log.info("보고서 재시도 대기 {}건 → 복구 {}건, 이미 저장 {}건, 실패 {}건 (포기 {}건) / {}ms",
+                    result.getDue(), result.getRecovered(), result.getAlreadySaved(),
+                    result.getFailed(), result.getGaveUp(), Math.round(result.getElapsedMs()));
+        }
+        return result;
+    }
+
+
+    private void process(List<PuduReportRetry> due, Counts counts) {
+        Set<Long> saved = new HashSet<>(puduReportRepository.findExistingReportIds(
+                due.stream().map(PuduReportRetry::getReportId).toList()));
+
+        Map<Long, StoreRobotLookup> robotsByStore = new HashMap<>();
+        Semaphore permits = new Semaphore(concurrency);
+        List<PuduReportRetry> fetching = new ArrayList<>();
+        List<CompletableFuture<PuduReport>> futures = new ArrayList<>();
+
+        for (PuduReportRetry retry : due) {
+            if (saved.contains(retry.getReportId())) {
+                retry.markDone();
+                counts.alreadySaved++;
+                continue;
+            }
+
+            Robot robot = robotsByStore
+                    .computeIfAbsent(retry.getStoreId(), id -> StoreRobotLookup.load(robotRepository, id))
+                    .get(retry.getSn());
+            if (robot == null) {
+                fail(retry, "로봇 없음 sn=" + retry.getSn(), counts);
+                continue;
+            }
+
+            permits.acquireUninterruptibly();
+            fetching.add(retry);
+            futures.add(processor.convertAsync(retry.getSn(), retry.getReportId(), robot,
+                            retry.getWindowStart(), retry.getWindowEnd(), retry.getTimezoneOffset(), retry.getShopId())
+                    .whenComplete((r, ex) -> permits.release()));
+        }
+
+        // 성공 건은 매장별 한 트랜잭션으로 저장한 뒤 완료 처리
+        Map<Long, List<PuduReport>> byShop = new LinkedHashMap<>();
+        Map<Long, List<PuduReportRetry>> retriesByShop = new LinkedHashMap<>();
+        for (int i = 0; i < fetching.size(); i++) {
+            PuduReportRetry retry = fetching.get(i);
+            try {
+                PuduReport report = futures.get(i).join();
+                if (report == null) {
+                    fail(retry, "상세 없음", counts);
+                    continue;
+                }
+                byShop.computeIfAbsent(retry.getShopId(), id -> new ArrayList<>()).add(report);
+                retriesByShop.computeIfAbsent(retry.getShopId(), id -> new ArrayList<>()).add(retry);
+            } catch (CompletionException e) {
+                fail(retry, message(e), counts);
+            }
+        }
+
+        byShop.forEach((shopId, reports) -> {
+            List<PuduReportRetry> retries = retriesByShop.get(shopId);
+            try {
+                syncPipeline.writeBatch(shopId, reports);
+                retries.forEach(PuduReportRetry::markDone);
+                counts.recovered += retries.size();
+            } catch (RuntimeException e) {
+                log.warn("재시도 보고서 저장 실패 shopId={} {}건: {}", shopId, reports.size(), e.getMessage());
+                retries.forEach(retry -> fail(retry, "저장 실패: " + e.getMessage(), counts));
+            }
+        });
+    }
+
+    private void fail(PuduReportRetry retry, String error, Counts counts) {
+        retryQueue.markFailed(retry, error);
+        counts.failed++;
+        if (retry.getStatus() == ReportRetryStatus.GAVE_UP) {
+            counts.gaveUp++;
+            log.warn("보고서 재시도 포기 reportId={} sn={} ({}회): {}",
+                    retry.getReportId(), retry.getSn(), retry.getAttempts(), error);
+        }
+    }
+
+    private static String message(CompletionException e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
+
+    private static final class Counts {
+        int due;
+        int recovered;
+        int alreadySaved;
+        int failed;
+        int gaveUp;
+    }
+}
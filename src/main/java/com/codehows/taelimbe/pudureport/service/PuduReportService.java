@@ -1,13 +1,15 @@
 package com.codehows.taelimbe.pudureport.service;
 
+import com.codehows.taelimbe.pudureport.constant.ReportSortKey;
 import com.codehows.taelimbe.pudureport.dto.PuduReportDTO;
 import com.codehows.taelimbe.pudureport.dto.PuduReportResponseDTO;
+import com.codehows.taelimbe.pudureport.dto.ReportCursor;
+import com.codehows.taelimbe.pudureport.dto.ReportCursorPageDTO;
+import com.codehows.taelimbe.pudureport.dto.ReportSyncStatsDTO;
 import com.codehows.taelimbe.pudureport.dto.StoreTimeRangeSyncRequestDTO;
-import com.codehows.taelimbe.pudureport.dto.TimeRangeSyncRequestDTO;
 import com.codehows.taelimbe.pudureport.entity.PuduReport;
+import com.codehows.taelimbe.pudureport.repository.PuduReportCursorReader;
 import com.codehows.taelimbe.pudureport.repository.PuduReportRepository;
-import com.codehows.taelimbe.robot.entity.Robot;
-import com.codehows.taelimbe.robot.repository.RobotRepository;
 import com.codehows.taelimbe.store.constant.DeleteStatus;
 import com.codehows.taelimbe.store.entity.Store;
 import com.codehows.taelimbe.store.repository.StoreRepository;
@@ -15,7 +17,8 @@ import com.codehows.taelimbe.user.constant.Role;
 import com.codehows.taelimbe.user.entity.User;
 import com.codehows.taelimbe.user.repository.UserRepository;
 import com.codehows.taelimbe.user.security.UserPrincipal;
-import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -24,23 +27,35 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 public class PuduReportService {
 
-    private final PuduReportAsyncProcessor processor;
+    private final PuduReportSyncPipeline syncPipeline;
     private final PuduReportRepository puduReportRepository;
     private final StoreRepository storeRepository;
-    private final RobotRepository robotRepository;
+    private final PuduReportCursorReader cursorReader;
+
+    // 기간 분할 조회 설정
+    @Value("${pudu.report-sync.time-slice.window-hours:24}")
+    private long timeSliceWindowHours;
+
+    @Value("${pudu.report-sync.time-slice.min-window-minutes:60}")
+    private long timeSliceMinWindowMinutes;
+
+    @Value("${pudu.report-sync.time-slice.concurrency:4}")
+    private int timeSliceConcurrency;
+
+    @Value("${pudu.report-sync.time-slice.min-range-hours:48}")
+    private long timeSliceMinRangeHours;
 
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
@@ -54,140 +69,62 @@ public class PuduReportService {
     }
 
     // 단일 매장 특정 기간 보고서 조회
-    @Transactional
+    // 저장은 배치마다 별도 트랜잭션으로 커밋 (PuduReportSyncPipeline.writeBatch) → 메서드 전체를 트랜잭션으로 묶지 않음
     public int syncSingleStoreByTimeRange(StoreTimeRangeSyncRequestDTO req) {
-
-        Store store = storeRepository.findById(req.getStoreId())
-                .orElseThrow(() -> new IllegalArgumentException("Store not found"));
-
-        Long shopId = store.getShopId();
-
-        int offset = req.getOffset(), saved = 0;
-        List<PuduReport> buffer = new ArrayList<>();
-
-        while (true) {
-
-            List<JsonNode> list = processor.fetchList(
-                    req.getStartTime(), req.getEndTime(),
-                    shopId, req.getTimezoneOffset(), offset);
-
-            if (list.isEmpty()) break;
-
-            List<CompletableFuture<PuduReport>> future = list.stream()
-                    .map(x -> processor.convertAsync(
-                            x.path("sn").asText(),
-                            x.path("report_id").asText(),
-                            req.getStartTime(), req.getEndTime(),
-                            req.getTimezoneOffset(), shopId))
-                    .toList();
-
-            CompletableFuture.allOf(future.toArray(new CompletableFuture[0])).join();
-
-            future.forEach(f -> {
-                PuduReport r = f.join();
-                System.out.println(">>> REPORT: " + r);
-                if (r != null) buffer.add(r);
-            });
-
-            if (buffer.size() >= 50) {
-                puduReportRepository.saveAll(buffer);
-                saved += buffer.size();
-                buffer.clear();
-            }
-
-            offset += 20;
-        }
-
-        if (!buffer.isEmpty()) {
-            puduReportRepository.saveAll(buffer);
-            saved += buffer.size();
-        }
-
-        return saved;
+        return runSyncPipeline(req).getSaved();
     }
 
-
-    // 전체 매장 특정 기간 보고서 조회
-    @Transactional
-    public int syncAllStoresByTimeRange(TimeRangeSyncRequestDTO req){
-        return storeRepository.findAll().stream()
-                .mapToInt(s -> syncSingleStoreByTimeRange(
-                        StoreTimeRangeSyncRequestDTO.builder()
-                                .storeId(s.getStoreId())
-                                .startTime(req.getStartTime())
-                                .endTime(req.getEndTime())
-                                .timezoneOffset(req.getTimezoneOffset())
-                                .offset(0)
-                                .build()
-                )).sum();
+    // 단일 매장 동기화 후 단계별 지표 반환 (매장 병렬 동기화에서 호출)
+    public ReportSyncStatsDTO syncSingleStoreWithStats(StoreTimeRangeSyncRequestDTO req) {
+        return runSyncPipeline(req);
     }
 
-    // 전체 매장 최대기간(6개월) 보고서 조회
-
-    public int syncAllStoresFullHistorical(){
-        LocalDateTime start = LocalDate.now().minusDays(180).atStartOfDay();
-        LocalDateTime end   = LocalDate.now().atTime(LocalTime.MAX);
-
-        return storeRepository.findAll().stream()
-                .mapToInt(s -> syncSingleStoreByTimeRange(
-                        StoreTimeRangeSyncRequestDTO.builder()
-                                .storeId(s.getStoreId())
-                                .startTime(start)
-                                .endTime(end)
-                                .timezoneOffset(0)
-                                .offset(0)
-                                .build()))
-                .sum();
+    // 목록 선조회 → 상세 동시 조회 → 배치 저장을 파이프라인으로 겹쳐 실행 (PuduReportSyncPipeline)
+    // 처음부터 조회하는 긴 기간(time-slice.min-range-hours 초과)은 하위 구간으로 나눠 목록을 동시에 조회
+    private ReportSyncStatsDTO runSyncPipeline(StoreTimeRangeSyncRequestDTO req) {
+        Duration range = Duration.between(req.getStartTime(), req.getEndTime());
+        boolean sliced = req.getOffset() == 0 && range.compareTo(Duration.ofHours(timeSliceMinRangeHours)) > 0;
+        return runSyncPipeline(req, sliced);
     }
 
-    @Transactional
-    public int syncSingleStoreByTimeRangeSyncOnly(StoreTimeRangeSyncRequestDTO req) {
+    private ReportSyncStatsDTO runSyncPipeline(StoreTimeRangeSyncRequestDTO req, boolean timeSliced) {
 
         Store store = storeRepository.findById(req.getStoreId())
                 .orElseThrow(() -> new IllegalArgumentException("Store not found"));
 
-        Long shopId = store.getShopId();
-
-        int offset = req.getOffset(), saved = 0;
-        List<PuduReport> buffer = new ArrayList<>();
-
-        while (true) {
-
-            List<JsonNode> list = processor.fetchList(
-                    req.getStartTime(), req.getEndTime(),
-                    shopId, req.getTimezoneOffset(), offset);
-
-            if (list.isEmpty()) break;
-
-            for (JsonNode x : list) {
-
-                PuduReport r = processor.convertSyncOnly(
-                        x.path("sn").asText(),
-                        x.path("report_id").asText(),
+        try {
+            if (timeSliced) {
+                return syncPipeline.runTimeSliced(
+                        store.getStoreId(), store.getShopId(),
                         req.getStartTime(), req.getEndTime(),
-                        req.getTimezoneOffset(), shopId
+                        req.getTimezoneOffset(), timeSlicing()
                 );
-
-                if (r != null) buffer.add(r);
             }
-
-            if (buffer.size() >= 50) {
-                puduReportRepository.saveAll(buffer);
-                saved += buffer.size();
-                buffer.clear();
-            }
-
-            offset += 20;
-        }
-
-        if (!buffer.isEmpty()) {
-            puduReportRepository.saveAll(buffer);
-            saved += buffer.size();
+            return syncPipeline.run(
+                    store.getStoreId(), store.getShopId(),
+                    req.getStartTime(), req.getEndTime(),
+                    req.getTimezoneOffset(), req.getOffset()
+            );
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("보고서 동기화가 중단되었습니다", e);
         }
+    }
 
-        return saved;
+    private PuduReportSyncPipeline.TimeSlicing timeSlicing() {
+        return new PuduReportSyncPipeline.TimeSlicing(
+                Duration.ofHours(Math.max(1, timeSliceWindowHours)),
+                Duration.ofMinutes(Math.max(1, timeSliceMinWindowMinutes)),
+                Math.max(1, timeSliceConcurrency));
     }
 
+    // 전체 매장 동기화는 PuduReportMultiStoreSyncService (매장별 트랜잭션, 병렬)
+
+    // 단일 매장 긴 기간 조회: 한 구간을 offset 으로 순서대로 넘기던 방식 대신
+    // 하위 구간(기본 1일, 건수가 많으면 반씩 분할)을 동시에 조회하고 report_id 로 중복 제거
+    public int syncSingleStoreByTimeRangeSyncOnly(StoreTimeRangeSyncRequestDTO req) {
+        return runSyncPipeline(req, true).getSaved();
+    }
 
 
     // id로 보고서 가져오기
@@ -241,11 +178,8 @@ public class PuduReportService {
         LocalDateTime start = LocalDate.parse(startDate).atStartOfDay();
         LocalDateTime end   = LocalDate.parse(endDate).plusDays(1).atStartOfDay();
 
-        return puduReportRepository
-                .findByStartTimeBetween(start, end)
-                .stream()
-                .map(PuduReportResponseDTO::createReportResponseDTO)
-                .toList();
+        // 응답 컬럼만 한 문장으로 조회 (행마다 robot/store 추가 조회 없음)
+        return puduReportRepository.findResponsesByPeriod(start, end);
     }
 
     // report에서 사용
@@ -258,19 +192,8 @@ public class PuduReportService {
         LocalDateTime start = LocalDate.parse(startDate).atStartOfDay();
         LocalDateTime end   = LocalDate.parse(endDate).plusDays(1).atStartOfDay();
 
-        List<Long> robotIds = robotRepository.findRobotIdsByStoreId(storeId);
-
-        if (robotIds.isEmpty()) {
-            return List.of();
-        }
-
-        Sort sort = Sort.by(Sort.Direction.DESC, "startTime");
-
-        return puduReportRepository
-                .findAllByRobot_RobotIdInAndStartTimeBetween(robotIds, start, end, sort)
-                .stream()
-                .map(PuduReportResponseDTO::createReportResponseDTO)
-                .toList();
+        // 매장 로봇 id 를 먼저 읽지 않고 robot.store_id 조건으로 한 번에 조회 (최신순)
+        return puduReportRepository.findResponsesByStoreAndPeriod(storeId, start, end);
     }
 
     @Transactional(readOnly = true)
@@ -286,45 +209,92 @@ public class PuduReportService {
             String sortOrder
     ) {
         String resolvedSortKey = resolveSortKey(sortKey);
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortOrder)
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
 
-        Sort sort = Sort.by(
-                "desc".equalsIgnoreCase(sortOrder)
-                        ? Sort.Direction.DESC
-                        : Sort.Direction.ASC,
-                resolvedSortKey
-        );
+        // 같은 정렬 값끼리 순서가 페이지마다 달라지지 않도록 pudu_report_id 를 두 번째 키로
+        Sort sort = Sort.by(direction, resolvedSortKey)
+                .and(Sort.by(direction, "puduReportId"));
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<PuduReport> result;
-
+        // 응답 DTO 프로젝션: 목록 1문장 + 전체 건수 1문장 (페이지 크기와 관계없음)
         if (sn != null && !sn.isBlank()) {
-            result = puduReportRepository
-                    .findByRobot_SnAndStartTimeBetween(
+            return puduReportRepository
+                    .findResponsePageBySn(
                             sn, start, end, pageable
                     );
         } else if (filterStoreId != null) {
-            List<Long> robotIds = robotRepository.findRobotIdsByStoreId(filterStoreId);
-            if (robotIds.isEmpty()) return Page.empty(pageable);
-
-            result = puduReportRepository
-                    .findAllByRobot_RobotIdInAndStartTimeBetween(
-                            robotIds, start, end, pageable
+            return puduReportRepository
+                    .findResponsePageByStore(
+                            filterStoreId, start, end, pageable
                     );
         } else if (storeId != null) {
-            List<Long> robotIds = robotRepository.findRobotIdsByStoreId(storeId);
-            if (robotIds.isEmpty()) return Page.empty(pageable);
-
-            result = puduReportRepository
-                    .findAllByRobot_RobotIdInAndStartTimeBetween(
-                            robotIds, start, end, pageable
+            return puduReportRepository
+                    .findResponsePageByStore(
+                            storeId, start, end, pageable
                     );
         } else {
-            result = puduReportRepository
-                    .findByStartTimeBetween(start, end, pageable);
+            return puduReportRepository
+                    .findResponsePage(start, end, pageable);
         }
+    }
 
-        return result.map(PuduReportResponseDTO::createReportResponseDTO);
+    /**
+     * 커서(seek) 방식 목록 조회 - 깊은 페이지도 OFFSET 스캔 없이 limit 건만 읽는다.
+     * cursor 는 이전 응답의 nextCursor (처음이면 null). skipCount 면 전체 건수 COUNT 를 생략한다.
+     */
+    @Transactional(readOnly = true)
+    public ReportCursorPageDTO getReportsCursor(
+            Long storeId,
+            Long filterStoreId,
+            String sn,
+            LocalDateTime start,
+            LocalDateTime end,
+            String cursor,
+            int size,
+            String sortKey,
+            String sortOrder,
+            boolean skipCount
+    ) {
+        ReportSortKey key = ReportSortKey.from(sortKey);
+        boolean desc = "desc".equalsIgnoreCase(sortOrder);
+        ReportCursor after = decodeCursor(cursor, key, desc);
+        Long scopeStoreId = filterStoreId != null ? filterStoreId : storeId;
+
+        // 한 건 더 읽어 다음 페이지 여부 판단
+        List<PuduReport> rows = cursorReader.findAfter(sn, scopeStoreId, start, end, key, desc, after, size + 1);
+        boolean hasNext = rows.size() > size;
+        if (hasNext) rows = rows.subList(0, size);
+
+        String nextCursor = null;
+        if (hasNext) {
+            PuduReport last = rows.get(rows.size() - 1);
+            nextCursor = new ReportCursor(key, desc, key.valueOf(last), last.getPuduReportId()).encode();
+        }
+
+        return ReportCursorPageDTO.builder()
+                .content(rows.stream().map(PuduReportResponseDTO::createReportResponseDTO).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .totalElements(skipCount ? null : cursorReader.count(sn, scopeStoreId, start, end))
+                .build();
+    }
+
+    // 형식이 틀렸거나 다른 정렬로 만든 커서는 400
+    private ReportCursor decodeCursor(String cursor, ReportSortKey key, boolean desc) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            ReportCursor decoded = ReportCursor.decode(cursor);
+            if (decoded.sortKey() != key || decoded.desc() != desc) {
+                throw new IllegalArgumentException("정렬 조건이 바뀐 커서입니다.");
+            }
+            return decoded;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     // ai report에서 사용
@@ -0,0 +1,581 @@
+package com.codehows.taelimbe.pudureport.service;
+
+import com.codehows.taelimbe.pudureport.dto.PuduReportListItem;
+import com.codehows.taelimbe.pudureport.dto.ReportSyncStatsDTO;
+import com.codehows.taelimbe.pudureport.entity.PuduReport;
+import com.codehows.taelimbe.pudureport.repository.PuduReportBulkWriter;
+import com.codehows.taelimbe.robot.entity.Robot;
+import com.codehows.taelimbe.robot.repository.RobotRepository;
+import com.codehows.taelimbe.robot.service.StoreRobotLookup;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 매장 단위 청소 보고서 동기화 파이프라인
+ *
+ *   [목록 단계] query_list 를 prefetch-pages 만큼 미리 받아 페이지 큐에 적재 (논블로킹 체인)
+ *              긴 기간은 runTimeSliced 로 하위 구간을 나눠 구간별 목록을 동시에 조회
+ *        ↓
+ *   [상세 단계] 최대 detail-concurrency 건의 상세 조회를 동시에 진행
+ *              (여러 매장이 동시에 돌 때도 전체 합은 detail-concurrency-global 이하)
+ *        ↓
+ *   [쓰기 단계] 완료된 보고서를 batch-size 단위로 다중 행 upsert (PuduReportBulkWriter)
+ *              배치마다 짧은 트랜잭션으로 커밋 → 실행 전체가 한 트랜잭션/영속성 컨텍스트에 묶이지 않음
+ *
+ * 상세 조회가 실패한(타임아웃, 5xx 등) 보고서는 실행 끝에 재시도 대기열(PuduReportRetryQueue)에 남긴다.
+ * 목록 조회가 실패하면 그 뒤 구간을 알 수 없으므로 listFailed 로 집계하고,
+ * 호출 측은 이 실행을 실패로 보고 워터마크/백필 구간을 완료 처리하지 않는다 (이미 커밋된 배치는 유지).
+ * 이후 동기화에서는 목록에 다시 나와도 저장되지 않은 건이므로 다시 조회되지만,
+ * 목록 구간을 지난 보고서는 대기열의 재시도 작업(PuduReportRetryService)만 다시 받는다.
+ * 페이지 단위 allOf().join() 장벽이 없으므로 다음 페이지 조회와 상세 조회가 겹치고,
+ * 느린 상세 조회 하나가 전체를 멈추지 않는다.
+ * 기존 보고서/로봇 확인과 저장은 호출 스레드에서만 수행한다.
+ */
+@Slf4j
+@Component
+public class PuduReportSyncPipeline {
+
+    private static final int RECENT_STATS = 20;
+
+    private final PuduReportAsyncProcessor processor;
+    private final PuduReportBulkWriter bulkWriter;
+    private final KnownReportIdRegistry knownReportIds;
+    private final RobotRepository robotRepository;
+    private final TransactionOperations transactionOperations;
+    private final PuduReportRetryQueue retryQueue;
+
+    private final int pageSize;
+    private final int prefetchPages;
+    private final int detailConcurrency;
+    private final int batchSize;
+
+    // 모든 실행이 공유하는 상세 조회 한도 (매장 병렬 × 매장 내 병렬이 곱해지지 않도록)
+    private final Semaphore globalPermits;
+    private final int globalConcurrency;
+
+    private final Deque<ReportSyncStatsDTO> recent = new ConcurrentLinkedDeque<>();
+
+    public PuduReportSyncPipeline(
+            PuduReportAsyncProcessor processor,
+            PuduReportBulkWriter bulkWriter,
+            KnownReportIdRegistry knownReportIds,
+            RobotRepository robotRepository,
+            TransactionOperations transactionOperations,
+            PuduReportRetryQueue retryQueue,
+            @Value("${pudu.report-sync.page-size:20}") int pageSize,
+            @Value("${pudu.report-sync.prefetch-pages:4}") int prefetchPages,
+            @Value("${pudu.report-sync.detail-concurrency:16}") int detailConcurrency,
+            @Value("${pudu.report-sync.batch-size:50}") int batchSize,
+            @Value("${pudu.report-sync.detail-concurrency-global:32}") int globalConcurrency
+    ) {
+        this.processor = processor;
+        this.bulkWriter = bulkWriter;
+        this.knownReportIds = knownReportIds;
+        this.robotRepository = robotRepository;
+        this.transactionOperations = transactionOperations;
+        this.retryQueue = retryQueue;
+        this.pageSize = Math.max(1, pageSize);
+        this.prefetchPages = Math.max(1, prefetchPages);
+        this.detailConcurrency = Math.max(1, detailConcurrency);
+        this.batchSize = Math.max(1, batchSize);
+        this.globalConcurrency = Math.max(1, globalConcurrency);
+        this.globalPermits = new Semaphore(this.globalConcurrency);
+    }
+
+    /**
+     * 호출 스레드에서 실행되며, 저장이 모두 끝난 뒤 단계별 지표를 돌려준다.
+     */
+    public ReportSyncStatsDTO run(Long storeId, Long shopId, LocalDateTime start, LocalDateTime end,
+                                  int tz, int startOffset) throws InterruptedException {
+        Stats stats = new Stats();
+        return execute(storeId, shopId, start, end, tz, new Pager(shopId, start, end, tz, startOffset, stats), stats);
+    }
+
+    /**
+     * 기간을 하위 구간으로 나눠 구간별 목록을 동시에 조회한다 (긴 과거 기간용).
+     * 한 구간의 첫 페이지가 가득 차면 그 구간을 반으로 나눠 다시 조회하고(최소 구간까지),
+     * 구간 경계에 걸쳐 두 번 나온 보고서는 report_id 로 한 번만 처리한다.
+     */
+    public ReportSyncStatsDTO runTimeSliced(Long storeId, Long shopId, LocalDateTime start, LocalDateTime end,
+                                            int tz, TimeSlicing slicing) throws InterruptedException {
+        Stats stats = new Stats();
+        return execute(storeId, shopId, start, end, tz, new WindowedPager(shopId, start, end, tz, slicing, stats), stats);
+    }
+
+    private ReportSyncStatsDTO execute(Long storeId, Long shopId, LocalDateTime start, LocalDateTime end,
+                                       int tz, PageSource pager, Stats stats) throws InterruptedException {
+        long t0 = System.nanoTime();
+
+        // 보고서마다 findBySn 하지 않고 매장 로봇을 한 번에 적재
+        StoreRobotLookup robots = StoreRobotLookup.load(robotRepository, storeId);
+
+        pager.pump();
+
+        Semaphore permits = new Semaphore(detailConcurrency);
+        BlockingQueue<Detail> completed = new LinkedBlockingQueue<>();
+        List<PuduReport> buffer = new ArrayList<>(batchSize);
+        List<PuduReportRetryQueue.Failure> failures = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        int inFlight = 0;
+
+        List<PuduReportListItem> page;
+        while (!(page = pager.take()).isEmpty()) {
+            List<PuduReportListItem> fresh = new ArrayList<>(page.size());
+            for (PuduReportListItem item : page) {
+                if (item.reportId() != null && !seen.add(item.reportId())) {
+                    stats.duplicates++;
+                } else {
+                    fresh.add(item);
+                }
+            }
+
+            // 이미 저장된 보고서는 상세 조회 없이 제외 (메모리 집합 → 페이지당 IN 쿼리 1회)
+            Set<Long> known = knownReportIds.findKnown(shopId, fresh.stream()
+                    .map(PuduReportListItem::reportId)
+                    .filter(Objects::nonNull)
+                    .toList());
+
+            for (PuduReportListItem item : fresh) {
+                if (known.contains(item.reportId())) {
+                    stats.existing++;
+                    continue;
+                }
+
+                Robot robot = robots.get(item.sn());
+                if (robot == null) {
+                    stats.skipped++;
+                    continue;
+                }
+
+                // 동시 조회 한도(매장/전체)에 걸리면 완료 건을 처리하면서 자리가 나길 기다림
+                if (!tryAcquire(permits)) {
+                    long w = System.nanoTime();
+                    while (!tryAcquire(permits)) {
+                        Detail done = completed.poll(50, TimeUnit.MILLISECONDS);
+                        if (done != null) {
+                            inFlight--;
+                            accept(done, buffer, failures, stats, shopId);
+                        }
+                    }
+                    stats.detailBlockedNanos += System.nanoTime() - w;
+                }
+
+                stats.detailRequested++;
+                inFlight++;
+                stats.peakInFlight = Math.max(stats.peakInFlight, detailConcurrency - permits.availablePermits());
+
+                processor.convertAsync(item.sn(), item.reportId(), robot, start, end, tz, shopId)
+                        .whenComplete((r, ex) -> {
+                            globalPermits.release();
+                            permits.release();
+                            completed.add(new Detail(item, ex == null ? r : null, ex));
+                        });
+
+                // 이미 끝난 상세 결과는 바로 쓰기 단계로
+                Detail done;
+                while ((done = completed.poll()) != null) {
+                    inFlight--;
+                    accept(done, buffer, failures, stats, shopId);
+                }
+            }
+        }
+
+        // 남은 상세 조회 완료 대기
+        while (inFlight > 0) {
+            accept(completed.take(), buffer, failures, stats, shopId);
+            inFlight--;
+        }
+        flush(buffer, stats, shopId);
+        enqueueFailures(storeId, shopId, start, end, tz, failures);
+        stats.robotLookups = robots.lookups();
+        stats.robotQueries = robots.queries();
+
+        ReportSyncStatsDTO result = stats.toDTO(shopId, System.nanoTime() - t0);
+        record(result);
+        if (result.getListFailed() > 0) {
+            log.warn("보고서 목록 조회 실패 storeId={} shopId={} {}회: {}",
+                    storeId, shopId, result.getListFailed(), result.getListError());
+        }
+        return result;
+    }
+
+    public List<ReportSyncStatsDTO> recentStats() {
+        return List.copyOf(recent);
+    }
+
+    /** 현재 모든 매장에서 진행 중인 상세 조회 수 */
+    public int globalInFlight() {
+        return globalConcurrency - globalPermits.availablePermits();
+    }
+
+    // 매장 한도 → 전체 한도 순으로 잡고, 전체 한도가 없으면 매장 자리를 돌려준다
+    private boolean tryAcquire(Semaphore permits) {
+        if (!permits.tryAcquire()) return false;
+        if (globalPermits.tryAcquire()) return true;
+        permits.release();
+        return false;
+    }
+
+
+    private void accept(Detail done, List<PuduReport> buffer, List<PuduReportRetryQueue.Failure> failures,
+                        Stats stats, Long shopId) {
+        if (done.error() != null) {
+            stats.detailFailed++;
+            failures.add(new PuduReportRetryQueue.Failure(done.item().sn(), done.item().reportId(), message(done.error())));
+            return;
+        }
+        if (done.report() == null) {
+            stats.skipped++;
+            return;
+        }
+        stats.converted++;
+        buffer.add(done.report());
+        if (buffer.size() >= batchSize) flush(buffer, stats, shopId);
+    }
+
+    /**
+     * 배치 하나를 자체 트랜잭션으로 저장하고 커밋한다.
+     * 커밋 시 트랜잭션 범위 EntityManager 가 닫히므로 저장한 보고서가 영속성 컨텍스트에 쌓이지 않고,
+     * 저장한 id 는 커밋 후에 기존 id 집합에 반영된다.
+     */
+    public void writeBatch(Long shopId, List<PuduReport> batch) {
+        if (batch.isEmpty()) return;
+        transactionOperations.executeWithoutResult(status -> {
+            bulkWriter.upsert(batch);
+            knownReportIds.markSaved(shopId, batch.stream().map(PuduReport::getReportId).toList());
+        });
+    }
+
+    private void flush(List<PuduReport> buffer, Stats stats, Long shopId) {
+        if (buffer.isEmpty()) return;
+        long w = System.nanoTime();
+        writeBatch(shopId, buffer);
+        stats.writeNanos += System.nanoTime() - w;
+        stats.batches++;
+        stats.saved += buffer.size();
+        buffer.clear();
+    }
+
+    // 대기열 기록 실패는 동기화 결과에 영향을 주지 않음 (다음 동기화에서 목록에 다시 나오면 재조회)
+    private void enqueueFailures(Long storeId, Long shopId, LocalDateTime start, LocalDateTime end,
+                                 int tz, List<PuduReportRetryQueue.Failure> failures) {
+        if (failures.isEmpty()) return;
+        try {
+            retryQueue.record(storeId, shopId, start, end, tz, failures);
+        } catch (RuntimeException e) {
+            log.warn("재시도 대기열 기록 실패 storeId={} {}건: {}", storeId, failures.size(), e.getMessage());
+        }
+    }
+
+    private static String message(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
+
+    private void record(ReportSyncStatsDTO s) {
+        recent.addFirst(s);
+        while (recent.size() > RECENT_STATS) recent.pollLast();
+
+        log.info("보고서 동기화 shopId={} 저장 {}건 / 목록 {}건 ({}페이지) / {}ms, {} reports/s, 최대 동시 상세 {}, 목록 실패 {}, 상세 실패 {}",
+                s.getShopId(), s.getSaved(), s.getListed(), s.getPages(),
+                Math.round(s.getElapsedMs()), Math.round(s.getReportsPerSecond()), s.getPeakInFlight(),
+                s.getListFailed(), s.getDetailFailed());
+    }
+
+
+    /**
+     * 기간 분할 조회 설정
+     * @param window      처음 나누는 구간 길이
+     * @param minWindow   첫 페이지가 가득 차도 더 나누지 않는 최소 구간 길이
+     * @param concurrency 동시에 목록을 조회하는 구간 수
+     */
+    public record TimeSlicing(Duration window, Duration minWindow, int concurrency) {
+    }
+
+    // 목록 단계 공통: pump() 로 조회를 시작하고, take() 가 빈 페이지를 돌려주면 종료
+    private interface PageSource {
+        void pump();
+
+        List<PuduReportListItem> take() throws InterruptedException;
+    }
+
+    /**
+     * 목록 단계: 한 번에 한 페이지씩 순서대로 받되, 소비되지 않은 페이지가 prefetch-pages 개가 되면 멈춘다.
+     * 빈 페이지(마지막)를 받으면 종료 표시로 큐에 넣는다.
+ * 조회가 실패하면 이후 offset 을 이어 갈 수 없으므로 실패를 집계하고 같은 방식으로 종료한다.
+     */
+    private final class Pager implements PageSource {
+
+        private final Long shopId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int tz;
+        private final Stats stats;
+
+        private final BlockingQueue<List<PuduReportListItem>> pages = new LinkedBlockingQueue<>();
+        private int nextOffset;
+        private int freeSlots = prefetchPages;
+        private boolean fetching;
+        private boolean finished;
+
+        Pager(Long shopId, LocalDateTime start, LocalDateTime end, int tz, int offset, Stats stats) {
+            this.shopId = shopId;
+            this.start = start;
+            this.end = end;
+            this.tz = tz;
+            this.nextOffset = offset;
+            this.stats = stats;
+        }
+
+        public void pump() {
+            int offset;
+            synchronized (this) {
+                if (fetching || finished || freeSlots == 0) return;
+                fetching = true;
+                freeSlots--;
+                offset = nextOffset;
+                nextOffset += pageSize;
+            }
+
+            long t = System.nanoTime();
+            processor.fetchListAsync(start, end, shopId, tz, offset, pageSize)
+                    .whenComplete((page, ex) -> {
+                        List<PuduReportListItem> items = ex == null && page != null ? page : List.of();
+                        synchronized (this) {
+                            fetching = false;
+                            if (items.isEmpty()) finished = true;
+                            stats.listFetchNanos += System.nanoTime() - t;
+                            if (ex != null) stats.listFailed(ex);
+                            if (!items.isEmpty()) {
+                                stats.pages++;
+                                stats.listed += items.size();
+                            }
+                        }
+                        pages.add(items);
+                        pump();
+                    });
+        }
+
+        public List<PuduReportListItem> take() throws InterruptedException {
+            List<PuduReportListItem> page = pages.poll();
+            if (page == null) {
+                long w = System.nanoTime();
+                page = pages.take();
+                stats.listStarvedNanos += System.nanoTime() - w;
+            }
+            synchronized (this) {
+                freeSlots++;
+            }
+            pump();
+            return page;
+        }
+    }
+
+
+    /**
+     * 기간 분할 목록 단계: 대기 구간을 최대 concurrency 개까지 동시에 조회한다.
+     *   - 구간 안에서는 offset 으로 순서대로 넘기고, 페이지가 덜 차면 그 구간은 끝
+     *   - 첫 페이지가 가득 찬 구간은 최소 길이보다 길면 반으로 나눠 대기열 앞에 넣음
+     *     (이미 받은 첫 페이지도 그대로 내보내며, 하위 구간에서 다시 나오는 건은 중복으로 제외됨)
+     *   - 조회 중 + 소비 대기 페이지 수는 prefetch-pages (최소 concurrency) 로 제한
+ *   - 조회가 실패한 구간은 실패로 집계하고 다시 넣지 않음 (나머지 구간은 계속 조회)
+     * 종료 표시는 대기/조회 중 구간이 모두 없어졌을 때 마지막 페이지 뒤에 한 번만 넣는다.
+     */
+    private final class WindowedPager implements PageSource {
+
+        private final Long shopId;
+        private final int tz;
+        private final TimeSlicing slicing;
+        private final Stats stats;
+        private final int maxOutstanding;
+
+        private final BlockingQueue<List<PuduReportListItem>> pages = new LinkedBlockingQueue<>();
+        private final Deque<Window> pending = new ArrayDeque<>();
+        private int fetching;
+        private int buffered;
+        private boolean finished;
+
+        WindowedPager(Long shopId, LocalDateTime start, LocalDateTime end, int tz, TimeSlicing slicing, Stats stats) {
+            this.shopId = shopId;
+            this.tz = tz;
+            this.slicing = slicing;
+            this.stats = stats;
+            this.maxOutstanding = Math.max(prefetchPages, Math.max(1, slicing.concurrency()));
+
+            for (LocalDateTime s = start; s.isBefore(end); ) {
+                LocalDateTime e = s.plus(slicing.window());
+                if (e.isAfter(end)) e = end;
+                pending.addLast(new Window(s, e, 0));
+                s = e;
+            }
+        }
+
+        public void pump() {
+            List<Window> toFetch = new ArrayList<>();
+            synchronized (this) {
+                while (!pending.isEmpty()
+                        && fetching < slicing.concurrency()
+                        && fetching + buffered < maxOutstanding) {
+                    toFetch.add(pending.pollFirst());
+                    fetching++;
+                }
+                if (!finished && pending.isEmpty() && fetching == 0) {
+                    finished = true;
+                    pages.add(List.of());
+                }
+            }
+            toFetch.forEach(this::fetch);
+        }
+
+        private void fetch(Window w) {
+            long t = System.nanoTime();
+            processor.fetchListAsync(w.start(), w.end(), shopId, tz, w.offset(), pageSize)
+                    .whenComplete((page, ex) -> {
+                        List<PuduReportListItem> items = ex == null && page != null ? page : List.of();
+                        boolean full = items.size() >= pageSize;
+                        synchronized (this) {
+                            fetching--;
+                            stats.listFetchNanos += System.nanoTime() - t;
+                            if (!items.isEmpty()) {
+                                stats.pages++;
+                                stats.listed += items.size();
+                                buffered++;
+                                // 종료 표시보다 먼저 들어가도록 락 안에서 적재
+                                pages.add(items);
+                            }
+
+                            if (ex != null) {
+                                stats.listFailed(ex);
+                            } else if (full && w.offset() == 0 && w.splittable(slicing.minWindow())) {
+                                Window[] halves = w.split();
+                                pending.addFirst(halves[1]);
+                                pending.addFirst(halves[0]);
+                                stats.windowSplits++;
+                            } else if (full) {
+                                pending.addFirst(w.next(pageSize));
+                            } else {
+                                stats.windows++;
+                            }
+                        }
+                        pump();
+                    });
+        }
+
+        public List<PuduReportListItem> take() throws InterruptedException {
+            List<PuduReportListItem> page = pages.poll();
+            if (page == null) {
+                long w = System.nanoTime();
+                page = pages.take();
+                stats.listStarvedNanos += System.nanoTime() - w;
+            }
+            if (page.isEmpty()) return page;
+
+            synchronized (this) {
+                buffered--;
+            }
+            pump();
+            return page;
+        }
+    }
+
+    // 상세 조회 결과 (실패 시 error, 상세 없음은 report == null)
+    private record Detail(PuduReportListItem item, PuduReport report, Throwable error) {
+    }
+
+    private record Window(LocalDateTime start, LocalDateTime end, int offset) {
+
+        boolean splittable(Duration minWindow) {
+            return Duration.between(start, end).compareTo(minWindow.multipliedBy(2)) >= 0;
+        }
+
+        Window[] split() {
+            LocalDateTime mid = start.plus(Duration.between(start, end).dividedBy(2));
+            return new Window[]{new Window(start, mid, 0), new Window(mid, end, 0)};
+        }
+
+        Window next(int pageSize) {
+            return new Window(start, end, offset + pageSize);
+        }
+    }
+
+
+    // 한 번의 실행 동안 누적되는 지표 (목록 관련 값은 Pager/WindowedPager 락 안에서 갱신)
+    private static final class Stats {
+        int pages;
+        int listed;
+        int windows;
+        int windowSplits;
+        long listFetchNanos;
+        long listStarvedNanos;
+        int listFailed;
+        String listError;
+
+        int detailRequested;
+        int converted;
+        int skipped;
+        int detailFailed;
+        int duplicates;
+        int existing;
+        int peakInFlight;
+        int robotLookups;
+        int robotQueries;
+        long detailBlockedNanos;
+
+        int batches;
+        int saved;
+        long writeNanos;
+
+        void listFailed(Throwable ex) {
+            listFailed++;
+            if (listError == null) listError = message(ex);
+        }
+
+        synchronized ReportSyncStatsDTO toDTO(Long shopId, long elapsedNanos) {
+            double elapsedMs = elapsedNanos / 1_000_000.0;
+            double listMs = listFetchNanos / 1_000_000.0;
+            double writeMs = writeNanos / 1_000_000.0;
+
+            return ReportSyncStatsDTO.builder()
+                    .shopId(shopId)
+                    .finishedAt(LocalDateTime.now())
+                    .elapsedMs(elapsedMs)
+                    .pages(pages)
+                    .listed(listed)
+                    .windows(windows)
+                    .windowSplits(windowSplits)
+                    .listFetchMs(listMs)
+                    .listStarvedMs(listStarvedNanos / 1_000_000.0)
+                    .listItemsPerSecond(perSecond(listed, listMs))
+                    .listFailed(listFailed)
+                    .listError(listError)
+                    .detailRequested(detailRequested)
+                    .converted(converted)
+                    .skipped(skipped)
+                    .detailFailed(detailFailed)
+                    .duplicates(duplicates)
+                    .existing(existing)
+                    .peakInFlight(peakInFlight)
+                    .robotLookups(robotLookups)
+                    .robotQueries(robotQueries)
+                    .detailBlockedMs(detailBlockedNanos / 1_000_000.0)
+                    .detailsPerSecond(perSecond(detailRequested, elapsedMs))
+                    .batches(batches)
+                    .saved(saved)
+                    .writeMs(writeMs)
+                    .rowsPerSecond(perSecond(saved, writeMs))
+                    .reportsPerSecond(perSecond(saved, elapsedMs))
+                    .build();
+        }
+
+        private static double perSecond(long count, double ms) {
+            return ms <= 0 ? 0 : count / (ms / 1000.0);
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package com.codehows.taelimbe.robot.config;
 
+import com.codehows.taelimbe.config.IoTaskExecutors;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 
@@ -10,13 +11,7 @@ import java.util.concurrent.Executor;
 public class RobotAsyncConfig {
 
     @Bean(name = "RobotSyncExecutor")
-    public Executor robotSyncExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(10);
-        executor.setMaxPoolSize(20);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("robot-sync-");
-        executor.initialize();
-        return executor;
+    public Executor robotSyncExecutor(@Value(IoTaskExecutors.VIRTUAL_THREADS_PROPERTY) boolean virtualThreads) {
+        return IoTaskExecutors.create(virtualThreads, "robot-sync-", 10, 20, 100);
     }
 }
@@ -1,8 +1,9 @@
 package com.codehows.taelimbe.robot.config;
 
+import com.codehows.taelimbe.config.IoTaskExecutors;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 
@@ -10,13 +11,10 @@ import java.util.concurrent.Executor;
 public class StoreRobotAsyncConfig {
 
     @Bean(name = "StoreRobotExecutor")
-    public Executor storeRobotExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(10);   // 동시에 처리할 매장 수
-        executor.setMaxPoolSize(20);
-        executor.setQueueCapacity(50);
-        executor.setThreadNamePrefix("store-robot-");
-        executor.initialize();
-        return executor;
+    public Executor storeRobotExecutor(@Value(IoTaskExecutors.VIRTUAL_THREADS_PROPERTY) boolean virtualThreads) {
+        return IoTaskExecutors.create(virtualThreads, "store-robot-",
+                10,     // 동시에 처리할 매장 수
+                20,
+                50);
     }
 }
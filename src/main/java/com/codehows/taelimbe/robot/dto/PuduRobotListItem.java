@@ -0,0 +1,33 @@
+package com.codehows.taelimbe.robot.dto;
+
+import com.codehows.taelimbe.client.PuduListReader;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * data-open-platform-service 로봇 목록 항목 (기본 정보)
+ */
+public record PuduRobotListItem(String sn, String mac, String productCode) {
+
+    public static PuduRobotListItem read(JsonParser p) throws IOException {
+        String sn = null;
+        String mac = null;
+        String productCode = null;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "sn" -> sn = PuduListReader.text(p);
+                case "mac" -> mac = PuduListReader.text(p);
+                case "product_code" -> productCode = PuduListReader.text(p);
+                default -> p.skipChildren();
+            }
+        }
+
+        // sn 없는 항목은 저장할 수 없으므로 제외
+        return sn == null ? null : new PuduRobotListItem(sn, mac, productCode);
+    }
+}
@@ -0,0 +1,6 @@
+package com.codehows.taelimbe.robot.dto;
+
+/**
+ * sn → robot_id 매핑용 경량 조회 결과 (엔티티를 로딩하지 않음)
+ */
+public record RobotSnRef(String sn, Long robotId) {}
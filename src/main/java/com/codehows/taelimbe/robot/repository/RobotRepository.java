@@ -1,5 +1,6 @@
 package com.codehows.taelimbe.robot.repository;
 
+import com.codehows.taelimbe.robot.dto.RobotSnRef;
 import com.codehows.taelimbe.robot.entity.Robot;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -14,6 +15,14 @@ public interface RobotRepository extends JpaRepository<Robot, Long> {
 
     List<Robot> findAllByStore_StoreId(Long storeId);
 
+    // 보고서 동기화용 sn → robot_id (엔티티 로딩 없이)
+    @Query("""
+        select new com.codehows.taelimbe.robot.dto.RobotSnRef(r.sn, r.robotId)
+        from Robot r
+        where r.store.storeId = :storeId
+    """)
+    List<RobotSnRef> findSnRefsByStoreId(@Param("storeId") Long storeId);
+
     @Query("""
         select r
         from Robot r
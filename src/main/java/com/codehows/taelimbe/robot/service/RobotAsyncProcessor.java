@@ -1,130 +1,143 @@
 package com.codehows.taelimbe.robot.service;
 
 import com.codehows.taelimbe.client.PuduAPIClient;
+import com.codehows.taelimbe.client.PuduLookupCache;
+import com.codehows.taelimbe.robot.dto.PuduRobotListItem;
 import com.codehows.taelimbe.robot.dto.RobotDTO;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.scheduling.annotation.Async;
+import com.codehows.taelimbe.sync.constant.SyncStage;
+import com.codehows.taelimbe.sync.service.SyncWorkScheduler;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.UriComponentsBuilder;
 
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 
+@Slf4j
 @Component
 public class RobotAsyncProcessor {
 
-    private final Executor robotSyncExecutor;
+    private final Executor combineExecutor;
     private final PuduAPIClient puduAPIClient;
+    private final PuduLookupCache lookupCache;
     private final ObjectMapper mapper = new ObjectMapper();
 
     public RobotAsyncProcessor(
-            @Qualifier("RobotSyncExecutor") Executor robotSyncExecutor,
-            PuduAPIClient puduAPIClient
+            SyncWorkScheduler syncWorkScheduler,
+            PuduAPIClient puduAPIClient,
+            PuduLookupCache lookupCache
     ) {
-        this.robotSyncExecutor = robotSyncExecutor;
+        this.combineExecutor = syncWorkScheduler.executor(SyncStage.ROBOT_DETAIL);
         this.puduAPIClient = puduAPIClient;
+        this.lookupCache = lookupCache;
     }
 
-    @Async("RobotSyncExecutor")
+    /**
+     * detail / status 조회를 논블로킹으로 동시에 보내고, 둘 다 끝나면 DTO로 합친다.
+     * 응답 대기 중에는 스레드를 점유하지 않고, 조합 단계만 SyncWorkScheduler(ROBOT_DETAIL) 에서 실행한다.
+     * 조회가 실패하면(오류 응답, 재시도 후 429, 요청 제한 거부, 타임아웃) 경고를 남기고 null
+     * → 호출 측은 그 로봇을 갱신하지 않는다 (offline / 배터리 0 으로 덮어쓰지 않도록).
+     */
     public CompletableFuture<RobotDTO> fetchRobotAsync(
-            JsonNode baseNode, Long shopId
+            PuduRobotListItem item, Long shopId
     ) {
         try {
-            String sn = baseNode.path("sn").asText();
-
-            String mac = baseNode.path("mac").asText(null);
-            String productCode = baseNode.path("product_code").asText(null);
-
-            CompletableFuture<JsonNode> detailFuture =
-                    CompletableFuture.supplyAsync(
-                            () -> fetchRobotDetail(sn), robotSyncExecutor
-                    );
-
-            CompletableFuture<JsonNode> statusFuture =
-                    CompletableFuture.supplyAsync(
-                            () -> fetchRobotStatusV2(sn), robotSyncExecutor
-                    );
-
-            CompletableFuture.allOf(detailFuture, statusFuture).join();
-
-            JsonNode detail = detailFuture.join();
-            JsonNode status = statusFuture.join();
-
-            String nickname = null;
-            Boolean online = false;
-            int battery = 0;
-            int statusCode = 0;
-            int isCharging = 0;
-
-            if (detail != null) {
-                nickname = detail.path("nickname").asText(null);
-                battery = detail.path("battery").asInt();
-                online = detail.path("online").asBoolean();
-                statusCode = detail.path("cleanbot").path("clean").path("status").asInt();
-            }
-
-            if (status != null) {
-                isCharging = status.path("is_charging").asInt();
-            }
-
-            return CompletableFuture.completedFuture(
-                    RobotDTO.builder()
-                            .sn(sn)
-                            .mac(mac)
-                            .nickname(nickname)
-                            .online(online)
-                            .battery(battery)
-                            .status(statusCode)
-                            .productCode(productCode)
-                            .isCharging(isCharging)
-                            .build()
-            );
+            String sn = item.sn();
+            String mac = item.mac();
+            String productCode = item.productCode();
+
+            CompletableFuture<JsonNode> detailFuture = fetchRobotDetailAsync(sn);
+            CompletableFuture<JsonNode> statusFuture = fetchRobotStatusV2Async(sn);
+
+            return detailFuture
+                    .thenCombineAsync(statusFuture,
+                            (detail, status) -> toRobotDTO(sn, mac, productCode, detail, status),
+                            combineExecutor)
+                    .exceptionally(ex -> {
+                        log.warn("로봇 조회 실패 sn={} shopId={}: {}", sn, shopId, message(ex));
+                        return null;
+                    });
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.warn("로봇 조회 요청 실패 sn={} shopId={}: {}", item.sn(), shopId, message(e));
             return CompletableFuture.completedFuture(null);
         }
     }
 
+    private static String message(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
 
 
+    private RobotDTO toRobotDTO(String sn, String mac, String productCode,
+                                JsonNode detail, JsonNode status) {
+        String nickname = null;
+        Boolean online = false;
+        int battery = 0;
+        int statusCode = 0;
+        int isCharging = 0;
 
+        if (detail != null) {
+            nickname = detail.path("nickname").asText(null);
+            battery = detail.path("battery").asInt();
+            online = detail.path("online").asBoolean();
+            statusCode = detail.path("cleanbot").path("clean").path("status").asInt();
+        }
 
+        if (status != null) {
+            isCharging = status.path("is_charging").asInt();
+        }
 
+        return RobotDTO.builder()
+                .sn(sn)
+                .mac(mac)
+                .nickname(nickname)
+                .online(online)
+                .battery(battery)
+                .status(statusCode)
+                .productCode(productCode)
+                .isCharging(isCharging)
+                .build();
+    }
 
-    private JsonNode fetchRobotDetail(String sn) {
-        try {
-            String url = UriComponentsBuilder.fromHttpUrl(puduAPIClient.getBaseUrl())
-                    .path("/cleanbot-service/v1/api/open/robot/detail")
-                    .queryParam("sn", sn)
-                    .toUriString();
-
-            return mapper.readTree(
-                    puduAPIClient.callPuduAPI(url, "GET").getBody()
-            ).path("data");
 
-        } catch (Exception ignored) {}
+    // 동시에 들어온 같은 sn 조회는 하나의 호출을 공유하고, 결과는 짧은 TTL 동안 재사용
+    private CompletableFuture<JsonNode> fetchRobotDetailAsync(String sn) {
+        String url = UriComponentsBuilder.fromHttpUrl(puduAPIClient.getBaseUrl())
+                .path("/cleanbot-service/v1/api/open/robot/detail")
+                .queryParam("sn", sn)
+                .toUriString();
 
-        return null;
+        return lookupCache.get("robot-detail", sn, () -> fetchDataAsync(url));
     }
 
-    private JsonNode fetchRobotStatusV2(String sn) {
-        try {
-            String url = UriComponentsBuilder.fromHttpUrl(puduAPIClient.getBaseUrl())
-                    .path("/open-platform-service/v2/status/get_by_sn")
-                    .queryParam("sn", sn)
-                    .toUriString();
-
-            return mapper.readTree(
-                    puduAPIClient.callPuduAPI(url, "GET").getBody()
-            ).path("data");
+    private CompletableFuture<JsonNode> fetchRobotStatusV2Async(String sn) {
+        String url = UriComponentsBuilder.fromHttpUrl(puduAPIClient.getBaseUrl())
+                .path("/open-platform-service/v2/status/get_by_sn")
+                .queryParam("sn", sn)
+                .toUriString();
 
-        } catch (Exception ignored) {}
+        return lookupCache.get("robot-status", sn, () -> fetchDataAsync(url));
+    }
 
-        return null;
+    // 응답의 data 노드 추출, data 없음은 null. 오류 응답(4xx/5xx)과 파싱 오류는 예외로 완료
+    private CompletableFuture<JsonNode> fetchDataAsync(String url) {
+        return puduAPIClient.callPuduAPIAsync(url, "GET")
+                .thenApply(res -> {
+                    if (!res.getStatusCode().is2xxSuccessful()) {
+                        throw new IllegalStateException("HTTP " + res.getStatusCode().value() + " " + url);
+                    }
+                    try {
+                        JsonNode data = mapper.readTree(res.getBody()).path("data");
+                        return data.isObject() ? data : null;
+                    } catch (Exception e) {
+                        throw new IllegalStateException("응답 파싱 실패 " + url, e);
+                    }
+                });
     }
 }
@@ -1,16 +1,18 @@
 package com.codehows.taelimbe.robot.service;
 
 import com.codehows.taelimbe.client.PuduAPIClient;
+import com.codehows.taelimbe.client.PuduListReader;
+import com.codehows.taelimbe.robot.dto.PuduRobotListItem;
 import com.codehows.taelimbe.robot.dto.RobotSyncRequestDTO;
 import com.codehows.taelimbe.robot.dto.RobotDTO;
 import com.codehows.taelimbe.robot.entity.Robot;
 import com.codehows.taelimbe.store.entity.Store;
 import com.codehows.taelimbe.robot.repository.RobotRepository;
 import com.codehows.taelimbe.store.repository.StoreRepository;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.codehows.taelimbe.sync.constant.SyncStage;
+import com.codehows.taelimbe.sync.service.SyncWorkScheduler;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Qualifier;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,12 +21,11 @@ import org.springframework.web.util.UriComponentsBuilder;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 public class RobotService {
 
@@ -32,24 +33,22 @@ public class RobotService {
     private final RobotRepository robotRepository;
     private final StoreRepository storeRepository;
     private final RobotAsyncProcessor processor;
-    private final Executor storeRobotExecutor;
+    private final SyncWorkScheduler syncWorkScheduler;
 
     public RobotService(
             PuduAPIClient puduAPIClient,
             RobotRepository robotRepository,
             StoreRepository storeRepository,
             RobotAsyncProcessor processor,
-            @Qualifier("StoreRobotExecutor") Executor storeRobotExecutor
+            SyncWorkScheduler syncWorkScheduler
     ) {
         this.puduAPIClient = puduAPIClient;
         this.robotRepository = robotRepository;
         this.storeRepository = storeRepository;
         this.processor = processor;
-        this.storeRobotExecutor = storeRobotExecutor;
+        this.syncWorkScheduler = syncWorkScheduler;
     }
 
-    private final ObjectMapper mapper = new ObjectMapper();
-
     /**
      * 특정 매장의 로봇을 Pudu API에서 조회하여 DB에 저장/업데이트
      * @param req 매장 ID 포함 요청 정보
@@ -63,19 +62,25 @@ public class RobotService {
 
         Long shopId = store.getShopId();
 
-        List<JsonNode> baseList = fetchRobotListAll(shopId);
+        List<PuduRobotListItem> baseList = fetchRobotListAll(shopId);
 
         List<CompletableFuture<RobotDTO>> futures = baseList.stream()
-                .map(baseNode -> processor.fetchRobotAsync(baseNode, shopId))
+                .map(item -> processor.fetchRobotAsync(item, shopId))
                 .toList();
 
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        // 매장 작업 안에서 기다리는 동안 전체 한도를 반납 → 상세 조합 단계가 실행될 자리 확보
+        syncWorkScheduler.await(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])));
 
         int newCount = 0;
+        int failed = 0;
 
         for (CompletableFuture<RobotDTO> f : futures) {
             RobotDTO dto = f.join();
-            if (dto == null) continue;
+            // 조회 실패한 로봇은 기존 값 유지 (RobotAsyncProcessor 에서 사유 기록)
+            if (dto == null) {
+                failed++;
+                continue;
+            }
 
             Robot existing = robotRepository.findBySn(dto.getSn()).orElse(null);
             boolean isNew = (existing == null);
@@ -85,6 +90,9 @@ public class RobotService {
             if (isNew) newCount++;
         }
 
+        if (failed > 0) {
+            log.warn("로봇 동기화 storeId={} 조회 실패 {}대 / {}대 (기존 값 유지)", store.getStoreId(), failed, futures.size());
+        }
         return newCount;
     }
 
@@ -101,13 +109,13 @@ public class RobotService {
 
         List<CompletableFuture<Integer>> futures = stores.stream()
                 .map(store ->
-                        CompletableFuture.supplyAsync(
+                        syncWorkScheduler.submit(
+                                SyncStage.STORE_ROBOTS,
                                 () -> syncRobots(
                                         RobotSyncRequestDTO.builder()
                                                 .storeId(store.getStoreId())
                                                 .build()
-                                ),
-                                storeRobotExecutor
+                                )
                         )
                 )
                 .toList();
@@ -173,11 +181,9 @@ public class RobotService {
     /**
      * Pudu API에서 샵의 모든 로봇 목록 조회 (기본 정보)
      * @param shopId 샵 ID
-     * @return 로봇 JSON 노드 리스트
+     * @return 로봇 목록 항목 (sn / mac / product_code)
      */
-    private List<JsonNode> fetchRobotListAll(Long shopId) {
-
-        List<JsonNode> list = new ArrayList<>();
+    private List<PuduRobotListItem> fetchRobotListAll(Long shopId) {
 
         try {
             String url = UriComponentsBuilder.fromHttpUrl(puduAPIClient.getBaseUrl())
@@ -187,15 +193,20 @@ public class RobotService {
                     .queryParam("shop_id", shopId)
                     .toUriString();
 
-            ResponseEntity<String> res = puduAPIClient.callPuduAPI(url, "GET");
+            ResponseEntity<List<PuduRobotListItem>> res =
+                    puduAPIClient.callPuduAPI(url, "GET", PuduListReader.of(PuduRobotListItem::read));
 
-            JsonNode arr = mapper.readTree(res.getBody()).path("data").path("list");
+            if (!res.getStatusCode().is2xxSuccessful()) {
+                log.warn("로봇 목록 조회 실패 shopId={} HTTP {}", shopId, res.getStatusCode().value());
+                return List.of();
+            }
+            if (res.getBody() != null) return res.getBody();
 
-            if (arr.isArray()) arr.forEach(list::add);
-
-        } catch (Exception ignored) {}
+        } catch (Exception e) {
+            log.warn("로봇 목록 조회 실패 shopId={}: {}", shopId, e.getMessage());
+        }
 
-        return list;
+        return List.of();
     }
 
 
@@ -0,0 +1,66 @@
+package com.codehows.taelimbe.robot.service;
+
+import com.codehows.taelimbe.robot.dto.RobotSnRef;
+import com.codehows.taelimbe.robot.entity.Robot;
+import com.codehows.taelimbe.robot.repository.RobotRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 매장 동기화 1회 동안 쓰는 sn → Robot 조회표
+ * 시작 시 매장 로봇의 (sn, robot_id) 만 한 번 읽고, 보고서에는 getReferenceById 프록시를 연결한다.
+ * 다른 매장으로 옮겨진 로봇처럼 목록에 없는 sn 만 findBySn 으로 확인하고 결과(없음 포함)를 기억한다.
+ * 트랜잭션 스레드 전용 (스레드 안전하지 않음).
+ */
+public class StoreRobotLookup {
+
+    private final RobotRepository robotRepository;
+    private final Map<String, Long> idsBySn = new HashMap<>();
+    private final Map<String, Robot> resolved = new HashMap<>();
+
+    private int lookups;
+    private int queries;
+
+    private StoreRobotLookup(RobotRepository robotRepository) {
+        this.robotRepository = robotRepository;
+    }
+
+    public static StoreRobotLookup load(RobotRepository robotRepository, Long storeId) {
+        StoreRobotLookup lookup = new StoreRobotLookup(robotRepository);
+        for (RobotSnRef ref : robotRepository.findSnRefsByStoreId(storeId)) {
+            lookup.idsBySn.put(ref.sn(), ref.robotId());
+        }
+        lookup.queries = 1;
+        return lookup;
+    }
+
+    /** 없으면 null */
+    public Robot get(String sn) {
+        if (sn == null) return null;
+        lookups++;
+
+        if (resolved.containsKey(sn)) return resolved.get(sn);
+
+        Robot robot;
+        Long id = idsBySn.get(sn);
+        if (id != null) {
+            robot = robotRepository.getReferenceById(id);
+        } else {
+            queries++;
+            robot = robotRepository.findBySn(sn).orElse(null);
+        }
+        resolved.put(sn, robot);
+        return robot;
+    }
+
+    /** 조회 요청 수 (기존 방식이라면 이만큼 findBySn 을 실행) */
+    public int lookups() {
+        return lookups;
+    }
+
+    /** 실제 실행한 DB 쿼리 수 (초기 적재 1 + 목록에 없던 sn) */
+    public int queries() {
+        return queries;
+    }
+}
@@ -0,0 +1,31 @@
+package com.codehows.taelimbe.store.dto;
+
+import com.codehows.taelimbe.client.PuduListReader;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * data-open-platform-service 매장 목록 항목
+ */
+public record PuduShopListItem(Long shopId, String shopName) {
+
+    public static PuduShopListItem read(JsonParser p) throws IOException {
+        Long shopId = null;
+        String shopName = null;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "shop_id" -> shopId = PuduListReader.longValue(p);
+                case "shop_name" -> shopName = PuduListReader.text(p);
+                default -> p.skipChildren();
+            }
+        }
+
+        // 페이지 크기 판단에 쓰이므로 shop_id 가 없어도 항목은 유지 (저장 시 건너뜀)
+        return new PuduShopListItem(shopId, shopName == null ? "" : shopName);
+    }
+}
@@ -1,15 +1,15 @@
 package com.codehows.taelimbe.store.service;
 
+import com.codehows.taelimbe.store.dto.PuduShopListItem;
 import com.codehows.taelimbe.store.dto.StoreDTO;
 import com.codehows.taelimbe.client.PuduAPIClient;
+import com.codehows.taelimbe.client.PuduListReader;
 import com.codehows.taelimbe.store.entity.Industry;
 import com.codehows.taelimbe.store.entity.Store;
 import com.codehows.taelimbe.store.repository.IndustryRepository;
 import com.codehows.taelimbe.user.entity.User;
 import com.codehows.taelimbe.store.repository.StoreRepository;
 import com.codehows.taelimbe.user.repository.UserRepository;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -31,7 +31,6 @@ public class StoreService {
     private final UserRepository userRepository;
     private final IndustryRepository industryRepository;
 
-    private final ObjectMapper mapper;
     private final PuduAPIClient puduAPIClient;
 
     // storeId가 있는 경우
@@ -123,21 +122,23 @@ public class StoreService {
                         .toUriString();
 
                 //  HMAC 인증 API 호출
-                ResponseEntity<String> res = puduAPIClient.callPuduAPI(url, "GET");
+                ResponseEntity<List<PuduShopListItem>> res =
+                        puduAPIClient.callPuduAPI(url, "GET", PuduListReader.of(PuduShopListItem::read));
 
-                JsonNode root = mapper.readTree(res.getBody());
-                JsonNode list = root.path("data").path("list");
+                List<PuduShopListItem> list = res.getBody();
 
                 // 데이터 없으면 종료
-                if (!list.isArray() || list.isEmpty()) {
+                if (list == null || list.isEmpty()) {
                     hasMore = false;
                     break;
                 }
 
                 // 리스트 순회
-                for (JsonNode node : list) {
-                    Long shopId = node.path("shop_id").asLong();
-                    String shopName = node.path("shop_name").asText();
+                for (PuduShopListItem item : list) {
+                    Long shopId = item.shopId();
+                    String shopName = item.shopName();
+
+                    if (shopId == null) continue;
 
                     Optional<Store> existing = storeRepository.findByShopId(shopId);
 
@@ -1,12 +1,14 @@
 package com.codehows.taelimbe.sync;
 
-import com.codehows.taelimbe.pudureport.dto.TimeRangeSyncRequestDTO;
-import com.codehows.taelimbe.pudureport.service.PuduReportService;
+import com.codehows.taelimbe.pudureport.service.PuduReportRefreshService;
+import com.codehows.taelimbe.pudureport.service.PuduReportRetryService;
 import com.codehows.taelimbe.robot.service.RobotService;
 import com.codehows.taelimbe.store.entity.Store;
 import com.codehows.taelimbe.store.service.StoreService;
+import com.codehows.taelimbe.sync.service.SchedulerLockService;
 import com.codehows.taelimbe.sync.service.SyncRecordService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -21,11 +23,40 @@ public class SyncScheduler {
 
     private final StoreService storeService;
     private final RobotService robotService;
-    private final PuduReportService puduReportService;
     private final SyncRecordService syncRecordService;
+    private final SchedulerLockService schedulerLockService;
+    private final PuduReportRefreshService puduReportRefreshService;
+    private final PuduReportRetryService puduReportRetryService;
 
+    @Value("${pudu.report-refresh.enabled:true}")
+    private boolean reportRefreshEnabled;
+
+    @Value("${pudu.report-retry.enabled:true}")
+    private boolean reportRetryEnabled;
+
+    // 여러 노드에서 같은 cron 이 돌아도 리스를 얻은 노드 하나만 실행
     @Scheduled(cron = "0 0 0/3 * * *", zone = "Asia/Seoul")
     public void syncScheduler() {
+        schedulerLockService.runExclusive("sync-scheduler", this::runSync);
+    }
+
+    // 진행 중 보고서(일시정지/중단 상태로 저장된 작업)만 상세 재조회
+    @Scheduled(fixedDelayString = "${pudu.report-refresh.interval-ms:900000}",
+            initialDelayString = "${pudu.report-refresh.initial-delay-ms:300000}")
+    public void refreshOpenReports() {
+        if (!reportRefreshEnabled) return;
+        schedulerLockService.runExclusive("report-refresh", puduReportRefreshService::refreshOpenReports);
+    }
+
+    // 상세 조회 실패 대기열 중 재시도 시각이 지난 항목 처리
+    @Scheduled(fixedDelayString = "${pudu.report-retry.interval-ms:60000}",
+            initialDelayString = "${pudu.report-retry.initial-delay-ms:120000}")
+    public void retryFailedReports() {
+        if (!reportRetryEnabled) return;
+        schedulerLockService.runExclusive("report-retry", puduReportRetryService::retryDue);
+    }
+
+    private void runSync() {
 
         LocalDateTime syncTime = LocalDateTime.now();
 
@@ -35,17 +66,8 @@ public class SyncScheduler {
         // 2) 로봇 전체
         robotService.syncAllStoresRobots();
 
-        // 3) 보고서 전체
-        LocalDateTime end = LocalDateTime.now();
-        LocalDateTime start = end.minusHours(3);
-
-        TimeRangeSyncRequestDTO req = TimeRangeSyncRequestDTO.builder()
-                .startTime(start)
-                .endTime(end)
-                .timezoneOffset(0)
-                .build();
-
-        puduReportService.syncAllStoresByTimeRange(req);
+        // 3) 보고서 전체 - 매장별 워터마크 이후만 조회
+        syncRecordService.syncAllStoresReports(syncTime);
 
         // 4) SyncRecord 업데이트
         List<Store> stores = storeService.findAllStores();
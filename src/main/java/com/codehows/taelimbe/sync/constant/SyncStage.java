@@ -0,0 +1,8 @@
+package com.codehows.taelimbe.sync.constant;
+
+public enum SyncStage {
+    STORE_ROBOTS,       // 매장별 로봇 동기화
+    ROBOT_DETAIL,       // 로봇 상세/상태 응답 조합
+    REPORT_STORES,      // 매장별 보고서 동기화
+    REPORT_BACKFILL     // 과거 보고서 백필 워커
+}
@@ -1,12 +1,33 @@
 package com.codehows.taelimbe.sync.controller;
 
+import com.codehows.taelimbe.client.PuduLookupCache;
+import com.codehows.taelimbe.client.PuduRateLimiter;
+import com.codehows.taelimbe.client.dto.PuduLookupCacheStatusDTO;
+import com.codehows.taelimbe.client.dto.PuduRateLimitStatusDTO;
+import com.codehows.taelimbe.pudureport.dto.MultiStoreSyncResultDTO;
+import com.codehows.taelimbe.pudureport.dto.ReportRetryStoreSummaryDTO;
+import com.codehows.taelimbe.pudureport.dto.ReportSyncStatsDTO;
+import com.codehows.taelimbe.pudureport.service.PuduReportMultiStoreSyncService;
+import com.codehows.taelimbe.pudureport.service.PuduReportRetryQueue;
+import com.codehows.taelimbe.pudureport.service.PuduReportSyncPipeline;
+import com.codehows.taelimbe.sync.dto.SyncProgressDTO;
 import com.codehows.taelimbe.sync.dto.SyncRecordDTO;
+import com.codehows.taelimbe.sync.dto.SyncSchedulerStatusDTO;
+import com.codehows.taelimbe.sync.service.SyncProgressService;
+import com.codehows.taelimbe.sync.service.SyncProgressTracker;
 import com.codehows.taelimbe.sync.service.SyncRecordService;
+import com.codehows.taelimbe.sync.service.SyncRunService;
+import com.codehows.taelimbe.sync.service.SyncWorkScheduler;
 import com.codehows.taelimbe.user.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -14,6 +35,14 @@ import org.springframework.web.bind.annotation.*;
 public class SyncController {
 
     private final SyncRecordService syncRecordService;
+    private final PuduRateLimiter puduRateLimiter;
+    private final PuduLookupCache puduLookupCache;
+    private final PuduReportSyncPipeline puduReportSyncPipeline;
+    private final PuduReportMultiStoreSyncService puduReportMultiStoreSyncService;
+    private final SyncWorkScheduler syncWorkScheduler;
+    private final SyncRunService syncRunService;
+    private final SyncProgressService syncProgressService;
+    private final PuduReportRetryQueue puduReportRetryQueue;
 
     // 동기화 실행 (버튼 클릭)
     @PostMapping("/now")
@@ -26,6 +55,38 @@ public class SyncController {
         return ResponseEntity.ok(syncRecordService.executeSync(userId));
     }
 
+    // 동기화 비동기 실행, runId 를 바로 돌려주고 진행 상황은 /sync/runs/{runId}/events 로 구독
+    @PostMapping("/runs")
+    public ResponseEntity<SyncProgressDTO> startRun(Authentication authentication) {
+        var principal = (UserPrincipal) authentication.getPrincipal();
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(syncRunService.start(principal.userId()));
+    }
+
+    // 동기화 실행 현재 상태 (수동 동기화, 백필은 backfill-{jobId})
+    @GetMapping("/runs/{runId}")
+    public ResponseEntity<SyncProgressDTO> getRun(@PathVariable String runId, Authentication authentication) {
+        var principal = (UserPrincipal) authentication.getPrincipal();
+
+        return syncProgressService.find(runId)
+                .map(run -> canView(principal, run)
+                        ? ResponseEntity.ok(run.snapshot())
+                        : ResponseEntity.status(HttpStatus.FORBIDDEN).<SyncProgressDTO>build())
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // 동기화 진행 상황 스트림 (progress: 단계/완료 수/처리량/ETA, complete: 최종 상태)
+    @GetMapping(value = "/runs/{runId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamRun(@PathVariable String runId, Authentication authentication) {
+        var principal = (UserPrincipal) authentication.getPrincipal();
+
+        var run = syncProgressService.find(runId).orElse(null);
+        if (run == null) return ResponseEntity.notFound().build();
+        if (!canView(principal, run)) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+
+        return ResponseEntity.ok(syncProgressService.subscribe(runId));
+    }
+
     // 마지막 동기화 시간 조회 (수동 동기화, 스케줄러)
     @GetMapping("/last")
     public ResponseEntity<SyncRecordDTO> getLastSyncTime(Authentication authentication) {
@@ -34,4 +95,46 @@ public class SyncController {
 
         return ResponseEntity.ok(syncRecordService.getLastSyncTime(userId));
     }
+
+    // Pudu API 요청 제한 현황 (그룹별 한도, 동시성 윈도우, 대기 시간)
+    @GetMapping("/metrics/pudu-api")
+    public ResponseEntity<List<PuduRateLimitStatusDTO>> getPuduApiMetrics() {
+        return ResponseEntity.ok(puduRateLimiter.snapshot());
+    }
+
+    // 로봇 상세/상태 조회 병합·캐시 현황 (적중, 병합, 실제 호출 수)
+    @GetMapping("/metrics/pudu-cache")
+    public ResponseEntity<List<PuduLookupCacheStatusDTO>> getPuduCacheMetrics() {
+        return ResponseEntity.ok(puduLookupCache.snapshot());
+    }
+
+    // 최근 보고서 동기화 실행별 단계 지표 (목록/상세/쓰기 처리량)
+    @GetMapping("/metrics/report-pipeline")
+    public ResponseEntity<List<ReportSyncStatsDTO>> getReportPipelineMetrics() {
+        return ResponseEntity.ok(puduReportSyncPipeline.recentStats());
+    }
+
+    // 최근 전체 매장 보고서 동기화 결과 (매장별 요약, 병렬 실행 시간 vs 매장별 합)
+    @GetMapping("/metrics/report-stores")
+    public ResponseEntity<List<MultiStoreSyncResultDTO>> getReportStoreSyncMetrics() {
+        return ResponseEntity.ok(puduReportMultiStoreSyncService.recentResults());
+    }
+
+    // 상세 조회 실패 재시도 대기열 매장별 현황 (대기/복구/포기 건수)
+    @GetMapping("/metrics/report-retries")
+    public ResponseEntity<List<ReportRetryStoreSummaryDTO>> getReportRetryMetrics() {
+        return ResponseEntity.ok(puduReportRetryQueue.summaryByStore());
+    }
+
+    // 동기화 실행기 단계별 현황 (대기/실행 중 작업 수, 대기 시간, 전체 한도 사용량)
+    @GetMapping("/metrics/scheduler")
+    public ResponseEntity<SyncSchedulerStatusDTO> getSyncSchedulerMetrics() {
+        return ResponseEntity.ok(syncWorkScheduler.snapshot());
+    }
+
+
+    // 관리자는 모든 실행, 일반 사용자는 본인이 시작한 실행만
+    private static boolean canView(UserPrincipal principal, SyncProgressTracker run) {
+        return principal.isAdmin() || principal.userId().equals(run.getUserId());
+    }
 }
@@ -0,0 +1,35 @@
+package com.codehows.taelimbe.sync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncProgressDTO {
+
+    private String runId;
+    private String kind;                    // MANUAL, BACKFILL
+    private String status;                  // RUNNING, COMPLETED, FAILED
+    private String phase;                   // STORES, ROBOTS, REPORTS, SLICES
+    private String unit;                    // 진행 단위 (store, slice)
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    private int total;                      // 현재 단계 전체 단위 수
+    private int done;                       // 완료 단위 수 (실패 포함)
+    private int failed;
+    private long fetched;                   // 목록에서 받은 보고서 수
+    private long saved;                     // 저장한 보고서 수
+    private long detailFailed;              // 상세 조회 실패로 재시도 대기열에 등록된 보고서 수
+
+    private double reportsPerSecond;        // 저장 처리량 (실행 시작 기준)
+    private double apiRequestsPerSecond;    // Pudu API 요청 속도 (실행 시작 기준, 전체 요청)
+    private Long etaSeconds;                // 현재 단계 남은 시간 추정 (알 수 없으면 null)
+    private String message;                 // 완료/실패 메시지
+}
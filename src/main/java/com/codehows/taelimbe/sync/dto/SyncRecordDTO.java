@@ -17,4 +17,5 @@ public class SyncRecordDTO {
 
     private LocalDateTime lastSyncTime;
     private LocalDateTime globalSyncTime;
+    private LocalDateTime reportSyncWatermark;
 }
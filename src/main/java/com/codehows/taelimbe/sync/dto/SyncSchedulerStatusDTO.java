@@ -0,0 +1,19 @@
+package com.codehows.taelimbe.sync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncSchedulerStatusDTO {
+
+    private int globalConcurrency;      // 모든 단계가 공유하는 동시 실행 한도
+    private int globalActive;           // 현재 한도를 점유한 작업 수
+    private List<SyncStageStatusDTO> stages;
+}
@@ -0,0 +1,27 @@
+package com.codehows.taelimbe.sync.dto;
+
+import com.codehows.taelimbe.sync.constant.SyncStage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncStageStatusDTO {
+
+    private SyncStage stage;
+    private int capacity;               // 대기 + 실행 중 작업 한도 (넘으면 제출 측이 대기)
+    private int queued;                 // 전체 한도를 기다리는 작업 수 (보류 포함)
+    private int deferred;               // 한도가 차서 executor 보기에서 보류된 조합 작업 수 (제출 측은 대기하지 않음)
+    private int active;                 // 실행 중 작업 수
+    private long submitted;             // 누적 제출 수
+    private long completed;
+    private long failed;
+    private long inlined;               // 스케줄러 작업 안에서 제출되어 그 자리에서 실행된 수
+    private double avgQueueWaitMs;      // 제출 → 실행 시작 평균 대기
+    private double maxQueueWaitMs;
+    private double producerBlockedMs;   // 한도가 차서 제출 측이 기다린 누적 시간
+}
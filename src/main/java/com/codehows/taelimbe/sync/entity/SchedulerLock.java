@@ -0,0 +1,34 @@
+package com.codehows.taelimbe.sync.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예약 작업 실행권 (노드 간 리스)
+ * 행은 작업 이름마다 하나이며, locked_until 이 지나기 전까지는 locked_by 노드만 작업을 실행한다.
+ * 갱신/획득은 SchedulerLockRepository 의 조건부 UPDATE/INSERT 로만 한다.
+ */
+@Entity
+@Table(name = "scheduler_lock")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class SchedulerLock {
+
+    @Id
+    @Column(name = "lock_name", length = 64)
+    private String lockName;
+
+    // 리스 만료 시각 (이 시각 이후엔 다른 노드가 가져갈 수 있음)
+    @Column(nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedAt;
+
+    @Column(nullable = false)
+    private String lockedBy;
+}
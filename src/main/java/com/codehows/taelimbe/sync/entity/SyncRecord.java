@@ -26,6 +26,10 @@ public class SyncRecord {
 
     private LocalDateTime globalSyncTime;
 
+    // 보고서를 빠짐없이 가져온 마지막 시각 (성공한 동기화의 종료 시각)
+    // 앞으로만 이동 - SyncRecordRepository.advanceReportSyncWatermark
+    private LocalDateTime reportSyncWatermark;
+
 
 
     public void updateLastSyncTime(LocalDateTime time) {
@@ -0,0 +1,58 @@
+package com.codehows.taelimbe.sync.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * scheduler_lock 리스 획득/연장/해제
+ * 모든 변경은 한 문장짜리 조건부 UPDATE (또는 최초 INSERT) 라서 여러 노드가 동시에 시도해도 한 노드만 성공한다.
+ * 트랜잭션 밖에서 호출하면 문장마다 바로 커밋된다.
+ */
+@Repository
+public class SchedulerLockRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchedulerLockRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 리스가 만료된 경우(또는 행이 없으면 새로 만들어) 획득한다.
+     */
+    public boolean tryAcquire(String name, String owner, LocalDateTime now, LocalDateTime until) {
+        int updated = jdbcTemplate.update(
+                "UPDATE scheduler_lock SET locked_until = ?, locked_at = ?, locked_by = ? "
+                        + "WHERE lock_name = ? AND locked_until <= ?",
+                Timestamp.valueOf(until), Timestamp.valueOf(now), owner, name, Timestamp.valueOf(now));
+        if (updated > 0) return true;
+
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO scheduler_lock (lock_name, locked_until, locked_at, locked_by) VALUES (?, ?, ?, ?)",
+                    name, Timestamp.valueOf(until), Timestamp.valueOf(now), owner);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // 다른 노드가 보유 중 (또는 같은 순간 먼저 INSERT)
+            return false;
+        }
+    }
+
+    /** 아직 보유 중인(같은 소유자, 만료 전) 리스만 연장. 만료됐거나 다른 노드가 가져갔으면 false */
+    public boolean extend(String name, String owner, LocalDateTime now, LocalDateTime until) {
+        return jdbcTemplate.update(
+                "UPDATE scheduler_lock SET locked_until = ? WHERE lock_name = ? AND locked_by = ? AND locked_until > ?",
+                Timestamp.valueOf(until), name, owner, Timestamp.valueOf(now)) > 0;
+    }
+
+    /** 보유 중인 리스의 만료 시각을 until 로 당긴다 (다른 노드가 이미 가져갔으면 건드리지 않음) */
+    public void release(String name, String owner, LocalDateTime until) {
+        jdbcTemplate.update(
+                "UPDATE scheduler_lock SET locked_until = ? WHERE lock_name = ? AND locked_by = ?",
+                Timestamp.valueOf(until), name, owner);
+    }
+}
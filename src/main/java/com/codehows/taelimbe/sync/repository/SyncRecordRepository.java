@@ -2,10 +2,36 @@ package com.codehows.taelimbe.sync.repository;
 
 import com.codehows.taelimbe.sync.entity.SyncRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface SyncRecordRepository extends JpaRepository<SyncRecord, Long> {
 
     Optional<SyncRecord> findByStore_StoreId(Long storeId);
+
+    // 앞으로만 이동 - 비교를 DB 에서 하므로 늦게 끝난 실행이 다른 실행이 옮긴 워터마크를 되돌리지 않음
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE SyncRecord r SET r.reportSyncWatermark = :end
+            WHERE r.store.storeId = :storeId
+              AND (r.reportSyncWatermark IS NULL OR r.reportSyncWatermark < :end)
+            """)
+    int advanceReportSyncWatermark(@Param("storeId") Long storeId, @Param("end") LocalDateTime end);
+
+    // 컬럼 하나만 갱신 - 오래 걸린 동기화가 들고 있던 행 전체를 merge 해 다른 실행의 값을 덮어쓰지 않도록
+    @Transactional
+    @Modifying
+    @Query("UPDATE SyncRecord r SET r.lastSyncTime = :time WHERE r.store.storeId = :storeId")
+    int updateLastSyncTime(@Param("storeId") Long storeId, @Param("time") LocalDateTime time);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE SyncRecord r SET r.globalSyncTime = :time WHERE r.store.storeId = :storeId")
+    int updateGlobalSyncTime(@Param("storeId") Long storeId, @Param("time") LocalDateTime time);
 }
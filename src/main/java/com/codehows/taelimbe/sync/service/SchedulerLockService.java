@@ -0,0 +1,145 @@
+package com.codehows.taelimbe.sync.service;
+
+import com.codehows.taelimbe.sync.repository.SchedulerLockRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예약 동기화 노드 간 단일 실행 (DB 리스)
+ *
+ *   실행 → scheduler_lock 행을 조건부 UPDATE/INSERT 로 획득 (실패하면 다른 노드가 실행 중 → 건너뜀)
+ *   실행 중 → lease 의 1/3 간격으로 만료 시각 연장 (긴 실행도 다른 노드가 가져가지 않음)
+ *   종료 → 리스 반납. 단 획득 후 min-hold 전에는 만료시키지 않음
+ *          (빨리 끝난 실행 직후 cron 이 조금 늦게 도는 노드가 같은 회차를 다시 실행하지 않도록)
+ *   노드 중단 → 연장이 멈추고 lease 가 지나면 다른 노드가 다음 실행에서 가져감
+ *
+ * 만료 판단은 각 노드 시계 기준이므로 노드 간 시계 차이는 lease 보다 충분히 작아야 한다.
+ */
+@Slf4j
+@Service
+public class SchedulerLockService {
+
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final Duration lease;
+    private final Duration minHold;
+    private final String nodeId;
+
+    private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "scheduler-lock-renew");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public SchedulerLockService(
+            SchedulerLockRepository schedulerLockRepository,
+            @Value("${sync.lock.lease-seconds:300}") long leaseSeconds,
+            @Value("${sync.lock.min-hold-seconds:60}") long minHoldSeconds,
+            @Value("${sync.lock.node-id:}") String nodeId
+    ) {
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.lease = Duration.ofSeconds(Math.max(1, leaseSeconds));
+        this.minHold = Duration.ofSeconds(Math.max(0, Math.min(minHoldSeconds, this.lease.toSeconds())));
+        // 기본값: pid@host + 임의값 (같은 호스트의 여러 인스턴스 구분)
+        this.nodeId = nodeId == null || nodeId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8)
+                : nodeId;
+    }
+
+    /**
+     * 리스를 얻은 경우에만 task 를 실행한다. 다른 노드가 실행 중이면 바로 false.
+     */
+    public boolean runExclusive(String name, Runnable task) {
+        Optional<Lease> acquired = acquire(name);
+        if (acquired.isEmpty()) {
+            log.info("예약 작업 건너뜀 name={} (다른 노드가 실행 중)", name);
+            return false;
+        }
+
+        try (Lease ignored = acquired.get()) {
+            task.run();
+        }
+        return true;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewer.shutdownNow();
+    }
+
+
+    // 리스 획득 + 연장 예약. 닫으면 연장을 멈추고 반납
+    Optional<Lease> acquire(String name) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!schedulerLockRepository.tryAcquire(name, nodeId, now, now.plus(lease))) {
+            return Optional.empty();
+        }
+        log.info("예약 작업 리스 획득 name={} node={} lease={}s", name, nodeId, lease.toSeconds());
+
+        Lease acquired = new Lease(name, now);
+        long period = Math.max(1, lease.toMillis() / 3);
+        acquired.renewal = renewer.scheduleAtFixedRate(acquired::renew, period, period, TimeUnit.MILLISECONDS);
+        return Optional.of(acquired);
+    }
+
+
+    /**
+     * 연장과 반납은 같은 모니터로 직렬화한다.
+     * 반납 중 시작된 연장은 반납이 끝날 때까지 기다렸다가 closed 를 보고 그냥 끝나므로,
+     * 이미 진행 중이던 연장이 반납한 리스를 다시 늘리지 않는다.
+     */
+    final class Lease implements AutoCloseable {
+        private final String name;
+        private final LocalDateTime acquiredAt;
+        private ScheduledFuture<?> renewal;
+        private boolean closed;
+
+        private Lease(String name, LocalDateTime acquiredAt) {
+            this.name = name;
+            this.acquiredAt = acquiredAt;
+        }
+
+        synchronized void renew() {
+            if (closed) return;
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                if (!schedulerLockRepository.extend(name, nodeId, now, now.plus(lease))) {
+                    // 연장이 lease 이상 늦어져 만료됐거나 다른 노드가 가져간 경우. 실행 중인 작업은 멈추지 않는다.
+                    log.warn("예약 작업 리스 연장 실패 name={} node={} (만료됨)", name, nodeId);
+                }
+            } catch (RuntimeException e) {
+                log.warn("예약 작업 리스 연장 오류 name={}: {}", name, e.getMessage());
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            if (closed) return;
+            closed = true;
+            renewal.cancel(false);
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                LocalDateTime holdUntil = acquiredAt.plus(minHold);
+                schedulerLockRepository.release(name, nodeId, holdUntil.isAfter(now) ? holdUntil : now);
+            } catch (RuntimeException e) {
+                // 반납 실패해도 lease 가 지나면 자동 만료
+                log.warn("예약 작업 리스 반납 실패 name={}: {}", name, e.getMessage());
+            }
+        }
+    }
+}
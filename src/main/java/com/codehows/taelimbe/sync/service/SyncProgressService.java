@@ -0,0 +1,135 @@
+package com.codehows.taelimbe.sync.service;
+
+import com.codehows.taelimbe.ai.service.SseService;
+import com.codehows.taelimbe.client.PuduRateLimiter;
+import com.codehows.taelimbe.client.dto.PuduRateLimitStatusDTO;
+import com.codehows.taelimbe.sync.dto.SyncProgressDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 동기화 실행별 진행 상황 채널 (SSE)
+ *
+ *   실행 시작 → runId 발급 (SyncProgressTracker)
+ *   구독      → GET /sync/runs/{runId}/events, 구독 즉시 현재 상태를 progress 이벤트로 받음
+ *   진행      → 단계 전환/단위 완료마다 progress 이벤트
+ *   종료      → complete 이벤트 후 연결 종료
+ *
+ * 한 실행을 여러 관리자가 동시에 볼 수 있도록 구독마다 별도 emitter 키(sync-{runId}-{uuid})를 쓴다.
+ * 끊긴 구독은 SseService 에서 emitter 가 빠지므로 전송이 무시되고, 실행 종료 시 키 목록째 정리된다.
+ */
+@Slf4j
+@Service
+public class SyncProgressService {
+
+    private static final String EMITTER_PREFIX = "sync-";
+    private static final int RECENT_FINISHED = 20;
+
+    private final SseService sseService;
+    private final PuduRateLimiter puduRateLimiter;
+    private final long publishIntervalNanos;
+
+    private final Map<String, SyncProgressTracker> runs = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> subscribers = new ConcurrentHashMap<>();
+
+    public SyncProgressService(
+            SseService sseService,
+            PuduRateLimiter puduRateLimiter,
+            @Value("${sync.progress.publish-interval-ms:500}") long publishIntervalMs
+    ) {
+        this.sseService = sseService;
+        this.puduRateLimiter = puduRateLimiter;
+        this.publishIntervalNanos = Math.max(0, publishIntervalMs) * 1_000_000;
+    }
+
+    /** 새 실행 등록 (runId 자동 발급) */
+    public SyncProgressTracker start(String kind, Long userId) {
+        return start(kind, UUID.randomUUID().toString(), userId);
+    }
+
+    /** 정해진 runId 로 실행 등록 (백필은 backfill-{jobId}). 같은 id 로 진행 중인 실행이 있으면 그대로 돌려준다. */
+    public SyncProgressTracker start(String kind, String runId, Long userId) {
+        SyncProgressTracker existing = runs.get(runId);
+        if (existing != null && !existing.isFinished()) return existing;
+
+        SyncProgressTracker tracker = new SyncProgressTracker(
+                runId, kind, userId, this::publish, this::apiRequests, publishIntervalNanos);
+        runs.put(runId, tracker);
+        evictFinished();
+        return tracker;
+    }
+
+    public Optional<SyncProgressTracker> find(String runId) {
+        return Optional.ofNullable(runs.get(runId));
+    }
+
+    /** 최근 실행 (진행 중 + 최근 종료) */
+    public List<SyncProgressDTO> recent() {
+        return runs.values().stream()
+                .map(SyncProgressTracker::snapshot)
+                .sorted(Comparator.comparing(SyncProgressDTO::getStartedAt).reversed())
+                .toList();
+    }
+
+    /** 실행 구독. 이미 끝난 실행이면 최종 상태 한 번 보내고 종료 */
+    public SseEmitter subscribe(String runId) {
+        SyncProgressTracker tracker = runs.get(runId);
+        if (tracker == null) throw new IllegalArgumentException("Sync run not found: " + runId);
+
+        String key = EMITTER_PREFIX + runId + "-" + UUID.randomUUID();
+        SseEmitter emitter = sseService.createEmitter(key);
+        Set<String> keys = subscribers.computeIfAbsent(runId, id -> ConcurrentHashMap.newKeySet());
+        keys.add(key);
+
+        if (tracker.isFinished()) {
+            keys.remove(key);
+            sseService.sendOnceAndComplete(key, "complete", tracker.snapshot());
+        } else {
+            sseService.sendEvent(key, "progress", tracker.snapshot());
+        }
+        return emitter;
+    }
+
+
+    private void publish(SyncProgressTracker tracker) {
+        Set<String> keys = subscribers.get(tracker.getRunId());
+        if (keys == null || keys.isEmpty()) return;
+
+        SyncProgressDTO dto = tracker.snapshot();
+        boolean finished = tracker.isFinished();
+        for (String key : keys) {
+            if (finished) {
+                sseService.sendOnceAndComplete(key, "complete", dto);
+            } else {
+                sseService.sendEvent(key, "progress", dto);
+            }
+        }
+        if (finished) subscribers.remove(tracker.getRunId());
+    }
+
+    // 전체 Pudu API 누적 요청 수 (요청 제한기 기준)
+    private long apiRequests() {
+        return puduRateLimiter.snapshot().stream().mapToLong(PuduRateLimitStatusDTO::getAcquired).sum();
+    }
+
+    private void evictFinished() {
+        List<SyncProgressTracker> finished = runs.values().stream()
+                .filter(SyncProgressTracker::isFinished)
+                .sorted(Comparator.comparing((SyncProgressTracker t) -> t.snapshot().getFinishedAt()).reversed())
+                .toList();
+        for (int i = RECENT_FINISHED; i < finished.size(); i++) {
+            runs.remove(finished.get(i).getRunId());
+            subscribers.remove(finished.get(i).getRunId());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.codehows.taelimbe.sync.service;
+
+import com.codehows.taelimbe.sync.dto.SyncProgressDTO;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * 동기화 실행 1건의 진행 상황
+ * 단계/단위 완료가 기록될 때마다 SyncProgressService 로 알려 구독자에게 progress 이벤트를 보낸다.
+ * 단위 완료 알림은 publish-interval 간격으로 묶고, 단계 전환과 종료는 바로 보낸다.
+ */
+public class SyncProgressTracker {
+
+    private final String runId;
+    private final String kind;
+    private final Long userId;
+    private final Consumer<SyncProgressTracker> listener;
+    private final LongSupplier apiRequests;
+    private final long publishIntervalNanos;
+
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startedNanos = System.nanoTime();
+    private final long apiRequestsAtStart;
+
+    private String status = "RUNNING";
+    private String phase;
+    private String unit;
+    private LocalDateTime finishedAt;
+    private int total;
+    private int done;
+    private int failed;
+    private long fetched;
+    private long saved;
+    private long detailFailed;
+    private String message;
+
+    private long phaseStartedNanos = startedNanos;
+    private int phaseStartDone;
+    private long lastPublishNanos;
+
+    SyncProgressTracker(String runId, String kind, Long userId,
+                        Consumer<SyncProgressTracker> listener, LongSupplier apiRequests, long publishIntervalNanos) {
+        this.runId = runId;
+        this.kind = kind;
+        this.userId = userId;
+        this.listener = listener;
+        this.apiRequests = apiRequests;
+        this.publishIntervalNanos = publishIntervalNanos;
+        this.apiRequestsAtStart = apiRequests.getAsLong();
+    }
+
+    /** 진행 상황을 보내지 않는 실행 (스케줄러, 기존 /sync/now) */
+    public static SyncProgressTracker none() {
+        return new SyncProgressTracker("none", "NONE", null, t -> {}, () -> 0, Long.MAX_VALUE);
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    /** 실행을 시작한 사용자 (백필 등 시스템 실행은 null) */
+    public Long getUserId() {
+        return userId;
+    }
+
+    /** 새 단계 시작. alreadyDone 은 재개한 작업처럼 이미 끝난 단위 수 */
+    public void phase(String phase, String unit, int total, int alreadyDone) {
+        synchronized (this) {
+            this.phase = phase;
+            this.unit = unit;
+            this.total = total;
+            this.done = alreadyDone;
+            this.failed = 0;
+            this.phaseStartedNanos = System.nanoTime();
+            this.phaseStartDone = alreadyDone;
+        }
+        publish(true);
+    }
+
+    public void phase(String phase, String unit, int total) {
+        phase(phase, unit, total, 0);
+    }
+
+    public void unitDone(long fetched, long saved, boolean failed) {
+        unitDone(fetched, saved, 0, failed);
+    }
+
+    /** detailFailed = 상세 조회 실패로 재시도 대기열에 넘긴 보고서 수 */
+    public void unitDone(long fetched, long saved, long detailFailed, boolean failed) {
+        synchronized (this) {
+            this.done++;
+            if (failed) this.failed++;
+            this.fetched += fetched;
+            this.saved += saved;
+            this.detailFailed += detailFailed;
+        }
+        publish(false);
+    }
+
+    public void complete(String message) {
+        finish("COMPLETED", message);
+    }
+
+    public void fail(String message) {
+        finish("FAILED", message);
+    }
+
+    public synchronized boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    public synchronized SyncProgressDTO snapshot() {
+        long now = System.nanoTime();
+        double elapsedSec = (now - startedNanos) / 1e9;
+        double phaseSec = (now - phaseStartedNanos) / 1e9;
+
+        // 현재 단계에서 이번 실행이 처리한 단위 속도로 남은 단위 시간 추정
+        int progressed = done - phaseStartDone;
+        int remaining = Math.max(0, total - done);
+        Long eta = finishedAt == null && progressed > 0 && remaining > 0
+                ? Math.round(remaining * phaseSec / progressed)
+                : null;
+
+        return SyncProgressDTO.builder()
+                .runId(runId)
+                .kind(kind)
+                .status(status)
+                .phase(phase)
+                .unit(unit)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .total(total)
+                .done(done)
+                .failed(failed)
+                .fetched(fetched)
+                .saved(saved)
+                .detailFailed(detailFailed)
+                .reportsPerSecond(elapsedSec > 0 ? saved / elapsedSec : 0)
+                .apiRequestsPerSecond(elapsedSec > 0 ? (apiRequests.getAsLong() - apiRequestsAtStart) / elapsedSec : 0)
+                .etaSeconds(eta)
+                .message(message)
+                .build();
+    }
+
+
+    private void finish(String status, String message) {
+        synchronized (this) {
+            if (finishedAt != null) return;
+            this.status = status;
+            this.message = message;
+            this.finishedAt = LocalDateTime.now();
+        }
+        publish(true);
+    }
+
+    private void publish(boolean force) {
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (!force && now - lastPublishNanos < publishIntervalNanos) return;
+            lastPublishNanos = now;
+        }
+        listener.accept(this);
+    }
+}
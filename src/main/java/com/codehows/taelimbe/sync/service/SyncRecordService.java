@@ -1,7 +1,10 @@
 package com.codehows.taelimbe.sync.service;
 
+import com.codehows.taelimbe.pudureport.dto.MultiStoreSyncResultDTO;
+import com.codehows.taelimbe.pudureport.dto.ReportSyncStatsDTO;
+import com.codehows.taelimbe.pudureport.dto.StoreSyncSummaryDTO;
 import com.codehows.taelimbe.pudureport.dto.StoreTimeRangeSyncRequestDTO;
-import com.codehows.taelimbe.pudureport.dto.TimeRangeSyncRequestDTO;
+import com.codehows.taelimbe.pudureport.service.PuduReportMultiStoreSyncService;
 import com.codehows.taelimbe.pudureport.service.PuduReportService;
 import com.codehows.taelimbe.robot.dto.RobotSyncRequestDTO;
 import com.codehows.taelimbe.robot.service.RobotService;
@@ -15,13 +18,18 @@ import com.codehows.taelimbe.user.constant.Role;
 import com.codehows.taelimbe.user.entity.User;
 import com.codehows.taelimbe.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class SyncRecordService {
@@ -31,8 +39,17 @@ public class SyncRecordService {
     private final StoreService storeService;
     private final RobotService robotService;
     private final PuduReportService puduReportService;
+    private final PuduReportMultiStoreSyncService puduReportMultiStoreSyncService;
     private final UserRepository userRepository;
 
+    // 워터마크보다 이만큼 앞에서부터 다시 조회 (늦게 올라오는 작업 보정)
+    @Value("${sync.report.overlap-minutes:30}")
+    private long reportOverlapMinutes;
+
+    // 워터마크가 없는 매장의 첫 조회 범위
+    @Value("${sync.report.initial-lookback-hours:3}")
+    private long reportInitialLookbackHours;
+
     /** 현재 로그인 유저 조회 */
     private User getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -43,31 +60,123 @@ public class SyncRecordService {
         return userRepository.findById(userId).orElseThrow();
     }
 
-    /** SyncRecord 조회 or 생성 */
+    /**
+     * SyncRecord 조회 or 생성 (동기화 시작 전에 행을 만들어 둔다)
+     * 동시에 다른 실행이 먼저 만들었으면(store_id 유니크 위반) 그 행을 다시 읽어 쓴다.
+     * 반환된 엔티티는 읽기용 - 갱신은 컬럼 단위 UPDATE 로만 한다 (SyncRecordRepository).
+     */
     private SyncRecord getOrCreate(Long storeId) {
         return syncRecordRepository.findByStore_StoreId(storeId)
-                .orElseGet(() -> {
-                    Store store = storeRepository.getReferenceById(storeId);
-                    return SyncRecord.create(store);
-                });
+                .orElseGet(() -> create(storeId));
+    }
+
+    private SyncRecord create(Long storeId) {
+        try {
+            Store store = storeRepository.getReferenceById(storeId);
+            return syncRecordRepository.saveAndFlush(SyncRecord.create(store));
+        } catch (DataIntegrityViolationException e) {
+            return syncRecordRepository.findByStore_StoreId(storeId).orElseThrow(() -> e);
+        }
     }
 
     /** 일반 매장 sync timestamp */
     public void updateStoreSyncTime(Long storeId, LocalDateTime syncTime) {
-        SyncRecord record = getOrCreate(storeId);
-        record.updateLastSyncTime(syncTime);
-        syncRecordRepository.save(record);
+        if (syncRecordRepository.updateLastSyncTime(storeId, syncTime) == 0) {
+            getOrCreate(storeId);
+            syncRecordRepository.updateLastSyncTime(storeId, syncTime);
+        }
     }
 
     /** 전체 sync timestamp */
     public void updateGlobalSyncTime(Long storeId, LocalDateTime syncTime) {
+        if (syncRecordRepository.updateGlobalSyncTime(storeId, syncTime) == 0) {
+            getOrCreate(storeId);
+            syncRecordRepository.updateGlobalSyncTime(storeId, syncTime);
+        }
+    }
+
+    /**
+     * 매장 보고서 증분 동기화
+     * (워터마크 - overlap) ~ end 구간만 조회하고, 목록 조회가 모두 성공하고 저장이 커밋된 뒤에만 워터마크를 end 로 옮긴다.
+     * 예외나 목록 조회 실패(오류 응답, 타임아웃)가 있으면 워터마크가 그대로라
+     * 다음 실행이 같은 구간부터 다시 가져온다 (upsert 라 중복 없음).
+     * 워터마크 전진은 DB 에서 비교하는 조건부 UPDATE 라, 수동 실행과 예약 실행이 겹쳐도 뒤로 가지 않는다.
+     */
+    public int syncStoreReports(Long storeId, LocalDateTime end) {
         SyncRecord record = getOrCreate(storeId);
-        record.updateGlobalSyncTime(syncTime);
-        syncRecordRepository.save(record);
+
+        StoreTimeRangeSyncRequestDTO req = reportWindow(record, storeId, end);
+        if (req == null) return 0;
+
+        ReportSyncStatsDTO stats = puduReportService.syncSingleStoreWithStats(req);
+        if (stats.getListFailed() > 0) {
+            log.warn("보고서 증분 동기화 목록 조회 실패 storeId={} {}회 (워터마크 유지): {}",
+                    storeId, stats.getListFailed(), stats.getListError());
+            return stats.getSaved();
+        }
+
+        syncRecordRepository.advanceReportSyncWatermark(storeId, end);
+        return stats.getSaved();
+    }
+
+    /**
+     * 전체 매장 보고서 증분 동기화 (매장 병렬, 매장별 트랜잭션)
+     * 실패한 매장(예외 또는 목록 조회 실패)은 워터마크를 유지하고, 성공한 매장만 전진한다.
+     */
+    public int syncAllStoresReports(LocalDateTime end) {
+        return syncAllStoresReports(end, SyncProgressTracker.none());
+    }
+
+    /** 매장 하나가 끝날 때마다 progress 에 반영 (단계 REPORTS, 단위 store) */
+    public int syncAllStoresReports(LocalDateTime end, SyncProgressTracker progress) {
+        List<StoreTimeRangeSyncRequestDTO> requests = new ArrayList<>();
+
+        for (Store s : storeRepository.findAll()) {
+            SyncRecord record = getOrCreate(s.getStoreId());
+            StoreTimeRangeSyncRequestDTO req = reportWindow(record, s.getStoreId(), end);
+            if (req == null) continue;
+            requests.add(req);
+        }
+
+        progress.phase("REPORTS", "store", requests.size());
+        MultiStoreSyncResultDTO result = puduReportMultiStoreSyncService.syncStores(requests,
+                summary -> progress.unitDone(summary.getFetched(), summary.getSaved(),
+                        summary.getDetailFailed(), summary.isFailed()));
+
+        for (StoreSyncSummaryDTO summary : result.getSummaries()) {
+            if (summary.isFailed()) {
+                log.warn("보고서 증분 동기화 실패 storeId={} (워터마크 유지): {}", summary.getStoreId(), summary.getError());
+                continue;
+            }
+            syncRecordRepository.advanceReportSyncWatermark(summary.getStoreId(), end);
+        }
+        return result.getSaved();
+    }
+
+    // (워터마크 - overlap) ~ end, 워터마크가 없으면 최근 initial-lookback 시간. 조회할 구간이 없으면 null
+    private StoreTimeRangeSyncRequestDTO reportWindow(SyncRecord record, Long storeId, LocalDateTime end) {
+        LocalDateTime watermark = record.getReportSyncWatermark();
+        LocalDateTime start = watermark != null
+                ? watermark.minusMinutes(reportOverlapMinutes)
+                : end.minusHours(reportInitialLookbackHours);
+        if (!start.isBefore(end)) return null;
+
+        return StoreTimeRangeSyncRequestDTO.builder()
+                .storeId(storeId)
+                .startTime(start)
+                .endTime(end)
+                .timezoneOffset(0)
+                .offset(0)
+                .build();
     }
 
     /** 버튼 눌렀을 때 실행되는 공통 sync */
     public String executeSync(Long userId) {
+        return executeSync(userId, SyncProgressTracker.none());
+    }
+
+    /** 공통 sync, 단계별 진행 상황을 progress 로 전송 (SyncRunService 비동기 실행) */
+    public String executeSync(Long userId, SyncProgressTracker progress) {
 
         // userId 기반으로 유저 조회
         var user = userRepository.findById(userId)
@@ -76,28 +185,26 @@ public class SyncRecordService {
         var role = user.getRole();
         var storeId = user.getStore().getStoreId();
 
-        LocalDateTime end = LocalDateTime.now();
-        LocalDateTime start = end.minusHours(3);
         LocalDateTime syncStart = LocalDateTime.now();
 
-        TimeRangeSyncRequestDTO syncReq = TimeRangeSyncRequestDTO.builder()
-                .startTime(start)
-                .endTime(end)
-                .timezoneOffset(0)
-                .build();
-
         if (role.getLevel() >= Role.ADMIN.getLevel()) {
-            return executeAdminSync(syncStart, syncReq);
+            return executeAdminSync(syncStart, progress);
         }
 
-        return executeStoreSync(storeId, syncStart, syncReq);
+        return executeStoreSync(storeId, syncStart, progress);
     }
 
     /** 관리자 전체 sync */
-    private String executeAdminSync(LocalDateTime syncStart, TimeRangeSyncRequestDTO syncReq) {
+    private String executeAdminSync(LocalDateTime syncStart, SyncProgressTracker progress) {
+        progress.phase("STORES", "step", 1);
         int storeCnt = storeService.syncAllStores();
+        progress.unitDone(storeCnt, storeCnt, false);
+
+        progress.phase("ROBOTS", "step", 1);
         int robotCnt = robotService.syncAllStoresRobots();
-        int reportCnt = puduReportService.syncAllStoresByTimeRange(syncReq);
+        progress.unitDone(robotCnt, robotCnt, false);
+
+        int reportCnt = syncAllStoresReports(syncStart, progress);
 
         List<Store> stores = storeService.findAllStores();
         for (Store s : stores) {
@@ -110,19 +217,16 @@ public class SyncRecordService {
     }
 
     /** 단일 매장 sync */
-    private String executeStoreSync(Long storeId, LocalDateTime syncStart, TimeRangeSyncRequestDTO syncReq) {
+    private String executeStoreSync(Long storeId, LocalDateTime syncStart, SyncProgressTracker progress) {
 
+        progress.phase("ROBOTS", "step", 1);
         int robotCnt = robotService.syncRobots(new RobotSyncRequestDTO(storeId));
+        progress.unitDone(robotCnt, robotCnt, false);
 
-        // 리포트만 기존 DTO 사용
-        StoreTimeRangeSyncRequestDTO reportReq = StoreTimeRangeSyncRequestDTO.builder()
-                .storeId(storeId)
-                .startTime(syncReq.getStartTime())
-                .endTime(syncReq.getEndTime())
-                .timezoneOffset(syncReq.getTimezoneOffset())
-                .build();
-
-        int reportCnt = puduReportService.syncSingleStoreByTimeRange(reportReq);
+        // 마지막 성공 시점 이후만 조회
+        progress.phase("REPORTS", "store", 1);
+        int reportCnt = syncStoreReports(storeId, syncStart);
+        progress.unitDone(reportCnt, reportCnt, false);
 
         updateStoreSyncTime(storeId, syncStart);
 
@@ -145,6 +249,7 @@ public class SyncRecordService {
         return SyncRecordDTO.builder()
                 .lastSyncTime(record.getLastSyncTime())
                 .globalSyncTime(record.getGlobalSyncTime())
+                .reportSyncWatermark(record.getReportSyncWatermark())
                 .build();
     }
 }
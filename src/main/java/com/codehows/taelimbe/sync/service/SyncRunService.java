@@ -0,0 +1,45 @@
+package com.codehows.taelimbe.sync.service;
+
+import com.codehows.taelimbe.sync.dto.SyncProgressDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * 수동 동기화 비동기 실행
+ * 요청 스레드는 runId 만 받고 바로 돌아가고, 진행 상황은 /sync/runs/{runId}/events 로 구독한다.
+ * (기존 POST /sync/now 는 끝날 때까지 기다리는 동기 방식 그대로 유지)
+ */
+@Slf4j
+@Service
+public class SyncRunService {
+
+    private final SyncRecordService syncRecordService;
+    private final SyncProgressService syncProgressService;
+    private final TaskExecutor taskExecutor;
+
+    public SyncRunService(
+            SyncRecordService syncRecordService,
+            SyncProgressService syncProgressService,
+            @Qualifier("taskExecutor") TaskExecutor taskExecutor
+    ) {
+        this.syncRecordService = syncRecordService;
+        this.syncProgressService = syncProgressService;
+        this.taskExecutor = taskExecutor;
+    }
+
+    public SyncProgressDTO start(Long userId) {
+        SyncProgressTracker tracker = syncProgressService.start("MANUAL", userId);
+
+        taskExecutor.execute(() -> {
+            try {
+                tracker.complete(syncRecordService.executeSync(userId, tracker));
+            } catch (RuntimeException e) {
+                log.error("수동 동기화 실패 runId={}", tracker.getRunId(), e);
+                tracker.fail(e.getMessage());
+            }
+        });
+        return tracker.snapshot();
+    }
+}
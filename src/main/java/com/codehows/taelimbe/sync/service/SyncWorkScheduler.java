@@ -0,0 +1,321 @@
+package com.codehows.taelimbe.sync.service;
+
+import com.codehows.taelimbe.sync.constant.SyncStage;
+import com.codehows.taelimbe.sync.dto.SyncSchedulerStatusDTO;
+import com.codehows.taelimbe.sync.dto.SyncStageStatusDTO;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * 동기화 작업 공통 실행기 (로봇/보고서/백필)
+ *
+ *   제출 → 단계별 한도(stage-capacity, 대기 + 실행 중) 가 차 있으면 제출 측이 자리가 날 때까지 대기 (거부 없음)
+ *        → 단계 Executor 로 전달 → 전체 한도(global-concurrency) 를 얻으면 실행
+ *
+ * stage-capacity 는 단계 Executor 의 max + queue 이하로 두며, 그래도 풀이 거부하면 제출 측이 잠시 기다렸다 다시 전달한다.
+ * (TaskRejectedException 이 호출자에게 전파되지 않음)
+ * {@link #executor} 보기는 HttpClient/요청 제한 스레드가 조합 단계를 넘기는 곳이라 절대 막지 않는다:
+ *   자리가 없으면 단계별 보류 큐에 넣고, 자리를 반납하는 작업이 보류 큐를 비운다.
+ *   풀이 거부하면 지연 실행기로 다시 전달한다.
+ * 교착 방지:
+ *   - 스케줄러 작업 안에서 다시 제출한 작업은 큐에 넣지 않고 그 자리에서 실행
+ *   - 스케줄러 작업이 다른 단계 결과를 기다릴 때는 {@link #await} 로 전체 한도를 잠시 반납
+ */
+@Component
+public class SyncWorkScheduler {
+
+    // 현재 스레드에서 실행 중인 스케줄러 작업의 단계 (전체 한도 1개 점유 중)
+    private static final ThreadLocal<SyncStage> CURRENT = new ThreadLocal<>();
+
+    private static final int DISPATCH_RETRIES = 1_000;
+    private static final long DISPATCH_RETRY_NANOS = 1_000_000;
+
+    private final Semaphore budget;
+    private final int globalConcurrency;
+    private final Map<SyncStage, Stage> stages = new EnumMap<>(SyncStage.class);
+
+    public SyncWorkScheduler(
+            @Qualifier("StoreRobotExecutor") Executor storeRobotExecutor,
+            @Qualifier("RobotSyncExecutor") Executor robotSyncExecutor,
+            @Qualifier("PuduReportStoreSyncExecutor") Executor reportStoreExecutor,
+            @Qualifier("PuduBackfillExecutor") Executor backfillExecutor,
+            @Value("${sync.scheduler.global-concurrency:24}") int globalConcurrency,
+            @Value("${sync.scheduler.stage-capacity:64}") int stageCapacity
+    ) {
+        this.globalConcurrency = Math.max(1, globalConcurrency);
+        this.budget = new Semaphore(this.globalConcurrency);
+
+        int capacity = Math.max(1, stageCapacity);
+        stages.put(SyncStage.STORE_ROBOTS, new Stage(SyncStage.STORE_ROBOTS, storeRobotExecutor, capacity));
+        stages.put(SyncStage.ROBOT_DETAIL, new Stage(SyncStage.ROBOT_DETAIL, robotSyncExecutor, capacity));
+        stages.put(SyncStage.REPORT_STORES, new Stage(SyncStage.REPORT_STORES, reportStoreExecutor, capacity));
+        stages.put(SyncStage.REPORT_BACKFILL, new Stage(SyncStage.REPORT_BACKFILL, backfillExecutor, capacity));
+    }
+
+    /**
+     * 작업을 제출한다. 단계 한도가 차 있으면 자리가 날 때까지 호출 스레드가 기다린다.
+     */
+    public <T> CompletableFuture<T> submit(SyncStage stage, Supplier<T> task) {
+        Stage s = stages.get(stage);
+        s.submitted.increment();
+
+        if (CURRENT.get() != null) {
+            s.inlined.increment();
+            return runInline(s, task);
+        }
+
+        long t = System.nanoTime();
+        try {
+            s.slots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            s.failed.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+        s.producerBlockedNanos.add(System.nanoTime() - t);
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        s.queued.incrementAndGet();
+        try {
+            dispatch(s, () -> run(s, task, future, queuedAt));
+        } catch (RuntimeException e) {
+            // 실행기 종료 등
+            s.queued.decrementAndGet();
+            s.slots.release();
+            drain(s);
+            s.failed.increment();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * CompletableFuture 의 *Async 조합 단계에 넘길 단계별 Executor.
+     * 호출 스레드를 막지 않는다 - 단계 한도가 차 있으면 보류 큐에 넣고 바로 돌아온다.
+     */
+    public Executor executor(SyncStage stage) {
+        Stage s = stages.get(stage);
+        return task -> execute(s, task);
+    }
+
+    /**
+     * 결과를 기다린다. 스케줄러 작업 안에서 호출하면 기다리는 동안 전체 한도를 반납해
+     * 기다리는 작업들이 한도를 모두 잡고 하위 작업이 실행되지 못하는 교착을 막는다.
+     */
+    public <T> T await(CompletableFuture<T> future) {
+        if (CURRENT.get() == null || future.isDone()) return future.join();
+
+        budget.release();
+        try {
+            return future.join();
+        } finally {
+            budget.acquireUninterruptibly();
+        }
+    }
+
+    public SyncSchedulerStatusDTO snapshot() {
+        List<SyncStageStatusDTO> rows = stages.values().stream().map(Stage::toDTO).toList();
+        return SyncSchedulerStatusDTO.builder()
+                .globalConcurrency(globalConcurrency)
+                .globalActive(globalConcurrency - budget.availablePermits())
+                .stages(rows)
+                .build();
+    }
+
+
+    private void execute(Stage s, Runnable task) {
+        s.submitted.increment();
+
+        if (CURRENT.get() != null) {
+            s.inlined.increment();
+            runInline(s, () -> {
+                task.run();
+                return null;
+            });
+            return;
+        }
+
+        long queuedAt = System.nanoTime();
+        Runnable command = () -> run(s, () -> {
+            task.run();
+            return null;
+        }, new CompletableFuture<>(), queuedAt);
+
+        s.queued.incrementAndGet();
+        if (s.slots.tryAcquire()) {
+            dispatchAsync(s, command, 0);
+            return;
+        }
+        s.deferred.add(command);
+        // 넣는 사이에 자리가 났을 수 있으므로 한 번 더 확인 (반납 측의 drain 과 엇갈려 남는 작업이 없도록)
+        drain(s);
+    }
+
+    // 자리가 나는 만큼 보류된 작업을 꺼내 전달. 자리를 반납한 쪽과 보류한 쪽 모두 호출한다
+    private void drain(Stage s) {
+        while (!s.deferred.isEmpty() && s.slots.tryAcquire()) {
+            Runnable next = s.deferred.poll();
+            if (next == null) {
+                s.slots.release();
+                continue;
+            }
+            dispatchAsync(s, next, 0);
+        }
+    }
+
+    /**
+     * 자리를 잡은 작업을 막지 않고 전달한다. 풀이 거부하면 지연 실행기에서 다시 전달하고,
+     * DISPATCH_RETRIES 회를 넘기면 조합 단계가 끝나지 않은 채 남지 않도록 재시도 스레드에서 실행한다.
+     */
+    private void dispatchAsync(Stage s, Runnable command, int attempt) {
+        try {
+            s.executor.execute(command);
+        } catch (RejectedExecutionException e) {
+            if (attempt >= DISPATCH_RETRIES) {
+                command.run();
+                return;
+            }
+            CompletableFuture.delayedExecutor(DISPATCH_RETRY_NANOS, TimeUnit.NANOSECONDS)
+                    .execute(() -> dispatchAsync(s, command, attempt + 1));
+        }
+    }
+
+    /**
+     * 단계 Executor 로 전달한다. 자리를 반납한 작업이 아직 풀 스레드를 놓기 전이면 풀 큐가 잠깐 찰 수 있으므로,
+     * 거부되면 제출 측에서 잠시 기다렸다가 다시 전달한다 (최대 DISPATCH_RETRIES 회).
+     */
+    private void dispatch(Stage s, Runnable command) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                s.executor.execute(command);
+                return;
+            } catch (RejectedExecutionException e) {
+                if (attempt >= DISPATCH_RETRIES) throw e;
+                long t = System.nanoTime();
+                LockSupport.parkNanos(DISPATCH_RETRY_NANOS);
+                s.producerBlockedNanos.add(System.nanoTime() - t);
+            }
+        }
+    }
+
+    private <T> void run(Stage s, Supplier<T> task, CompletableFuture<T> future, long queuedAt) {
+        boolean acquired = false;
+        try {
+            budget.acquire();
+            acquired = true;
+            s.queued.decrementAndGet();
+            s.active.incrementAndGet();
+            s.recordWait(System.nanoTime() - queuedAt);
+
+            CURRENT.set(s.stage);
+            T result = task.get();
+            s.completed.increment();
+            future.complete(result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            s.failed.increment();
+            future.completeExceptionally(e);
+        } catch (Throwable e) {
+            s.failed.increment();
+            future.completeExceptionally(e);
+        } finally {
+            CURRENT.remove();
+            if (acquired) {
+                s.active.decrementAndGet();
+                budget.release();
+            } else {
+                s.queued.decrementAndGet();
+            }
+            s.slots.release();
+            drain(s);
+        }
+    }
+
+    // 이미 한도를 점유한 스레드에서 실행하므로 한도/큐를 거치지 않는다
+    private <T> CompletableFuture<T> runInline(Stage s, Supplier<T> task) {
+        SyncStage outer = CURRENT.get();
+        CURRENT.set(s.stage);
+        s.active.incrementAndGet();
+        try {
+            T result = task.get();
+            s.completed.increment();
+            return CompletableFuture.completedFuture(result);
+        } catch (Throwable e) {
+            s.failed.increment();
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            s.active.decrementAndGet();
+            CURRENT.set(outer);
+        }
+    }
+
+
+    private static final class Stage {
+        final SyncStage stage;
+        final Executor executor;
+        final int capacity;
+        final Semaphore slots;
+        // 자리가 없어 executor 보기에서 보류된 작업 (자리를 반납하는 작업이 꺼내 전달)
+        final Queue<Runnable> deferred = new ConcurrentLinkedQueue<>();
+
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicInteger active = new AtomicInteger();
+        final LongAdder submitted = new LongAdder();
+        final LongAdder completed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder inlined = new LongAdder();
+        final LongAdder waits = new LongAdder();
+        final LongAdder waitNanos = new LongAdder();
+        final AtomicLong maxWaitNanos = new AtomicLong();
+        final LongAdder producerBlockedNanos = new LongAdder();
+
+        Stage(SyncStage stage, Executor executor, int capacity) {
+            this.stage = stage;
+            this.executor = executor;
+            this.capacity = capacity;
+            this.slots = new Semaphore(capacity);
+        }
+
+        void recordWait(long nanos) {
+            waits.increment();
+            waitNanos.add(nanos);
+            maxWaitNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        SyncStageStatusDTO toDTO() {
+            long n = waits.sum();
+            return SyncStageStatusDTO.builder()
+                    .stage(stage)
+                    .capacity(capacity)
+                    .queued(queued.get())
+                    .deferred(deferred.size())
+                    .active(active.get())
+                    .submitted(submitted.sum())
+                    .completed(completed.sum())
+                    .failed(failed.sum())
+                    .inlined(inlined.sum())
+                    .avgQueueWaitMs(n > 0 ? waitNanos.sum() / 1_000_000.0 / n : 0)
+                    .maxQueueWaitMs(maxWaitNanos.get() / 1_000_000.0)
+                    .producerBlockedMs(producerBlockedNanos.sum() / 1_000_000.0)
+                    .build();
+        }
+    }
+}
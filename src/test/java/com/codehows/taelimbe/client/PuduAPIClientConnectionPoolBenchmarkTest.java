@@ -0,0 +1,137 @@
+package com.codehows.taelimbe.client;
+
+import com.codehows.taelimbe.config.PuduHttpClientConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.impl.NoConnectionReuseStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 로컬 스텁 서버 대상 벤치마크:
+ * 호출마다 새 커넥션(기존 방식) vs 커넥션 풀 + keep-alive(신규 방식) 호출당 지연 비교.
+ */
+class PuduAPIClientConnectionPoolBenchmarkTest {
+
+    private static final String BODY = "{\"message\":\"ok\",\"data\":{\"list\":[]}}";
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String baseUrl;
+    private final Set<Integer> remotePorts = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            remotePorts.add(exchange.getRemoteAddress().getPort());
+            byte[] bytes = BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(bytes);
+            }
+        });
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverExecutor);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void benchmark_perCallConnection_vs_pooledKeepAlive() throws Exception {
+        System.out.println("=== Pudu API 호출 지연 비교 (새 커넥션 vs 커넥션 풀) ===");
+
+        int calls = 500;
+
+        // 기존 방식: 매 호출마다 새 TCP 커넥션
+        try (CloseableHttpClient perCall = HttpClients.custom()
+                .setConnectionReuseStrategy(NoConnectionReuseStrategy.INSTANCE)
+                .build()) {
+
+            double oldAvg = measure(newClient(perCall), calls);
+
+            // 신규 방식: 공유 풀 + keep-alive
+            try (CloseableHttpClient pooled = PuduHttpClientConfig.createPooledClient(
+                    20, 100, 3000, 10000, 5000, 30000)) {
+
+                double newAvg = measure(newClient(pooled), calls);
+
+                System.out.printf("호출 수: %d회%n", calls);
+                System.out.printf("새 커넥션   평균: %8.3f ms/call%n", oldAvg);
+                System.out.printf("커넥션 풀   평균: %8.3f ms/call%n", newAvg);
+                System.out.printf("Speedup: %.1fx%n", oldAvg / newAvg);
+
+                assertTrue(newAvg > 0);
+            }
+        }
+    }
+
+    @Test
+    void pooledClient_reusesConnection() throws Exception {
+        try (CloseableHttpClient pooled = PuduHttpClientConfig.createPooledClient(
+                20, 100, 3000, 10000, 5000, 30000)) {
+
+            PuduAPIClient client = newClient(pooled);
+            for (int i = 0; i < 20; i++) {
+                ResponseEntity<String> res = client.callPuduAPI(baseUrl + "/robot?b=2&a=1", "GET");
+                assertEquals(200, res.getStatusCode().value());
+                assertEquals(BODY, res.getBody());
+            }
+        }
+
+        // 커넥션마다 클라이언트 포트가 달라지므로 포트 수 = 실제 커넥션 수
+        assertEquals(1, remotePorts.size(), "순차 호출은 하나의 커넥션을 재사용해야 함");
+    }
+
+    private double measure(PuduAPIClient client, int calls) throws Exception {
+        String url = baseUrl + "/data-board/v1/log/clean_task/query_list?shop_id=1&offset=0&limit=20";
+
+        // Warmup
+        for (int i = 0; i < 50; i++) {
+            client.callPuduAPI(url, "GET");
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            client.callPuduAPI(url, "GET");
+        }
+        return (System.nanoTime() - start) / (double) calls / 1_000_000.0;
+    }
+
+    private PuduAPIClient newClient(CloseableHttpClient httpClient) {
+        PuduAPIClient client = new PuduAPIClient(
+                httpClient,
+                HttpClient.newHttpClient(),
+                new PuduRequestSigner("test-key", "test-secret"),
+                new PuduRateLimiter(new MockEnvironment()
+                        .withProperty("pudu.rate-limit.rps", "1000000")
+                        .withProperty("pudu.rate-limit.window.max", "100"))
+        );
+        ReflectionTestUtils.setField(client, "host", "127.0.0.1");
+        ReflectionTestUtils.setField(client, "baseUrl", baseUrl);
+        return client;
+    }
+}
@@ -0,0 +1,165 @@
+package com.codehows.taelimbe.client;
+
+import com.codehows.taelimbe.pudureport.dto.PuduReportListItem;
+import com.codehows.taelimbe.robot.dto.PuduRobotListItem;
+import com.codehows.taelimbe.store.dto.PuduShopListItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 목록 응답 디코딩 비교:
+ * 기존 방식(String → readTree → JsonNode 복사) vs PuduListReader(스트리밍, 필요한 필드만 추출)
+ * 페이지당 처리 시간과 할당량(ThreadMXBean)을 측정한다.
+ */
+class PuduListReaderBenchmarkTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void readsOnlyNeededFields_andSkipsUnknownStructures() throws Exception {
+        String json = """
+                {"message":"ok","trace":{"id":[1,2,{"x":3}]},
+                 "data":{"total":3,"meta":{"a":[1]},"list":[
+                   {"report_id":"101","sn":"A","floor_list":[{"map_name":"1F"}],"extra":{"k":"v"}},
+                   {"sn":"B","report_id":202},
+                   {"sn":{"nested":true},"report_id":"x"}
+                 ]},"tail":[1,2,3]}
+                """;
+
+        List<PuduReportListItem> items = PuduListReader.readList(bytes(json), PuduReportListItem::read);
+
+        assertEquals(3, items.size());
+        assertEquals(new PuduReportListItem(101L, "A"), items.get(0));
+        assertEquals(new PuduReportListItem(202L, "B"), items.get(1));
+        assertEquals(new PuduReportListItem(null, null), items.get(2));
+    }
+
+    @Test
+    void missingOrEmptyList_returnsEmpty() throws Exception {
+        assertTrue(PuduListReader.readList(bytes("{\"message\":\"fail\"}"), PuduReportListItem::read).isEmpty());
+        assertTrue(PuduListReader.readList(bytes("{\"data\":null}"), PuduReportListItem::read).isEmpty());
+        assertTrue(PuduListReader.readList(bytes("{\"data\":{\"list\":[]}}"), PuduReportListItem::read).isEmpty());
+    }
+
+    @Test
+    void robotAndShopItems() throws Exception {
+        String robots = "{\"data\":{\"list\":[{\"sn\":\"R1\",\"mac\":\"M1\",\"product_code\":\"CC1\",\"shop\":{}},{\"mac\":\"M2\"}]}}";
+        List<PuduRobotListItem> r = PuduListReader.readList(bytes(robots), PuduRobotListItem::read);
+        // sn 없는 로봇은 제외
+        assertEquals(List.of(new PuduRobotListItem("R1", "M1", "CC1")), r);
+
+        String shops = "{\"data\":{\"list\":[{\"shop_id\":7,\"shop_name\":\"강남점\"},{\"shop_name\":\"x\"}]}}";
+        List<PuduShopListItem> s = PuduListReader.readList(bytes(shops), PuduShopListItem::read);
+        assertEquals(2, s.size());
+        assertEquals(new PuduShopListItem(7L, "강남점"), s.get(0));
+        assertNull(s.get(1).shopId());
+    }
+
+    @Test
+    void benchmark_treeVsStreaming() throws Exception {
+        System.out.println("=== 목록 응답 디코딩 비교 (readTree vs 스트리밍) ===");
+        System.out.println("┌────────┬──────────────┬──────────────┬──────────────┬──────────────┐");
+        System.out.println("│ 항목 수│ tree (µs/page)│ stream (µs)  │ tree (KB/page)│ stream (KB) │");
+        System.out.println("├────────┼──────────────┼──────────────┼──────────────┼──────────────┤");
+
+        for (int size : new int[]{20, 200, 2000}) {
+            byte[] page = syntheticPage(size);
+            int iterations = Math.max(20, 20_000 / size);
+
+            // 결과 동일성 확인
+            assertEquals(legacy(page), PuduListReader.readList(new ByteArrayInputStream(page), PuduReportListItem::read));
+
+            // 워밍업
+            for (int i = 0; i < iterations; i++) {
+                legacy(page);
+                PuduListReader.readList(new ByteArrayInputStream(page), PuduReportListItem::read);
+            }
+
+            long[] tree = measure(iterations, () -> legacy(page));
+            long[] stream = measure(iterations, () ->
+                    PuduListReader.readList(new ByteArrayInputStream(page), PuduReportListItem::read));
+
+            System.out.printf("│ %6d │ %12.1f │ %12.1f │ %12.1f │ %12.1f │%n",
+                    size,
+                    tree[0] / 1000.0 / iterations, stream[0] / 1000.0 / iterations,
+                    tree[1] / 1024.0 / iterations, stream[1] / 1024.0 / iterations);
+
+            // 할당 측정이 지원되는 JVM 에서는 스트리밍 쪽이 적어야 한다
+            if (tree[1] > 0) {
+                assertTrue(stream[1] < tree[1], "stream=" + stream[1] + " tree=" + tree[1]);
+            }
+        }
+        System.out.println("└────────┴──────────────┴──────────────┴──────────────┴──────────────┘");
+    }
+
+    // 기존 방식: 본문 String 변환 → 트리 파싱 → 노드 복사 → 필드 추출
+    private List<PuduReportListItem> legacy(byte[] page) throws Exception {
+        String body = new String(page, StandardCharsets.UTF_8);
+        JsonNode listNode = mapper.readTree(body).path("data").path("list");
+
+        List<JsonNode> list = new ArrayList<>();
+        if (listNode.isArray()) listNode.forEach(list::add);
+
+        List<PuduReportListItem> out = new ArrayList<>(list.size());
+        for (JsonNode x : list) {
+            out.add(new PuduReportListItem(
+                    Long.parseLong(x.path("report_id").asText()), x.path("sn").asText()));
+        }
+        return out;
+    }
+
+    // 실제 clean_task/query_list 항목과 비슷한 크기의 합성 페이지
+    private byte[] syntheticPage(int size) {
+        StringBuilder sb = new StringBuilder("{\"message\":\"ok\",\"data\":{\"total\":")
+                .append(size).append(",\"list\":[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"report_id\":\"").append(1_000_000_000L + i).append('"')
+                    .append(",\"sn\":\"PD20240101").append(String.format("%05d", i % 50)).append('"')
+                    .append(",\"mac\":\"AA:BB:CC:DD:EE:").append(String.format("%02X", i % 256)).append('"')
+                    .append(",\"status\":4,\"mode\":1,\"start_time\":1735657200,\"end_time\":1735660800")
+                    .append(",\"clean_time\":3600.5,\"task_area\":1234.5,\"clean_area\":1100.25")
+                    .append(",\"cost_battery\":35,\"cost_water\":1200")
+                    .append(",\"floor_list\":[{\"map_name\":\"1F-lobby\",\"task_result_url\":\"https://cdn.example.com/map/")
+                    .append(i).append(".png\",\"task_local_url\":\"\"}]")
+                    .append(",\"task_name\":\"daily-clean\",\"shop_name\":\"test-shop\"}");
+        }
+        return sb.append("]}}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private ByteArrayInputStream bytes(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        Object run() throws Exception;
+    }
+
+    // [소요 ns, 할당 bytes]
+    private long[] measure(int iterations, Task task) throws Exception {
+        com.sun.management.ThreadMXBean mx =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+        boolean alloc = mx.isThreadAllocatedMemorySupported() && mx.isThreadAllocatedMemoryEnabled();
+
+        long allocStart = alloc ? mx.getThreadAllocatedBytes(tid) : 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            assertNotNull(task.run());
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = alloc ? mx.getThreadAllocatedBytes(tid) - allocStart : 0;
+
+        return new long[]{elapsed, allocated};
+    }
+}
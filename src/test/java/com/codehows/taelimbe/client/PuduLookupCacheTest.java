@@ -0,0 +1,94 @@
+package com.codehows.taelimbe.client;
+
+import com.codehows.taelimbe.client.dto.PuduLookupCacheStatusDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 단위 테스트: 진행 중 요청 병합, TTL 캐시 적중/만료, 실패 결과 미캐시.
+ */
+class PuduLookupCacheTest {
+
+    @Test
+    void concurrentSameKey_sharesOneCall() {
+        PuduLookupCache cache = new PuduLookupCache(60_000, 100);
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> source = new CompletableFuture<>();
+
+        CompletableFuture<String> a = cache.get("robot-detail", "SN1", () -> {
+            calls.incrementAndGet();
+            return source;
+        });
+        CompletableFuture<String> b = cache.get("robot-detail", "SN1", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        // 다른 엔드포인트는 별도 키
+        cache.get("robot-status", "SN1", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("status");
+        });
+
+        source.complete("detail");
+
+        assertEquals("detail", a.join());
+        assertEquals("detail", b.join());
+        assertEquals(2, calls.get());
+
+        PuduLookupCacheStatusDTO s = status(cache, "robot-detail");
+        assertEquals(1, s.getMisses());
+        assertEquals(1, s.getCoalesced());
+    }
+
+    @Test
+    void completedResult_isReusedWithinTtl_thenReloaded() throws Exception {
+        PuduLookupCache cache = new PuduLookupCache(50, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            cache.get("robot-status", "SN1", () ->
+                    CompletableFuture.completedFuture("v" + calls.incrementAndGet())).join();
+        }
+        assertEquals(1, calls.get());
+        assertEquals(2, status(cache, "robot-status").getHits());
+
+        Thread.sleep(80);
+        assertEquals("v2", cache.get("robot-status", "SN1", () ->
+                CompletableFuture.completedFuture("v" + calls.incrementAndGet())).join());
+    }
+
+    @Test
+    void failedOrNullResult_isNotCached() {
+        PuduLookupCache cache = new PuduLookupCache(60_000, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> failed = cache.get("robot-detail", "SN1", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("boom"));
+        });
+        assertTrue(failed.isCompletedExceptionally());
+
+        assertNull(cache.get("robot-detail", "SN1", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }).join());
+
+        assertEquals("ok", cache.get("robot-detail", "SN1", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("ok");
+        }).join());
+
+        assertEquals(3, calls.get());
+    }
+
+    private PuduLookupCacheStatusDTO status(PuduLookupCache cache, String endpoint) {
+        return cache.snapshot().stream()
+                .filter(s -> s.getEndpoint().equals(endpoint))
+                .findFirst()
+                .orElseThrow();
+    }
+}
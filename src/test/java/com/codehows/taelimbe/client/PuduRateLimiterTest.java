@@ -0,0 +1,90 @@
+package com.codehows.taelimbe.client;
+
+import com.codehows.taelimbe.client.dto.PuduRateLimitStatusDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 단위 테스트: 엔드포인트 그룹 분리, AIMD 윈도우 축소/확대, 토큰 버킷 대기 시간.
+ */
+class PuduRateLimiterTest {
+
+    private static final String LIST_URL =
+            "https://host/data-board/v1/log/clean_task/query_list?shop_id=1";
+    private static final String STATUS_URL =
+            "https://host/open-platform-service/v2/status/get_by_sn?sn=A";
+    private static final String SHOP_URL =
+            "https://host/data-open-platform-service/v1/api/shop?limit=100";
+
+    @Test
+    void window_shrinksOnThrottle_andQueuesWaiters() {
+        PuduRateLimiter limiter = new PuduRateLimiter(new MockEnvironment()
+                .withProperty("pudu.rate-limit.rps", "100000")
+                .withProperty("pudu.rate-limit.window.max", "4")
+                .withProperty("pudu.rate-limit.window.initial", "4"));
+
+        PuduRateLimiter.Permit[] permits = new PuduRateLimiter.Permit[4];
+        for (int i = 0; i < 4; i++) {
+            permits[i] = limiter.acquire(LIST_URL).join();
+        }
+
+        // 윈도우(4)가 가득 차면 다음 요청은 대기
+        CompletableFuture<PuduRateLimiter.Permit> waiting = limiter.acquire(LIST_URL);
+        assertFalse(waiting.isDone());
+
+        // 429 → 윈도우 절반(2)으로 축소, 진행 중 3건이라 여전히 대기
+        permits[0].release(PuduRateLimiter.Outcome.THROTTLED);
+        assertEquals(2, status(limiter, "/data-board").getConcurrencyLimit());
+        assertFalse(waiting.isDone());
+
+        permits[1].release(PuduRateLimiter.Outcome.SUCCESS);
+        permits[2].release(PuduRateLimiter.Outcome.SUCCESS);
+        assertTrue(waiting.isDone());
+
+        PuduRateLimitStatusDTO s = status(limiter, "/data-board");
+        assertEquals(1, s.getThrottled());
+        assertEquals(5, s.getAcquired());
+    }
+
+    @Test
+    void families_areIndependent() {
+        PuduRateLimiter limiter = new PuduRateLimiter(new MockEnvironment()
+                .withProperty("pudu.rate-limit.rps", "100000")
+                .withProperty("pudu.rate-limit.window.max", "1")
+                .withProperty("pudu.rate-limit.window.initial", "1"));
+
+        limiter.acquire(STATUS_URL).join();
+        // /open-platform-service 가 가득 차도 /data-open-platform-service 는 별도 그룹
+        assertTrue(limiter.acquire(SHOP_URL).isDone());
+        assertFalse(limiter.acquire(STATUS_URL).isDone());
+    }
+
+    @Test
+    void tokenBucket_delaysBeyondBurst() {
+        PuduRateLimiter limiter = new PuduRateLimiter(new MockEnvironment()
+                .withProperty("pudu.rate-limit.rps", "20")
+                .withProperty("pudu.rate-limit.burst", "1")
+                .withProperty("pudu.rate-limit.window.max", "100"));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire(LIST_URL).join().release(PuduRateLimiter.Outcome.SUCCESS);
+        }
+        double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        // burst 1 + 초당 20건 → 나머지 4건은 50ms 간격
+        assertTrue(elapsedMs >= 150, "elapsed=" + elapsedMs);
+        assertTrue(status(limiter, "/data-board").getMaxWaitMs() > 0);
+    }
+
+    private PuduRateLimitStatusDTO status(PuduRateLimiter limiter, String family) {
+        return limiter.snapshot().stream()
+                .filter(s -> s.getFamily().equals(family))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,95 @@
+package com.codehows.taelimbe.client;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URL;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH 벤치마크: 요청 1건 서명 비용
+ * legacy = 기존 PuduAPIClient 방식 (SimpleDateFormat/Calendar, 매번 Mac 생성, TreeMap 정렬, new URL)
+ * cached = PuduRequestSigner (Mac 풀, 초 단위 x-date 캐시, Map 없는 정렬)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PuduRequestSignerBenchmark {
+
+    static final String APP_KEY = "test-key";
+    static final String APP_SECRET = "test-secret";
+
+    static final String URL = "https://open-platform.pudutech.com/data-board/v1/log/clean_task/query"
+            + "?sn=PD2024010100001&report_id=1234567890&start_time=1735657200&end_time=1735743599"
+            + "&timezone_offset=0&shop_id=123456";
+
+    private PuduRequestSigner signer;
+
+    @Setup
+    public void setUp() {
+        signer = new PuduRequestSigner(APP_KEY, APP_SECRET);
+    }
+
+    @Benchmark
+    public String legacy() throws Exception {
+        return legacySign(URL, "GET", legacyGMTTime()).authorization();
+    }
+
+    @Benchmark
+    public String cached() {
+        return signer.sign(URL, "GET").authorization();
+    }
+
+    // ===== 기존 방식 (비교 기준) =====
+
+    static SignedHeaders legacySign(String url, String httpMethod, String xDate) throws Exception {
+        URL parsedUrl = new URL(url);
+        String pathAndParams = parsedUrl.getPath();
+        if (parsedUrl.getQuery() != null) {
+            pathAndParams += "?" + legacySortQueryParams(parsedUrl.getQuery());
+        }
+
+        String stringToSign = String.format("x-date: %s\n%s\n%s\n%s\n%s\n%s",
+                xDate, httpMethod, "application/json", "", "", pathAndParams);
+
+        SecretKey secretKey = new SecretKeySpec(APP_SECRET.getBytes("UTF-8"), "HmacSHA1");
+        Mac mac = Mac.getInstance("HmacSHA1");
+        mac.init(secretKey);
+        String signature = Base64.getEncoder()
+                .encodeToString(mac.doFinal(stringToSign.getBytes("UTF-8")));
+
+        String authHeader = String.format(
+                "hmac id=\"%s\", algorithm=\"hmac-sha1\", headers=\"x-date\", signature=\"%s\"",
+                APP_KEY.trim(), signature.trim()
+        );
+        return new SignedHeaders(xDate, authHeader);
+    }
+
+    static String legacyGMTTime() {
+        Calendar cd = Calendar.getInstance();
+        SimpleDateFormat sdf = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
+        sdf.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return sdf.format(cd.getTime());
+    }
+
+    static String legacySortQueryParams(String queryParam) {
+        if (queryParam == null || queryParam.isEmpty()) return "";
+
+        Map<String, String> queryPairs = new TreeMap<>();
+        for (String query : queryParam.split("&")) {
+            String[] kv = query.split("=", 2);
+            queryPairs.put(kv[0], kv.length > 1 ? kv[1] : "");
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, String> entry : queryPairs.entrySet()) {
+            if (sb.length() > 0) sb.append("&");
+            sb.append(entry.getKey()).append("=").append(entry.getValue());
+        }
+        return sb.toString();
+    }
+}
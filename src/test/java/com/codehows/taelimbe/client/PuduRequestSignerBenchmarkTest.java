@@ -0,0 +1,121 @@
+package com.codehows.taelimbe.client;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PuduRequestSigner 검증 + JMH 서명 벤치마크 실행
+ * 처리량(ops/ms)과 요청당 할당량(gc.alloc.rate.norm, B/op)을 기존 방식과 비교한다.
+ */
+class PuduRequestSignerBenchmarkTest {
+
+    private static final String X_DATE = "Wed, 01 Jan 2025 00:00:00 GMT";
+
+    @Test
+    void signature_matchesLegacy() throws Exception {
+        PuduRequestSigner signer = new PuduRequestSigner(
+                PuduRequestSignerBenchmark.APP_KEY, PuduRequestSignerBenchmark.APP_SECRET);
+
+        String[] urls = {
+                PuduRequestSignerBenchmark.URL,
+                "https://host/cleanbot-service/v1/api/open/robot/detail?sn=ABC",
+                "https://host/data-open-platform-service/v1/api/shop?limit=100&offset=0",
+                "https://host/path?b=2&a=1&b=3",
+                "https://host/path?a&c=&b=1=2",
+                "https://host/path"
+        };
+
+        for (String url : urls) {
+            SignedHeaders expected = PuduRequestSignerBenchmark.legacySign(url, "GET", X_DATE);
+            SignedHeaders actual = signer.sign(url, "GET", X_DATE);
+            assertEquals(expected.authorization(), actual.authorization(), url);
+        }
+    }
+
+    @Test
+    void virtualThreads_reusePooledMacs_andSignCorrectly() throws Exception {
+        PuduRequestSigner signer = new PuduRequestSigner(
+                PuduRequestSignerBenchmark.APP_KEY, PuduRequestSignerBenchmark.APP_SECRET);
+        String expected = PuduRequestSignerBenchmark.legacySign(PuduRequestSignerBenchmark.URL, "GET", X_DATE)
+                .authorization();
+
+        // 가상 스레드 모드처럼 요청마다 새 스레드 → 스레드별 캐시였다면 매번 Mac 생성
+        int tasks = 1_000;
+        List<Future<String>> results = new ArrayList<>(tasks);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < tasks; i++) {
+                results.add(executor.submit(() ->
+                        signer.sign(PuduRequestSignerBenchmark.URL, "GET", X_DATE).authorization()));
+            }
+            for (Future<String> r : results) {
+                assertEquals(expected, r.get(10, TimeUnit.SECONDS));
+            }
+        }
+
+        // 풀 크기는 동시에 서명한 수만큼만 (작업 수가 아님)
+        assertTrue(signer.pooledMacs() < tasks / 10, "pooled=" + signer.pooledMacs());
+    }
+
+    @Test
+    void gmtTime_matchesLegacyFormat() {
+        PuduRequestSigner signer = new PuduRequestSigner("k", "s");
+        String cached = signer.currentGmtTime();
+
+        assertTrue(cached.matches("[A-Z][a-z]{2}, \\d{2} [A-Z][a-z]{2} \\d{4} \\d{2}:\\d{2}:\\d{2} GMT"), cached);
+    }
+
+    @Test
+    void benchmark_signing() throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(PuduRequestSignerBenchmark.class.getSimpleName())
+                .forks(0)   // 테스트 JVM 안에서 실행 (Gradle 테스트 클래스패스 그대로 사용)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        Collection<RunResult> results = new Runner(opt).run();
+
+        System.out.println("=== Pudu 요청 서명 벤치마크 (JMH) ===");
+        System.out.println("┌──────────┬────────────────┬────────────────┐");
+        System.out.println("│ 방식     │ 처리량 (ops/ms)│ 할당 (B/op)    │");
+        System.out.println("├──────────┼────────────────┼────────────────┤");
+        for (RunResult r : results) {
+            String label = r.getParams().getBenchmark()
+                    .substring(r.getParams().getBenchmark().lastIndexOf('.') + 1);
+            System.out.printf("│ %-8s │ %14.1f │ %14.1f │%n",
+                    label, r.getPrimaryResult().getScore(), allocPerOp(r));
+        }
+        System.out.println("└──────────┴────────────────┴────────────────┘");
+
+        assertEquals(2, results.size());
+    }
+
+    private double allocPerOp(RunResult r) {
+        for (Map.Entry<String, Result> e : r.getSecondaryResults().entrySet()) {
+            if (e.getKey().endsWith("gc.alloc.rate.norm")) {
+                return e.getValue().getScore();
+            }
+        }
+        return Double.NaN;
+    }
+}
@@ -0,0 +1,131 @@
+package com.codehows.taelimbe.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 부하 테스트: 블로킹 I/O 작업을 스레드 풀 / 가상 스레드(세마포어 한도)로 실행했을 때의 처리량과 플랫폼 스레드 수 비교,
+ * 가상 스레드 모드에서의 SecurityContext 전파.
+ */
+class IoTaskExecutorsLoadTest {
+
+    private static final int TASKS = 400;
+    private static final long IO_MILLIS = 20;
+
+    private AsyncTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) pool.shutdown();
+        executor = null;
+    }
+
+    @Test
+    void loadTest_poolVsVirtualThreads() throws Exception {
+        System.out.println("=== 블로킹 I/O 작업 Executor 비교 (작업 " + TASKS + "건 × " + IO_MILLIS + "ms) ===");
+        System.out.println("┌──────────────────────────┬──────────┬──────────┬────────────┬──────────────┐");
+        System.out.println("│ 모드                     │ 동시 한도│ 소요 (ms)│ tasks/s    │ 플랫폼 스레드│");
+        System.out.println("├──────────────────────────┼──────────┼──────────┼────────────┼──────────────┤");
+
+        // 기존 설정: core 10 / max 20 / queue 100, 큐가 차면 호출 스레드에서 실행
+        Result pool = run("스레드 풀 10/20/100", false, 20);
+        Result virtual20 = run("가상 스레드", true, 20);
+        Result virtual200 = run("가상 스레드", true, 200);
+
+        System.out.println("└──────────────────────────┴──────────┴──────────┴────────────┴──────────────┘");
+        System.out.println("  플랫폼 스레드: 실행 중 늘어난 플랫폼 스레드 최대 수 (가상 스레드는 캐리어 스레드만 포함)");
+
+        // 한도를 풀 크기 이상으로 올려도 플랫폼 스레드는 늘지 않고 처리량만 오른다
+        assertTrue(virtual200.elapsedMs() < pool.elapsedMs(), "virtual200=" + virtual200 + " pool=" + pool);
+        assertTrue(virtual200.peakPlatformThreads() < virtual200.limit() / 2, "virtual200=" + virtual200);
+        assertTrue(virtual20.peakConcurrency() <= 20, "virtual20=" + virtual20);
+        assertTrue(virtual200.peakConcurrency() <= 200, "virtual200=" + virtual200);
+    }
+
+    @Test
+    void virtualThreads_propagateSecurityContext() throws Exception {
+        executor = new DelegatingSecurityContextAsyncTaskExecutor(
+                IoTaskExecutors.create(true, "async-task-", 10, 20, 50, new ThreadPoolExecutor.CallerRunsPolicy()));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+        try {
+            AtomicReference<String> seen = new AtomicReference<>();
+            AtomicReference<Boolean> virtual = new AtomicReference<>();
+            executor.submit(() -> {
+                seen.set(SecurityContextHolder.getContext().getAuthentication().getName());
+                virtual.set(Thread.currentThread().isVirtual());
+            }).get(5, TimeUnit.SECONDS);
+
+            assertEquals("admin", seen.get());
+            assertTrue(virtual.get());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+
+    private Result run(String label, boolean virtualThreads, int limit) throws Exception {
+        tearDown();
+        executor = IoTaskExecutors.create(virtualThreads, "io-load-", 10, limit, 100,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int baseline = threads.getThreadCount();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        AtomicInteger peakThreads = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(TASKS);
+
+        // 실행 중 플랫폼 스레드 수 표본 추출
+        CompletableFuture<Void> sampler = CompletableFuture.runAsync(() -> {
+            while (done.getCount() > 0) {
+                peakThreads.accumulateAndGet(threads.getThreadCount() - baseline, Math::max);
+                try { Thread.sleep(2); } catch (InterruptedException e) { return; }
+            }
+        });
+
+        long t0 = System.nanoTime();
+        for (int i = 0; i < TASKS; i++) {
+            executor.execute(() -> {
+                peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(IO_MILLIS);
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        double elapsedMs = (System.nanoTime() - t0) / 1_000_000.0;
+        sampler.get(5, TimeUnit.SECONDS);
+
+        Result r = new Result(limit, elapsedMs, peak.get(), Math.max(0, peakThreads.get()));
+        System.out.printf("│ %-24s │ %8d │ %8.0f │ %10.1f │ %12d │%n",
+                label, limit, elapsedMs, TASKS / (elapsedMs / 1000.0), r.peakPlatformThreads());
+        return r;
+    }
+
+    private record Result(int limit, double elapsedMs, int peakConcurrency, int peakPlatformThreads) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.codehows.taelimbe.pudureport.repository;
+
+import com.codehows.taelimbe.pudureport.entity.PuduReport;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 통합 테스트: 실제 MySQL DB를 사용하여
+ * 기존 saveAll (IDENTITY → 행마다 INSERT) vs 다중 행 upsert 저장 처리량 비교.
+ *
+ * 실행 조건: MySQL이 실행 중이어야 합니다. 테스트 트랜잭션은 끝나면 롤백됩니다.
+ */
+@SpringBootTest
+@Transactional
+class PuduReportBulkWriterIntegrationTest {
+
+    // 실제 report_id 와 겹치지 않는 범위
+    private static final long ID_BASE = 9_000_000_000_000L;
+
+    @Autowired
+    private PuduReportRepository puduReportRepository;
+
+    @Autowired
+    private PuduReportBulkWriter bulkWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void benchmark_saveAllVsUpsert() {
+        System.out.println("=== 보고서 저장 처리량 비교 (saveAll vs 다중 행 upsert, 50행 단위) ===");
+        System.out.println("┌────────┬──────────────┬──────────────┬──────────────┬────────┐");
+        System.out.println("│ 행 수  │ saveAll/s    │ upsert/s     │ 재동기화/s   │ 배율   │");
+        System.out.println("├────────┼──────────────┼──────────────┼──────────────┼────────┤");
+
+        long offset = 0;
+        for (int n : List.of(50, 500, 2000)) {
+            List<PuduReport> a = reports(ID_BASE + offset, n);
+            List<PuduReport> b = reports(ID_BASE + offset + n, n);
+            offset += 2L * n;
+
+            double saveAllMs = timeMs(() -> {
+                for (List<PuduReport> chunk : chunks(a)) {
+                    puduReportRepository.saveAll(chunk);
+                    entityManager.flush();
+                }
+                entityManager.clear();
+            });
+            double upsertMs = timeMs(() -> chunks(b).forEach(bulkWriter::upsert));
+            // 같은 구간을 다시 동기화 (전부 중복 키 → UPDATE)
+            double resyncMs = timeMs(() -> chunks(reports(b.get(0).getReportId(), n)).forEach(bulkWriter::upsert));
+
+            double saveAllRate = n / (saveAllMs / 1000.0);
+            double upsertRate = n / (upsertMs / 1000.0);
+            System.out.printf("│ %6d │ %12.0f │ %12.0f │ %12.0f │ %5.1fx │%n",
+                    n, saveAllRate, upsertRate, n / (resyncMs / 1000.0), upsertRate / saveAllRate);
+
+            assertEquals(n, count(b.get(0).getReportId(), n), "재동기화 후에도 행이 늘지 않아야 함");
+        }
+
+        System.out.println("└────────┴──────────────┴──────────────┴──────────────┴────────┘");
+    }
+
+    @Test
+    void upsert_updatesPuduFields_keepsRemark() {
+        long id = ID_BASE + 100_000;
+        bulkWriter.upsert(List.of(report(id, 1)));
+        jdbcTemplate.update("UPDATE pudu_report SET remark = ? WHERE report_id = ?", "메모", id);
+
+        bulkWriter.upsert(List.of(report(id, 4)));
+
+        assertEquals(1, count(id, 1));
+        assertEquals(4, jdbcTemplate.queryForObject(
+                "SELECT status FROM pudu_report WHERE report_id = ?", Integer.class, id));
+        assertEquals("메모", jdbcTemplate.queryForObject(
+                "SELECT remark FROM pudu_report WHERE report_id = ?", String.class, id));
+    }
+
+
+    private int count(long firstId, int n) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pudu_report WHERE report_id BETWEEN ? AND ?",
+                Integer.class, firstId, firstId + n - 1);
+    }
+
+    private static List<List<PuduReport>> chunks(List<PuduReport> reports) {
+        List<List<PuduReport>> chunks = new ArrayList<>();
+        for (int i = 0; i < reports.size(); i += 50) {
+            chunks.add(reports.subList(i, Math.min(reports.size(), i + 50)));
+        }
+        return chunks;
+    }
+
+    private static List<PuduReport> reports(long firstId, int n) {
+        List<PuduReport> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) list.add(report(firstId + i, 4));
+        return list;
+    }
+
+    private static PuduReport report(long reportId, int status) {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0).plusMinutes(reportId % 1000);
+        return PuduReport.builder()
+                .reportId(reportId)
+                .status(status)
+                .startTime(start)
+                .endTime(start.plusMinutes(30))
+                .cleanTime(1800f)
+                .taskArea(120.5f)
+                .cleanArea(118.0f)
+                .mode(1)
+                .costBattery(12L)
+                .costWater(300L)
+                .mapName("1층 MDCG")
+                .mapUrl("https://example.invalid/map.png")
+                .build();
+    }
+
+    private static double timeMs(Runnable r) {
+        long t = System.nanoTime();
+        r.run();
+        return (System.nanoTime() - t) / 1_000_000.0;
+    }
+}
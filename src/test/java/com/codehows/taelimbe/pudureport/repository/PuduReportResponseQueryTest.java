@@ -0,0 +1,190 @@
+package com.codehows.taelimbe.pudureport.repository;
+
+import com.codehows.taelimbe.pudureport.dto.PuduReportResponseDTO;
+import com.codehows.taelimbe.pudureport.entity.PuduReport;
+import com.codehows.taelimbe.robot.entity.Robot;
+import com.codehows.taelimbe.store.entity.Industry;
+import com.codehows.taelimbe.store.entity.Store;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 단위 테스트: 보고서 목록 응답 프로젝션 - 인메모리 DB 에서 Hibernate 통계로 SQL 문장 수를 센다.
+ * 엔티티 조회 후 DTO 변환은 robot 조회가 로봇마다 추가되고,
+ * 프로젝션 조회는 목록 1문장 (+ 페이지 조회 시 COUNT 1문장) 으로 끝나는지.
+ */
+class PuduReportResponseQueryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2025, 1, 31, 0, 0);
+    private static final int STORES = 3;
+    private static final int ROBOTS_PER_STORE = 2;
+    private static final int REPORTS_PER_ROBOT = 5;
+    private static final int TOTAL = STORES * ROBOTS_PER_STORE * REPORTS_PER_ROBOT;
+
+    private EmbeddedDatabase db;
+    private EntityManagerFactory emf;
+    private Statistics statistics;
+    private final List<EntityManager> opened = new ArrayList<>();
+    private final List<Long> storeIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(db);
+        factory.setManagedTypes(PersistenceManagedTypes.of(
+                PuduReport.class.getName(), Robot.class.getName(),
+                Store.class.getName(), Industry.class.getName()));
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.generate_statistics", "true"));
+        factory.afterPropertiesSet();
+        emf = factory.getObject();
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        seed();
+    }
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(EntityManager::close);
+        emf.close();
+        db.shutdown();
+    }
+
+    @Test
+    void entityPath_addsQueryPerRobot() {
+        PuduReportRepository repository = repository();
+
+        statistics.clear();
+        List<PuduReportResponseDTO> rows = repository.findByStartTimeBetween(START, END).stream()
+                .map(PuduReportResponseDTO::createReportResponseDTO)
+                .toList();
+
+        assertEquals(TOTAL, rows.size());
+        // 보고서 1 + 로봇마다 1 이상 (store 프록시 초기화 여부는 접근 필드에 따라 추가)
+        assertTrue(statements() >= 1 + STORES * ROBOTS_PER_STORE, "statements=" + statements());
+    }
+
+    @Test
+    void allStores_oneStatement() {
+        PuduReportRepository repository = repository();
+
+        statistics.clear();
+        List<PuduReportResponseDTO> rows = repository.findResponsesByPeriod(START, END);
+
+        assertEquals(1, statements());
+        assertEquals(TOTAL, rows.size());
+        assertTrue(rows.stream().allMatch(r -> storeIds.contains(r.getStoreId()) && r.getSn() != null));
+    }
+
+    @Test
+    void byStore_oneStatement_latestFirst() {
+        PuduReportRepository repository = repository();
+        Long storeId = storeIds.get(1);
+
+        statistics.clear();
+        List<PuduReportResponseDTO> rows = repository.findResponsesByStoreAndPeriod(storeId, START, END);
+
+        assertEquals(1, statements());
+        assertEquals(ROBOTS_PER_STORE * REPORTS_PER_ROBOT, rows.size());
+        assertTrue(rows.stream().allMatch(r -> storeId.equals(r.getStoreId())));
+        for (int i = 1; i < rows.size(); i++) {
+            assertFalse(rows.get(i).getStartTime().isAfter(rows.get(i - 1).getStartTime()));
+        }
+    }
+
+    @Test
+    void page_contentAndCount_twoStatements_evenWhenSortedByStoreName() {
+        PuduReportRepository repository = repository();
+        PageRequest pageable = PageRequest.of(1, 5, Sort.by(Sort.Direction.ASC, "robot.store.shopName")
+                .and(Sort.by(Sort.Direction.ASC, "puduReportId")));
+
+        statistics.clear();
+        Page<PuduReportResponseDTO> page = repository.findResponsePage(START, END, pageable);
+
+        assertEquals(2, statements());
+        assertEquals(5, page.getContent().size());
+        assertEquals(TOTAL, page.getTotalElements());
+        // 매장 0 의 보고서 10건 중 6~10번째
+        assertTrue(page.getContent().stream().allMatch(r -> storeIds.get(0).equals(r.getStoreId())));
+
+        statistics.clear();
+        Page<PuduReportResponseDTO> bySn = repository.findResponsePageBySn("SN-1-0", START, END,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "startTime")));
+
+        assertEquals(2, statements());
+        assertEquals(REPORTS_PER_ROBOT, bySn.getTotalElements());
+        assertTrue(bySn.getContent().stream().allMatch(r -> "SN-1-0".equals(r.getSn())));
+    }
+
+
+    private PuduReportRepository repository() {
+        EntityManager em = emf.createEntityManager();
+        opened.add(em);
+        return new JpaRepositoryFactory(em).getRepository(PuduReportRepository.class);
+    }
+
+    private long statements() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seed() {
+        EntityManager em = emf.createEntityManager();
+        em.getTransaction().begin();
+        long reportId = 1;
+        for (int s = 0; s < STORES; s++) {
+            Store store = Store.builder().shopId(100L + s).shopName("매장" + s).build();
+            em.persist(store);
+            storeIds.add(store.getStoreId());
+
+            for (int r = 0; r < ROBOTS_PER_STORE; r++) {
+                Robot robot = new Robot("SN-" + s + "-" + r, "MAC-" + s + "-" + r, store);
+                em.persist(robot);
+
+                for (int i = 0; i < REPORTS_PER_ROBOT; i++, reportId++) {
+                    em.persist(PuduReport.builder()
+                            .reportId(reportId)
+                            .status(4)
+                            .startTime(START.plusHours(reportId))
+                            .endTime(START.plusHours(reportId).plusMinutes(30))
+                            .cleanArea(10f)
+                            .mapName("1층")
+                            .remark(i == 0 ? "메모" : null)
+                            .robot(robot)
+                            .build());
+                }
+            }
+        }
+        em.getTransaction().commit();
+        em.close();
+    }
+}
@@ -0,0 +1,60 @@
+package com.codehows.taelimbe.pudureport.service;
+
+import com.codehows.taelimbe.pudureport.repository.PuduReportRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 단위 테스트: 매장별 report_id 집합 - 한 매장의 느린 적재가 같은 해시 버킷의 다른 매장을 막지 않는지.
+ */
+class KnownReportIdRegistryTest {
+
+    @Test
+    void slowLoad_doesNotBlockOtherShopInSameBin() throws Exception {
+        PuduReportRepository repository = mock(PuduReportRepository.class);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // shopId 1 과 17 은 기본 크기(16) ConcurrentHashMap 에서 같은 버킷
+        when(repository.findReportIdsByShopIdSince(eq(1L), any())).thenAnswer(inv -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(10L);
+        });
+        when(repository.findReportIdsByShopIdSince(eq(17L), any())).thenReturn(List.of(20L));
+        when(repository.findExistingReportIds(any())).thenReturn(List.of());
+
+        KnownReportIdRegistry registry = new KnownReportIdRegistry(repository, true, 200, 60);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<Set<Long>> slow =
+                    CompletableFuture.supplyAsync(() -> registry.findKnown(1L, List.of(10L)), pool);
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            try {
+                Set<Long> other = CompletableFuture.supplyAsync(() -> registry.findKnown(17L, List.of(20L, 21L)), pool)
+                        .get(1, TimeUnit.SECONDS);
+                assertEquals(Set.of(20L), other);
+            } finally {
+                release.countDown();
+            }
+            assertEquals(Set.of(10L), slow.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // 적재된 집합은 TTL 동안 재사용
+        registry.findKnown(1L, List.of(10L));
+        verify(repository, times(1)).findReportIdsByShopIdSince(eq(1L), any());
+    }
+}
@@ -0,0 +1,108 @@
+package com.codehows.taelimbe.pudureport.service;
+
+import com.codehows.taelimbe.client.PuduAPIClient;
+import com.codehows.taelimbe.pudureport.entity.PuduReport;
+import com.codehows.taelimbe.robot.entity.Robot;
+import com.codehows.taelimbe.store.entity.Industry;
+import com.codehows.taelimbe.store.entity.Store;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 단위 테스트: 상세 변환 - 세션이 닫힌 로봇 프록시(getReferenceById)를 넘겨도 초기화 없이 보고서를 만드는지.
+ */
+class PuduReportAsyncProcessorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2025, 1, 2, 0, 0);
+    private static final String DETAIL = """
+            {"data": {"status": 4, "start_time": 1735689600, "end_time": 1735691400,
+                      "clean_area": 12.5, "mode": 1,
+                      "floor_list": [{"map_name": "1층", "task_result_url": "http://map/1"}]}}
+            """;
+
+    private EmbeddedDatabase db;
+    private EntityManagerFactory emf;
+
+    @BeforeEach
+    void setUp() {
+        db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(db);
+        factory.setManagedTypes(PersistenceManagedTypes.of(
+                PuduReport.class.getName(), Robot.class.getName(),
+                Store.class.getName(), Industry.class.getName()));
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+        factory.afterPropertiesSet();
+        emf = factory.getObject();
+    }
+
+    @AfterEach
+    void tearDown() {
+        emf.close();
+        db.shutdown();
+    }
+
+    @Test
+    void detachedRobotProxy_isNotInitialized() {
+        Long robotId = seedRobot("SN-1");
+
+        // StoreRobotLookup / PuduReportRefreshService 처럼 트랜잭션 밖에서 만든 프록시 - 세션은 이미 닫힘
+        EntityManager em = emf.createEntityManager();
+        Robot proxy = em.getReference(Robot.class, robotId);
+        em.close();
+        assertFalse(Hibernate.isInitialized(proxy));
+
+        PuduAPIClient client = mock(PuduAPIClient.class);
+        when(client.getBaseUrl()).thenReturn("http://localhost");
+        when(client.callPuduAPIAsync(anyString(), eq("GET")))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(DETAIL)));
+
+        PuduReport report = new PuduReportAsyncProcessor(client)
+                .convertAsync("SN-1", 10L, proxy, START, END, 0, 100L)
+                .join();
+
+        assertEquals(10L, report.getReportId());
+        assertEquals("1층", report.getMapName());
+        assertEquals("http://map/1", report.getMapUrl());
+        assertSame(proxy, report.getRobot());
+        assertFalse(Hibernate.isInitialized(proxy));
+    }
+
+
+    private Long seedRobot(String sn) {
+        EntityManager em = emf.createEntityManager();
+        em.getTransaction().begin();
+        Store store = Store.builder().shopId(100L).shopName("매장").build();
+        em.persist(store);
+        Robot robot = new Robot(sn, "MAC-" + sn, store);
+        em.persist(robot);
+        em.getTransaction().commit();
+        em.close();
+        return robot.getRobotId();
+    }
+}
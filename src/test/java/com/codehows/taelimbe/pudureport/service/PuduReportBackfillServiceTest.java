@@ -0,0 +1,189 @@
+package com.codehows.taelimbe.pudureport.service;
+
+import com.codehows.taelimbe.pudureport.constant.BackfillJobStatus;
+import com.codehows.taelimbe.pudureport.constant.BackfillSliceStatus;
+import com.codehows.taelimbe.pudureport.dto.ReportSyncStatsDTO;
+import com.codehows.taelimbe.pudureport.dto.StoreTimeRangeSyncRequestDTO;
+import com.codehows.taelimbe.pudureport.entity.BackfillJob;
+import com.codehows.taelimbe.pudureport.entity.BackfillSlice;
+import com.codehows.taelimbe.pudureport.repository.BackfillJobRepository;
+import com.codehows.taelimbe.pudureport.repository.BackfillSliceCountProjection;
+import com.codehows.taelimbe.pudureport.repository.BackfillSliceRepository;
+import com.codehows.taelimbe.store.entity.Store;
+import com.codehows.taelimbe.ai.service.SseService;
+import com.codehows.taelimbe.client.PuduRateLimiter;
+import com.codehows.taelimbe.store.repository.StoreRepository;
+import com.codehows.taelimbe.sync.dto.SyncProgressDTO;
+import com.codehows.taelimbe.sync.service.SyncProgressService;
+import com.codehows.taelimbe.sync.service.SyncWorkScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 단위 테스트: 백필 워커의 구간 처리/체크포인트, 재시작 시 재개(만료된 선점만 해제), 작업 종료 판정.
+ */
+class PuduReportBackfillServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 10);
+
+    private PuduReportService puduReportService;
+    private PuduReportBackfillCheckpointService checkpoints;
+    private BackfillJobRepository jobRepository;
+    private BackfillSliceRepository sliceRepository;
+    private SyncProgressService progressService;
+    private PuduReportBackfillService service;
+
+    private final BackfillJob job = BackfillJob.builder()
+            .backfillJobId(1L).status(BackfillJobStatus.RUNNING)
+            .rangeStart(DAY.minusDays(2)).rangeEnd(DAY).totalSlices(3).build();
+    private final Deque<BackfillSlice> queue = new ArrayDeque<>();
+    private int staleReleased;
+
+    @BeforeEach
+    void setUp() {
+        puduReportService = mock(PuduReportService.class);
+        checkpoints = mock(PuduReportBackfillCheckpointService.class);
+        jobRepository = mock(BackfillJobRepository.class);
+        sliceRepository = mock(BackfillSliceRepository.class);
+
+        progressService = new SyncProgressService(mock(SseService.class), mock(PuduRateLimiter.class), 0);
+
+        // 직접 실행 executor: 워커 1개가 대기열을 끝까지 처리
+        service = new PuduReportBackfillService(puduReportService, checkpoints, jobRepository, sliceRepository,
+                mock(StoreRepository.class),
+                new SyncWorkScheduler(Runnable::run, Runnable::run, Runnable::run, Runnable::run, 4, 8),
+                progressService,
+                180, 1, 3, true, 600);
+
+        for (int i = 0; i < 3; i++) queue.add(slice(10L + i, DAY.minusDays(i)));
+        when(checkpoints.claimNext(1L)).thenAnswer(inv -> Optional.ofNullable(queue.poll()));
+        when(jobRepository.findByStatus(BackfillJobStatus.RUNNING)).thenReturn(List.of(job));
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
+    }
+
+    @Test
+    void resume_processesRemainingSlices_andCheckpointsEach() {
+        when(puduReportService.syncSingleStoreWithStats(any()))
+                .thenReturn(ReportSyncStatsDTO.builder().listed(5).saved(4).build());
+        when(sliceRepository.countByStatus(1L)).thenReturn(List.of(new Row(BackfillSliceStatus.DONE, 3, 15L, 12L)));
+
+        service.resumeOnStartup();
+
+        verify(checkpoints).releaseStale(eq(1L), any());
+        verify(checkpoints, times(3)).markDone(anyLong(), eq(5), eq(4), anyLong());
+        verify(checkpoints).finishJob(1L, false);
+        verify(puduReportService).syncSingleStoreWithStats(argThat((StoreTimeRangeSyncRequestDTO r) ->
+                r.getStartTime().equals(DAY.atStartOfDay()) && r.getEndTime().equals(DAY.plusDays(1).atStartOfDay())));
+
+        var status = service.status(1L).orElseThrow();
+        assertEquals(3, status.getDoneSlices());
+        assertEquals(12, status.getSaved());
+
+        // 진행 상황 채널 (runId backfill-{jobId}): 이번 실행에서 저장한 건수, 종료 상태
+        SyncProgressDTO progress = progressService.find("backfill-1").orElseThrow().snapshot();
+        assertEquals("COMPLETED", progress.getStatus());
+        assertEquals("SLICES", progress.getPhase());
+        assertEquals(12, progress.getSaved());
+    }
+
+    @Test
+    void failedSlice_isRecorded_andJobNotFinishedWhilePending() {
+        when(puduReportService.syncSingleStoreWithStats(any())).thenAnswer(inv -> {
+            StoreTimeRangeSyncRequestDTO r = inv.getArgument(0);
+            if (r.getStartTime().toLocalDate().equals(DAY)) throw new IllegalStateException("Pudu API 오류");
+            return ReportSyncStatsDTO.builder().listed(1).saved(1).build();
+        });
+        // 실패 구간은 재시도 대기(PENDING)로 남아 있다고 가정
+        when(sliceRepository.countByStatus(1L)).thenReturn(List.of(
+                new Row(BackfillSliceStatus.DONE, 2, 2L, 2L),
+                new Row(BackfillSliceStatus.PENDING, 1, null, null)));
+
+        service.resumeOnStartup();
+
+        verify(checkpoints).markFailed(eq(10L), eq("Pudu API 오류"), eq(3));
+        verify(checkpoints, times(2)).markDone(anyLong(), anyInt(), anyInt(), anyLong());
+        verify(checkpoints, never()).finishJob(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void resume_releasesOnlyClaimsOlderThanTtl() {
+        when(sliceRepository.countByStatus(1L)).thenReturn(List.of());
+        queue.clear();
+
+        LocalDateTime before = LocalDateTime.now();
+        service.resumeOnStartup();
+
+        // 다른 노드가 하트비트 중인 구간(claimedAt 이 ttl 안)은 되돌리지 않음
+        ArgumentCaptor<LocalDateTime> staleBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(checkpoints, atLeastOnce()).releaseStale(eq(1L), staleBefore.capture());
+        for (LocalDateTime t : staleBefore.getAllValues()) {
+            assertFalse(t.isBefore(before.minusSeconds(600)));
+            assertFalse(t.isAfter(LocalDateTime.now().minusSeconds(600)));
+        }
+    }
+
+    @Test
+    void worker_reclaimsStaleSlices_whenQueueRunsDry() {
+        when(puduReportService.syncSingleStoreWithStats(any()))
+                .thenReturn(ReportSyncStatsDTO.builder().listed(1).saved(1).build());
+        when(sliceRepository.countByStatus(1L)).thenReturn(List.of(new Row(BackfillSliceStatus.DONE, 4, 4L, 4L)));
+        // 재개 시점에는 되돌릴 구간이 없고, 대기열이 바닥난 뒤 죽은 노드의 구간 1개가 만료됨
+        when(checkpoints.releaseStale(eq(1L), any())).thenReturn(0).thenAnswer(inv -> {
+            if (queue.isEmpty() && staleReleased++ == 0) {
+                queue.add(slice(99L, DAY.minusDays(3)));
+                return 1;
+            }
+            return 0;
+        });
+
+        service.resumeOnStartup();
+
+        verify(checkpoints, times(4)).markDone(anyLong(), eq(1), eq(1), anyLong());
+        verify(checkpoints).markDone(eq(99L), anyInt(), anyInt(), anyLong());
+        verify(checkpoints).finishJob(1L, false);
+    }
+
+    @Test
+    void slice_retriesUntilMaxAttempts() {
+        BackfillSlice first = slice(1L, DAY);
+        first.markFailed("오류", 3);
+        assertEquals(BackfillSliceStatus.PENDING, first.getStatus());
+
+        BackfillSlice last = BackfillSlice.builder().backfillSliceId(2L).day(DAY)
+                .status(BackfillSliceStatus.RUNNING).attempts(3).build();
+        last.markFailed("오류", 3);
+        assertEquals(BackfillSliceStatus.FAILED, last.getStatus());
+    }
+
+
+    private BackfillSlice slice(Long id, LocalDate day) {
+        return BackfillSlice.builder()
+                .backfillSliceId(id)
+                .job(job)
+                .store(Store.builder().storeId(7L).build())
+                .day(day)
+                .status(BackfillSliceStatus.RUNNING)
+                .attempts(1)
+                .build();
+    }
+
+    private record Row(BackfillSliceStatus status, long count, Long fetched, Long saved)
+            implements BackfillSliceCountProjection {
+        public BackfillSliceStatus getStatus() { return status; }
+        public long getCount() { return count; }
+        public Long getFetched() { return fetched; }
+        public Long getSaved() { return saved; }
+    }
+}
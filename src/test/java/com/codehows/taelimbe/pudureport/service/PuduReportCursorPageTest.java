@@ -0,0 +1,115 @@
+package com.codehows.taelimbe.pudureport.service;
+
+import com.codehows.taelimbe.pudureport.constant.ReportSortKey;
+import com.codehows.taelimbe.pudureport.dto.ReportCursor;
+import com.codehows.taelimbe.pudureport.dto.ReportCursorPageDTO;
+import com.codehows.taelimbe.pudureport.entity.PuduReport;
+import com.codehows.taelimbe.pudureport.repository.PuduReportCursorReader;
+import com.codehows.taelimbe.pudureport.repository.PuduReportRepository;
+import com.codehows.taelimbe.robot.entity.Robot;
+import com.codehows.taelimbe.store.entity.Store;
+import com.codehows.taelimbe.store.repository.StoreRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 단위 테스트: 보고서 목록 커서 조회 - 한 건 더 읽어 다음 페이지 판단, 마지막 행으로 만든 커서로 이어 읽기,
+ * 전체 건수 생략, 정렬이 바뀐 커서 거부.
+ */
+class PuduReportCursorPageTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    private final PuduReportCursorReader reader = mock(PuduReportCursorReader.class);
+    private final PuduReportService service = new PuduReportService(
+            mock(PuduReportSyncPipeline.class), mock(PuduReportRepository.class),
+            mock(StoreRepository.class), reader);
+
+    @Test
+    void firstPage_returnsCursorOfLastRow_andSkipsCount() {
+        when(reader.findAfter(any(), any(), any(), any(), any(), anyBoolean(), any(), anyInt()))
+                .thenReturn(reports(30, 29, 28, 27));
+
+        ReportCursorPageDTO page = service.getReportsCursor(null, 5L, null, START, END, null, 3, "startTime", "desc", true);
+
+        assertEquals(3, page.getContent().size());
+        assertTrue(page.isHasNext());
+        assertNull(page.getTotalElements());
+        verify(reader).findAfter(isNull(), eq(5L), eq(START), eq(END), eq(ReportSortKey.START_TIME), eq(true), isNull(), eq(4));
+        verify(reader, never()).count(any(), any(), any(), any());
+
+        ReportCursor next = ReportCursor.decode(page.getNextCursor());
+        assertEquals(28L, next.puduReportId());
+        assertEquals(startOf(28).toString(), next.value());
+    }
+
+    @Test
+    void nextPage_seeksAfterCursor_andLastPageHasNoCursor() {
+        when(reader.findAfter(any(), any(), any(), any(), any(), anyBoolean(), any(), anyInt()))
+                .thenReturn(reports(27, 26));
+        when(reader.count(any(), any(), any(), any())).thenReturn(5L);
+        String cursor = new ReportCursor(ReportSortKey.START_TIME, true, startOf(28).toString(), 28L).encode();
+
+        ReportCursorPageDTO page = service.getReportsCursor(null, null, null, START, END, cursor, 3, "startTime", "desc", false);
+
+        assertEquals(2, page.getContent().size());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+        assertEquals(5L, page.getTotalElements());
+        verify(reader).findAfter(any(), any(), any(), any(), any(), anyBoolean(),
+                argThat(c -> c.puduReportId() == 28L), eq(4));
+    }
+
+    @Test
+    void cursorFromOtherSort_isRejected() {
+        String cursor = new ReportCursor(ReportSortKey.SN, true, "SN1", 10L).encode();
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () ->
+                service.getReportsCursor(null, null, null, START, END, cursor, 3, "startTime", "desc", true));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        assertThrows(ResponseStatusException.class, () ->
+                service.getReportsCursor(null, null, null, START, END, "not-a-cursor", 3, "startTime", "desc", true));
+    }
+
+    @Test
+    void storeNameSort_withoutShopName_usesEmptyValue() {
+        Robot robot = Robot.builder().robotId(1L).sn("SN1").store(Store.builder().storeId(5L).build()).build();
+        PuduReport report = PuduReport.builder().puduReportId(1L).robot(robot).build();
+
+        // 커서 값과 정렬식이 같은 값('')이어야 null 매장명 뒤로 이어 읽을 수 있음
+        assertEquals("", ReportSortKey.STORE_NAME.valueOf(report));
+        assertEquals("coalesce(s.shopName, '')", ReportSortKey.STORE_NAME.expression());
+    }
+
+    @Test
+    void cursor_roundTripsValuesWithSeparator() {
+        ReportCursor cursor = new ReportCursor(ReportSortKey.MAP_NAME, false, "1층|로비 구역", 42L);
+        assertEquals(cursor, ReportCursor.decode(cursor.encode()));
+    }
+
+
+    private static List<PuduReport> reports(long... ids) {
+        Robot robot = Robot.builder().robotId(1L).sn("SN1")
+                .store(Store.builder().storeId(5L).shopName("매장").build())
+                .build();
+        List<PuduReport> list = new ArrayList<>();
+        for (long id : ids) {
+            list.add(PuduReport.builder().puduReportId(id).reportId(id).startTime(startOf(id)).robot(robot).build());
+        }
+        return list;
+    }
+
+    private static LocalDateTime startOf(long id) {
+        return START.plusHours(id);
+    }
+}
@@ -0,0 +1,126 @@
+package com.codehows.taelimbe.pudureport.service;
+
+import com.codehows.taelimbe.pudureport.constant.ReportExportFormat;
+import com.codehows.taelimbe.pudureport.dto.PuduReportExportRow;
+import com.codehows.taelimbe.pudureport.repository.PuduReportExportReader;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 단위 테스트: 보고서 내보내기 - 커서에서 받은 행을 CSV/NDJSON 으로 바로 쓰는지, flush-rows 단위 flush,
+ * 클라이언트 연결이 끊기면 조회를 중단하는지.
+ */
+class PuduReportExportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 1);
+    private static final LocalDateTime T = DAY.atTime(9, 0);
+
+    private final PuduReportExportReader reader = mock(PuduReportExportReader.class);
+
+    @Test
+    void csv_hasBomHeaderAndEscapedRemark() throws Exception {
+        rows(5);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = new PuduReportExportService(reader, 100)
+                .export(ReportExportFormat.CSV, 3L, DAY, DAY, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertEquals(5, written);
+        assertTrue(csv.startsWith("\uFEFFpudu_report_id,report_id,store_id,shop_name"));
+        assertTrue(csv.contains("1,1001,3,매장,SN1,,4,2025-01-01 09:00:00,,30.0,100.0,80.5,1,10,5,1층,"
+                + "\"쉼표, \"\"따옴표\"\"\n줄바꿈\""));
+        verify(reader).forEach(eq(3L), eq(DAY.atStartOfDay()), eq(DAY.plusDays(1).atStartOfDay()), any());
+    }
+
+    @Test
+    void ndjson_oneObjectPerLine() throws Exception {
+        rows(3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new PuduReportExportService(reader, 100).export(ReportExportFormat.NDJSON, null, DAY, DAY, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        JsonNode first = new ObjectMapper().readTree(lines[0]);
+        assertEquals(1001L, first.get("reportId").asLong());
+        assertEquals("2025-01-01 09:00:00", first.get("startTime").asText());
+        assertTrue(first.get("endTime").isNull());
+        assertEquals(80.5, first.get("cleanArea").asDouble(), 0.001);
+        assertEquals("쉼표, \"따옴표\"\n줄바꿈", first.get("remark").asText());
+    }
+
+    @Test
+    void flushesEveryFlushRows() throws Exception {
+        rows(5);
+        AtomicInteger flushes = new AtomicInteger();
+        OutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+
+        new PuduReportExportService(reader, 2).export(ReportExportFormat.NDJSON, null, DAY, DAY, out);
+
+        // 2행, 4행 + 마지막
+        assertEquals(3, flushes.get());
+    }
+
+    @Test
+    void clientDisconnect_stopsReading() {
+        AtomicInteger produced = new AtomicInteger();
+        when(reader.forEach(any(), any(), any(), any())).thenAnswer(inv -> {
+            Consumer<PuduReportExportRow> action = inv.getArgument(3);
+            for (int i = 1; i <= 1000; i++) {
+                action.accept(row(i));
+                produced.incrementAndGet();
+            }
+            return 1000L;
+        });
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () ->
+                new PuduReportExportService(reader, 10).export(ReportExportFormat.CSV, null, DAY, DAY, closed));
+        assertTrue(produced.get() < 10, "produced=" + produced.get());
+    }
+
+
+    private void rows(int n) {
+        when(reader.forEach(any(), any(), any(), any())).thenAnswer(inv -> {
+            Consumer<PuduReportExportRow> action = inv.getArgument(3);
+            for (int i = 1; i <= n; i++) action.accept(row(i));
+            return (long) n;
+        });
+    }
+
+    private static PuduReportExportRow row(long id) {
+        return new PuduReportExportRow(id, 1000 + id, 3L, "매장", "SN1", null, 4, T, null,
+                30f, 100f, 80.5f, 1, 10L, 5L, "1층", "쉼표, \"따옴표\"\n줄바꿈");
+    }
+}
@@ -0,0 +1,87 @@
+package com.codehows.taelimbe.pudureport.service;
+
+import com.codehows.taelimbe.pudureport.dto.OpenReportRef;
+import com.codehows.taelimbe.pudureport.dto.ReportRefreshResultDTO;
+import com.codehows.taelimbe.pudureport.entity.PuduReport;
+import com.codehows.taelimbe.pudureport.repository.PuduReportRepository;
+import com.codehows.taelimbe.robot.entity.Robot;
+import com.codehows.taelimbe.robot.repository.RobotRepository;
+import com.codehows.taelimbe.store.entity.Store;
+import com.codehows.taelimbe.store.repository.StoreRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 단위 테스트: 진행 중 보고서 재조회 - 종료 상태가 아닌 보고서만 상세 재조회, 바뀐 보고서만 한 번에 upsert.
+ */
+class PuduReportRefreshServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.now().minusHours(5);
+
+    @Test
+    void refresh_writesOnlyChangedReports() {
+        PuduReportAsyncProcessor processor = mock(PuduReportAsyncProcessor.class);
+        PuduReportSyncPipeline pipeline = mock(PuduReportSyncPipeline.class);
+        PuduReportRepository reportRepository = mock(PuduReportRepository.class);
+        StoreRepository storeRepository = mock(StoreRepository.class);
+        RobotRepository robotRepository = mock(RobotRepository.class);
+
+        when(storeRepository.findAll()).thenReturn(List.of(
+                Store.builder().storeId(1L).shopId(100L).build(),
+                Store.builder().storeId(2L).shopId(200L).build()));
+        when(robotRepository.getReferenceById(anyLong())).thenAnswer(inv -> Robot.builder().robotId(inv.getArgument(0)).build());
+
+        // 매장 1: 일시정지 2건 + 중단 1건, 매장 2: 진행 중 보고서 없음
+        when(reportRepository.findOpenReports(eq(1L), eq(PuduReportRefreshService.TERMINAL_STATUSES), any()))
+                .thenReturn(List.of(open(11L, 2, 10f), open(12L, 2, 20f), open(13L, 3, 30f)));
+        when(reportRepository.findOpenReports(eq(2L), any(), any())).thenReturn(List.of());
+
+        // 11: 완료로 바뀜, 12: 그대로, 13: 상세 조회 실패
+        when(processor.convertAsync(anyString(), anyLong(), any(), any(), any(), anyInt(), anyLong()))
+                .thenAnswer(inv -> {
+                    long id = inv.getArgument(1);
+                    PuduReport r = switch ((int) id) {
+                        case 11 -> report(11L, 4, 55f);
+                        case 12 -> report(12L, 2, 20f);
+                        default -> null;
+                    };
+                    return CompletableFuture.completedFuture(r);
+                });
+
+        PuduReportRefreshService service = new PuduReportRefreshService(
+                processor, pipeline, reportRepository, storeRepository, robotRepository, 72, 2);
+        ReportRefreshResultDTO result = service.refreshOpenReports();
+
+        assertEquals(1, result.getStores());
+        assertEquals(3, result.getCandidates());
+        assertEquals(2, result.getFetched());
+        assertEquals(1, result.getChanged());
+        assertEquals(1, result.getClosed());
+        assertEquals(1, result.getFailed());
+        verify(pipeline).writeBatch(eq(100L), argThat(batch ->
+                batch.size() == 1 && batch.get(0).getReportId() == 11L && batch.get(0).getStatus() == 4));
+        verify(processor, times(3)).convertAsync(anyString(), anyLong(), any(), any(), any(), anyInt(), eq(100L));
+    }
+
+
+    private static OpenReportRef open(Long reportId, int status, float cleanArea) {
+        return new OpenReportRef(reportId, 7L, "SN1", status, START, START.plusHours(1),
+                60f, 100f, cleanArea, 10L, 5L, "map");
+    }
+
+    private static PuduReport report(Long reportId, int status, float cleanArea) {
+        return PuduReport.builder()
+                .reportId(reportId).status(status)
+                .startTime(START).endTime(START.plusHours(1))
+                .cleanTime(60f).taskArea(100f).cleanArea(cleanArea)
+                .costBattery(10L).costWater(5L).mapUrl("map")
+                .build();
+    }
+}
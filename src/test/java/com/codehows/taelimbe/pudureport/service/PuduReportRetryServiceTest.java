@@ -0,0 +1,150 @@
+package com.codehows.taelimbe.pudureport.service;
+
+import com.codehows.taelimbe.pudureport.constant.ReportRetryStatus;
+import com.codehows.taelimbe.pudureport.dto.ReportRetryResultDTO;
+import com.codehows.taelimbe.pudureport.entity.PuduReport;
+import com.codehows.taelimbe.pudureport.entity.PuduReportRetry;
+import com.codehows.taelimbe.pudureport.repository.PuduReportRepository;
+import com.codehows.taelimbe.pudureport.repository.PuduReportRetryRepository;
+import com.codehows.taelimbe.robot.dto.RobotSnRef;
+import com.codehows.taelimbe.robot.entity.Robot;
+import com.codehows.taelimbe.robot.repository.RobotRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 단위 테스트: 재시도 대기열 - 실패 기록, 이미 저장된 건 완료 처리, 복구 건 매장별 저장, 지수 백오프와 포기.
+ */
+class PuduReportRetryServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2025, 1, 2, 0, 0);
+
+    private final PuduReportRetryRepository retryRepository = mock(PuduReportRetryRepository.class);
+    private final PuduReportRetryQueue queue = new PuduReportRetryQueue(retryRepository, 60, 30, 3);
+
+    @Test
+    void backoff_doublesUpToMaxDelay() {
+        assertEquals(Duration.ofMinutes(1), queue.backoff(1));
+        assertEquals(Duration.ofMinutes(2), queue.backoff(2));
+        assertEquals(Duration.ofMinutes(16), queue.backoff(5));
+        assertEquals(Duration.ofMinutes(30), queue.backoff(6));
+        assertEquals(Duration.ofMinutes(30), queue.backoff(40));
+    }
+
+    @Test
+    void record_keepsAttemptsOfPendingRows() {
+        PuduReportRetry pending = retry(1L, "SN1", 100L);
+        pending.markFailed("timeout", Duration.ofMinutes(1), 3);
+        when(retryRepository.findByReportIdIn(any())).thenReturn(List.of(pending));
+
+        queue.record(7L, 100L, START, END, 0, List.of(
+                new PuduReportRetryQueue.Failure("SN1", 1L, "timeout"),
+                new PuduReportRetryQueue.Failure("SN2", 2L, "HTTP 503")));
+
+        verify(retryRepository).saveAll(argThat(rows -> {
+            List<PuduReportRetry> list = (List<PuduReportRetry>) rows;
+            return list.size() == 2
+                    && list.get(0).getAttempts() == 1
+                    && list.get(1).getReportId() == 2L
+                    && list.get(1).getStatus() == ReportRetryStatus.PENDING
+                    && list.get(1).getAttempts() == 0;
+        }));
+    }
+
+    @Test
+    void retryDue_recoversSkipsAndBacksOff() {
+        PuduReportAsyncProcessor processor = mock(PuduReportAsyncProcessor.class);
+        PuduReportSyncPipeline pipeline = mock(PuduReportSyncPipeline.class);
+        PuduReportRepository reportRepository = mock(PuduReportRepository.class);
+        RobotRepository robotRepository = mock(RobotRepository.class);
+
+        PuduReportRetry saved = retry(1L, "SN1", 100L);     // 그사이 정기 동기화가 저장
+        PuduReportRetry ok = retry(2L, "SN1", 100L);        // 이번에 성공
+        PuduReportRetry flaky = retry(3L, "SN1", 100L);     // 다시 타임아웃
+        PuduReportRetry last = retry(4L, "SN1", 100L);      // 마지막 시도도 실패 → 포기
+        last.markFailed("timeout", Duration.ZERO, 3);
+        last.markFailed("timeout", Duration.ZERO, 3);
+        PuduReportRetry noRobot = retry(5L, "GONE", 100L);  // 로봇이 삭제됨
+
+        List<PuduReportRetry> due = List.of(saved, ok, flaky, last, noRobot);
+        long id = 0;
+        for (PuduReportRetry r : due) loaded(r, ++id);
+        when(retryRepository.findDue(eq(ReportRetryStatus.PENDING), any(), any())).thenReturn(due);
+        when(reportRepository.findExistingReportIds(any())).thenReturn(List.of(1L));
+        when(robotRepository.findSnRefsByStoreId(7L)).thenReturn(List.of(new RobotSnRef("SN1", 11L)));
+        when(robotRepository.getReferenceById(anyLong())).thenAnswer(inv -> Robot.builder().robotId(inv.getArgument(0)).build());
+        when(robotRepository.findBySn(anyString())).thenReturn(Optional.empty());
+        when(processor.convertAsync(anyString(), anyLong(), any(), eq(START), eq(END), anyInt(), eq(100L)))
+                .thenAnswer(inv -> {
+                    long id = inv.getArgument(1);
+                    return id == 2
+                            ? CompletableFuture.completedFuture(PuduReport.builder().reportId(id).build())
+                            : CompletableFuture.failedFuture(new TimeoutException("timeout"));
+                });
+
+        LocalDateTime before = LocalDateTime.now();
+        ReportRetryResultDTO result = new PuduReportRetryService(
+                queue, processor, pipeline, reportRepository, robotRepository, 100, 2).retryDue();
+
+        assertEquals(5, result.getDue());
+        assertEquals(1, result.getAlreadySaved());
+        assertEquals(1, result.getRecovered());
+        assertEquals(3, result.getFailed());
+        assertEquals(1, result.getGaveUp());
+
+        assertEquals(ReportRetryStatus.DONE, saved.getStatus());
+        assertEquals(ReportRetryStatus.DONE, ok.getStatus());
+        assertEquals(ReportRetryStatus.PENDING, flaky.getStatus());
+        assertEquals(1, flaky.getAttempts());
+        assertFalse(flaky.getNextAttemptAt().isBefore(before.plusSeconds(60)));
+        assertTrue(flaky.getLastError().contains("TimeoutException"));
+        assertEquals(ReportRetryStatus.GAVE_UP, last.getStatus());
+        assertEquals(ReportRetryStatus.PENDING, noRobot.getStatus());
+
+        verify(processor, never()).convertAsync(anyString(), eq(1L), any(), any(), any(), anyInt(), anyLong());
+        verify(pipeline).writeBatch(eq(100L), argThat(batch -> batch.size() == 1 && batch.get(0).getReportId() == 2L));
+        verify(retryRepository, times(5)).updateIfUnchanged(anyLong(), anyInt(), any(), anyInt(), any(), any(), any());
+        verify(retryRepository).updateIfUnchanged(eq(4L), eq(2), eq(ReportRetryStatus.GAVE_UP), eq(3), any(), any(), any());
+        verify(retryRepository).updateIfUnchanged(eq(3L), eq(0), eq(ReportRetryStatus.PENDING), eq(1), any(), any(), any());
+        verify(retryRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void save_skipsRowsChangedSinceRead() {
+        PuduReportRetry done = loaded(retry(1L, "SN1", 100L), 1L);
+        PuduReportRetry reopened = loaded(retry(2L, "SN1", 100L), 2L);  // 그사이 다른 동기화가 재개
+        done.markDone();
+        queue.markFailed(reopened, "timeout");
+
+        when(retryRepository.updateIfUnchanged(eq(1L), anyInt(), any(), anyInt(), any(), any(), any())).thenReturn(1);
+        when(retryRepository.updateIfUnchanged(eq(2L), anyInt(), any(), anyInt(), any(), any(), any())).thenReturn(0);
+
+        assertEquals(1, queue.save(List.of(done, reopened)));
+        verify(retryRepository).updateIfUnchanged(eq(1L), eq(0), eq(ReportRetryStatus.DONE), eq(0), any(), any(), any());
+        verify(retryRepository, never()).saveAll(any());
+    }
+
+
+    private static PuduReportRetry retry(Long reportId, String sn, Long shopId) {
+        return PuduReportRetry.pending(reportId, sn, 7L, shopId, START, END, 0, "timeout", START);
+    }
+
+    /** DB 에서 읽힌 행처럼 - id 와 조회 시점 시도 횟수(@PostLoad) 설정 */
+    private static PuduReportRetry loaded(PuduReportRetry retry, Long id) {
+        ReflectionTestUtils.setField(retry, "puduReportRetryId", id);
+        ReflectionTestUtils.setField(retry, "readAttempts", retry.getAttempts());
+        return retry;
+    }
+}
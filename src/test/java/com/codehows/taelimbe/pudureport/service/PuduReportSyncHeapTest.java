@@ -0,0 +1,133 @@
+package com.codehows.taelimbe.pudureport.service;
+
+import com.codehows.taelimbe.pudureport.dto.PuduReportListItem;
+import com.codehows.taelimbe.pudureport.dto.ReportSyncStatsDTO;
+import com.codehows.taelimbe.pudureport.entity.PuduReport;
+import com.codehows.taelimbe.pudureport.repository.PuduReportBulkWriter;
+import com.codehows.taelimbe.pudureport.repository.PuduReportRepository;
+import com.codehows.taelimbe.robot.dto.RobotSnRef;
+import com.codehows.taelimbe.robot.entity.Robot;
+import com.codehows.taelimbe.robot.repository.RobotRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 단위 테스트: 대량 보고서 동기화 중 힙 사용량이 데이터 양과 무관하게 유지되는지, 배치마다 트랜잭션이 따로 열리는지.
+ * 저장된 보고서가 어딘가(버퍼, 영속성 컨텍스트 역할의 목록 등)에 남으면 힙 증가가 전체 데이터 크기에 비례한다.
+ * 목 객체는 stubOnly 로 만들어 호출 기록이 메모리에 쌓이지 않게 한다.
+ */
+class PuduReportSyncHeapTest {
+
+    private static final int REPORTS = 50_000;
+    private static final int PAYLOAD_CHARS = 2_048;
+    private static final int BATCH = 50;
+    private static final long MAX_GROWTH_BYTES = 48L * 1024 * 1024;
+
+    @Test
+    void largeSync_heapStaysBounded_oneTransactionPerBatch() throws Exception {
+        PuduReportAsyncProcessor processor = mock(PuduReportAsyncProcessor.class, withSettings().stubOnly());
+        when(processor.fetchListAsync(any(), any(), anyLong(), anyInt(), anyInt(), anyInt()))
+                .thenAnswer(inv -> {
+                    int offset = inv.getArgument(4);
+                    int limit = inv.getArgument(5);
+                    List<PuduReportListItem> page = new ArrayList<>();
+                    for (int i = offset; i < Math.min(REPORTS, offset + limit); i++) {
+                        page.add(new PuduReportListItem((long) i, "SN" + (i % 10)));
+                    }
+                    return CompletableFuture.completedFuture(page);
+                });
+        when(processor.convertAsync(anyString(), anyLong(), any(), any(), any(), anyInt(), anyLong()))
+                .thenAnswer(inv -> CompletableFuture.completedFuture(report(inv.getArgument(1), inv.getArgument(2))));
+
+        AtomicLong written = new AtomicLong();
+        PuduReportBulkWriter writer = mock(PuduReportBulkWriter.class, withSettings().stubOnly());
+        when(writer.upsert(any())).thenAnswer(inv -> {
+            List<PuduReport> batch = inv.getArgument(0);
+            written.addAndGet(batch.size());
+            return batch.size();
+        });
+
+        // 트랜잭션 시작 횟수를 세면서 주기적으로 힙 사용량 측정
+        long baseline = usedHeapAfterGc();
+        AtomicInteger transactions = new AtomicInteger();
+        AtomicLong peakGrowth = new AtomicLong();
+        TransactionOperations tx = callback -> {
+            if (transactions.incrementAndGet() % 100 == 0) {
+                peakGrowth.accumulateAndGet(usedHeapAfterGc() - baseline, Math::max);
+            }
+            return callback.doInTransaction(new SimpleTransactionStatus());
+        };
+
+        PuduReportRepository reportRepository = mock(PuduReportRepository.class, withSettings().stubOnly());
+        when(reportRepository.findReportIdsByShopIdSince(anyLong(), any())).thenReturn(List.of());
+        when(reportRepository.findExistingReportIds(any())).thenReturn(List.of());
+
+        PuduReportSyncPipeline pipeline = new PuduReportSyncPipeline(
+                processor, writer, new KnownReportIdRegistry(reportRepository, true, 200, 60),
+                robots(), tx, mock(PuduReportRetryQueue.class), 100, 4, 16, BATCH, 32);
+
+        ReportSyncStatsDTO stats = pipeline.run(1L, 1L,
+                LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 7, 1, 0, 0), 0, 0);
+        peakGrowth.accumulateAndGet(usedHeapAfterGc() - baseline, Math::max);
+
+        long payloadBytes = (long) REPORTS * PAYLOAD_CHARS;
+        System.out.println("=== 대량 동기화 힙 사용량 ===");
+        System.out.println("┌──────────┬──────────────┬──────────────┬──────────┐");
+        System.out.println("│ 보고서 수│ 데이터 (MB)  │ 최대 증가(MB)│ 트랜잭션 │");
+        System.out.println("├──────────┼──────────────┼──────────────┼──────────┤");
+        System.out.printf("│ %8d │ %12.1f │ %12.1f │ %8d │%n",
+                REPORTS, payloadBytes / 1048576.0, peakGrowth.get() / 1048576.0, transactions.get());
+        System.out.println("└──────────┴──────────────┴──────────────┴──────────┘");
+
+        assertEquals(REPORTS, stats.getSaved());
+        assertEquals(REPORTS, written.get());
+        assertEquals(REPORTS / BATCH, transactions.get());
+        assertTrue(payloadBytes > 2 * MAX_GROWTH_BYTES);
+        assertTrue(peakGrowth.get() < MAX_GROWTH_BYTES, "peakGrowth=" + peakGrowth.get());
+    }
+
+
+    private static PuduReport report(long reportId, Robot robot) {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(reportId);
+        return PuduReport.builder()
+                .reportId(reportId)
+                .status(4)
+                .startTime(start)
+                .endTime(start.plusMinutes(30))
+                .mapName("1층 MDCG")
+                .mapUrl("x".repeat(PAYLOAD_CHARS))
+                .robot(robot)
+                .build();
+    }
+
+    private static RobotRepository robots() {
+        RobotRepository repo = mock(RobotRepository.class, withSettings().stubOnly());
+        List<RobotSnRef> refs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) refs.add(new RobotSnRef("SN" + i, (long) i + 1));
+        when(repo.findSnRefsByStoreId(anyLong())).thenReturn(refs);
+        when(repo.getReferenceById(anyLong()))
+                .thenAnswer(inv -> Robot.builder().robotId(inv.getArgument(0)).build());
+        return repo;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 2; i++) {
+            System.gc();
+            try { Thread.sleep(20); } catch (InterruptedException ignored) {}
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
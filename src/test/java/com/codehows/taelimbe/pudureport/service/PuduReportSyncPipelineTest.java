@@ -0,0 +1,352 @@
+package com.codehows.taelimbe.pudureport.service;
+
+import com.codehows.taelimbe.pudureport.dto.PuduReportListItem;
+import com.codehows.taelimbe.pudureport.dto.ReportSyncStatsDTO;
+import com.codehows.taelimbe.pudureport.entity.PuduReport;
+import com.codehows.taelimbe.pudureport.repository.PuduReportBulkWriter;
+import com.codehows.taelimbe.pudureport.repository.PuduReportRepository;
+import com.codehows.taelimbe.robot.dto.RobotSnRef;
+import com.codehows.taelimbe.robot.entity.Robot;
+import com.codehows.taelimbe.robot.repository.RobotRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 단위 테스트: 느린 상세 조회 하나가 다음 페이지 조회/저장을 막지 않는지, 동시 조회 한도와 중복 제거, 로봇 조회표,
+ * 기간 분할 조회, 상세 조회 실패 건의 재시도 대기열 등록.
+ */
+class PuduReportSyncPipelineTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2025, 1, 2, 0, 0);
+    private static final TransactionOperations NO_TX = TransactionOperations.withoutTransaction();
+
+    private final PuduReportRetryQueue retryQueue = mock(PuduReportRetryQueue.class);
+
+    @Test
+    void slowDetail_doesNotStallOtherPages() throws Exception {
+        PuduReportAsyncProcessor processor = mock(PuduReportAsyncProcessor.class);
+        PuduReportRepository repository = mock(PuduReportRepository.class);
+        PuduReportBulkWriter writer = mock(PuduReportBulkWriter.class);
+
+        // 20건 × 5페이지, 이후 빈 페이지
+        when(processor.fetchListAsync(any(), any(), anyLong(), anyInt(), anyInt(), anyInt()))
+                .thenAnswer(inv -> {
+                    int offset = inv.getArgument(4);
+                    List<PuduReportListItem> page = new ArrayList<>();
+                    for (int i = offset; i < Math.min(100, offset + 20); i++) {
+                        page.add(new PuduReportListItem((long) i, "SN" + (i % 5)));
+                    }
+                    return CompletableFuture.completedFuture(page);
+                });
+
+        // report 0 은 1초, 나머지는 10ms 후 완료
+        CompletableFuture<PuduReport> slow = new CompletableFuture<>();
+        when(processor.convertAsync(anyString(), anyLong(), any(), any(), any(), anyInt(), anyLong()))
+                .thenAnswer(inv -> {
+                    long id = inv.getArgument(1);
+                    PuduReport r = PuduReport.builder().reportId(id).build();
+                    if (id == 0) {
+                        CompletableFuture.delayedExecutor(1, TimeUnit.SECONDS).execute(() -> slow.complete(r));
+                        return slow;
+                    }
+                    return CompletableFuture.supplyAsync(() -> r,
+                            CompletableFuture.delayedExecutor(10, TimeUnit.MILLISECONDS));
+                });
+
+        AtomicInteger savedBeforeSlow = new AtomicInteger();
+        when(writer.upsert(any())).thenAnswer(inv -> {
+            List<PuduReport> batch = inv.getArgument(0);
+            if (!slow.isDone()) savedBeforeSlow.addAndGet(batch.size());
+            return batch.size();
+        });
+
+        PuduReportSyncPipeline pipeline = new PuduReportSyncPipeline(processor, writer, registry(repository), robots(), NO_TX, retryQueue, 20, 2, 8, 10, 64);
+        ReportSyncStatsDTO stats = pipeline.run(1L, 1L, START, END, 0, 0);
+
+        assertEquals(100, stats.getSaved());
+        assertEquals(5, stats.getPages());
+        assertEquals(100, stats.getListed());
+        assertTrue(stats.getPeakInFlight() <= 8);
+        // 느린 1건을 기다리는 동안 나머지 99건 중 배치로 채워진 90건은 이미 저장됨
+        assertTrue(savedBeforeSlow.get() >= 90, "savedBeforeSlow=" + savedBeforeSlow.get());
+        assertEquals(1, pipeline.recentStats().size());
+    }
+
+    @Test
+    void duplicateReportIds_inSameRun_areSkipped() throws Exception {
+        PuduReportAsyncProcessor processor = mock(PuduReportAsyncProcessor.class);
+        PuduReportRepository repository = mock(PuduReportRepository.class);
+        PuduReportBulkWriter writer = mock(PuduReportBulkWriter.class);
+
+        // 오프셋 페이징 중 새 작업이 끼어들어 같은 항목이 두 페이지에 걸쳐 나오는 경우
+        when(processor.fetchListAsync(any(), any(), anyLong(), anyInt(), anyInt(), anyInt()))
+                .thenAnswer(inv -> {
+                    int offset = inv.getArgument(4);
+                    return CompletableFuture.completedFuture(switch (offset) {
+                        case 0 -> List.of(new PuduReportListItem(1L, "A"), new PuduReportListItem(2L, "A"));
+                        case 2 -> List.of(new PuduReportListItem(2L, "A"), new PuduReportListItem(3L, "B"));
+                        default -> List.<PuduReportListItem>of();
+                    });
+                });
+        when(processor.convertAsync(anyString(), anyLong(), any(), any(), any(), anyInt(), anyLong()))
+                .thenAnswer(inv -> CompletableFuture.completedFuture(
+                        PuduReport.builder().reportId(inv.getArgument(1)).build()));
+
+        ReportSyncStatsDTO stats = new PuduReportSyncPipeline(processor, writer, registry(repository), robots(), NO_TX, retryQueue, 2, 4, 4, 50, 64)
+                .run(1L, 1L, START, END, 0, 0);
+
+        assertEquals(3, stats.getSaved());
+        assertEquals(1, stats.getDuplicates());
+        assertEquals(1, stats.getBatches());
+    }
+
+    @Test
+    void knownReportIds_skipDetailFetch() throws Exception {
+        PuduReportAsyncProcessor processor = mock(PuduReportAsyncProcessor.class);
+        PuduReportRepository repository = mock(PuduReportRepository.class);
+        PuduReportBulkWriter writer = mock(PuduReportBulkWriter.class);
+
+        when(processor.fetchListAsync(any(), any(), anyLong(), anyInt(), anyInt(), anyInt()))
+                .thenAnswer(inv -> CompletableFuture.completedFuture((int) inv.getArgument(4) == 0
+                        ? List.of(new PuduReportListItem(1L, "A"), new PuduReportListItem(2L, "A"),
+                                  new PuduReportListItem(3L, "A"), new PuduReportListItem(4L, "A"))
+                        : List.<PuduReportListItem>of()));
+        AtomicInteger detailCalls = new AtomicInteger();
+        when(processor.convertAsync(anyString(), anyLong(), any(), any(), any(), anyInt(), anyLong()))
+                .thenAnswer(inv -> {
+                    detailCalls.incrementAndGet();
+                    return CompletableFuture.completedFuture(PuduReport.builder().reportId(inv.getArgument(1)).build());
+                });
+
+        // 1 은 적재 시점에 이미 알려진 id, 3 은 IN 쿼리로 확인되는 id
+        when(repository.findReportIdsByShopIdSince(anyLong(), any())).thenReturn(List.of(1L));
+        when(repository.findExistingReportIds(any())).thenReturn(List.of(3L));
+
+        KnownReportIdRegistry registry = registry(repository);
+        ReportSyncStatsDTO stats = new PuduReportSyncPipeline(processor, writer, registry, robots(), NO_TX, retryQueue, 10, 2, 4, 50, 64)
+                .run(1L, 1L, START, END, 0, 0);
+
+        assertEquals(2, stats.getExisting());
+        assertEquals(2, detailCalls.get());
+        assertEquals(2, stats.getSaved());
+        // 저장된 id 는 집합에 반영되어 다음 실행에서는 DB 확인 없이 제외
+        assertEquals(Set.of(1L, 2L, 3L, 4L), registry.findKnown(1L, List.of(1L, 2L, 3L, 4L)));
+    }
+
+    @Test
+    void robots_loadedOncePerRun_unknownSnSkipped() throws Exception {
+        PuduReportAsyncProcessor processor = mock(PuduReportAsyncProcessor.class);
+        PuduReportRepository repository = mock(PuduReportRepository.class);
+        PuduReportBulkWriter writer = mock(PuduReportBulkWriter.class);
+
+        // SN0~SN2 는 매장 로봇, X 는 등록되지 않은 로봇
+        when(processor.fetchListAsync(any(), any(), anyLong(), anyInt(), anyInt(), anyInt()))
+                .thenAnswer(inv -> {
+                    int offset = inv.getArgument(4);
+                    List<PuduReportListItem> page = new ArrayList<>();
+                    for (int i = offset; i < Math.min(30, offset + 10); i++) {
+                        page.add(new PuduReportListItem((long) i, i == 29 ? "X" : "SN" + (i % 3)));
+                    }
+                    return CompletableFuture.completedFuture(page);
+                });
+        when(processor.convertAsync(anyString(), anyLong(), any(), any(), any(), anyInt(), anyLong()))
+                .thenAnswer(inv -> CompletableFuture.completedFuture(
+                        PuduReport.builder().reportId(inv.getArgument(1)).robot(inv.getArgument(2)).build()));
+
+        RobotRepository robotRepository = robots();
+        ReportSyncStatsDTO stats = new PuduReportSyncPipeline(processor, writer, registry(repository), robotRepository, NO_TX, retryQueue, 10, 2, 4, 50, 64)
+                .run(1L, 1L, START, END, 0, 0);
+
+        assertEquals(29, stats.getSaved());
+        assertEquals(1, stats.getSkipped());
+        assertEquals(30, stats.getRobotLookups());
+        // 적재 1 + 목록에 없던 X 확인 1
+        assertEquals(2, stats.getRobotQueries());
+        verify(robotRepository, times(1)).findSnRefsByStoreId(1L);
+        verify(robotRepository, times(1)).findBySn("X");
+        verify(robotRepository, times(3)).getReferenceById(anyLong());
+    }
+
+    @Test
+    void concurrentRuns_shareGlobalDetailLimit() throws Exception {
+        PuduReportAsyncProcessor processor = mock(PuduReportAsyncProcessor.class);
+        PuduReportRepository repository = mock(PuduReportRepository.class);
+        PuduReportBulkWriter writer = mock(PuduReportBulkWriter.class);
+
+        when(processor.fetchListAsync(any(), any(), anyLong(), anyInt(), anyInt(), anyInt()))
+                .thenAnswer(inv -> {
+                    long shopId = inv.getArgument(2);
+                    int offset = inv.getArgument(4);
+                    List<PuduReportListItem> page = new ArrayList<>();
+                    for (int i = offset; i < Math.min(60, offset + 20); i++) {
+                        page.add(new PuduReportListItem(shopId * 1000 + i, "SN" + (i % 5)));
+                    }
+                    return CompletableFuture.completedFuture(page);
+                });
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(processor.convertAsync(anyString(), anyLong(), any(), any(), any(), anyInt(), anyLong()))
+                .thenAnswer(inv -> {
+                    peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    PuduReport r = PuduReport.builder().reportId(inv.getArgument(1)).build();
+                    return CompletableFuture.supplyAsync(() -> {
+                        inFlight.decrementAndGet();
+                        return r;
+                    }, CompletableFuture.delayedExecutor(20, TimeUnit.MILLISECONDS));
+                });
+
+        // 매장당 8, 전체 6 → 매장 3개가 동시에 돌아도 6 을 넘지 않아야 함
+        PuduReportSyncPipeline pipeline =
+                new PuduReportSyncPipeline(processor, writer, registry(repository), robots(), NO_TX, retryQueue, 20, 2, 8, 50, 6);
+        List<CompletableFuture<ReportSyncStatsDTO>> runs = new ArrayList<>();
+        for (long shop = 1; shop <= 3; shop++) {
+            long shopId = shop;
+            runs.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return pipeline.run(shopId, shopId, START, END, 0, 0);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+
+        int saved = 0;
+        for (CompletableFuture<ReportSyncStatsDTO> run : runs) saved += run.get(10, TimeUnit.SECONDS).getSaved();
+
+        assertEquals(180, saved);
+        assertTrue(peak.get() <= 6, "peak=" + peak.get());
+        assertEquals(0, pipeline.globalInFlight());
+    }
+
+    @Test
+    void timeSliced_fetchesWindowsConcurrently_splitsBusyWindows() throws Exception {
+        PuduReportAsyncProcessor processor = mock(PuduReportAsyncProcessor.class);
+        PuduReportRepository repository = mock(PuduReportRepository.class);
+        PuduReportBulkWriter writer = mock(PuduReportBulkWriter.class);
+
+        // 1일차 5건, 2일차 40건(첫 건은 1일차 구간 끝과 같은 시각), 3일차 첫 1시간에 15건 → 중복 없는 60건
+        TreeMap<LocalDateTime, Long> tasks = new TreeMap<>();
+        for (int i = 0; i < 5; i++) tasks.put(START.plusHours(2L * i), (long) i);
+        for (int i = 0; i < 40; i++) tasks.put(START.plusDays(1).plusMinutes(36L * i), 100L + i);
+        for (int i = 0; i < 15; i++) tasks.put(START.plusDays(2).plusMinutes(4L * i), 200L + i);
+
+        // 시작/끝 시각을 모두 포함하는 기간 조회, 5ms 후 응답
+        AtomicInteger listInFlight = new AtomicInteger();
+        AtomicInteger listPeak = new AtomicInteger();
+        List<Duration> windows = Collections.synchronizedList(new ArrayList<>());
+        when(processor.fetchListAsync(any(), any(), anyLong(), anyInt(), anyInt(), anyInt()))
+                .thenAnswer(inv -> {
+                    LocalDateTime s = inv.getArgument(0);
+                    LocalDateTime e = inv.getArgument(1);
+                    int offset = inv.getArgument(4);
+                    int limit = inv.getArgument(5);
+                    windows.add(Duration.between(s, e));
+                    List<PuduReportListItem> page = tasks.subMap(s, true, e, true).values().stream()
+                            .skip(offset).limit(limit)
+                            .map(id -> new PuduReportListItem(id, "SN" + (id % 5)))
+                            .toList();
+                    listPeak.accumulateAndGet(listInFlight.incrementAndGet(), Math::max);
+                    return CompletableFuture.supplyAsync(() -> {
+                        listInFlight.decrementAndGet();
+                        return page;
+                    }, CompletableFuture.delayedExecutor(5, TimeUnit.MILLISECONDS));
+                });
+        when(processor.convertAsync(anyString(), anyLong(), any(), any(), any(), anyInt(), anyLong()))
+                .thenAnswer(inv -> CompletableFuture.completedFuture(
+                        PuduReport.builder().reportId(inv.getArgument(1)).build()));
+
+        List<Long> written = Collections.synchronizedList(new ArrayList<>());
+        when(writer.upsert(any())).thenAnswer(inv -> {
+            List<PuduReport> batch = inv.getArgument(0);
+            batch.forEach(r -> written.add(r.getReportId()));
+            return batch.size();
+        });
+
+        // 1일 구간, 최소 3시간, 구간 3개 동시
+        PuduReportSyncPipeline.TimeSlicing slicing =
+                new PuduReportSyncPipeline.TimeSlicing(Duration.ofDays(1), Duration.ofHours(3), 3);
+        ReportSyncStatsDTO stats = new PuduReportSyncPipeline(processor, writer, registry(repository), robots(), NO_TX, retryQueue, 10, 2, 8, 50, 64)
+                .runTimeSliced(1L, 1L, START, START.plusDays(3), 0, slicing);
+
+        assertEquals(60, stats.getSaved());
+        assertEquals(60, Set.copyOf(written).size());
+        assertEquals(60, written.size());
+        assertTrue(stats.getDuplicates() > 0);
+        assertTrue(stats.getWindowSplits() > 0);
+        assertTrue(listPeak.get() > 1 && listPeak.get() <= 3, "listPeak=" + listPeak.get());
+        // 최소 구간(3시간)보다 짧게 나누지 않음
+        assertTrue(windows.stream().allMatch(w -> w.compareTo(Duration.ofHours(3)) >= 0), "windows=" + windows);
+    }
+
+    @Test
+    void failedDetails_areRecordedForRetry() throws Exception {
+        PuduReportAsyncProcessor processor = mock(PuduReportAsyncProcessor.class);
+        PuduReportRepository repository = mock(PuduReportRepository.class);
+        PuduReportBulkWriter writer = mock(PuduReportBulkWriter.class);
+
+        when(processor.fetchListAsync(any(), any(), anyLong(), anyInt(), anyInt(), anyInt()))
+                .thenAnswer(inv -> {
+                    int offset = inv.getArgument(4);
+                    List<PuduReportListItem> page = new ArrayList<>();
+                    for (int i = offset; i < Math.min(10, offset + 5); i++) {
+                        page.add(new PuduReportListItem((long) i, "SN" + (i % 5)));
+                    }
+                    return CompletableFuture.completedFuture(page);
+                });
+        // 3, 7: 타임아웃 / 5xx, 나머지 정상
+        when(processor.convertAsync(anyString(), anyLong(), any(), any(), any(), anyInt(), anyLong()))
+                .thenAnswer(inv -> {
+                    long id = inv.getArgument(1);
+                    if (id == 3) return CompletableFuture.failedFuture(new TimeoutException("timeout"));
+                    if (id == 7) return CompletableFuture.failedFuture(new IllegalStateException("상세 조회 실패 HTTP 503"));
+                    return CompletableFuture.completedFuture(PuduReport.builder().reportId(id).build());
+                });
+
+        ReportSyncStatsDTO stats = new PuduReportSyncPipeline(processor, writer, registry(repository), robots(), NO_TX, retryQueue, 5, 2, 4, 50, 64)
+                .run(9L, 1L, START, END, 0, 0);
+
+        assertEquals(8, stats.getSaved());
+        assertEquals(2, stats.getDetailFailed());
+        assertEquals(0, stats.getSkipped());
+        verify(retryQueue).record(eq(9L), eq(1L), eq(START), eq(END), eq(0), argThat(failures ->
+                failures.size() == 2
+                        && Set.copyOf(failures.stream().map(PuduReportRetryQueue.Failure::reportId).toList())
+                                .equals(Set.of(3L, 7L))
+                        && failures.stream().allMatch(f -> f.sn() != null && f.error() != null)));
+    }
+
+    // 매장 로봇 SN0~SN4
+    private RobotRepository robots() {
+        RobotRepository repo = mock(RobotRepository.class);
+        List<RobotSnRef> refs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) refs.add(new RobotSnRef("SN" + i, (long) i + 1));
+        when(repo.findSnRefsByStoreId(anyLong())).thenReturn(refs);
+        when(repo.getReferenceById(anyLong()))
+                .thenAnswer(inv -> Robot.builder().robotId(inv.getArgument(0)).build());
+        when(repo.findBySn(anyString())).thenReturn(Optional.empty());
+        return repo;
+    }
+
+    private KnownReportIdRegistry registry(PuduReportRepository repository) {
+        return new KnownReportIdRegistry(repository, true, 200, 60);
+    }
+}
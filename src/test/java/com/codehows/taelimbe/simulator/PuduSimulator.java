@@ -0,0 +1,408 @@
+package com.codehows.taelimbe.simulator;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 테스트용 Pudu Open Platform 시뮬레이터 (JDK 내장 HttpServer)
+ *
+ * - 실제로 호출하는 엔드포인트만 구현: 매장/로봇 목록, 청소 보고서 목록/상세, 로봇 상세/상태
+ * - x-date / Authorization(HMAC-SHA1) 헤더를 검증하고, 틀리면 401
+ * - 매장 N × 로봇 M × 작업 K 의 결정적(deterministic) 데이터 생성
+ * - 지연, 5xx 오류, 429 스로틀링 주입 (보고서 목록은 지정한 offset 부터 항상 실패시킬 수 있음)
+ *
+ * 사용 예)
+ *   PuduSimulator sim = new PuduSimulator("key", "secret").shops(3).robotsPerShop(5).tasksPerRobot(40)
+ *           .latencyMs(20, 10).errorRate(0.01).throttleRate(0.02).start();
+ */
+public class PuduSimulator implements AutoCloseable {
+
+    /** 생성되는 작업의 기준 시각 (2025-01-01 00:00:00 UTC) */
+    public static final long BASE_EPOCH = 1735689600L;
+    /** 같은 로봇의 작업 간격 (초) */
+    public static final long TASK_INTERVAL_SEC = 600;
+
+    private static final String CLEAN_TASK_LIST = "/data-board/v1/log/clean_task/query_list";
+    private static final String CLEAN_TASK_DETAIL = "/data-board/v1/log/clean_task/query";
+    private static final String ROBOT_DETAIL = "/cleanbot-service/v1/api/open/robot/detail";
+    private static final String ROBOT_STATUS = "/open-platform-service/v2/status/get_by_sn";
+    private static final String SHOP_LIST = "/data-open-platform-service/v1/api/shop";
+    private static final String ROBOT_LIST = "/data-open-platform-service/v1/api/robot";
+
+    private final String appKey;
+    private final String appSecret;
+
+    private int shops = 1;
+    private int robotsPerShop = 1;
+    private int tasksPerRobot = 1;
+
+    private volatile long latencyMs;
+    private volatile long latencyJitterMs;
+    private volatile double errorRate;
+    private volatile double throttleRate;
+    private volatile int retryAfterSec;
+    private volatile int taskListFailStatus;
+    private volatile int taskListFailFromOffset;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+    private final LongAdder authFailures = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final LongAdder injectedThrottles = new LongAdder();
+
+    public PuduSimulator(String appKey, String appSecret) {
+        this.appKey = appKey;
+        this.appSecret = appSecret;
+    }
+
+    // ===== 설정 =====
+
+    public PuduSimulator shops(int n) { this.shops = n; return this; }
+    public PuduSimulator robotsPerShop(int m) { this.robotsPerShop = m; return this; }
+    public PuduSimulator tasksPerRobot(int k) { this.tasksPerRobot = k; return this; }
+
+    public PuduSimulator latencyMs(long base, long jitter) {
+        this.latencyMs = base;
+        this.latencyJitterMs = jitter;
+        return this;
+    }
+
+    public PuduSimulator errorRate(double rate) { this.errorRate = rate; return this; }
+
+    public PuduSimulator throttleRate(double rate) { return throttleRate(rate, 0); }
+
+    public PuduSimulator throttleRate(double rate, int retryAfterSec) {
+        this.throttleRate = rate;
+        this.retryAfterSec = retryAfterSec;
+        return this;
+    }
+
+    /** 보고서 목록 조회 중 offset 이 fromOffset 이상인 요청은 항상 status 로 응답 (429 는 Retry-After: 0) */
+    public PuduSimulator failTaskList(int status, int fromOffset) {
+        this.taskListFailStatus = status;
+        this.taskListFailFromOffset = fromOffset;
+        return this;
+    }
+
+    public PuduSimulator start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/", this::handle);
+        // 지연 주입 시 sleep 으로 스레드를 점유하므로 고정 크기 풀을 쓰지 않음
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) server.stop(0);
+        if (executor != null) executor.shutdownNow();
+    }
+
+    // ===== 접속 정보 / 지표 =====
+
+    public String baseUrl() {
+        return "http://" + host();
+    }
+
+    public String host() {
+        return "127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long shopId(int shopIndex) {
+        return 10_000L + shopIndex;
+    }
+
+    public String robotSn(int shopIndex, int robotIndex) {
+        return String.format("SIM%03d%04d", shopIndex, robotIndex);
+    }
+
+    public long reportId(int shopIndex, int robotIndex, int taskIndex) {
+        return 1_000_000L + ((long) shopIndex * robotsPerShop + robotIndex) * tasksPerRobot + taskIndex;
+    }
+
+    /** 모든 작업을 포함하는 조회 종료 시각 (epoch 초) */
+    public long lastTaskEpoch() {
+        return BASE_EPOCH + (long) tasksPerRobot * TASK_INTERVAL_SEC + robotsPerShop;
+    }
+
+    public int totalRobots() {
+        return shops * robotsPerShop;
+    }
+
+    public long totalTasks() {
+        return (long) shops * robotsPerShop * tasksPerRobot;
+    }
+
+    public long requestCount(String path) {
+        LongAdder c = requests.get(path);
+        return c == null ? 0 : c.sum();
+    }
+
+    public long totalRequests() {
+        return requests.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public long authFailures() { return authFailures.sum(); }
+    public long injectedErrors() { return injectedErrors.sum(); }
+    public long injectedThrottles() { return injectedThrottles.sum(); }
+
+
+    // ===== 요청 처리 =====
+
+    private void handle(HttpExchange ex) throws IOException {
+        try {
+            URI uri = ex.getRequestURI();
+            String path = uri.getPath();
+            requests.computeIfAbsent(path, p -> new LongAdder()).increment();
+
+            if (!verifySignature(ex)) {
+                authFailures.increment();
+                send(ex, 401, "{\"message\":\"invalid signature\"}", null);
+                return;
+            }
+
+            injectLatency();
+
+            Map<String, String> q = query(uri.getRawQuery());
+            if (taskListFailStatus != 0 && CLEAN_TASK_LIST.equals(path)
+                    && intParam(q, "offset", 0) >= taskListFailFromOffset) {
+                injectedErrors.increment();
+                send(ex, taskListFailStatus, "{\"message\":\"injected\"}", taskListFailStatus == 429 ? "0" : null);
+                return;
+            }
+
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            if (throttleRate > 0 && rnd.nextDouble() < throttleRate) {
+                injectedThrottles.increment();
+                send(ex, 429, "{\"message\":\"too many requests\"}", String.valueOf(retryAfterSec));
+                return;
+            }
+            if (errorRate > 0 && rnd.nextDouble() < errorRate) {
+                injectedErrors.increment();
+                send(ex, 500, "{\"message\":\"internal error\"}", null);
+                return;
+            }
+
+            String data = switch (path) {
+                case SHOP_LIST -> shopList(q);
+                case ROBOT_LIST -> robotList(q);
+                case CLEAN_TASK_LIST -> taskList(q);
+                case CLEAN_TASK_DETAIL -> taskDetail(q);
+                case ROBOT_DETAIL -> robotDetail(q);
+                case ROBOT_STATUS -> robotStatus(q);
+                default -> null;
+            };
+
+            if (data == null) {
+                send(ex, 404, "{\"message\":\"not found\"}", null);
+            } else {
+                send(ex, 200, "{\"message\":\"ok\",\"data\":" + data + "}", null);
+            }
+
+        } catch (Exception e) {
+            send(ex, 500, "{\"message\":\"" + e.getClass().getSimpleName() + "\"}", null);
+        }
+    }
+
+    private void injectLatency() throws InterruptedException {
+        long base = latencyMs;
+        long jitter = latencyJitterMs;
+        if (base <= 0 && jitter <= 0) return;
+        long delay = base + (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0);
+        Thread.sleep(delay);
+    }
+
+    // 클라이언트와 별개로 구현한 서명 검증 (쿼리 키 정렬, 중복 키는 마지막 값)
+    private boolean verifySignature(HttpExchange ex) throws Exception {
+        String xDate = ex.getRequestHeaders().getFirst("x-date");
+        String auth = ex.getRequestHeaders().getFirst("Authorization");
+        if (xDate == null || auth == null) return false;
+
+        URI uri = ex.getRequestURI();
+        String pathAndParams = uri.getRawPath();
+        if (uri.getRawQuery() != null) {
+            TreeMap<String, String> sorted = new TreeMap<>();
+            for (String pair : uri.getRawQuery().split("&")) {
+                String[] kv = pair.split("=", 2);
+                sorted.put(kv[0], kv.length > 1 ? kv[1] : "");
+            }
+            StringJoiner joined = new StringJoiner("&");
+            sorted.forEach((k, v) -> joined.add(k + "=" + v));
+            pathAndParams += "?" + joined;
+        }
+
+        String stringToSign = "x-date: " + xDate + "\n" + ex.getRequestMethod()
+                + "\napplication/json\n\n\n" + pathAndParams;
+
+        Mac mac = Mac.getInstance("HmacSHA1");
+        mac.init(new SecretKeySpec(appSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA1"));
+        String signature = Base64.getEncoder()
+                .encodeToString(mac.doFinal(stringToSign.getBytes(StandardCharsets.UTF_8)));
+
+        String expected = "hmac id=\"" + appKey + "\", algorithm=\"hmac-sha1\", headers=\"x-date\", signature=\""
+                + signature + "\"";
+        return expected.equals(auth);
+    }
+
+    private void send(HttpExchange ex, int status, String body, String retryAfter) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().add("Content-Type", "application/json");
+        if (retryAfter != null) ex.getResponseHeaders().add("Retry-After", retryAfter);
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = ex.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+
+    // ===== 엔드포인트별 응답 데이터 =====
+
+    private String shopList(Map<String, String> q) {
+        int offset = intParam(q, "offset", 0);
+        int limit = intParam(q, "limit", 10);
+
+        StringJoiner list = new StringJoiner(",", "[", "]");
+        for (int i = offset; i < Math.min(shops, offset + limit); i++) {
+            list.add("{\"shop_id\":" + shopId(i) + ",\"shop_name\":\"SIM-SHOP-" + i + "\"}");
+        }
+        return "{\"total\":" + shops + ",\"list\":" + list + "}";
+    }
+
+    private String robotList(Map<String, String> q) {
+        int shop = shopIndex(q.get("shop_id"));
+        int offset = intParam(q, "offset", 0);
+        int limit = intParam(q, "limit", 10);
+        if (shop < 0) return "{\"total\":0,\"list\":[]}";
+
+        StringJoiner list = new StringJoiner(",", "[", "]");
+        for (int j = offset; j < Math.min(robotsPerShop, offset + limit); j++) {
+            list.add("{\"sn\":\"" + robotSn(shop, j) + "\",\"mac\":\"" + mac(shop, j)
+                    + "\",\"product_code\":\"" + (j % 2 == 0 ? "CC1" : "MT1")
+                    + "\",\"shop_id\":" + shopId(shop) + "}");
+        }
+        return "{\"total\":" + robotsPerShop + ",\"list\":" + list + "}";
+    }
+
+    // 매장의 작업을 시작 시각 순으로 정렬해 기간 필터 후 페이지 반환
+    private String taskList(Map<String, String> q) {
+        int shop = shopIndex(q.get("shop_id"));
+        long start = longParam(q, "start_time", Long.MIN_VALUE);
+        long end = longParam(q, "end_time", Long.MAX_VALUE);
+        int offset = intParam(q, "offset", 0);
+        int limit = intParam(q, "limit", 20);
+        if (shop < 0) return "{\"total\":0,\"list\":[]}";
+
+        StringJoiner list = new StringJoiner(",", "[", "]");
+        int matched = 0;
+        for (int k = 0; k < tasksPerRobot; k++) {
+            for (int j = 0; j < robotsPerShop; j++) {
+                long t = taskStart(j, k);
+                if (t < start || t > end) continue;
+                if (matched >= offset && matched < offset + limit) {
+                    list.add("{\"report_id\":\"" + reportId(shop, j, k) + "\",\"sn\":\"" + robotSn(shop, j)
+                            + "\",\"start_time\":" + t + ",\"status\":4,\"task_name\":\"SIM-TASK-" + k + "\"}");
+                }
+                matched++;
+            }
+        }
+        return "{\"total\":" + matched + ",\"list\":" + list + "}";
+    }
+
+    private String taskDetail(Map<String, String> q) {
+        long id = longParam(q, "report_id", -1) - 1_000_000L;
+        long perShop = (long) robotsPerShop * tasksPerRobot;
+        if (id < 0 || id >= perShop * shops) return null;
+
+        int shop = (int) (id / perShop);
+        int robot = (int) (id % perShop / tasksPerRobot);
+        int task = (int) (id % tasksPerRobot);
+        if (!robotSn(shop, robot).equals(q.get("sn"))) return null;
+
+        long start = taskStart(robot, task);
+        long cleanTime = 300 + (task % 5) * 60;
+        return "{\"report_id\":" + reportId(shop, robot, task)
+                + ",\"status\":4,\"mode\":" + (1 + task % 2)
+                + ",\"start_time\":" + start + ",\"end_time\":" + (start + cleanTime)
+                + ",\"clean_time\":" + cleanTime
+                + ",\"task_area\":" + (100 + robot) + ".5,\"clean_area\":" + (90 + robot) + ".25"
+                + ",\"cost_battery\":" + (5 + task % 20) + ",\"cost_water\":" + (100 + task % 50)
+                + ",\"floor_list\":[{\"map_name\":\"SIM-" + shop + "F\",\"task_result_url\":\"https://sim.local/map/"
+                + reportId(shop, robot, task) + ".png\",\"task_local_url\":\"\"}]}";
+    }
+
+    private String robotDetail(Map<String, String> q) {
+        String sn = q.get("sn");
+        if (sn == null) return null;
+        int h = Math.abs(sn.hashCode());
+        return "{\"sn\":\"" + sn + "\",\"nickname\":\"봇-" + sn.substring(sn.length() - 4) + "\""
+                + ",\"online\":true,\"battery\":" + (20 + h % 80)
+                + ",\"cleanbot\":{\"clean\":{\"status\":" + (h % 5) + "}}}";
+    }
+
+    private String robotStatus(Map<String, String> q) {
+        String sn = q.get("sn");
+        if (sn == null) return null;
+        return "{\"sn\":\"" + sn + "\",\"is_charging\":" + (Math.abs(sn.hashCode()) % 2) + "}";
+    }
+
+
+    // ===== 보조 =====
+
+    private long taskStart(int robotIndex, int taskIndex) {
+        return BASE_EPOCH + (long) taskIndex * TASK_INTERVAL_SEC + robotIndex;
+    }
+
+    private String mac(int shop, int robot) {
+        return String.format("02:00:%02X:%02X:%02X:%02X",
+                (shop >> 8) & 0xFF, shop & 0xFF, (robot >> 8) & 0xFF, robot & 0xFF);
+    }
+
+    private int shopIndex(String shopIdParam) {
+        try {
+            long idx = Long.parseLong(shopIdParam) - 10_000L;
+            return idx >= 0 && idx < shops ? (int) idx : -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static Map<String, String> query(String raw) {
+        Map<String, String> map = new HashMap<>();
+        if (raw == null || raw.isEmpty()) return map;
+        for (String pair : raw.split("&")) {
+            String[] kv = pair.split("=", 2);
+            map.put(kv[0], kv.length > 1 ? kv[1] : "");
+        }
+        return map;
+    }
+
+    private static int intParam(Map<String, String> q, String name, int def) {
+        return (int) longParam(q, name, def);
+    }
+
+    private static long longParam(Map<String, String> q, String name, long def) {
+        try {
+            return Long.parseLong(q.get(name));
+        } catch (Exception e) {
+            return def;
+        }
+    }
+}
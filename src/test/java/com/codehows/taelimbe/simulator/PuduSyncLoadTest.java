@@ -0,0 +1,388 @@
+package com.codehows.taelimbe.simulator;
+
+import com.codehows.taelimbe.client.PuduAPIClient;
+import com.codehows.taelimbe.client.PuduLookupCache;
+import com.codehows.taelimbe.client.PuduRateLimiter;
+import com.codehows.taelimbe.client.PuduRequestSigner;
+import com.codehows.taelimbe.config.PuduHttpClientConfig;
+import com.codehows.taelimbe.pudureport.dto.MultiStoreSyncResultDTO;
+import com.codehows.taelimbe.pudureport.dto.ReportSyncStatsDTO;
+import com.codehows.taelimbe.pudureport.dto.StoreTimeRangeSyncRequestDTO;
+import com.codehows.taelimbe.pudureport.entity.PuduReport;
+import com.codehows.taelimbe.pudureport.repository.PuduReportBulkWriter;
+import com.codehows.taelimbe.pudureport.repository.PuduReportCursorReader;
+import com.codehows.taelimbe.pudureport.repository.PuduReportRepository;
+import com.codehows.taelimbe.pudureport.service.KnownReportIdRegistry;
+import com.codehows.taelimbe.pudureport.service.PuduReportAsyncProcessor;
+import com.codehows.taelimbe.pudureport.service.PuduReportMultiStoreSyncService;
+import com.codehows.taelimbe.pudureport.service.PuduReportRetryQueue;
+import com.codehows.taelimbe.pudureport.service.PuduReportService;
+import com.codehows.taelimbe.pudureport.service.PuduReportSyncPipeline;
+import com.codehows.taelimbe.robot.dto.RobotSnRef;
+import com.codehows.taelimbe.robot.dto.RobotSyncRequestDTO;
+import com.codehows.taelimbe.robot.entity.Robot;
+import com.codehows.taelimbe.robot.repository.RobotRepository;
+import com.codehows.taelimbe.robot.service.RobotAsyncProcessor;
+import com.codehows.taelimbe.robot.service.RobotService;
+import com.codehows.taelimbe.store.entity.Store;
+import com.codehows.taelimbe.store.repository.StoreRepository;
+import com.codehows.taelimbe.sync.entity.SyncRecord;
+import com.codehows.taelimbe.sync.repository.SyncRecordRepository;
+import com.codehows.taelimbe.sync.service.SyncRecordService;
+import com.codehows.taelimbe.sync.service.SyncWorkScheduler;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.net.http.HttpClient;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 부하 테스트: PuduSimulator 를 상대로 실제 클라이언트 스택(서명, 요청 제한, 커넥션 풀, 논블로킹 호출)을 거쳐
+ * PuduReportService / RobotService 의 초당 처리량을 측정한다.
+ * 저장소는 Mockito 로 대체하므로 DB 는 필요 없다 (저장 건수만 집계).
+ */
+class PuduSyncLoadTest {
+
+    private static final String APP_KEY = "sim-key";
+    private static final String APP_SECRET = "sim-secret";
+
+    private PuduSimulator sim;
+    private CloseableHttpClient httpClient;
+    private ExecutorService executor;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (sim != null) sim.close();
+        if (httpClient != null) httpClient.close();
+        if (executor != null) executor.shutdownNow();
+        sim = null;
+        httpClient = null;
+        executor = null;
+    }
+
+    @Test
+    void loadTest_reportSync() throws Exception {
+        System.out.println("=== 청소 보고서 동기화 부하 테스트 (시뮬레이터) ===");
+        System.out.println("┌──────────────────────┬────────┬────────┬──────────┬────────────┬────────┬─────────────┐");
+        System.out.println("│ 시나리오             │ 작업 수│ 저장 수│ 소요 (ms)│ reports/s  │ 요청 수│ 로봇 DB 조회│");
+        System.out.println("├──────────────────────┼────────┼────────┼──────────┼────────────┼────────┼─────────────┤");
+
+        runReportScenario("지연 없음", 0, 0, 0, 0, 1, false);
+        runReportScenario("지연 20±10ms", 20, 10, 0, 0, 1, false);
+        runReportScenario("지연 20±10ms 기간분할", 20, 10, 0, 0, 1, true);
+        runReportScenario("지연 20±10ms 매장×3", 20, 10, 0, 0, 3, false);
+        runReportScenario("지연 + 오류 2%", 20, 10, 0.02, 0, 1, false);
+        runReportScenario("지연 + 429 5%", 20, 10, 0, 0.05, 1, false);
+
+        System.out.println("└──────────────────────┴────────┴────────┴──────────┴────────────┴────────┴─────────────┘");
+        System.out.println("  로봇 DB 조회: 보고서마다 findBySn 하던 기존 방식 → 매장 로봇 적재 방식");
+    }
+
+    @Test
+    void loadTest_robotSync() throws Exception {
+        System.out.println("=== 로봇 동기화 부하 테스트 (시뮬레이터) ===");
+        System.out.println("┌──────────────────────┬────────┬────────┬──────────┬────────────┐");
+        System.out.println("│ 시나리오             │ 로봇 수│ 저장 수│ 소요 (ms)│ robots/s   │");
+        System.out.println("├──────────────────────┼────────┼────────┼──────────┼────────────┤");
+
+        runRobotScenario("지연 없음", 0, 0);
+        runRobotScenario("지연 20±10ms", 20, 10);
+
+        System.out.println("└──────────────────────┴────────┴────────┴──────────┴────────────┘");
+    }
+
+    @Test
+    void simulator_rejectsInvalidSignature() throws Exception {
+        sim = new PuduSimulator(APP_KEY, APP_SECRET).shops(1).start();
+        PuduAPIClient client = newClient(sim, "wrong-secret");
+
+        int status = client.callPuduAPI(sim.baseUrl() + "/data-open-platform-service/v1/api/shop?limit=10&offset=0", "GET")
+                .getStatusCode().value();
+
+        assertEquals(401, status);
+        assertEquals(1, sim.authFailures());
+    }
+
+
+    @Test
+    void listFailure_keepsWatermark() throws Exception {
+        // 앞 두 페이지(40건)는 받고 세 번째 페이지부터 500 → 빈 페이지(목록 끝)로 처리되면 안 된다
+        sim = new PuduSimulator(APP_KEY, APP_SECRET)
+                .shops(1).robotsPerShop(10).tasksPerRobot(20)
+                .failTaskList(500, 40)
+                .start();
+
+        AtomicLong saved = new AtomicLong();
+        LocalDateTime start = toLocal(PuduSimulator.BASE_EPOCH);
+        LocalDateTime end = toLocal(sim.lastTaskEpoch());
+        SyncRecord record = SyncRecord.create(Store.builder().storeId(1L).build());
+        ReflectionTestUtils.setField(record, "reportSyncWatermark", start);
+
+        SyncRecordService syncRecordService = syncRecordService(record, saved, false);
+        syncRecordService.syncStoreReports(1L, end);
+
+        assertEquals(40, saved.get());
+        assertTrue(sim.injectedErrors() > 0);
+        assertEquals(start, record.getReportSyncWatermark());
+
+        // 기간분할 조회에서 모든 구간의 목록이 재시도 후에도 429 → 매장 요약 실패, 워터마크 유지
+        tearDown();
+        sim = new PuduSimulator(APP_KEY, APP_SECRET)
+                .shops(1).robotsPerShop(10).tasksPerRobot(20)
+                .failTaskList(429, 0)
+                .start();
+        saved.set(0);
+
+        syncRecordService = syncRecordService(record, saved, true);
+        syncRecordService.syncAllStoresReports(end);
+
+        assertEquals(0, saved.get());
+        assertTrue(sim.injectedErrors() > 0);
+        assertEquals(start, record.getReportSyncWatermark());
+    }
+
+
+    private void runReportScenario(String label, long latency, long jitter,
+                                   double errorRate, double throttleRate, int storeConcurrency,
+                                   boolean timeSliced) throws Exception {
+        tearDown();
+        sim = new PuduSimulator(APP_KEY, APP_SECRET)
+                .shops(3).robotsPerShop(10).tasksPerRobot(20)
+                .latencyMs(latency, jitter)
+                .errorRate(errorRate)
+                .throttleRate(throttleRate, 0)
+                .start();
+
+        PuduAPIClient client = newClient(sim, APP_SECRET);
+        StoreRepository storeRepository = storeRepository(sim);
+
+        PuduReportRepository reportRepository = mock(PuduReportRepository.class);
+        AtomicLong saved = new AtomicLong();
+        AtomicLong empty = new AtomicLong();
+        PuduReportBulkWriter bulkWriter = mock(PuduReportBulkWriter.class);
+        when(bulkWriter.upsert(any())).thenAnswer(inv -> {
+            List<PuduReport> batch = inv.getArgument(0);
+            saved.addAndGet(batch.size());
+            empty.addAndGet(batch.stream().filter(r -> r.getStartTime() == null).count());
+            return batch.size();
+        });
+
+        AtomicLong robotQueries = new AtomicLong();
+        RobotRepository robotRepository = robotRepository(sim, 10, robotQueries);
+
+        PuduReportAsyncProcessor processor = new PuduReportAsyncProcessor(client);
+        KnownReportIdRegistry knownReportIds = new KnownReportIdRegistry(reportRepository, true, 200, 60);
+        PuduReportSyncPipeline pipeline = new PuduReportSyncPipeline(
+                processor, bulkWriter, knownReportIds, robotRepository,
+                TransactionOperations.withoutTransaction(), mock(PuduReportRetryQueue.class), 20, 4, 16, 50, 32);
+        PuduReportService service = new PuduReportService(
+                pipeline, reportRepository, storeRepository, mock(PuduReportCursorReader.class));
+        // 기간분할: 1시간 구간(최소 10분)을 4개씩 동시에 조회, 그 외에는 한 구간을 offset 으로 순서대로 조회
+        ReflectionTestUtils.setField(service, "timeSliceWindowHours", 1L);
+        ReflectionTestUtils.setField(service, "timeSliceMinWindowMinutes", 10L);
+        ReflectionTestUtils.setField(service, "timeSliceConcurrency", 4);
+        ReflectionTestUtils.setField(service, "timeSliceMinRangeHours", timeSliced ? 0L : 10_000L);
+
+        LocalDateTime start = toLocal(PuduSimulator.BASE_EPOCH);
+        LocalDateTime end = toLocal(sim.lastTaskEpoch());
+
+        List<StoreTimeRangeSyncRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            requests.add(StoreTimeRangeSyncRequestDTO.builder()
+                    .storeId((long) i + 1)
+                    .startTime(start)
+                    .endTime(end)
+                    .timezoneOffset(0)
+                    .offset(0)
+                    .build());
+        }
+
+        long t0 = System.nanoTime();
+        if (storeConcurrency > 1) {
+            // 매장 병렬: 매장 수만큼 스레드, 상세 조회는 파이프라인 전체 한도(32)로 제한
+            executor = Executors.newFixedThreadPool(storeConcurrency);
+            SyncWorkScheduler scheduler = new SyncWorkScheduler(executor, executor, executor, executor, storeConcurrency, 64);
+            MultiStoreSyncResultDTO result = new PuduReportMultiStoreSyncService(service, storeRepository, scheduler)
+                    .syncStores(requests);
+            assertEquals(0, result.getFailedStores());
+        } else {
+            requests.forEach(service::syncSingleStoreByTimeRange);
+        }
+        double elapsedMs = (System.nanoTime() - t0) / 1_000_000.0;
+
+        // 기존 방식은 상세 조회 대상마다 findBySn 1회
+        int legacyRobotQueries = pipeline.recentStats().stream().mapToInt(ReportSyncStatsDTO::getRobotLookups).sum();
+
+        System.out.printf("│ %-20s │ %6d │ %6d │ %8.0f │ %10.1f │ %6d │ %5d → %-3d │%n",
+                label, sim.totalTasks(), saved.get(), elapsedMs,
+                saved.get() / (elapsedMs / 1000.0), sim.totalRequests(),
+                legacyRobotQueries, robotQueries.get());
+
+        assertEquals(0, sim.authFailures());
+        // 오류 응답이 빈 보고서로 저장되면 안 된다
+        assertEquals(0, empty.get());
+        if (errorRate == 0) {
+            // 429 는 재시도로 흡수되므로 모든 작업이 저장되어야 한다
+            assertEquals(sim.totalTasks(), saved.get());
+        }
+        // 매장당 로봇 적재 1회
+        assertEquals(3, robotQueries.get());
+    }
+
+    private void runRobotScenario(String label, long latency, long jitter) throws Exception {
+        tearDown();
+        sim = new PuduSimulator(APP_KEY, APP_SECRET)
+                .shops(5).robotsPerShop(40).tasksPerRobot(1)
+                .latencyMs(latency, jitter)
+                .start();
+
+        PuduAPIClient client = newClient(sim, APP_SECRET);
+        StoreRepository storeRepository = storeRepository(sim);
+
+        RobotRepository robotRepository = mock(RobotRepository.class);
+        AtomicLong saved = new AtomicLong();
+        when(robotRepository.findBySn(anyString())).thenReturn(Optional.empty());
+        when(robotRepository.save(any(Robot.class))).thenAnswer(inv -> {
+            saved.incrementAndGet();
+            return inv.getArgument(0);
+        });
+
+        executor = Executors.newFixedThreadPool(8);
+        SyncWorkScheduler scheduler = new SyncWorkScheduler(executor, executor, executor, executor, 8, 64);
+        RobotService service = new RobotService(
+                client, robotRepository, storeRepository,
+                new RobotAsyncProcessor(scheduler, client, new PuduLookupCache(0, 1000)),
+                scheduler);
+
+        long t0 = System.nanoTime();
+        int created = 0;
+        for (int i = 0; i < 5; i++) {
+            created += service.syncRobots(RobotSyncRequestDTO.builder().storeId((long) i + 1).build());
+        }
+        double elapsedMs = (System.nanoTime() - t0) / 1_000_000.0;
+
+        System.out.printf("│ %-20s │ %6d │ %6d │ %8.0f │ %10.1f │%n",
+                label, sim.totalRobots(), saved.get(), elapsedMs,
+                saved.get() / (elapsedMs / 1000.0));
+
+        assertEquals(0, sim.authFailures());
+        assertEquals(sim.totalRobots(), created);
+    }
+
+
+    // 시뮬레이터 매장 1곳을 실제 클라이언트/파이프라인으로 동기화하는 SyncRecordService (워터마크 overlap 0)
+    private SyncRecordService syncRecordService(SyncRecord record, AtomicLong saved, boolean timeSliced) {
+        PuduAPIClient client = newClient(sim, APP_SECRET);
+        StoreRepository storeRepository = storeRepository(sim);
+        when(storeRepository.findAll()).thenReturn(List.of(Store.builder().storeId(1L).build()));
+
+        PuduReportBulkWriter bulkWriter = mock(PuduReportBulkWriter.class);
+        when(bulkWriter.upsert(any())).thenAnswer(inv -> {
+            List<PuduReport> batch = inv.getArgument(0);
+            saved.addAndGet(batch.size());
+            return batch.size();
+        });
+
+        PuduReportRepository reportRepository = mock(PuduReportRepository.class);
+        PuduReportSyncPipeline pipeline = new PuduReportSyncPipeline(
+                new PuduReportAsyncProcessor(client), bulkWriter,
+                new KnownReportIdRegistry(reportRepository, true, 200, 60),
+                robotRepository(sim, 10, new AtomicLong()),
+                TransactionOperations.withoutTransaction(), mock(PuduReportRetryQueue.class), 20, 4, 16, 50, 32);
+        PuduReportService service = new PuduReportService(
+                pipeline, reportRepository, storeRepository, mock(PuduReportCursorReader.class));
+        ReflectionTestUtils.setField(service, "timeSliceWindowHours", 1L);
+        ReflectionTestUtils.setField(service, "timeSliceMinWindowMinutes", 10L);
+        ReflectionTestUtils.setField(service, "timeSliceConcurrency", 4);
+        ReflectionTestUtils.setField(service, "timeSliceMinRangeHours", timeSliced ? 0L : 10_000L);
+
+        SyncRecordRepository syncRecordRepository = mock(SyncRecordRepository.class);
+        when(syncRecordRepository.findByStore_StoreId(1L)).thenReturn(Optional.of(record));
+        // 워터마크 전진이 일어나면 record 에 반영해 호출 측에서 확인
+        when(syncRecordRepository.advanceReportSyncWatermark(eq(1L), any())).thenAnswer(inv -> {
+            ReflectionTestUtils.setField(record, "reportSyncWatermark", inv.getArgument(1));
+            return 1;
+        });
+
+        executor = Executors.newFixedThreadPool(2);
+        SyncWorkScheduler scheduler = new SyncWorkScheduler(executor, executor, executor, executor, 2, 64);
+        SyncRecordService syncRecordService = new SyncRecordService(syncRecordRepository, storeRepository, null, null,
+                service, new PuduReportMultiStoreSyncService(service, storeRepository, scheduler), null);
+        ReflectionTestUtils.setField(syncRecordService, "reportOverlapMinutes", 0L);
+        ReflectionTestUtils.setField(syncRecordService, "reportInitialLookbackHours", 3L);
+        return syncRecordService;
+    }
+
+    // 매장 로봇 (sn, robot_id) 목록과 프록시 참조. 실제 SELECT 가 나가는 호출만 집계
+    private static RobotRepository robotRepository(PuduSimulator sim, int robotsPerShop, AtomicLong robotQueries) {
+        RobotRepository robotRepository = mock(RobotRepository.class);
+        when(robotRepository.findSnRefsByStoreId(anyLong())).thenAnswer(inv -> {
+            robotQueries.incrementAndGet();
+            int shop = (int) (long) inv.getArgument(0) - 1;
+            List<RobotSnRef> refs = new ArrayList<>();
+            for (int j = 0; j < robotsPerShop; j++) refs.add(new RobotSnRef(sim.robotSn(shop, j), shop * 100L + j + 1));
+            return refs;
+        });
+        when(robotRepository.getReferenceById(anyLong()))
+                .thenAnswer(inv -> Robot.builder().robotId(inv.getArgument(0)).build());
+        when(robotRepository.findBySn(anyString())).thenAnswer(inv -> {
+            robotQueries.incrementAndGet();
+            return Optional.empty();
+        });
+        return robotRepository;
+    }
+
+    private PuduAPIClient newClient(PuduSimulator sim, String secret) {
+        httpClient = PuduHttpClientConfig.createPooledClient(64, 128, 3000, 10000, 5000, 30000);
+
+        PuduAPIClient client = new PuduAPIClient(
+                httpClient,
+                HttpClient.newHttpClient(),
+                new PuduRequestSigner(APP_KEY, secret),
+                new PuduRateLimiter(new MockEnvironment()
+                        .withProperty("pudu.rate-limit.rps", "100000")
+                        .withProperty("pudu.rate-limit.window.max", "64")
+                        .withProperty("pudu.rate-limit.window.initial", "64")));
+        ReflectionTestUtils.setField(client, "host", sim.host());
+        ReflectionTestUtils.setField(client, "baseUrl", sim.baseUrl());
+        ReflectionTestUtils.setField(client, "readTimeoutMs", 10_000L);
+        ReflectionTestUtils.setField(client, "maxRetries", 5);
+        return client;
+    }
+
+    // storeId = 인덱스 + 1, shopId 는 시뮬레이터 매장과 매핑
+    private StoreRepository storeRepository(PuduSimulator sim) {
+        StoreRepository repo = mock(StoreRepository.class);
+        when(repo.findById(anyLong())).thenAnswer(inv -> {
+            long storeId = inv.getArgument(0);
+            return Optional.of(Store.builder()
+                    .storeId(storeId)
+                    .shopId(sim.shopId((int) storeId - 1))
+                    .shopName("SIM-SHOP-" + (storeId - 1))
+                    .build());
+        });
+        return repo;
+    }
+
+    private static LocalDateTime toLocal(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
+    }
+}
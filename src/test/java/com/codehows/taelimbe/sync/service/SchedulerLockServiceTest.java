@@ -0,0 +1,200 @@
+package com.codehows.taelimbe.sync.service;
+
+import com.codehows.taelimbe.sync.repository.SchedulerLockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 단위 테스트: 예약 작업 DB 리스 - 애플리케이션 컨텍스트 2개(노드 A/B)가 같은 인메모리 DB 를 공유할 때
+ * 한 노드만 실행, 긴 실행 중 리스 연장, 노드 중단 후 리스 만료 시 다른 노드가 인계,
+ * 반납 후/만료 후 연장이 리스를 되살리지 않음.
+ */
+class SchedulerLockServiceTest {
+
+    private static final String LOCK = "sync-scheduler";
+
+    private EmbeddedDatabase db;
+    private JdbcTemplate jdbc;
+    private final List<AnnotationConfigApplicationContext> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbc = new JdbcTemplate(db);
+        jdbc.execute("CREATE TABLE scheduler_lock ("
+                + "lock_name VARCHAR(64) PRIMARY KEY, "
+                + "locked_until TIMESTAMP NOT NULL, "
+                + "locked_at TIMESTAMP NOT NULL, "
+                + "locked_by VARCHAR(255) NOT NULL)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(AnnotationConfigApplicationContext::close);
+        db.shutdown();
+    }
+
+    @Test
+    void bothNodesFire_onlyOneRuns() throws Exception {
+        SchedulerLockService a = node("node-a", 30, 0);
+        SchedulerLockService b = node("node-b", 30, 0);
+
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+        Runnable task = () -> {
+            runs.incrementAndGet();
+            sleep(200);
+        };
+
+        ExecutorService cron = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> ranA = cron.submit(() -> await(go) && a.runExclusive(LOCK, task));
+            Future<Boolean> ranB = cron.submit(() -> await(go) && b.runExclusive(LOCK, task));
+            go.countDown();
+
+            assertNotEquals(ranA.get(5, TimeUnit.SECONDS), ranB.get(5, TimeUnit.SECONDS));
+            assertEquals(1, runs.get());
+        } finally {
+            cron.shutdownNow();
+        }
+
+        // 끝나면 바로 반납 → 다음 회차는 어느 노드든 실행 가능
+        assertTrue(b.runExclusive(LOCK, task));
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void longRun_renewsLease_andOtherNodeCannotTakeOver() throws Exception {
+        SchedulerLockService a = node("node-a", 1, 0);
+        SchedulerLockService b = node("node-b", 1, 0);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Boolean> longRun = CompletableFuture.supplyAsync(() -> a.runExclusive(LOCK, () -> {
+            started.countDown();
+            sleep(2_500);   // lease(1초) 의 2배 이상
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // 실행 내내 B 는 리스를 얻지 못함
+        int attempts = 0;
+        while (!longRun.isDone()) {
+            assertFalse(b.runExclusive(LOCK, () -> fail("node-b ran while node-a held the lease")));
+            attempts++;
+            sleep(200);
+        }
+        assertTrue(longRun.get());
+        assertTrue(attempts >= 8, "attempts=" + attempts);
+        assertTrue(b.runExclusive(LOCK, () -> {}));
+    }
+
+    @Test
+    void deadNode_leaseExpires_andOtherNodeTakesOver() {
+        SchedulerLockService b = node("node-b", 1, 0);
+
+        // 노드 A: 리스를 얻은 뒤 반납 없이 종료 (프로세스 중단) → 연장 스레드도 멈춤
+        AnnotationConfigApplicationContext contextA = context("node-a", 1, 0);
+        assertTrue(contextA.getBean(SchedulerLockService.class).acquire(LOCK).isPresent());
+        contextA.close();
+
+        assertFalse(b.runExclusive(LOCK, () -> {}));
+        sleep(1_300);
+        assertTrue(b.runExclusive(LOCK, () -> {}));
+        assertEquals("node-b", jdbc.queryForObject(
+                "SELECT locked_by FROM scheduler_lock WHERE lock_name = ?", String.class, LOCK));
+    }
+
+    @Test
+    void shortRun_keepsLeaseForMinHold() {
+        SchedulerLockService a = node("node-a", 30, 2);
+        SchedulerLockService b = node("node-b", 30, 2);
+
+        // A 가 금방 끝나도 cron 이 조금 늦게 도는 B 가 같은 회차를 다시 실행하지 않음
+        assertTrue(a.runExclusive(LOCK, () -> {}));
+        assertFalse(b.runExclusive(LOCK, () -> {}));
+    }
+
+    @Test
+    void renewAfterClose_doesNotExtendReleasedLease() {
+        SchedulerLockService a = node("node-a", 30, 0);
+        SchedulerLockService b = node("node-b", 30, 0);
+
+        // 반납 직전에 시작된 연장이 반납 뒤에 실행되는 경우
+        SchedulerLockService.Lease lease = a.acquire(LOCK).orElseThrow();
+        lease.close();
+        lease.renew();
+
+        assertTrue(b.runExclusive(LOCK, () -> {}));
+    }
+
+    @Test
+    void extend_doesNotReviveExpiredLease() {
+        SchedulerLockRepository repo = new SchedulerLockRepository(jdbc);
+        LocalDateTime now = LocalDateTime.now();
+        assertTrue(repo.tryAcquire(LOCK, "node-a", now.minusSeconds(10), now.minusSeconds(1)));
+
+        assertFalse(repo.extend(LOCK, "node-a", now, now.plusSeconds(30)));
+        assertTrue(repo.tryAcquire(LOCK, "node-b", now, now.plusSeconds(30)));
+        assertFalse(repo.extend(LOCK, "node-a", now, now.plusSeconds(60)));
+        assertTrue(repo.extend(LOCK, "node-b", now, now.plusSeconds(60)));
+    }
+
+
+    private SchedulerLockService node(String nodeId, long leaseSeconds, long minHoldSeconds) {
+        AnnotationConfigApplicationContext context = context(nodeId, leaseSeconds, minHoldSeconds);
+        nodes.add(context);
+        return context.getBean(SchedulerLockService.class);
+    }
+
+    private AnnotationConfigApplicationContext context(String nodeId, long leaseSeconds, long minHoldSeconds) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("node", Map.of(
+                "sync.lock.node-id", nodeId,
+                "sync.lock.lease-seconds", String.valueOf(leaseSeconds),
+                "sync.lock.min-hold-seconds", String.valueOf(minHoldSeconds))));
+        context.registerBean(JdbcTemplate.class, () -> new JdbcTemplate(db));
+        context.register(SchedulerLockRepository.class, SchedulerLockService.class);
+        context.refresh();
+        return context;
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.codehows.taelimbe.sync.service;
+
+import com.codehows.taelimbe.ai.service.SseService;
+import com.codehows.taelimbe.client.PuduRateLimiter;
+import com.codehows.taelimbe.client.dto.PuduRateLimitStatusDTO;
+import com.codehows.taelimbe.sync.dto.SyncProgressDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 단위 테스트: 동기화 진행 상황 채널 - 구독 즉시 현재 상태, 단위 완료 알림 묶음, 종료 시 complete 후 연결 종료, ETA.
+ */
+class SyncProgressServiceTest {
+
+    private SseService sseService;
+    private PuduRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        sseService = mock(SseService.class);
+        rateLimiter = mock(PuduRateLimiter.class);
+        when(rateLimiter.snapshot()).thenReturn(List.of(PuduRateLimitStatusDTO.builder().acquired(0).build()));
+    }
+
+    @Test
+    void subscriber_receivesPhase_throttledUnits_andComplete() {
+        // 알림 간격을 길게 두어 단위 완료 알림은 묶이고, 단계 전환/종료만 바로 나가는지 확인
+        SyncProgressService service = new SyncProgressService(sseService, rateLimiter, 60_000);
+        SyncProgressTracker run = service.start("MANUAL", 1L);
+        service.subscribe(run.getRunId());
+
+        run.phase("REPORTS", "store", 10);
+        for (int i = 0; i < 5; i++) run.unitDone(10, 8, false);
+        run.complete("Report:40개 추가 되었습니다!");
+
+        // 구독 직후 1회 + 단계 전환 1회 (단위 완료 5회는 간격 안이라 생략)
+        verify(sseService, times(2)).sendEvent(startsWith("sync-" + run.getRunId()), eq("progress"), any());
+        verify(sseService).sendOnceAndComplete(startsWith("sync-" + run.getRunId()), eq("complete"),
+                argThat((SyncProgressDTO p) -> p.getStatus().equals("COMPLETED") && p.getDone() == 5 && p.getSaved() == 40));
+
+        // 끝난 실행 구독: 최종 상태만 보내고 종료
+        service.subscribe(run.getRunId());
+        verify(sseService, times(2)).sendOnceAndComplete(anyString(), eq("complete"), any());
+    }
+
+    @Test
+    void snapshot_estimatesEtaFromCurrentPhase_andCountsResumedUnits() throws Exception {
+        SyncProgressService service = new SyncProgressService(sseService, rateLimiter, 0);
+        SyncProgressTracker run = service.start("BACKFILL", "backfill-7", null);
+
+        run.phase("SLICES", "slice", 100, 40);
+        Thread.sleep(20);
+        for (int i = 0; i < 10; i++) run.unitDone(1, 1, i == 0);
+
+        SyncProgressDTO p = run.snapshot();
+        assertEquals(50, p.getDone());
+        assertEquals(1, p.getFailed());
+        assertNotNull(p.getEtaSeconds());
+        assertTrue(p.getReportsPerSecond() > 0);
+
+        // 같은 runId 로 다시 시작하면 진행 중인 실행을 그대로 사용
+        assertSame(run, service.start("BACKFILL", "backfill-7", null));
+        assertThrows(IllegalArgumentException.class, () -> service.subscribe("unknown"));
+    }
+}
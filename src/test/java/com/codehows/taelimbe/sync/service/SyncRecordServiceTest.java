@@ -0,0 +1,176 @@
+package com.codehows.taelimbe.sync.service;
+
+import com.codehows.taelimbe.pudureport.dto.MultiStoreSyncResultDTO;
+import com.codehows.taelimbe.pudureport.dto.ReportSyncStatsDTO;
+import com.codehows.taelimbe.pudureport.dto.StoreTimeRangeSyncRequestDTO;
+import com.codehows.taelimbe.pudureport.service.PuduReportMultiStoreSyncService;
+import com.codehows.taelimbe.pudureport.service.PuduReportService;
+import com.codehows.taelimbe.store.entity.Store;
+import com.codehows.taelimbe.store.repository.StoreRepository;
+import com.codehows.taelimbe.sync.entity.SyncRecord;
+import com.codehows.taelimbe.sync.repository.SyncRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 단위 테스트: 보고서 증분 동기화 워터마크 - 조회 구간 계산, 성공 시에만 전진, 동기화 전 행 생성과 컬럼 단위 갱신.
+ */
+class SyncRecordServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    private SyncRecordRepository syncRecordRepository;
+    private StoreRepository storeRepository;
+    private PuduReportService puduReportService;
+    private PuduReportMultiStoreSyncService multiStoreSync;
+    private SyncRecordService service;
+    private SyncRecord record;
+
+    @BeforeEach
+    void setUp() {
+        syncRecordRepository = mock(SyncRecordRepository.class);
+        storeRepository = mock(StoreRepository.class);
+        puduReportService = mock(PuduReportService.class);
+        multiStoreSync = new PuduReportMultiStoreSyncService(puduReportService, storeRepository,
+                new SyncWorkScheduler(Runnable::run, Runnable::run, Runnable::run, Runnable::run, 4, 8));
+        service = new SyncRecordService(syncRecordRepository, storeRepository, null, null,
+                puduReportService, multiStoreSync, null);
+        ReflectionTestUtils.setField(service, "reportOverlapMinutes", 30L);
+        ReflectionTestUtils.setField(service, "reportInitialLookbackHours", 3L);
+
+        record = SyncRecord.create(Store.builder().storeId(1L).build());
+        when(syncRecordRepository.findByStore_StoreId(1L)).thenReturn(Optional.of(record));
+        when(puduReportService.syncSingleStoreWithStats(any())).thenReturn(ReportSyncStatsDTO.builder().build());
+    }
+
+    @Test
+    void firstRun_usesInitialLookback_andSetsWatermark() {
+        when(puduReportService.syncSingleStoreWithStats(any()))
+                .thenReturn(ReportSyncStatsDTO.builder().listed(7).saved(7).build());
+
+        assertEquals(7, service.syncStoreReports(1L, NOW));
+
+        StoreTimeRangeSyncRequestDTO req = captureRequest();
+        assertEquals(NOW.minusHours(3), req.getStartTime());
+        assertEquals(NOW, req.getEndTime());
+        verify(syncRecordRepository).advanceReportSyncWatermark(1L, NOW);
+    }
+
+    @Test
+    void nextRun_startsFromWatermarkMinusOverlap() {
+        watermark(record, NOW.minusDays(2));
+
+        service.syncStoreReports(1L, NOW);
+
+        // 이틀 밀린 매장은 고정 3시간이 아니라 밀린 구간 전체를 가져온다
+        assertEquals(NOW.minusDays(2).minusMinutes(30), captureRequest().getStartTime());
+        verify(syncRecordRepository).advanceReportSyncWatermark(1L, NOW);
+    }
+
+    @Test
+    void failure_keepsWatermark_andOtherStoresContinue() {
+        watermark(record, NOW.minusHours(6));
+
+        SyncRecord other = SyncRecord.create(Store.builder().storeId(2L).build());
+        when(syncRecordRepository.findByStore_StoreId(2L)).thenReturn(Optional.of(other));
+        when(storeRepository.findAll()).thenReturn(List.of(
+                Store.builder().storeId(1L).build(), Store.builder().storeId(2L).build()));
+        when(puduReportService.syncSingleStoreWithStats(any())).thenAnswer(inv -> {
+            StoreTimeRangeSyncRequestDTO req = inv.getArgument(0);
+            if (req.getStoreId() == 1L) throw new IllegalStateException("Pudu API 오류");
+            return ReportSyncStatsDTO.builder().listed(3).saved(3).build();
+        });
+
+        assertEquals(3, service.syncAllStoresReports(NOW));
+        verify(syncRecordRepository, never()).advanceReportSyncWatermark(eq(1L), any());
+        verify(syncRecordRepository).advanceReportSyncWatermark(2L, NOW);
+    }
+
+    @Test
+    void listFailure_keepsWatermark() {
+        watermark(record, NOW.minusHours(6));
+        when(storeRepository.findAll()).thenReturn(List.of(Store.builder().storeId(1L).build()));
+        // 앞 페이지는 저장됐지만 다음 목록 조회가 실패 → 뒤 구간은 조회되지 않음
+        when(puduReportService.syncSingleStoreWithStats(any())).thenReturn(ReportSyncStatsDTO.builder()
+                .listed(20).saved(20).listFailed(1).listError("IllegalStateException: 목록 조회 실패 HTTP 500").build());
+
+        assertEquals(20, service.syncStoreReports(1L, NOW));
+        assertEquals(20, service.syncAllStoresReports(NOW));
+        verify(syncRecordRepository, never()).advanceReportSyncWatermark(any(), any());
+        verify(syncRecordRepository, never()).save(any());
+    }
+
+    @Test
+    void detailFailures_countedInSummaryAndProgress() {
+        when(storeRepository.findAll()).thenReturn(List.of(Store.builder().storeId(1L).build()));
+        when(puduReportService.syncSingleStoreWithStats(any())).thenReturn(ReportSyncStatsDTO.builder()
+                .listed(10).saved(6).existing(1).detailFailed(3).build());
+        SyncProgressTracker progress = new SyncProgressTracker("run-1", "MANUAL", 1L, t -> {}, () -> 0, 0);
+
+        assertEquals(6, service.syncAllStoresReports(NOW, progress));
+
+        MultiStoreSyncResultDTO result = multiStoreSync.recentResults().get(0);
+        assertEquals(3, result.getDetailFailed());
+        assertEquals(1, result.getSummaries().get(0).getSkipped());
+        assertEquals(3, result.getSummaries().get(0).getDetailFailed());
+        assertEquals(3, progress.snapshot().getDetailFailed());
+    }
+
+    @Test
+    void missingRecord_createdBeforeSync_andConcurrentInsertReused() {
+        SyncRecord inserted = SyncRecord.create(Store.builder().storeId(3L).build());
+        when(storeRepository.getReferenceById(3L)).thenReturn(Store.builder().storeId(3L).build());
+        // 조회 시점엔 없었지만 그사이 다른 실행이 먼저 INSERT → store_id 유니크 위반
+        when(syncRecordRepository.findByStore_StoreId(3L)).thenReturn(Optional.empty(), Optional.of(inserted));
+        when(syncRecordRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("uk_store_id"));
+        when(puduReportService.syncSingleStoreWithStats(any()))
+                .thenReturn(ReportSyncStatsDTO.builder().listed(2).saved(2).build());
+
+        assertEquals(2, service.syncStoreReports(3L, NOW));
+
+        InOrder order = inOrder(syncRecordRepository, puduReportService);
+        order.verify(syncRecordRepository).saveAndFlush(any());
+        order.verify(puduReportService).syncSingleStoreWithStats(any());
+        order.verify(syncRecordRepository).advanceReportSyncWatermark(3L, NOW);
+    }
+
+    @Test
+    void syncTimes_updateOnlyTheirColumn_andCreateMissingRow() {
+        when(syncRecordRepository.updateLastSyncTime(1L, NOW)).thenReturn(1);
+        when(syncRecordRepository.updateGlobalSyncTime(3L, NOW)).thenReturn(0, 1);
+        when(syncRecordRepository.findByStore_StoreId(3L)).thenReturn(Optional.empty());
+        when(storeRepository.getReferenceById(3L)).thenReturn(Store.builder().storeId(3L).build());
+
+        service.updateStoreSyncTime(1L, NOW);
+        service.updateGlobalSyncTime(3L, NOW);
+
+        verify(syncRecordRepository).updateLastSyncTime(1L, NOW);
+        verify(syncRecordRepository).saveAndFlush(any());
+        verify(syncRecordRepository, times(2)).updateGlobalSyncTime(3L, NOW);
+        verify(syncRecordRepository, never()).save(any());
+    }
+
+
+    private static void watermark(SyncRecord record, LocalDateTime time) {
+        ReflectionTestUtils.setField(record, "reportSyncWatermark", time);
+    }
+
+    private StoreTimeRangeSyncRequestDTO captureRequest() {
+        ArgumentCaptor<StoreTimeRangeSyncRequestDTO> captor = ArgumentCaptor.forClass(StoreTimeRangeSyncRequestDTO.class);
+        verify(puduReportService).syncSingleStoreWithStats(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,153 @@
+package com.codehows.taelimbe.sync.service;
+
+import com.codehows.taelimbe.pudureport.dto.ReportSyncStatsDTO;
+import com.codehows.taelimbe.pudureport.service.PuduReportService;
+import com.codehows.taelimbe.store.entity.Industry;
+import com.codehows.taelimbe.store.entity.Store;
+import com.codehows.taelimbe.store.repository.StoreRepository;
+import com.codehows.taelimbe.sync.entity.SyncRecord;
+import com.codehows.taelimbe.sync.repository.SyncRecordRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 단위 테스트: SyncRecord 동시 갱신 - 인메모리 DB 의 실제 저장소로,
+ * 예약 실행과 수동 실행이 겹쳐도 워터마크가 뒤로 가지 않고 다른 실행이 쓴 동기화 시각을 되돌리지 않는지.
+ */
+class SyncRecordWatermarkTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    private EmbeddedDatabase db;
+    private AnnotationConfigApplicationContext context;
+    private SyncRecordRepository syncRecordRepository;
+    private PuduReportService puduReportService;
+    private SyncRecordService service;
+    private Long storeId;
+
+    @BeforeEach
+    void setUp() {
+        db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(DataSource.class, () -> db);
+        context.register(JpaConfig.class);
+        context.refresh();
+        syncRecordRepository = context.getBean(SyncRecordRepository.class);
+        storeId = seedStore(context.getBean(EntityManagerFactory.class));
+
+        StoreRepository storeRepository = mock(StoreRepository.class);
+        when(storeRepository.getReferenceById(storeId)).thenReturn(Store.builder().storeId(storeId).build());
+        puduReportService = mock(PuduReportService.class);
+
+        service = new SyncRecordService(syncRecordRepository, storeRepository, null, null,
+                puduReportService, null, null);
+        ReflectionTestUtils.setField(service, "reportOverlapMinutes", 30L);
+        ReflectionTestUtils.setField(service, "reportInitialLookbackHours", 3L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+        db.shutdown();
+    }
+
+    @Test
+    void interleavedRuns_watermarkNeverMovesBackwards() {
+        // 예약 실행(end = NOW)이 조회하는 사이 수동 실행(end = NOW + 10분)이 먼저 끝남
+        LocalDateTime manualEnd = NOW.plusMinutes(10);
+        AtomicBoolean interleaved = new AtomicBoolean();
+        when(puduReportService.syncSingleStoreWithStats(any())).thenAnswer(inv -> {
+            if (interleaved.compareAndSet(false, true)) {
+                service.syncStoreReports(storeId, manualEnd);
+                service.updateStoreSyncTime(storeId, manualEnd);
+            }
+            return ReportSyncStatsDTO.builder().listed(1).saved(1).build();
+        });
+
+        service.syncStoreReports(storeId, NOW);
+        service.updateGlobalSyncTime(storeId, NOW);
+
+        SyncRecord record = syncRecordRepository.findByStore_StoreId(storeId).orElseThrow();
+        assertEquals(manualEnd, record.getReportSyncWatermark());
+        assertEquals(manualEnd, record.getLastSyncTime());
+        assertEquals(NOW, record.getGlobalSyncTime());
+        // 행은 첫 실행이 동기화 전에 만들고, 겹친 실행은 그 행을 그대로 사용
+        assertEquals(1, syncRecordRepository.count());
+    }
+
+    @Test
+    void advance_onlyMovesForward() {
+        syncRecordRepository.saveAndFlush(SyncRecord.create(Store.builder().storeId(storeId).build()));
+
+        assertEquals(1, syncRecordRepository.advanceReportSyncWatermark(storeId, NOW));
+        assertEquals(0, syncRecordRepository.advanceReportSyncWatermark(storeId, NOW.minusHours(1)));
+        assertEquals(0, syncRecordRepository.advanceReportSyncWatermark(storeId, NOW));
+
+        assertEquals(NOW, syncRecordRepository.findByStore_StoreId(storeId).orElseThrow().getReportSyncWatermark());
+    }
+
+
+    private static Long seedStore(EntityManagerFactory emf) {
+        EntityManager em = emf.createEntityManager();
+        em.getTransaction().begin();
+        Store store = Store.builder().shopId(100L).shopName("매장").build();
+        em.persist(store);
+        em.getTransaction().commit();
+        em.close();
+        return store.getStoreId();
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = SyncRecordRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = SyncRecordRepository.class))
+    static class JpaConfig {
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setManagedTypes(PersistenceManagedTypes.of(
+                    SyncRecord.class.getName(), Store.class.getName(), Industry.class.getName()));
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+            return factory;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
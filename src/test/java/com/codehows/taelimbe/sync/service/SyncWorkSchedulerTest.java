@@ -0,0 +1,177 @@
+package com.codehows.taelimbe.sync.service;
+
+import com.codehows.taelimbe.sync.constant.SyncStage;
+import com.codehows.taelimbe.sync.dto.SyncSchedulerStatusDTO;
+import com.codehows.taelimbe.sync.dto.SyncStageStatusDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 단위 테스트: 동기화 공통 실행기 - 큐가 찼을 때 거부 대신 제출 측 대기, 전체 한도 공유, 중첩 대기 교착 방지,
+ * executor 보기는 한도가 차도 호출 스레드를 막지 않음.
+ */
+class SyncWorkSchedulerTest {
+
+    private final List<ThreadPoolTaskExecutor> pools = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        pools.forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+
+    @Test
+    void fullQueue_blocksProducer_insteadOfRejecting() throws Exception {
+        // 풀 자체는 2 + 큐 2 → 다섯 번째 작업부터 TaskRejectedException
+        ThreadPoolTaskExecutor small = pool(2, 2);
+        SyncWorkScheduler scheduler = new SyncWorkScheduler(small, small, small, small, 2, 4);
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int n = i;
+            futures.add(scheduler.submit(SyncStage.STORE_ROBOTS, () -> {
+                sleep(10);
+                return n;
+            }));
+        }
+        int sum = 0;
+        for (CompletableFuture<Integer> f : futures) sum += f.get(10, TimeUnit.SECONDS);
+
+        SyncStageStatusDTO stage = stage(scheduler.snapshot(), SyncStage.STORE_ROBOTS);
+        assertEquals(190, sum);
+        assertEquals(20, stage.getCompleted());
+        assertEquals(0, stage.getFailed());
+        assertTrue(stage.getProducerBlockedMs() > 0);
+        assertTrue(stage.getMaxQueueWaitMs() > 0);
+    }
+
+    @Test
+    void globalBudget_isSharedAcrossStages() throws Exception {
+        SyncWorkScheduler scheduler = new SyncWorkScheduler(pool(8, 100), pool(8, 100), pool(8, 100), pool(8, 100), 3, 64);
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<CompletableFuture<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            SyncStage stage = i % 2 == 0 ? SyncStage.REPORT_STORES : SyncStage.STORE_ROBOTS;
+            futures.add(scheduler.submit(stage, () -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(5);
+                running.decrementAndGet();
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        assertTrue(peak.get() <= 3, "peak=" + peak.get());
+        assertEquals(0, scheduler.snapshot().getGlobalActive());
+    }
+
+    @Test
+    void parentAwaitingChildren_doesNotDeadlock() throws Exception {
+        // 전체 한도 2 를 매장 작업 2개가 모두 잡은 채 하위 조합 작업을 기다리는 상황
+        SyncWorkScheduler scheduler = new SyncWorkScheduler(pool(2, 10), pool(2, 10), pool(2, 10), pool(2, 10), 2, 64);
+
+        List<CompletableFuture<Integer>> parents = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            parents.add(scheduler.submit(SyncStage.STORE_ROBOTS, () -> {
+                List<CompletableFuture<Integer>> children = new ArrayList<>();
+                for (int j = 0; j < 3; j++) {
+                    // 응답 완료 스레드에서 조합 단계를 제출 (스케줄러 밖 스레드 → 큐를 거침)
+                    children.add(CompletableFuture
+                            .supplyAsync(() -> 1, CompletableFuture.delayedExecutor(5, TimeUnit.MILLISECONDS))
+                            .thenApplyAsync(x -> x + 1, scheduler.executor(SyncStage.ROBOT_DETAIL)));
+                }
+                scheduler.await(CompletableFuture.allOf(children.toArray(new CompletableFuture[0])));
+
+                // 작업 안에서 바로 제출한 작업은 그 자리에서 실행
+                int inline = scheduler.submit(SyncStage.ROBOT_DETAIL, () -> 0).join();
+                return inline + children.stream().mapToInt(CompletableFuture::join).sum();
+            }));
+        }
+
+        int total = 0;
+        for (CompletableFuture<Integer> p : parents) total += p.get(10, TimeUnit.SECONDS);
+
+        SyncStageStatusDTO detail = stage(scheduler.snapshot(), SyncStage.ROBOT_DETAIL);
+        assertEquals(24, total);
+        assertEquals(4, detail.getInlined());
+        assertEquals(16, detail.getCompleted());
+    }
+
+    @Test
+    void executorView_neverBlocksCompletingThread_whenStageIsFull() throws Exception {
+        // 단계 한도 2 를 오래 걸리는 작업 2개가 모두 잡은 상태
+        SyncWorkScheduler scheduler = new SyncWorkScheduler(pool(4, 10), pool(4, 10), pool(4, 10), pool(4, 10), 8, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Object>> holders = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            holders.add(scheduler.submit(SyncStage.ROBOT_DETAIL, () -> {
+                await(release);
+                return null;
+            }));
+        }
+
+        // HttpClient 완료 스레드처럼 스케줄러 밖 스레드에서 조합 단계를 넘겨도 바로 돌아와야 한다
+        long t0 = System.nanoTime();
+        List<CompletableFuture<Integer>> combined = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            combined.add(CompletableFuture.completedFuture(i)
+                    .thenApplyAsync(x -> x + 1, scheduler.executor(SyncStage.ROBOT_DETAIL)));
+        }
+        long elapsedMs = (System.nanoTime() - t0) / 1_000_000;
+
+        assertTrue(elapsedMs < 1000, "elapsedMs=" + elapsedMs);
+        assertEquals(5, stage(scheduler.snapshot(), SyncStage.ROBOT_DETAIL).getDeferred());
+        assertFalse(combined.get(0).isDone());
+
+        // 자리를 반납하는 작업이 보류 큐를 비움
+        release.countDown();
+        int sum = 0;
+        for (CompletableFuture<Integer> f : combined) sum += f.get(10, TimeUnit.SECONDS);
+        for (CompletableFuture<Object> h : holders) h.get(10, TimeUnit.SECONDS);
+
+        assertEquals(15, sum);
+        assertEquals(0, stage(scheduler.snapshot(), SyncStage.ROBOT_DETAIL).getDeferred());
+    }
+
+
+    private ThreadPoolTaskExecutor pool(int threads, int queue) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queue);
+        executor.initialize();
+        pools.add(executor);
+        return executor;
+    }
+
+    private static SyncStageStatusDTO stage(SyncSchedulerStatusDTO status, SyncStage stage) {
+        return status.getStages().stream().filter(s -> s.getStage() == stage).findFirst().orElseThrow();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}